@@ -30,6 +30,8 @@ repositories {
 
 // Dependencies are managed with Gradle version catalog - read more: https://docs.gradle.org/current/userguide/platforms.html#sub:version-catalog
 dependencies {
+    implementation(project(":core"))
+
     //Testing
 
     testImplementation(libs.junit)
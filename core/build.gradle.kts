@@ -0,0 +1,35 @@
+// IntelliJ Platform independent tag analysis, used by the plugin, and usable standalone e.g. in build pipelines
+plugins {
+    id("java-library")
+}
+
+group = providers.gradleProperty("pluginGroup").get()
+version = providers.gradleProperty("pluginVersion").get()
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    compileOnly("org.jetbrains:annotations:26.0.2")
+
+    //Testing
+
+    testImplementation("org.assertj:assertj-core:3.27.7")
+    testImplementation(libs.junitJupiterApi)
+    testRuntimeOnly(libs.junitJupiterEngine)
+    testImplementation(libs.junitJupiterParams)
+    testRuntimeOnly(libs.junitPlatformLauncher)
+}
+
+tasks {
+    test {
+        useJUnitPlatform()
+    }
+}
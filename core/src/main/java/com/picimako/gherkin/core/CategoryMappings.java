@@ -0,0 +1,162 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable set of tag name to category name mappings.
+ * <p>
+ * A tag name is resolved in the following order:
+ * <ul>
+ *     <li>exact tag names, case-sensitive and case-insensitive ones alike,</li>
+ *     <li>regex patterns, in the order they were added.</li>
+ * </ul>
+ * Mappings added later override the earlier ones for the same tag name or pattern, e.g. project-level mappings added
+ * after the application-level ones. This applies regardless of case sensitivity, e.g. a case-insensitive mapping of {@code smoke}
+ * overrides an earlier case-sensitive mapping of {@code Smoke}, while a case-sensitive mapping of {@code Smoke} overrides
+ * an earlier case-insensitive mapping of {@code smoke} only for {@code Smoke}.
+ *
+ * @since 1.13.0
+ */
+public final class CategoryMappings {
+
+    public static final CategoryMappings EMPTY = new CategoryMappings(Map.of(), Map.of());
+
+    /**
+     * Lower-cased tag name -> the latest mapping of the tag name, linked to the earlier ones that it doesn't override.
+     */
+    private final Map<String, NameMapping> names;
+    /**
+     * The regex patterns in the order they were added, keyed by the pattern and its flags,
+     * so that re-adding the same pattern overrides its category but keeps its position.
+     */
+    private final Map<String, PatternMapping> patterns;
+
+    private CategoryMappings(Map<String, NameMapping> names, Map<String, PatternMapping> patterns) {
+        this.names = names;
+        this.patterns = patterns;
+    }
+
+    /**
+     * Returns the category that the argument tag name is assigned to, or null if it is not assigned to any category.
+     */
+    @Nullable
+    public String categoryOf(@NotNull String tagName) {
+        if (!names.isEmpty()) {
+            for (var mapping = names.get(tagName.toLowerCase(Locale.ROOT)); mapping != null; mapping = mapping.previous()) {
+                if (mapping.matches(tagName)) {
+                    return mapping.category();
+                }
+            }
+        }
+        return regexBasedCategoryOf(tagName);
+    }
+
+    @Nullable
+    private String regexBasedCategoryOf(String tagName) {
+        for (var patternMapping : patterns.values()) {
+            if (patternMapping.pattern().matcher(tagName).matches()) {
+                return patternMapping.category();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a builder that starts with the mappings of this instance.
+     */
+    public Builder toBuilder() {
+        return new Builder(this);
+    }
+
+    public static Builder builder() {
+        return new Builder(EMPTY);
+    }
+
+    /**
+     * A mapping of an exact tag name. Mappings of the same lower-cased tag name are linked from the latest to the earliest one.
+     *
+     * @param caseSensitiveName the tag name if the mapping is case-sensitive, or null if it is case-insensitive
+     * @param previous          the earlier mapping of the same lower-cased tag name, or null if there is none
+     */
+    private record NameMapping(@Nullable String caseSensitiveName, String category, @Nullable NameMapping previous) {
+
+        boolean matches(String tagName) {
+            return caseSensitiveName == null || caseSensitiveName.equals(tagName);
+        }
+
+        /**
+         * Returns the mappings linked from this one, without the case-sensitive mappings of the argument tag name.
+         */
+        @Nullable
+        NameMapping without(String tagName) {
+            var rest = previous != null ? previous.without(tagName) : null;
+            if (tagName.equals(caseSensitiveName)) {
+                return rest;
+            }
+            return rest == previous ? this : new NameMapping(caseSensitiveName, category, rest);
+        }
+    }
+
+    private record PatternMapping(Pattern pattern, String category) {
+    }
+
+    public static final class Builder {
+        /**
+         * Initial capacity is adjusted slightly above the default mapping count coming from the plugin's default mappings.
+         */
+        private final Map<String, NameMapping> names = new HashMap<>(64);
+        private final Map<String, PatternMapping> patterns = new LinkedHashMap<>();
+
+        private Builder(CategoryMappings from) {
+            names.putAll(from.names);
+            patterns.putAll(from.patterns);
+        }
+
+        /**
+         * Assigns the argument tags to the argument category.
+         * <p>
+         * A case-insensitive tag name overrides all earlier mappings of the tag name, while a case-sensitive one overrides
+         * only the earlier case-sensitive mapping of the same tag name.
+         */
+        public Builder put(@NotNull String category, @NotNull ParsedTags parsedTags) {
+            for (String tagName : parsedTags.exactNames()) {
+                if (parsedTags.ignoreCase()) {
+                    //The tag name is already lower-cased
+                    names.put(tagName, new NameMapping(null, category, null));
+                } else {
+                    var previous = names.get(tagName.toLowerCase(Locale.ROOT));
+                    names.put(tagName.toLowerCase(Locale.ROOT), new NameMapping(tagName, category, previous != null ? previous.without(tagName) : null));
+                }
+            }
+            for (Pattern pattern : parsedTags.patterns()) {
+                patterns.put(pattern.flags() + ":" + pattern.pattern(), new PatternMapping(pattern, category));
+            }
+            return this;
+        }
+
+        /**
+         * Assigns the argument comma separated tags, in the format of the plugin's mappings (e.g. {@code smoke, e2e, #^JIRA-[0-9]+$}),
+         * to the argument category.
+         *
+         * @see ParsedTags#parse(String, boolean)
+         */
+        public Builder put(@NotNull String category, @NotNull String tags, boolean ignoreCase) {
+            return put(category, ParsedTags.parse(tags, ignoreCase));
+        }
+
+        public CategoryMappings build() {
+            //Copies, so that the built mappings are not affected by further use of this builder
+            return new CategoryMappings(Collections.unmodifiableMap(new HashMap<>(names)), Collections.unmodifiableMap(new LinkedHashMap<>(patterns)));
+        }
+    }
+}
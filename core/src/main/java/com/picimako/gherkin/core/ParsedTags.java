@@ -0,0 +1,62 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The normalized tags of a category mapping.
+ *
+ * @param exactNames the exact tag names, lower-cased if {@code ignoreCase} is true
+ * @param patterns   the compiled regex patterns
+ * @param ignoreCase whether the tag names are matched case-insensitively
+ * @since 1.13.0
+ */
+public record ParsedTags(@NotNull Set<String> exactNames, @NotNull List<Pattern> patterns, boolean ignoreCase) {
+    public static final ParsedTags EMPTY = new ParsedTags(Set.of(), List.of(), false);
+
+    private static final String TAG_DELIMITER = ",";
+    private static final String REGEX_PREFIX = "#";
+
+    /**
+     * Splits the argument comma separated tags into trimmed exact tag names and compiled regex patterns.
+     * Regex patterns must start with the # symbol.
+     * <p>
+     * In case of case-insensitive mappings, the exact tag names are lower-cased, and the patterns are compiled with
+     * {@link Pattern#CASE_INSENSITIVE}. Invalid regex patterns are skipped.
+     */
+    public static ParsedTags parse(@Nullable String tags, boolean ignoreCase) {
+        if (tags == null || tags.isBlank()) {
+            return EMPTY;
+        }
+
+        var exactNames = new LinkedHashSet<String>();
+        var patterns = new ArrayList<Pattern>();
+        for (String tag : tags.split(TAG_DELIMITER)) {
+            String trimmed = tag.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            if (trimmed.startsWith(REGEX_PREFIX)) {
+                try {
+                    patterns.add(Pattern.compile(trimmed.substring(1), ignoreCase ? Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE : 0));
+                } catch (PatternSyntaxException ignored) {
+                    //An invalid pattern cannot match any tag
+                }
+            } else {
+                exactNames.add(ignoreCase ? trimmed.toLowerCase(Locale.ROOT) : trimmed);
+            }
+        }
+        return new ParsedTags(Collections.unmodifiableSet(exactNames), List.copyOf(patterns), ignoreCase);
+    }
+}
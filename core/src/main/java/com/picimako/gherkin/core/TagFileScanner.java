@@ -0,0 +1,143 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Collects the tags and metas of the Gherkin and Story files in a directory tree, without an IDE.
+ * <p>
+ * The directory tree is traversed in parallel in the common fork-join pool, one task per directory, and each file is scanned
+ * by the task of its directory with {@link TagScanner}. Hidden directories (e.g. {@code .git}) and symbolic links are skipped.
+ * <p>
+ * Files above {@link #MAPPING_THRESHOLD} are memory-mapped instead of being read onto the heap. Below that, mapping costs
+ * more than copying the bytes, which is the case for the vast majority of feature files. Malformed UTF-8 input is replaced,
+ * and doesn't fail the scan.
+ *
+ * @since 1.13.0
+ */
+public final class TagFileScanner {
+
+    /**
+     * The file size in bytes from which files are memory-mapped.
+     */
+    static final long MAPPING_THRESHOLD = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    /**
+     * Scans the Gherkin and Story files in the argument directory and its subdirectories.
+     *
+     * @param root the root directory to scan
+     * @return file -> &lt;tag name, count>, only for files that have at least one tag or meta
+     * @throws IOException if a directory or file cannot be read
+     */
+    public static Map<Path, Map<String, Integer>> scanDirectory(@NotNull Path root) throws IOException {
+        var tagsByFile = new ConcurrentHashMap<Path, Map<String, Integer>>();
+        try {
+            ForkJoinPool.commonPool().invoke(new DirectoryScan(root, tagsByFile));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return tagsByFile;
+    }
+
+    /**
+     * Scans the argument Gherkin or Story file.
+     *
+     * @return &lt;tag name, count>
+     * @throws IOException if the file cannot be read
+     */
+    public static Map<String, Integer> scanFile(@NotNull Path file) throws IOException {
+        return TagScanner.scan(file.getFileName().toString(), readText(file));
+    }
+
+    /**
+     * Reads the argument file as UTF-8 text, memory-mapping it if it is larger than {@link #MAPPING_THRESHOLD}.
+     */
+    static CharSequence readText(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to scan: " + file);
+            }
+            ByteBuffer bytes;
+            if (size >= MAPPING_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+                    //Reads until the buffer is full or the end of the file is reached
+                }
+                bytes.flip();
+            }
+            return withoutByteOrderMark(StandardCharsets.UTF_8.decode(bytes));
+        }
+    }
+
+    private static CharBuffer withoutByteOrderMark(CharBuffer text) {
+        if (text.hasRemaining() && text.charAt(0) == BYTE_ORDER_MARK) {
+            text.position(text.position() + 1);
+        }
+        return text;
+    }
+
+    /**
+     * Scans the files of a single directory, and forks a new task for each of its subdirectories.
+     */
+    private static final class DirectoryScan extends RecursiveAction {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final Map<Path, Map<String, Integer>> tagsByFile;
+
+        DirectoryScan(Path directory, Map<Path, Map<String, Integer>> tagsByFile) {
+            this.directory = directory;
+            this.tagsByFile = tagsByFile;
+        }
+
+        @Override
+        protected void compute() {
+            var subdirectoryScans = new ArrayList<DirectoryScan>();
+            try (var entries = Files.newDirectoryStream(directory)) {
+                for (Path entry : entries) {
+                    String fileName = entry.getFileName().toString();
+                    if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        if (!fileName.startsWith(".")) {
+                            subdirectoryScans.add(new DirectoryScan(entry, tagsByFile));
+                        }
+                    } else if (TagScanner.isBDDFileName(fileName) && Files.isRegularFile(entry, LinkOption.NOFOLLOW_LINKS)) {
+                        var tags = scanFile(entry);
+                        if (!tags.isEmpty()) {
+                            tagsByFile.put(entry, tags);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subdirectoryScans);
+        }
+    }
+
+    private TagFileScanner() {
+        //Utility class
+    }
+}
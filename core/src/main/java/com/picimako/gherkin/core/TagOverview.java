@@ -0,0 +1,103 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The categories, tags and files of a set of Gherkin and Story files, in the same hierarchy as the plugin's
+ * Gherkin Tags tool window (category -> tag -> file), but over plain {@link Path}s, so that it can be built without an IDE,
+ * e.g. in build pipelines or benchmarks.
+ * <p>
+ * Categories and tags are sorted by their names case-insensitively, and files by their paths. Tags not assigned to any category
+ * are placed into the {@link #OTHER_CATEGORY_NAME} category.
+ *
+ * @param fileCount  the number of files with at least one tag
+ * @param categories the categories with at least one tag
+ * @since 1.13.0
+ */
+public record TagOverview(int fileCount, @NotNull List<CategorySummary> categories) {
+
+    public static final String OTHER_CATEGORY_NAME = "Other";
+    private static final Comparator<String> NAME_ORDER = String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    /**
+     * Scans the argument directory with {@link TagFileScanner#scanDirectory(Path)}, and aggregates the result.
+     */
+    public static TagOverview scan(@NotNull Path root, @NotNull CategoryMappings mappings) throws IOException {
+        return of(TagFileScanner.scanDirectory(root), mappings);
+    }
+
+    /**
+     * Aggregates the argument tag occurrence counts of files into categories and tags.
+     *
+     * @param tagsByFile file -> &lt;tag name, count>
+     * @param mappings   the mappings to categorize the tags by
+     */
+    public static TagOverview of(@NotNull Map<Path, Map<String, Integer>> tagsByFile, @NotNull CategoryMappings mappings) {
+        var filesByTag = new HashMap<String, Map<Path, Integer>>();
+        int fileCount = 0;
+        for (var fileAndTags : tagsByFile.entrySet()) {
+            if (fileAndTags.getValue().isEmpty()) continue;
+            fileCount++;
+            for (var tagAndCount : fileAndTags.getValue().entrySet()) {
+                filesByTag.computeIfAbsent(tagAndCount.getKey(), __ -> new HashMap<>()).put(fileAndTags.getKey(), tagAndCount.getValue());
+            }
+        }
+
+        var tagsByCategory = new HashMap<String, List<TagSummary>>();
+        for (var tagAndFiles : filesByTag.entrySet()) {
+            String category = Objects.requireNonNullElse(mappings.categoryOf(tagAndFiles.getKey()), OTHER_CATEGORY_NAME);
+            tagsByCategory.computeIfAbsent(category, __ -> new ArrayList<>()).add(TagSummary.of(tagAndFiles.getKey(), tagAndFiles.getValue()));
+        }
+
+        var categories = new ArrayList<CategorySummary>(tagsByCategory.size());
+        for (var categoryAndTags : tagsByCategory.entrySet()) {
+            var tags = categoryAndTags.getValue();
+            tags.sort(Comparator.comparing(TagSummary::name, NAME_ORDER));
+            categories.add(new CategorySummary(categoryAndTags.getKey(), List.copyOf(tags)));
+        }
+        categories.sort(Comparator.comparing(CategorySummary::name, NAME_ORDER));
+        return new TagOverview(fileCount, List.copyOf(categories));
+    }
+
+    /**
+     * A category with its tags.
+     */
+    public record CategorySummary(@NotNull String name, @NotNull List<TagSummary> tags) {
+    }
+
+    /**
+     * A tag with the files it occurs in.
+     *
+     * @param occurrenceCount   the number of occurrences of the tag in all files
+     * @param occurrencesByFile file -> the number of occurrences of the tag in that file, ordered by the file paths
+     */
+    public record TagSummary(@NotNull String name, int occurrenceCount, @NotNull Map<Path, Integer> occurrencesByFile) {
+
+        private static TagSummary of(String name, Map<Path, Integer> occurrencesByFile) {
+            var sortedOccurrences = new LinkedHashMap<Path, Integer>(occurrencesByFile.size());
+            int occurrenceCount = 0;
+            for (var fileAndCount : occurrencesByFile.entrySet().stream().sorted(Map.Entry.comparingByKey()).toList()) {
+                sortedOccurrences.put(fileAndCount.getKey(), fileAndCount.getValue());
+                occurrenceCount += fileAndCount.getValue();
+            }
+            return new TagSummary(name, occurrenceCount, Collections.unmodifiableMap(sortedOccurrences));
+        }
+
+        public int fileCount() {
+            return occurrencesByFile.size();
+        }
+    }
+}
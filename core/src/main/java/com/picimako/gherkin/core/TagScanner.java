@@ -0,0 +1,138 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extracts the tags and metas of Gherkin and Story files from their raw text, without depending on any parser.
+ * <p>
+ * The tag names are produced the same way as by the plugin from the PSI, i.e. Gherkin tags without the leading @ symbol,
+ * and Story metas in the {@code key:text} format. The scanning is lenient, so the result is approximate in edge cases
+ * (e.g. tag-like lines in unusual places).
+ *
+ * @since 1.13.0
+ */
+public final class TagScanner {
+
+    /**
+     * The extension of Gherkin files.
+     */
+    public static final String GHERKIN_EXTENSION = "feature";
+    /**
+     * The extension of JBehave Story files.
+     */
+    public static final String STORY_EXTENSION = "story";
+    private static final String META_KEYWORD = "Meta:";
+    private static final Pattern LINE_BREAK = Pattern.compile("\\r\\n|\\r|\\n");
+    private static final Pattern WHITESPACES = Pattern.compile("\\s+");
+
+    /**
+     * Returns whether the argument file name has a Gherkin or Story file extension.
+     */
+    public static boolean isBDDFileName(@NotNull String fileName) {
+        return fileName.endsWith("." + GHERKIN_EXTENSION) || fileName.endsWith("." + STORY_EXTENSION);
+    }
+
+    /**
+     * Returns the tag or meta names and their occurrence counts in the argument text, based on the extension of the
+     * argument file name.
+     */
+    public static Map<String, Integer> scan(@NotNull String fileName, @NotNull CharSequence text) {
+        return fileName.endsWith("." + GHERKIN_EXTENSION) ? scanGherkinText(text) : scanStoryText(text);
+    }
+
+    /**
+     * Returns the Gherkin tag names and their occurrence counts in the argument text, in the order of their first occurrence.
+     * <p>
+     * Tags are recognized in lines starting with an @ symbol, until the end of the line or a comment. Doc strings are skipped.
+     */
+    public static Map<String, Integer> scanGherkinText(@NotNull CharSequence text) {
+        var tags = new LinkedHashMap<String, Integer>();
+        String docStringDelimiter = null;
+        for (String line : LINE_BREAK.split(text)) {
+            String trimmed = line.trim();
+            if (docStringDelimiter != null) {
+                if (trimmed.startsWith(docStringDelimiter)) {
+                    docStringDelimiter = null;
+                }
+            } else if (trimmed.startsWith("\"\"\"") || trimmed.startsWith("```")) {
+                docStringDelimiter = trimmed.substring(0, 3);
+            } else if (trimmed.startsWith("@")) {
+                for (String token : WHITESPACES.split(trimmed)) {
+                    if (token.startsWith("#")) {
+                        break;
+                    }
+                    if (token.length() > 1 && token.charAt(0) == '@') {
+                        tags.merge(token.substring(1), 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * Returns the Story meta names and their occurrence counts in the argument text, in the order of their first occurrence.
+     * <p>
+     * Metas are recognized in the lines following a {@code Meta:} keyword, until the first line that is not blank and
+     * doesn't start with an @ symbol.
+     */
+    public static Map<String, Integer> scanStoryText(@NotNull CharSequence text) {
+        var metas = new LinkedHashMap<String, Integer>();
+        boolean isInMeta = false;
+        for (String line : LINE_BREAK.split(text)) {
+            String trimmed = line.trim();
+            if (trimmed.startsWith("!--")) {
+                continue;
+            }
+            if (trimmed.startsWith(META_KEYWORD)) {
+                isInMeta = true;
+                addMetas(trimmed.substring(META_KEYWORD.length()).trim(), metas);
+            } else if (isInMeta) {
+                if (trimmed.startsWith("@")) {
+                    addMetas(trimmed, metas);
+                } else if (!trimmed.isEmpty()) {
+                    isInMeta = false;
+                }
+            }
+        }
+        return metas;
+    }
+
+    /**
+     * Adds the metas from a single line, e.g. {@code @Suite smoke regression} as {@code Suite:smoke regression},
+     * and {@code @E2E} as {@code E2E}.
+     */
+    private static void addMetas(String line, Map<String, Integer> metas) {
+        String metaKey = null;
+        var metaTexts = new ArrayList<String>();
+        for (String token : WHITESPACES.split(line)) {
+            if (token.length() > 1 && token.charAt(0) == '@') {
+                addMeta(metaKey, metaTexts, metas);
+                metaKey = token.substring(1);
+                metaTexts.clear();
+            } else if (metaKey != null && !token.isEmpty()) {
+                metaTexts.add(token);
+            }
+        }
+        addMeta(metaKey, metaTexts, metas);
+    }
+
+    private static void addMeta(@Nullable String metaKey, List<String> metaTexts, Map<String, Integer> metas) {
+        if (metaKey != null) {
+            metas.merge(metaTexts.isEmpty() ? metaKey : metaKey + ":" + String.join(" ", metaTexts), 1, Integer::sum);
+        }
+    }
+
+    private TagScanner() {
+        //Utility class
+    }
+}
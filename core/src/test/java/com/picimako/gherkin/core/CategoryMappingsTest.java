@@ -0,0 +1,94 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link CategoryMappings}.
+ */
+final class CategoryMappingsTest {
+
+    @Test
+    void resolvesExactTagNames() {
+        var mappings = CategoryMappings.builder().put("Test Suite", "smoke, regression", false).build();
+
+        assertThat(mappings.categoryOf("smoke")).isEqualTo("Test Suite");
+        assertThat(mappings.categoryOf("Smoke")).isNull();
+        assertThat(mappings.categoryOf("e2e")).isNull();
+    }
+
+    @Test
+    void resolvesCaseInsensitiveTagNames() {
+        var mappings = CategoryMappings.builder().put("Browser", "Chrome", true).build();
+
+        assertThat(mappings.categoryOf("chrome")).isEqualTo("Browser");
+        assertThat(mappings.categoryOf("CHROME")).isEqualTo("Browser");
+    }
+
+    @Test
+    void resolvesPatternsInTheOrderTheyWereAdded() {
+        var mappings = CategoryMappings.builder()
+            .put("Jira", "#^[A-Z]+-[0-9]+$", false)
+            .put("Ticket", "#^[A-Z]+-[0-9]+$, #^T-.*$", false)
+            .build();
+
+        assertThat(mappings.categoryOf("JIRA-123")).isEqualTo("Ticket");
+        assertThat(mappings.categoryOf("T-abc")).isEqualTo("Ticket");
+        assertThat(mappings.categoryOf("jira-123")).isNull();
+    }
+
+    @Test
+    void prefersExactTagNamesOverPatterns() {
+        var mappings = CategoryMappings.builder()
+            .put("Jira", "#^[A-Z]+-[0-9]+$", false)
+            .put("Smoke", "JIRA-1", false)
+            .build();
+
+        assertThat(mappings.categoryOf("JIRA-1")).isEqualTo("Smoke");
+    }
+
+    @Test
+    void overridesEarlierMappings() {
+        var appLevel = CategoryMappings.builder().put("Test Suite", "smoke", false).build();
+        var projectLevel = appLevel.toBuilder().put("Smoke", "smoke", false).build();
+
+        assertThat(appLevel.categoryOf("smoke")).isEqualTo("Test Suite");
+        assertThat(projectLevel.categoryOf("smoke")).isEqualTo("Smoke");
+    }
+
+    @Test
+    void overridesEarlierCaseSensitiveMappingWithCaseInsensitiveOne() {
+        var appLevel = CategoryMappings.builder().put("Test Suite", "Smoke", false).build();
+        var projectLevel = appLevel.toBuilder().put("Smoke", "smoke", true).build();
+
+        assertThat(appLevel.categoryOf("Smoke")).isEqualTo("Test Suite");
+        assertThat(projectLevel.categoryOf("Smoke")).isEqualTo("Smoke");
+        assertThat(projectLevel.categoryOf("SMOKE")).isEqualTo("Smoke");
+    }
+
+    @Test
+    void overridesEarlierCaseInsensitiveMappingWithCaseSensitiveOneOnlyForThatTagName() {
+        var mappings = CategoryMappings.builder()
+            .put("Test Suite", "smoke", true)
+            .put("Smoke", "SMOKE", false)
+            .build();
+
+        assertThat(mappings.categoryOf("SMOKE")).isEqualTo("Smoke");
+        assertThat(mappings.categoryOf("smoke")).isEqualTo("Test Suite");
+        assertThat(mappings.categoryOf("Smoke")).isEqualTo("Test Suite");
+    }
+
+    @Test
+    void overridesEarlierCaseSensitiveMappingOfTheSameTagName() {
+        var mappings = CategoryMappings.builder()
+            .put("Test Suite", "Smoke, smoke", false)
+            .put("Smoke", "Smoke", false)
+            .build();
+
+        assertThat(mappings.categoryOf("Smoke")).isEqualTo("Smoke");
+        assertThat(mappings.categoryOf("smoke")).isEqualTo("Test Suite");
+    }
+}
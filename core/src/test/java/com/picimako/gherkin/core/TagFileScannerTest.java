@@ -0,0 +1,73 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit test for {@link TagFileScanner}.
+ */
+final class TagFileScannerTest {
+
+    @TempDir
+    Path root;
+
+    //scanDirectory
+
+    @Test
+    void scansBDDFilesInDirectoryTree() throws IOException {
+        var gherkin = write("features/a.feature", "@smoke @e2e\nFeature: A\n  @smoke\n  Scenario: a");
+        var story = write("stories/nested/b.story", "Meta: @Suite smoke\nScenario: b");
+        write("features/no_tags.feature", "Feature: No tags");
+        write("features/notes.txt", "@smoke");
+        write(".hidden/c.feature", "@smoke\nFeature: C");
+
+        var tagsByFile = TagFileScanner.scanDirectory(root);
+
+        assertThat(tagsByFile).containsOnlyKeys(gherkin, story);
+        assertThat(tagsByFile.get(gherkin)).containsExactly(Map.entry("smoke", 2), Map.entry("e2e", 1));
+        assertThat(tagsByFile.get(story)).containsExactly(Map.entry("Suite:smoke", 1));
+    }
+
+    @Test
+    void scansEmptyDirectory() throws IOException {
+        assertThat(TagFileScanner.scanDirectory(root)).isEmpty();
+    }
+
+    //scanFile
+
+    @Test
+    void scansMemoryMappedFile() throws IOException {
+        var content = new StringBuilder("@smoke\nFeature: Large\n");
+        while (content.length() < TagFileScanner.MAPPING_THRESHOLD) {
+            content.append("  @regression\n  Scenario: scenario\n    Given a step\n");
+        }
+        var file = write("large.feature", content.toString());
+
+        var tags = TagFileScanner.scanFile(file);
+
+        assertThat(Files.size(file)).isGreaterThanOrEqualTo(TagFileScanner.MAPPING_THRESHOLD);
+        assertThat(tags).containsEntry("smoke", 1).containsKey("regression");
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        var file = write("bom.feature", "\uFEFF@smoke\nFeature: BOM");
+
+        assertThat(TagFileScanner.scanFile(file)).containsExactly(Map.entry("smoke", 1));
+    }
+
+    private Path write(String relativePath, String content) throws IOException {
+        var file = root.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
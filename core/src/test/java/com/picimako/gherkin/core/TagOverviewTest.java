@@ -0,0 +1,69 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Unit test for {@link TagOverview}.
+ */
+final class TagOverviewTest {
+
+    private static final CategoryMappings MAPPINGS = CategoryMappings.builder()
+        .put("Test Suite", "smoke, e2e", false)
+        .put("Jira", "#^[A-Z]+-[0-9]+$", false)
+        .build();
+
+    @TempDir
+    Path root;
+
+    @Test
+    void aggregatesTagsIntoCategories() {
+        var a = Path.of("a.feature");
+        var b = Path.of("b.feature");
+        var overview = TagOverview.of(Map.of(
+            a, Map.of("smoke", 2, "JIRA-1", 1, "youtube", 1),
+            b, Map.of("smoke", 1, "E2E", 1),
+            Path.of("c.feature"), Map.of()), MAPPINGS);
+
+        assertThat(overview.fileCount()).isEqualTo(2);
+        assertThat(overview.categories()).extracting(TagOverview.CategorySummary::name).containsExactly("Jira", "Other", "Test Suite");
+
+        var testSuite = overview.categories().get(2);
+        assertThat(testSuite.tags()).extracting(TagOverview.TagSummary::name).containsExactly("smoke");
+        var smoke = testSuite.tags().getFirst();
+        assertThat(smoke.occurrenceCount()).isEqualTo(3);
+        assertThat(smoke.fileCount()).isEqualTo(2);
+        assertThat(smoke.occurrencesByFile()).containsExactly(Map.entry(a, 2), Map.entry(b, 1));
+
+        assertThat(overview.categories().get(1).tags()).extracting(TagOverview.TagSummary::name).containsExactly("E2E", "youtube");
+    }
+
+    @Test
+    void scansDirectory() throws IOException {
+        var feature = root.resolve("a.feature");
+        Files.writeString(feature, "@smoke @JIRA-2\nFeature: A\n  @smoke\n  Scenario: a");
+
+        var overview = TagOverview.scan(root, MAPPINGS);
+
+        assertThat(overview.fileCount()).isEqualTo(1);
+        assertThat(overview.categories()).extracting(TagOverview.CategorySummary::name).containsExactly("Jira", "Test Suite");
+        assertThat(overview.categories().get(1).tags().getFirst().occurrencesByFile()).containsExactly(Map.entry(feature, 2));
+    }
+
+    @Test
+    void hasNoCategoriesForNoFiles() {
+        var overview = TagOverview.of(Map.of(), MAPPINGS);
+
+        assertThat(overview.fileCount()).isZero();
+        assertThat(overview.categories()).isEmpty();
+    }
+}
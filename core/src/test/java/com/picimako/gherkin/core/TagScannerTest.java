@@ -0,0 +1,85 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagScanner}.
+ */
+final class TagScannerTest {
+
+    //scanGherkinText
+
+    @Test
+    void scansGherkinTags() {
+        var tags = TagScanner.scanGherkinText(
+            """
+                @smoke
+                Feature: A feature
+
+                  @regression
+                  Scenario:
+
+                  @jira  @smoke @regression # @commented
+                  Scenario:
+                    Given a doc string
+                      \"\"\"
+                      @not-a-tag
+                      \"\"\"
+                """);
+
+        assertThat(tags).containsExactly(Map.entry("smoke", 2), Map.entry("regression", 2), Map.entry("jira", 1));
+    }
+
+    @Test
+    void scansGherkinTagsWithWindowsLineBreaks() {
+        assertThat(TagScanner.scanGherkinText("@smoke\r\nFeature: A feature\r\n  @regression\r\n  Scenario:\r\n"))
+            .containsExactly(Map.entry("smoke", 1), Map.entry("regression", 1));
+    }
+
+    @Test
+    void scansNothingFromGherkinTextWithoutTags() {
+        assertThat(TagScanner.scanGherkinText("Feature: A feature\n  Scenario: with an email@address")).isEmpty();
+    }
+
+    //scanStoryText
+
+    @Test
+    void scansStoryMetas() {
+        var metas = TagScanner.scanStoryText(
+            """
+                Meta: @E2E
+                @Suite smoke   regression
+                !-- @Commented
+                Scenario: scenario 1
+                @NotAMeta
+
+                Meta:
+
+                @E2E
+                Scenario: scenario 2
+                """);
+
+        assertThat(metas).containsExactly(Map.entry("E2E", 2), Map.entry("Suite:smoke regression", 1));
+    }
+
+    //scan
+
+    @Test
+    void scansByFileExtension() {
+        assertThat(TagScanner.scan("a.feature", "@E2E\nFeature: A feature")).containsOnlyKeys("E2E");
+        assertThat(TagScanner.scan("a.story", "@E2E\nMeta: @Suite")).containsOnlyKeys("Suite");
+    }
+
+    @Test
+    void recognizesBDDFileNames() {
+        assertThat(TagScanner.isBDDFileName("a.feature")).isTrue();
+        assertThat(TagScanner.isBDDFileName("a.story")).isTrue();
+        assertThat(TagScanner.isBDDFileName("a.feature.txt")).isFalse();
+    }
+}
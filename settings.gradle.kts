@@ -1,2 +1,3 @@
 rootProject.name = "gherkin-overview"
 
+include("core")
@@ -3,9 +3,9 @@
 package com.picimako.gherkin;
 
 import static com.intellij.openapi.application.ReadAction.computeBlocking;
-import static com.intellij.util.containers.ContainerUtil.map;
 import static java.util.stream.Collectors.toList;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 
@@ -13,7 +13,6 @@ import com.intellij.openapi.fileTypes.FileTypeManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
 import com.intellij.psi.util.PsiTreeUtil;
@@ -31,16 +30,16 @@ public final class GherkinUtil {
 
     /**
      * Collects all Gherkin files from the provided project.
+     * <p>
+     * Only the virtual files are returned, so that callers can resolve the PSI of each file one by one,
+     * and it can be released right after processing the file.
      *
-     * @return the list of Gherkin files, or empty list if no Gherkin file is found
+     * @return the collection of Gherkin files, or empty collection if no Gherkin file is found
      */
     @NotNull
-    public static List<PsiFile> collectGherkinFilesFromProject(@NotNull Project project) {
+    public static Collection<VirtualFile> collectGherkinFilesFromProject(@NotNull Project project) {
         if (FileTypeManager.getInstance().findFileTypeByLanguage(GherkinLanguage.INSTANCE) != null) {
-            return computeBlocking(() -> {
-                var gherkinFiles = FileTypeIndex.getFiles(GherkinFileType.INSTANCE, GlobalSearchScope.projectScope(project));
-                return map(gherkinFiles, file -> PsiManager.getInstance(project).findFile(file));
-            });
+            return computeBlocking(() -> FileTypeIndex.getFiles(GherkinFileType.INSTANCE, GlobalSearchScope.projectScope(project)));
         }
         return Collections.emptyList();
     }
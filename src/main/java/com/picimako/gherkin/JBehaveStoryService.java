@@ -35,10 +35,13 @@ public interface JBehaveStoryService {
 
     /**
      * Collects all JBehave Story files from the provided project.
+     * <p>
+     * Only the virtual files are returned, so that callers can resolve the PSI of each file one by one,
+     * and it can be released right after processing the file.
      *
-     * @return the list of Story files, or empty list if no Story file is found
+     * @return the collection of Story files, or empty collection if no Story file is found
      */
-    @NotNull List<PsiFile> collectStoryFilesFromProject();
+    @NotNull Collection<VirtualFile> collectStoryFilesFromProject();
 
     /**
      * Collects all Metas from the provided file as a 1-N, Meta key to Meta text(s) mapping.
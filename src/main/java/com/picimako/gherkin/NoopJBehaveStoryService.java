@@ -30,7 +30,7 @@ public final class NoopJBehaveStoryService implements JBehaveStoryService {
     }
 
     @Override
-    public @NotNull List<PsiFile> collectStoryFilesFromProject() {
+    public @NotNull Collection<VirtualFile> collectStoryFilesFromProject() {
         return Collections.emptyList();
     }
 
@@ -18,7 +18,6 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiElement;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.PsiManager;
 import com.intellij.psi.impl.source.tree.LeafPsiElement;
 import com.intellij.psi.search.FileTypeIndex;
 import com.intellij.psi.search.GlobalSearchScope;
@@ -53,12 +52,9 @@ public final class DefaultJBehaveStoryService implements JBehaveStoryService {
 
     @NotNull
     @Override
-    public List<PsiFile> collectStoryFilesFromProject() {
+    public Collection<VirtualFile> collectStoryFilesFromProject() {
         if (FileTypeManager.getInstance().findFileTypeByLanguage(StoryLanguage.STORY_LANGUAGE) != null) {
-            return computeBlocking(() -> {
-                var storyFiles = FileTypeIndex.getFiles(StoryFileType.STORY_FILE_TYPE, GlobalSearchScope.projectScope(project));
-                return map(storyFiles, file -> PsiManager.getInstance(project).findFile(file));
-            });
+            return computeBlocking(() -> FileTypeIndex.getFiles(StoryFileType.STORY_FILE_TYPE, GlobalSearchScope.projectScope(project)));
         }
         return Collections.emptyList();
     }
@@ -0,0 +1,120 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
+import com.picimako.gherkin.GherkinUtil;
+import com.picimako.gherkin.JBehaveStoryService;
+import org.jetbrains.annotations.NotNull;
+
+import com.picimako.gherkin.toolwindow.BDDFileTags;
+import com.picimako.gherkin.toolwindow.TagCategoryRegistry;
+import com.picimako.gherkin.toolwindow.nodetype.Category;
+
+/**
+ * The tag, category and statistics overview of a project, the same as displayed in the Gherkin Tags tool window,
+ * but without building the tree model of the tool window.
+ * <p>
+ * Only the statistics of each tag are kept while the files are processed, and the PSI of each file is resolved only
+ * while its tags are extracted, so the memory used is proportional to the number of distinct tags, and not to the number of files.
+ *
+ * @param projectName the name of the project
+ * @param fileCount   the number of Gherkin and Story files containing at least one tag or meta
+ * @param categories  the categories, sorted by their names the same way as in the tool window
+ * @since 1.13.0
+ */
+public record TagReport(@NotNull String projectName, int fileCount, @NotNull List<CategoryStatistics> categories) {
+
+    private static final Comparator<String> BY_NAME = Comparator.comparing((String name) -> name.toLowerCase(Locale.ROOT)).thenComparing(Comparator.naturalOrder());
+
+    /**
+     * Collects the report from the Gherkin and Story files of the argument project, using the category mappings of
+     * {@link TagCategoryRegistry}.
+     * <p>
+     * Must not be called in a read action, since each file is processed in its own read action.
+     */
+    @NotNull
+    public static TagReport collect(@NotNull Project project) {
+        var statisticsByTag = new HashMap<String, int[]>();
+        int fileCount = collectFrom(GherkinUtil.collectGherkinFilesFromProject(project), statisticsByTag, project)
+            + collectFrom(project.getService(JBehaveStoryService.class).collectStoryFilesFromProject(), statisticsByTag, project);
+        return new TagReport(project.getName(), fileCount, categorize(statisticsByTag, TagCategoryRegistry.getInstance(project)));
+    }
+
+    /**
+     * Adds the statistics of the tags in the argument files to the argument map.
+     *
+     * @param statisticsByTag tag name -> [occurrence count, file count, effective scenario count]
+     * @return the number of files containing at least one tag
+     */
+    private static int collectFrom(Collection<VirtualFile> bddFiles, Map<String, int[]> statisticsByTag, Project project) {
+        int fileCount = 0;
+        for (var file : bddFiles) {
+            ProgressManager.checkCanceled();
+            var fileTags = computeBlocking(() -> {
+                var psiFile = file.isValid() ? PsiManager.getInstance(project).findFile(file) : null;
+                return psiFile != null ? BDDFileTags.of(psiFile) : null;
+            });
+            if (fileTags != null && !fileTags.tagNames().isEmpty()) {
+                fileCount++;
+                for (String tagName : fileTags.tagNames()) {
+                    var statistics = statisticsByTag.computeIfAbsent(tagName, __ -> new int[3]);
+                    statistics[0] += fileTags.countOf(tagName);
+                    statistics[1]++;
+                    statistics[2] += fileTags.scenarioCountOf(tagName);
+                }
+            }
+        }
+        return fileCount;
+    }
+
+    private static List<CategoryStatistics> categorize(Map<String, int[]> statisticsByTag, TagCategoryRegistry registry) {
+        var tagsByCategory = new TreeMap<String, List<TagStatistics>>(BY_NAME);
+        statisticsByTag.forEach((tagName, statistics) -> {
+            String categoryName = Objects.requireNonNullElse(registry.categoryOf(tagName), Category.OTHER_CATEGORY_NAME);
+            tagsByCategory.computeIfAbsent(categoryName, __ -> new ArrayList<>())
+                .add(new TagStatistics(tagName, statistics[0], statistics[1], statistics[2]));
+        });
+        var categories = new ArrayList<CategoryStatistics>(tagsByCategory.size());
+        tagsByCategory.forEach((categoryName, tags) -> {
+            tags.sort(Comparator.comparing(TagStatistics::name, BY_NAME));
+            categories.add(new CategoryStatistics(categoryName, tags));
+        });
+        return categories;
+    }
+
+    /**
+     * The tags of a category.
+     *
+     * @param name the category name
+     * @param tags the tags, sorted by their names
+     */
+    public record CategoryStatistics(@NotNull String name, @NotNull List<TagStatistics> tags) {
+    }
+
+    /**
+     * The statistics of a tag.
+     *
+     * @param name            the tag name
+     * @param occurrenceCount the number of occurrences in all files
+     * @param fileCount       the number of files the tag is used in
+     * @param scenarioCount   the number of scenarios and examples rows the tag effectively applies to
+     */
+    public record TagStatistics(@NotNull String name, int occurrenceCount, int fileCount, int scenarioCount) {
+    }
+}
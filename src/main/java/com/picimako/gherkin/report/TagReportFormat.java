@@ -0,0 +1,117 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Locale;
+
+import com.google.gson.stream.JsonWriter;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The formats a {@link TagReport} can be written in.
+ * <p>
+ * The reports are written directly to the argument writer, category by category, without building them in memory first.
+ *
+ * @since 1.13.0
+ */
+public enum TagReportFormat {
+    /**
+     * The project, the file count and the categories with their tags, as a single JSON object.
+     */
+    JSON {
+        @Override
+        public void write(@NotNull TagReport report, @NotNull Writer writer) throws IOException {
+            var json = new JsonWriter(writer);
+            json.setIndent("  ");
+            json.beginObject();
+            json.name("project").value(report.projectName());
+            json.name("files").value(report.fileCount());
+            json.name("categories").beginArray();
+            for (var category : report.categories()) {
+                json.beginObject();
+                json.name("name").value(category.name());
+                json.name("tags").beginArray();
+                for (var tag : category.tags()) {
+                    json.beginObject();
+                    json.name("name").value(tag.name());
+                    json.name("occurrences").value(tag.occurrenceCount());
+                    json.name("files").value(tag.fileCount());
+                    json.name("scenarios").value(tag.scenarioCount());
+                    json.endObject();
+                }
+                json.endArray();
+                json.endObject();
+            }
+            json.endArray();
+            json.endObject();
+            json.flush();
+            writer.write('\n');
+        }
+    },
+    /**
+     * One row per tag, with a header row.
+     */
+    CSV {
+        @Override
+        public void write(@NotNull TagReport report, @NotNull Writer writer) throws IOException {
+            writer.write("category,tag,occurrences,files,scenarios\n");
+            for (var category : report.categories()) {
+                for (var tag : category.tags()) {
+                    writer.write(csvValue(category.name()) + "," + csvValue(tag.name()) + ","
+                        + tag.occurrenceCount() + "," + tag.fileCount() + "," + tag.scenarioCount() + "\n");
+                }
+            }
+        }
+    },
+    /**
+     * A standalone HTML page with a table per category.
+     */
+    HTML {
+        @Override
+        public void write(@NotNull TagReport report, @NotNull Writer writer) throws IOException {
+            String projectName = StringUtil.escapeXmlEntities(report.projectName());
+            writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"UTF-8\">\n<title>Gherkin Tags - " + projectName + "</title>\n</head>\n<body>\n");
+            writer.write("<h1>Gherkin Tags - " + projectName + "</h1>\n");
+            writer.write("<p>" + report.fileCount() + " files with tags</p>\n");
+            for (var category : report.categories()) {
+                writer.write("<h2>" + StringUtil.escapeXmlEntities(category.name()) + "</h2>\n");
+                writer.write("<table>\n<tr><th>Tag</th><th>Occurrences</th><th>Files</th><th>Scenarios</th></tr>\n");
+                for (var tag : category.tags()) {
+                    writer.write("<tr><td>" + StringUtil.escapeXmlEntities(tag.name()) + "</td><td>" + tag.occurrenceCount()
+                        + "</td><td>" + tag.fileCount() + "</td><td>" + tag.scenarioCount() + "</td></tr>\n");
+                }
+                writer.write("</table>\n");
+            }
+            writer.write("</body>\n</html>\n");
+        }
+    };
+
+    /**
+     * Writes the argument report to the argument writer in this format. The writer is not closed.
+     */
+    public abstract void write(@NotNull TagReport report, @NotNull Writer writer) throws IOException;
+
+    /**
+     * Quotes the argument value if it contains a separator, quote or line break, as per RFC 4180.
+     */
+    private static String csvValue(String value) {
+        return StringUtil.containsAnyChar(value, ",\"\r\n") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+    }
+
+    /**
+     * Returns the format with the argument name, case-insensitively.
+     *
+     * @throws IllegalArgumentException if there is no format with the argument name
+     */
+    @NotNull
+    public static TagReportFormat fromName(@NotNull String name) {
+        try {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown report format: " + name, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import com.intellij.ide.impl.ProjectUtil;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ApplicationStarter;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectManager;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Headless entry point for generating the Gherkin tag report of a project, e.g. in CI, without the IDE's UI:
+ * <pre>
+ * idea gherkinOverview &lt;project path> [--format json|csv|html] [--output &lt;file>]
+ * </pre>
+ * The project is opened, and once indexing is finished, the report is collected (see {@link TagReport#collect})
+ * and written to the output file, or to the standard output if no file is specified. The format is JSON by default.
+ * <p>
+ * The report is generated in a background thread, then the project is closed, and the application exits with 0
+ * when the report is written, and with 1 in case of an error.
+ *
+ * @since 1.13.0
+ */
+public final class TagReportStarter implements ApplicationStarter {
+
+    private static final Logger LOG = Logger.getInstance(TagReportStarter.class);
+    private static final String USAGE = "Usage: gherkinOverview <project path> [--format json|csv|html] [--output <file>]";
+
+    @Override
+    public void main(@NotNull List<String> args) {
+        var application = ApplicationManager.getApplication();
+        application.executeOnPooledThread(() -> {
+            int exitCode = generateReport(args);
+            application.exit(true, true, false, exitCode);
+        });
+    }
+
+    private static int generateReport(List<String> args) {
+        ReportArguments arguments;
+        try {
+            arguments = ReportArguments.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            return 1;
+        }
+
+        try {
+            var project = ProjectUtil.openOrImport(arguments.projectPath(), null, true);
+            if (project == null) {
+                System.err.println("Could not open the project at " + arguments.projectPath());
+                return 1;
+            }
+            try {
+                DumbService.getInstance(project).waitForSmartMode();
+                var report = TagReport.collect(project);
+                try (var writer = createWriter(arguments.output())) {
+                    arguments.format().write(report, writer);
+                }
+            } finally {
+                closeProject(project);
+            }
+            return 0;
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Could not generate the Gherkin tag report.", e);
+            System.err.println("Could not generate the Gherkin tag report: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static void closeProject(Project project) {
+        ApplicationManager.getApplication().invokeAndWait(() -> ProjectManager.getInstance().closeAndDispose(project));
+    }
+
+    private static Writer createWriter(@Nullable Path output) throws IOException {
+        return output != null
+            ? Files.newBufferedWriter(output, StandardCharsets.UTF_8)
+            : new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+                //Only flushes the standard output, so that it is not closed
+                @Override
+                public void close() throws IOException {
+                    flush();
+                }
+            };
+    }
+
+    /**
+     * The command line arguments of the report.
+     *
+     * @param projectPath the path of the project to report on
+     * @param format      the format of the report
+     * @param output      the file to write the report to, or null for the standard output
+     */
+    record ReportArguments(@NotNull Path projectPath, @NotNull TagReportFormat format, @Nullable Path output) {
+
+        /**
+         * Parses the arguments of the command. The first argument is the command name itself.
+         *
+         * @throws IllegalArgumentException if the arguments are invalid
+         */
+        static ReportArguments parse(List<String> args) {
+            Path projectPath = null;
+            var format = TagReportFormat.JSON;
+            Path output = null;
+            for (int i = 1; i < args.size(); i++) {
+                String arg = args.get(i);
+                switch (arg) {
+                    case "--format" -> format = TagReportFormat.fromName(valueOf(arg, args, ++i));
+                    case "--output" -> output = Path.of(valueOf(arg, args, ++i));
+                    default -> {
+                        if (arg.startsWith("--") || projectPath != null) {
+                            throw new IllegalArgumentException("Unexpected argument: " + arg);
+                        }
+                        projectPath = Path.of(arg).toAbsolutePath();
+                    }
+                }
+            }
+            if (projectPath == null) {
+                throw new IllegalArgumentException("The project path is missing.");
+            }
+            return new ReportArguments(projectPath, format, output);
+        }
+
+        private static String valueOf(String option, List<String> args, int index) {
+            if (index >= args.size()) {
+                throw new IllegalArgumentException("The value of " + option + " is missing.");
+            }
+            return args.get(index);
+        }
+    }
+}
@@ -2,32 +2,159 @@
 
 package com.picimako.gherkin.settings;
 
-import lombok.*;
+import java.util.List;
+
+import com.intellij.util.xmlb.annotations.Transient;
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.jetbrains.annotations.NotNull;
+
+import com.picimako.gherkin.core.ParsedTags;
 
 /**
  * Stores a category to tags mapping.
  * <p>
- * The tags are stored as comma separated values.
+ * The tags are stored as comma separated values, so that the settings files stay compatible with earlier versions
+ * of the plugin, and so that they can be edited as a single cell in the Settings. The {@code ignoreCase} flag is
+ * optional in the settings files, and defaults to {@code false} when missing.
+ * <p>
+ * The parsed form of the tags ({@link ParsedTags}), and a content hash of this mapping are computed lazily, cached,
+ * and invalidated when this mapping is modified. They are not persisted.
  * <p>
  * {@link Cloneable} is implemented so that these type of objects are handled properly during the IDE Settings workflow.
  * <p>
  * e.g. com.intellij.lang.ant.config.impl.BuildFileProperty
  * e.g. com.intellij.execution.util.EnvironmentVariable
  */
-@AllArgsConstructor
 @Getter
 @Setter
 @EqualsAndHashCode
 @ToString
 public final class CategoryAndTags implements Cloneable {
 
+    private static final long HASH_SEED = 1125899906842597L;
+
     private String category;
     private String tags;
+    /**
+     * Whether exact tag names and regex patterns in this mapping are matched case-insensitively.
+     *
+     * @since 1.13.0
+     */
+    private boolean ignoreCase;
+
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient ParsedTags parsedTags;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient long contentHash;
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private transient boolean isContentHashComputed;
 
     public CategoryAndTags() {
         this("", "");
     }
 
+    public CategoryAndTags(String category, String tags) {
+        this(category, tags, false);
+    }
+
+    public CategoryAndTags(String category, String tags, boolean ignoreCase) {
+        this.category = category;
+        this.tags = tags;
+        this.ignoreCase = ignoreCase;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+        invalidateCaches();
+    }
+
+    public void setTags(String tags) {
+        this.tags = tags;
+        invalidateCaches();
+    }
+
+    public void setIgnoreCase(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        invalidateCaches();
+    }
+
+    private void invalidateCaches() {
+        parsedTags = null;
+        isContentHashComputed = false;
+    }
+
+    /**
+     * Returns the tags of this mapping split into trimmed exact tag names and compiled regex patterns.
+     * <p>
+     * In case of case-insensitive mappings, the exact tag names are lower-cased, and the patterns are compiled with
+     * {@link java.util.regex.Pattern#CASE_INSENSITIVE}. Invalid regex patterns are skipped.
+     *
+     * @since 1.13.0
+     */
+    @Transient
+    @NotNull
+    public ParsedTags getParsedTags() {
+        var parsed = parsedTags;
+        if (parsed == null) {
+            parsed = ParsedTags.parse(tags, ignoreCase);
+            parsedTags = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Returns a 64-bit hash of the category, the tags and the case-sensitivity of this mapping, so that changes in mappings
+     * can be detected without comparing the underlying strings.
+     *
+     * @since 1.13.0
+     */
+    public long contentHash() {
+        if (!isContentHashComputed) {
+            long hash = hash(HASH_SEED, category);
+            hash = hash(hash, tags);
+            contentHash = 31 * hash + (ignoreCase ? 1 : 0);
+            isContentHashComputed = true;
+        }
+        return contentHash;
+    }
+
+    /**
+     * Combines the cached content hashes of the argument mappings, taking their order into account as well.
+     *
+     * @since 1.13.0
+     */
+    public static long contentHashOf(@NotNull List<CategoryAndTags> mappings) {
+        long hash = HASH_SEED;
+        for (var mapping : mappings) {
+            hash = 31 * hash + mapping.contentHash();
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, String value) {
+        if (value == null) {
+            return 31 * hash;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            hash = 31 * hash + value.charAt(i);
+        }
+        //Separator to distinguish e.g. ("ab", "c") from ("a", "bc")
+        return 31 * hash + value.length();
+    }
+
     @Override
     public CategoryAndTags clone() {
         try {
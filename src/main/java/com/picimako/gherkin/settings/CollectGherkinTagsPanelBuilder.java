@@ -2,19 +2,21 @@
 
 package com.picimako.gherkin.settings;
 
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
 import static com.intellij.util.containers.ContainerUtil.map;
 import static com.picimako.gherkin.BDDUtil.isStoryLanguageSupported;
 import static com.picimako.gherkin.GherkinUtil.collectGherkinFilesFromProject;
 import static com.picimako.gherkin.resources.GherkinBundle.message;
-import static com.picimako.gherkin.toolwindow.TagNameUtil.metaNameFrom;
-import static com.picimako.gherkin.toolwindow.TagNameUtil.tagNameFrom;
 
 import com.intellij.execution.util.StringWithNewLinesCellEditor;
 import com.intellij.icons.AllIcons;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsContexts;
-import com.intellij.psi.util.PsiTreeUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiManager;
 import com.intellij.ui.ToolbarDecorator;
 import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.table.TableView;
@@ -24,16 +26,21 @@ import com.intellij.util.ui.ElementProducer;
 import com.intellij.util.ui.FormBuilder;
 import com.intellij.util.ui.ListTableModel;
 import com.picimako.gherkin.JBehaveStoryService;
+import com.picimako.gherkin.toolwindow.BDDFileTags;
 import com.picimako.gherkin.toolwindow.TagCategoryRegistry;
+import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.jetbrains.plugins.cucumber.psi.GherkinTag;
 
 import javax.swing.*;
 import javax.swing.table.TableCellEditor;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Builds a panel in which tags and their mappings to categories can be collected from the current project.
@@ -44,6 +51,9 @@ import java.util.List;
  * <p>
  * Tags for each category are sorted alphabetically, and displayed in an expandable textfield.
  * <p>
+ * The tags are taken from the live model of the Gherkin Tags tool window when it has been built, otherwise they are
+ * collected from the project's Gherkin and Story files in a cancellable background task.
+ * <p>
  * The table is not editable, all modification options are disabled.
  * <p>
  * Cells in the {@code Mapped Category} column are not editable, while ones in the {@code Tags} column are editable
@@ -68,11 +78,43 @@ final class CollectGherkinTagsPanelBuilder {
                 return;
             }
             cannotCollectWhileIDEIsIndexingLabel.setVisible(false);
-            tableModel.setItems(collectMappingsFromProject());
-            collectedMappingsPanel.setVisible(true);
+
+            var tagNamesFromToolWindowModel = TagOccurrencesRegistry.getInstance(project).collectTagNames();
+            if (!tagNamesFromToolWindowModel.isEmpty()) {
+                showMappings(tagNamesFromToolWindowModel);
+            } else {
+                collectMappingsInBackground();
+            }
         });
     }
 
+    private void collectMappingsInBackground() {
+        collectGherkinTagsButton.setEnabled(false);
+        new Task.Backgroundable(project, message("g.o.settings.collect.mappings.progress"), true) {
+            private Set<String> tagNames;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                tagNames = collectTagNamesFromProject(indicator);
+            }
+
+            @Override
+            public void onSuccess() {
+                showMappings(tagNames);
+            }
+
+            @Override
+            public void onFinished() {
+                collectGherkinTagsButton.setEnabled(true);
+            }
+        }.queue();
+    }
+
+    private void showMappings(Collection<String> tagNames) {
+        tableModel.setItems(mapToCategories(tagNames, TagCategoryRegistry.getInstance(project)));
+        collectedMappingsPanel.setVisible(true);
+    }
+
     JPanel buildPanel() {
         collectedMappingsPanel = ToolbarDecorator.createDecorator(buildTableView(), noopElementProducer())
             .disableAddAction()
@@ -146,28 +188,38 @@ final class CollectGherkinTagsPanelBuilder {
         return new TableView<>(tableModel = new ListTableModel<>(tagsColumn, mappedCategoryColumn));
     }
 
-    private List<CategoryAndTags> collectMappingsFromProject() {
-        var registry = TagCategoryRegistry.getInstance(project);
-        final MultiMap<String, String> rawMappings = MultiMap.createOrderedSet();
+    /**
+     * Collects the distinct tag and meta names from the project's Gherkin and Story files, each file in its own read action.
+     * <p>
+     * This doesn't wait to be in Smart mode because this panel allows the collection of tags only when in Smart mode.
+     */
+    Set<String> collectTagNamesFromProject(@NotNull ProgressIndicator indicator) {
+        var bddFiles = new ArrayList<>(collectGherkinFilesFromProject(project));
+        if (isStoryLanguageSupported()) {
+            bddFiles.addAll(project.getService(JBehaveStoryService.class).collectStoryFilesFromProject());
+        }
 
-        //This doesn't wait to be in Smart mode because this panel allows the collection of tags only when in Smart mode
-        collectGherkinFilesFromProject(project).stream()
-            .flatMap(file -> PsiTreeUtil.findChildrenOfType(file, GherkinTag.class).stream())
-            .forEach(gherkinTag -> {
-                String tagName = tagNameFrom(gherkinTag);
-                rawMappings.putValue(registry.categoryOf(tagName), tagName);
-            });
+        var psiManager = PsiManager.getInstance(project);
+        var tagNames = new HashSet<String>();
+        for (int i = 0; i < bddFiles.size(); i++) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) i / bddFiles.size());
+            VirtualFile file = bddFiles.get(i);
+            tagNames.addAll(computeBlocking(() -> {
+                var psiFile = file.isValid() ? psiManager.findFile(file) : null;
+                return psiFile != null ? BDDFileTags.of(psiFile).tagNames() : Set.<String>of();
+            }));
+        }
+        return tagNames;
+    }
 
-        if (isStoryLanguageSupported()) {
-            //This doesn't wait to be in Smart mode because this panel allows the collection of tags only when in Smart mode
-            var storyService = project.getService(JBehaveStoryService.class);
-            storyService.collectStoryFilesFromProject().stream()
-                .map(storyService::collectMetasFromFile)
-                .flatMap(metas -> metas.entrySet().stream())
-                .forEach(meta -> {
-                    String metaName = metaNameFrom(meta.getKey(), meta.getValue());
-                    rawMappings.putValue(registry.categoryOf(metaName), metaName);
-                });
+    /**
+     * Maps each tag to its category, and returns the tags, sorted alphabetically and joined by comma, for each category.
+     */
+    static List<CategoryAndTags> mapToCategories(Collection<String> tagNames, TagCategoryRegistry registry) {
+        final MultiMap<String, String> rawMappings = MultiMap.createOrderedSet();
+        for (String tagName : tagNames) {
+            rawMappings.putValue(registry.categoryOf(tagName), tagName);
         }
 
         if (!rawMappings.isEmpty()) {
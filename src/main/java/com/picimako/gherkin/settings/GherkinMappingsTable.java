@@ -9,12 +9,17 @@ import com.intellij.execution.util.StringWithNewLinesCellEditor;
 import com.intellij.openapi.util.NlsContexts;
 import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.ui.AnActionButton;
+import com.intellij.ui.BooleanTableCellEditor;
+import com.intellij.ui.BooleanTableCellRenderer;
+import com.intellij.ui.scale.JBUIScale;
 import com.intellij.util.ui.ColumnInfo;
 import com.intellij.util.ui.ListTableModel;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import javax.swing.*;
 import javax.swing.table.TableCellEditor;
+import javax.swing.table.TableCellRenderer;
 import java.awt.*;
 import java.util.function.Supplier;
 
@@ -86,7 +91,53 @@ final class GherkinMappingsTable extends ListTableWithButtons<CategoryAndTags> {
             }
         };
 
-        return new ListTableModel<>(categoryColumn, tagsColumn);
+        final var ignoreCaseColumn = new ColumnInfo<CategoryAndTags, Boolean>(message("g.o.settings.table.column.ignore.case")) {
+            @Override
+            public Boolean valueOf(CategoryAndTags categoryAndTag) {
+                return categoryAndTag.isIgnoreCase();
+            }
+
+            @Override
+            public void setValue(CategoryAndTags categoryAndTag, Boolean value) {
+                boolean ignoreCase = Boolean.TRUE.equals(value);
+                if (ignoreCase != categoryAndTag.isIgnoreCase()) {
+                    categoryAndTag.setIgnoreCase(ignoreCase);
+                    setModified();
+                }
+            }
+
+            @Override
+            public Class<?> getColumnClass() {
+                return Boolean.class;
+            }
+
+            @Override
+            public TableCellRenderer getRenderer(CategoryAndTags categoryAndTags) {
+                return new BooleanTableCellRenderer();
+            }
+
+            @Override
+            public TableCellEditor getEditor(CategoryAndTags categoryAndTags) {
+                return new BooleanTableCellEditor();
+            }
+
+            @Override
+            public boolean isCellEditable(CategoryAndTags categoryAndTags) {
+                return true;
+            }
+
+            @Override
+            public @Nullable @NlsContexts.Tooltip String getTooltipText() {
+                return message("g.o.settings.table.column.ignore.case.description");
+            }
+
+            @Override
+            public int getWidth(JTable table) {
+                return table.getFontMetrics(table.getFont()).stringWidth(getName()) + JBUIScale.scale(20);
+            }
+        };
+
+        return new ListTableModel<>(categoryColumn, tagsColumn, ignoreCaseColumn);
     }
 
     @Override
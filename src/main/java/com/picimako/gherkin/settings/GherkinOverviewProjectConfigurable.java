@@ -5,14 +5,15 @@ package com.picimako.gherkin.settings;
 import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
 import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getToolWindowHider;
 
-import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsContexts;
+import com.intellij.util.containers.ContainerUtil;
 import com.picimako.gherkin.resources.GherkinBundle;
 import com.picimako.gherkin.toolwindow.GherkinTagOverviewPanel;
 import com.picimako.gherkin.toolwindow.GherkinTagToolWindowHider;
 import com.picimako.gherkin.toolwindow.TagCategoryRegistry;
+import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
@@ -21,6 +22,7 @@ import org.jetbrains.annotations.VisibleForTesting;
 import javax.swing.*;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
 /**
  * A Configurable object acting as the bridge between the Gherkin Overview Settings UI components,
@@ -30,9 +32,10 @@ import java.util.List;
  * project services, before actually saving the form, or during resetting to assign the object references from the
  * services to the UI component.
  * <p>
- * The whole model in the Gherkin tag tool window is rebuilt when any of the mappings changes in the Settings. This is
- * so that users don't have to restart the IDE themselves to have the data updated, and there is no need for a manual
- * "rebuild model manually" feature to be implemented in the tool window.
+ * The model in the Gherkin tag tool window is updated when any of the mappings changes in the Settings. This is
+ * so that users don't have to restart the IDE themselves to have the data updated. Since category mappings don't affect
+ * which files contain which tags, only the tags whose categories have changed are moved between categories,
+ * instead of rebuilding the whole model.
  */
 public final class GherkinOverviewProjectConfigurable implements Configurable {
 
@@ -70,23 +73,18 @@ public final class GherkinOverviewProjectConfigurable implements Configurable {
     public void apply() {
         var appSettings = GherkinOverviewApplicationState.getInstance();
         var projectSettings = GherkinOverviewProjectState.getInstance(project);
-        //Saving this state, before overwriting the saved mappings with the new values
-        boolean toRebuildModel = hasAnyMappingsChanged(appSettings.mappings, projectSettings.mappings);
-
-        appSettings.mappings = new ArrayList<>(component.getApplicationLevelMappings());
-        var registry = TagCategoryRegistry.getInstance(project);
-        registry.dispose();
-        registry.putMappingsFrom(appSettings.mappings);
-        if (component.isUseProjectLevelMappings()) {
-            registry.putMappingsFrom(component.getProjectLevelMappings());
-        }
+
+        appSettings.mappings = copyOf(component.getApplicationLevelMappings());
+        var recategorizedTagNames = TagCategoryRegistry.getInstance(project).replaceMappings(
+            appSettings.mappings,
+            component.isUseProjectLevelMappings() ? component.getProjectLevelMappings() : List.of(),
+            TagOccurrencesRegistry.getInstance(project).collectTagNames());
 
         projectSettings.useProjectLevelMappings = component.isUseProjectLevelMappings();
-        var projectLevelMappings = component.getProjectLevelMappings();
-        projectSettings.mappings = new ArrayList<>(projectLevelMappings);
+        projectSettings.mappings = copyOf(component.getProjectLevelMappings());
 
-        if (toRebuildModel) {
-            rebuildModel();
+        if (!recategorizedTagNames.isEmpty()) {
+            recategorizeTags(recategorizedTagNames);
         }
     }
 
@@ -117,26 +115,34 @@ public final class GherkinOverviewProjectConfigurable implements Configurable {
         component = null;
     }
 
+    /**
+     * Compares the content hashes of the mappings, which are cached per mapping, instead of comparing all category and tags strings
+     * on each validation of the Settings UI.
+     */
     private boolean hasAnyMappingsChanged(List<CategoryAndTags> appLevelMappings, List<CategoryAndTags> projectLevelMappings) {
-        return !component.getApplicationLevelMappings().equals(appLevelMappings)
-            || !component.getProjectLevelMappings().equals(projectLevelMappings);
+        return CategoryAndTags.contentHashOf(component.getApplicationLevelMappings()) != CategoryAndTags.contentHashOf(appLevelMappings)
+            || CategoryAndTags.contentHashOf(component.getProjectLevelMappings()) != CategoryAndTags.contentHashOf(projectLevelMappings);
+    }
+
+    /**
+     * Copies the mappings from the UI, so that further edits in the Settings tables don't modify the saved settings.
+     */
+    private static List<CategoryAndTags> copyOf(List<CategoryAndTags> mappings) {
+        return new ArrayList<>(ContainerUtil.map(mappings, CategoryAndTags::clone));
     }
 
     /**
      * The actual UI panel and the underlying model is available via {@link GherkinTagToolWindowHider},
-     * so it doesn't matter if the tool window has or hasn't been opened before, the model will be rebuilt.
+     * so it doesn't matter if the tool window has or hasn't been opened before, the model will be updated.
      */
-    private void rebuildModel() {
+    private void recategorizeTags(Set<String> tagNames) {
         var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
-        if (gherkinTagsToolWindow != null) {
+        //If the overview is not yet available, it is still being built with the new mappings, so there is nothing to update yet
+        if (gherkinTagsToolWindow != null && getToolWindowHider(gherkinTagsToolWindow).hasOverview()) {
             var hider = getToolWindowHider(gherkinTagsToolWindow);
             var toolWindowPanel = (GherkinTagOverviewPanel) hider.getComponent(0);
-            if (ApplicationManager.getApplication().isUnitTestMode()) {
-                toolWindowPanel.rebuildModel();
-                hider.setContentVisibilityBasedOn((ModelDataRoot) toolWindowPanel.getTree().getModel().getRoot());
-            } else {
-                toolWindowPanel.rebuildModel(() -> hider.setContentVisibilityBasedOn((ModelDataRoot) toolWindowPanel.getTree().getModel().getRoot()));
-            }
+            toolWindowPanel.recategorizeTags(tagNames);
+            hider.setContentVisibilityBasedOn((ModelDataRoot) toolWindowPanel.getTree().getModel().getRoot());
         }
     }
 
@@ -0,0 +1,247 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
+import static com.picimako.gherkin.toolwindow.TagNameUtil.metaNameFrom;
+import static com.picimako.gherkin.toolwindow.TagNameUtil.tagNameFrom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.intellij.concurrency.JobLauncher;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.impl.source.tree.LeafPsiElement;
+import com.intellij.psi.util.CachedValueProvider;
+import com.intellij.psi.util.CachedValuesManager;
+import com.intellij.psi.util.PsiTreeUtil;
+import com.picimako.gherkin.JBehaveStoryService;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.plugins.cucumber.psi.GherkinScenario;
+import org.jetbrains.plugins.cucumber.psi.GherkinScenarioOutline;
+import org.jetbrains.plugins.cucumber.psi.GherkinTag;
+
+/**
+ * The tags or metas extracted from a single Gherkin or Story file.
+ * <p>
+ * It is produced in a single pass over the file's PSI, and is cached against the file's modification stamp,
+ * so the model, {@link TagOccurrencesRegistry} and {@link TagFingerprints} can all use it without walking the file again.
+ * <p>
+ * Besides the raw occurrences, it also holds the number of scenarios each tag effectively applies to. In Gherkin files,
+ * tags of Features and Rules are inherited by all their Scenarios, and tags of Scenario Outlines by all their Examples,
+ * thus a Scenario is counted for each tag on it or on its ancestors (once per tag, even if the tag is repeated on multiple levels),
+ * and a Scenario Outline is counted once for each data row in its Examples. Backgrounds are not counted.
+ * In Story files, each meta occurrence is counted as a scenario.
+ * <p>
+ * For evaluating tag expressions, it also holds the distinct sets of tags the scenarios effectively have. In Gherkin files,
+ * there is one set for each Scenario and each non-empty Examples block of Scenario Outlines, with the same inheritance as above,
+ * including the empty set for scenarios without any tag, and a set for Scenario Outlines without any data row.
+ * In Story files, the metas are not resolved per scenario, thus there is a single set with all metas of the file.
+ *
+ * @param offsetsByTag       the start offsets of the occurrences of each distinct tag/meta name, in the order of their first occurrence
+ * @param fingerprint        the hash of the sequence of all tag/meta names in the file
+ * @param scenarioCountByTag the number of scenarios and examples rows each tag/meta effectively applies to
+ * @param scenarioTags       the distinct sets of tag/meta names the scenarios effectively have
+ * @since 1.13.0
+ */
+public record BDDFileTags(@NotNull Map<String, int[]> offsetsByTag, int fingerprint, @NotNull Map<String, Integer> scenarioCountByTag,
+                          @NotNull List<Set<String>> scenarioTags) {
+
+    private static final BDDFileTags EMPTY = new BDDFileTags(Collections.emptyMap(), 1, Collections.emptyMap(), List.of());
+
+    /**
+     * Returns the distinct tag/meta names in the file, in the order of their first occurrence.
+     */
+    public Set<String> tagNames() {
+        return offsetsByTag.keySet();
+    }
+
+    /**
+     * Returns the number of occurrences of the argument tag/meta in the file.
+     */
+    public int countOf(String tagName) {
+        var offsets = offsetsByTag.get(tagName);
+        return offsets != null ? offsets.length : 0;
+    }
+
+    /**
+     * Returns the number of scenarios and examples rows the argument tag/meta effectively applies to in the file.
+     */
+    public int scenarioCountOf(String tagName) {
+        return scenarioCountByTag.getOrDefault(tagName, 0);
+    }
+
+    /**
+     * Returns the start offsets of the occurrences of the argument tag/meta in the file.
+     */
+    public int @NotNull [] offsetsOf(String tagName) {
+        return offsetsByTag.getOrDefault(tagName, new int[0]);
+    }
+
+    /**
+     * Returns the hash of the occurrence offsets, the scenario counts and the scenario tag sets of the tags/metas in the file.
+     * Unlike {@link #fingerprint()}, it also changes when the tags/metas are only moved, or the scenarios they apply to change.
+     */
+    public int locationFingerprint() {
+        int fingerprint = 31 * scenarioCountByTag.hashCode() + scenarioTags.hashCode();
+        for (int[] offsets : offsetsByTag.values()) {
+            fingerprint = 31 * fingerprint + Arrays.hashCode(offsets);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Returns the tags or metas of the argument file, extracting them only if the file has changed since the last extraction.
+     *
+     * @param file a Gherkin or Story file
+     */
+    @NotNull
+    public static BDDFileTags of(@NotNull PsiFile file) {
+        return computeBlocking(() -> CachedValuesManager.getCachedValue(file, () -> CachedValueProvider.Result.create(extract(file), file)));
+    }
+
+    /**
+     * Extracts the tags or metas of the argument files concurrently, so that subsequent {@link #of(PsiFile)} calls
+     * are served from the cache.
+     * <p>
+     * Each file is processed in its own read action, so that this doesn't block write actions for the whole duration,
+     * thus it must not be called from within a read action.
+     *
+     * @param files   Gherkin and Story files, invalid (e.g. deleted) files are skipped
+     * @param project the current project
+     */
+    static void extractConcurrently(@NotNull Collection<VirtualFile> files, @NotNull Project project) {
+        JobLauncher.getInstance().invokeConcurrentlyUnderProgress(new ArrayList<>(files), ProgressManager.getGlobalProgressIndicator(), file -> {
+            var psiFile = computeBlocking(() -> file.isValid() ? PsiManager.getInstance(project).findFile(file) : null);
+            if (psiFile != null) {
+                of(psiFile);
+            }
+            return true;
+        });
+    }
+
+    private static BDDFileTags extract(PsiFile file) {
+        if (!file.isValid()) return EMPTY;
+
+        var builder = new Builder();
+        if (isGherkinFile(file)) {
+            PsiTreeUtil.processElements(file, GherkinTag.class, tag -> {
+                builder.add(tagNameFrom(tag), tag.getTextRange().getStartOffset());
+                return true;
+            });
+            countScenarios(file, Set.of(), builder);
+        } else {
+            var storyService = file.getProject().getService(JBehaveStoryService.class);
+            if (storyService.isJBehaveStoryFile(file)) {
+                PsiTreeUtil.processElements(file, LeafPsiElement.class, element -> {
+                    if (storyService.isMetaKey(element)) {
+                        String metaName = metaNameFrom(element, storyService.collectMetaTextsForMetaKeyAsList(element));
+                        builder.add(metaName, element.getTextRange().getStartOffset());
+                        builder.scenarioCounts.addTo(metaName, 1);
+                    }
+                    return true;
+                });
+                if (!builder.offsets.isEmpty()) {
+                    builder.scenarioTags.add(builder.offsets.keySet());
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Counts the scenarios and examples rows in the argument element for each tag, and collects the tag sets of the scenarios,
+     * including the tags inherited from the enclosing elements.
+     *
+     * @param element       a Gherkin file, or an element in it
+     * @param inheritedTags the names of the tags on the enclosing elements
+     * @param builder       the builder to add the counts and the tag sets to
+     */
+    private static void countScenarios(PsiElement element, Set<String> inheritedTags, Builder builder) {
+        var counts = builder.scenarioCounts;
+        var tags = withOwnTags(element, inheritedTags);
+        if (element instanceof GherkinScenarioOutline outline) {
+            boolean hasRows = false;
+            for (var examples : outline.getExamplesBlocks()) {
+                var table = examples.getTable();
+                int rowCount = table != null ? table.getDataRows().size() : 0;
+                if (rowCount > 0) {
+                    var examplesTags = withOwnTags(examples, tags);
+                    examplesTags.forEach(tagName -> counts.addTo(tagName, rowCount));
+                    builder.scenarioTags.add(examplesTags);
+                    hasRows = true;
+                }
+            }
+            if (!hasRows) {
+                //An outline still being written is matched by its own tags, so that it is not hidden by tag expressions
+                builder.scenarioTags.add(tags);
+            }
+        } else if (element instanceof GherkinScenario scenario) {
+            if (!scenario.isBackground()) {
+                tags.forEach(tagName -> counts.addTo(tagName, 1));
+                builder.scenarioTags.add(tags);
+            }
+        } else {
+            //Features and Rules
+            for (var child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+                if (!(child instanceof LeafPsiElement) && !(child instanceof GherkinTag)) {
+                    countScenarios(child, tags, builder);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the argument inherited tag names extended with the names of the tags directly on the argument element.
+     */
+    private static Set<String> withOwnTags(PsiElement element, Set<String> inheritedTags) {
+        Set<String> tags = inheritedTags;
+        for (var child = element.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child instanceof GherkinTag tag) {
+                if (tags == inheritedTags) {
+                    tags = new HashSet<>(inheritedTags);
+                }
+                tags.add(tagNameFrom(tag));
+            }
+        }
+        return tags;
+    }
+
+    private static final class Builder {
+        private final Map<String, IntArrayList> offsets = new LinkedHashMap<>();
+        private final Object2IntOpenHashMap<String> scenarioCounts = new Object2IntOpenHashMap<>();
+        private final Set<Set<String>> scenarioTags = new LinkedHashSet<>();
+        private int fingerprint = 1;
+
+        void add(String tagName, int offset) {
+            offsets.computeIfAbsent(tagName, __ -> new IntArrayList(1)).add(offset);
+            fingerprint = 31 * fingerprint + tagName.hashCode();
+        }
+
+        BDDFileTags build() {
+            if (offsets.isEmpty()) return EMPTY;
+
+            var offsetsByTag = new LinkedHashMap<String, int[]>(offsets.size());
+            offsets.forEach((tagName, tagOffsets) -> offsetsByTag.put(tagName, tagOffsets.toIntArray()));
+            var scenarioTagSets = scenarioTags.stream().map(Set::copyOf).toList();
+            return new BDDFileTags(Collections.unmodifiableMap(offsetsByTag), fingerprint, Collections.unmodifiableMap(new HashMap<>(scenarioCounts)), scenarioTagSets);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.fileEditor.impl.LoadTextUtil;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.picimako.gherkin.BDDUtil;
+import com.picimako.gherkin.core.TagScanner;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Extracts the tags and metas of Gherkin and Story files from their raw text, without accessing indexes or the PSI,
+ * using the IDE independent {@link TagScanner}.
+ * <p>
+ * This is used to build a provisional model of the Gherkin Tags tool window while the IDE is in dumb mode,
+ * e.g. during the initial indexing of a project. Files are recognized by their extensions, and the tag names are
+ * produced the same way as from the PSI, i.e. Gherkin tags without the leading @ symbol, and Story metas in the
+ * {@code key:text} format. The scanning is lenient, so the result is approximate in edge cases (e.g. tag-like lines in
+ * unusual places), and is replaced by the index-based model once smart mode starts.
+ *
+ * @see GherkinTagTreeModel#buildProvisionalModel()
+ * @since 1.13.0
+ */
+final class BDDFileTextScanner {
+
+    static final String GHERKIN_EXTENSION = TagScanner.GHERKIN_EXTENSION;
+    private static final String STORY_EXTENSION = TagScanner.STORY_EXTENSION;
+
+    /**
+     * The number of files whose text is loaded in a single read action.
+     */
+    private static final int FILES_PER_CHUNK = 50;
+
+    /**
+     * Scans the Gherkin and Story files in the project content.
+     * <p>
+     * The files are collected in one read action, then their texts are loaded in chunks, each in a separate read action,
+     * so that the read lock is not held while scanning the texts, and only the texts of a single chunk are kept in memory at a time.
+     *
+     * @return file -> &lt;tag name, count>, in the same format as {@link TagOccurrencesSnapshot#restore()}
+     */
+    static Map<VirtualFile, Map<String, Integer>> scanProject(@NotNull Project project) {
+        boolean isStorySupported = BDDUtil.isStoryLanguageSupported();
+        var bddFiles = computeBlocking(() -> {
+            var files = new ArrayList<VirtualFile>();
+            ProjectFileIndex.getInstance(project).iterateContent(file -> {
+                ProgressManager.checkCanceled();
+                if (!file.isDirectory()
+                    && (GHERKIN_EXTENSION.equals(file.getExtension()) || (isStorySupported && STORY_EXTENSION.equals(file.getExtension())))) {
+                    files.add(file);
+                }
+                return true;
+            });
+            return files;
+        });
+
+        var tagsByFile = new LinkedHashMap<VirtualFile, Map<String, Integer>>(bddFiles.size());
+        for (int from = 0; from < bddFiles.size(); from += FILES_PER_CHUNK) {
+            var chunk = bddFiles.subList(from, Math.min(from + FILES_PER_CHUNK, bddFiles.size()));
+            var texts = computeBlocking(() -> loadTexts(chunk));
+            texts.forEach((file, text) -> {
+                ProgressManager.checkCanceled();
+                tagsByFile.put(file, TagScanner.scan(file.getName(), text));
+            });
+        }
+        return tagsByFile;
+    }
+
+    private static Map<VirtualFile, CharSequence> loadTexts(List<VirtualFile> files) {
+        var texts = new LinkedHashMap<VirtualFile, CharSequence>(files.size());
+        for (var file : files) {
+            ProgressManager.checkCanceled();
+            var text = loadText(file);
+            if (text != null) {
+                texts.put(file, text);
+            }
+        }
+        return texts;
+    }
+
+    @Nullable
+    static CharSequence loadText(VirtualFile file) {
+        //Unsaved changes are taken into account
+        var document = FileDocumentManager.getInstance().getCachedDocument(file);
+        if (document != null) {
+            return document.getImmutableCharSequence();
+        }
+        try {
+            return file.isValid() ? LoadTextUtil.loadText(file) : null;
+        } catch (RuntimeException e) {
+            //e.g. when the file is deleted in the meantime
+            return null;
+        }
+    }
+
+    private BDDFileTextScanner() {
+        //Utility class
+    }
+}
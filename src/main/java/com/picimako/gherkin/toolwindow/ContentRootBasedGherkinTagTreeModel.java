@@ -4,27 +4,33 @@ package com.picimako.gherkin.toolwindow;
 
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asCategory;
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asContentRoot;
+import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asFeatureFile;
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asTag;
 
 import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiFile;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.picimako.gherkin.toolwindow.nodetype.CategoriesHolder;
 import com.picimako.gherkin.toolwindow.nodetype.Category;
 import com.picimako.gherkin.toolwindow.nodetype.ContentRoot;
 import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import com.picimako.gherkin.toolwindow.nodetype.TagOccurrence;
+
+import java.util.List;
 
 /**
  * Model object for displaying the structure of the underlying model data grouped by content roots.
  * <p>
- * This is a five-level model consisting of the following levels:
+ * This is a six-level model consisting of the following levels:
  * <pre>{@code
  * - Gherkin Tags                   <-- This is the root node. Permanent, can't be removed.
  *      - Content root              <-- A content root in the current IDE project.
  *          - Category              <-- The category a Gherkin tag is associated to for grouping.
  *              - Tag               <-- The Gherkin tag.
- *                  - Gherkin file  <-- One or more 'FeatureFile's.
+ *                  - Gherkin file  <-- One or more 'FeatureFile's, shown page by page, followed by 'MoreFiles' nodes when not all of them are shown.
+ *                      - Occurrence  <-- One or more 'TagOccurrence's of the tag in the file, loaded when the file is expanded.
  *      - Content root
  *          - Category
  *              - Tag
@@ -42,19 +48,25 @@ final class ContentRootBasedGherkinTagTreeModel extends GherkinTagTreeModel {
     }
 
     @Override
-    protected CategoriesHolder getContentRoot(PsiFile file) {
+    protected CategoriesHolder getContentRoot(VirtualFile file) {
         return data.findContentRootOrRootless(file);
     }
 
+    @Override
+    protected List<? extends CategoriesHolder> getCategoriesHolders() {
+        return data.getContentRootsByLayout();
+    }
+
     // The methods below are responsible for building the actual tree model from the backing model data.
 
     @Override
     public Object getChild(Object parent, int index) {
         return switch (parent) {
-            case ModelDataRoot __ -> data.getContentRootsByLayout().get(index);
-            case ContentRoot __ -> asContentRoot(parent).getCategories().get(index);
-            case Category __ -> asCategory(parent).getTags().get(index);
-            case Tag __ -> asTag(parent).getFeatureFiles().get(index);
+            case ModelDataRoot __ -> visibleChildren(parent, data.getContentRootsByLayout()).get(index);
+            case ContentRoot __ -> visibleChildren(parent, asContentRoot(parent).getCategories()).get(index);
+            case Category __ -> visibleChildren(parent, asCategory(parent).getTags()).get(index);
+            case Tag __ -> getTagChild(asTag(parent), index);
+            case FeatureFile __ -> asFeatureFile(parent).getOccurrences().get(index);
             case null, default -> null;
         };
     }
@@ -62,10 +74,11 @@ final class ContentRootBasedGherkinTagTreeModel extends GherkinTagTreeModel {
     @Override
     public int getChildCount(Object parent) {
         return switch (parent) {
-            case ModelDataRoot __ -> data.getContentRootsByLayout().size();
-            case ContentRoot __ -> asContentRoot(parent).getCategories().size();
-            case Category __ -> asCategory(parent).getTags().size();
-            case Tag __ -> asTag(parent).getFeatureFiles().size();
+            case ModelDataRoot __ -> visibleChildren(parent, data.getContentRootsByLayout()).size();
+            case ContentRoot __ -> visibleChildren(parent, asContentRoot(parent).getCategories()).size();
+            case Category __ -> visibleChildren(parent, asCategory(parent).getTags()).size();
+            case Tag __ -> getTagChildCount(asTag(parent));
+            case FeatureFile __ -> asFeatureFile(parent).getOccurrences().size();
             case null, default -> 0;
         };
     }
@@ -76,7 +89,9 @@ final class ContentRootBasedGherkinTagTreeModel extends GherkinTagTreeModel {
             case ContentRoot __ -> asContentRoot(node).getCategories().isEmpty();
             case Category __ -> !asCategory(node).hasTag();
             case Tag __ -> !asTag(node).hasFeatureFile();
-            case FeatureFile __ -> true;
+            case FeatureFile __ -> !asFeatureFile(node).hasOccurrences();
+            case TagOccurrence __ -> true;
+            case MoreFiles __ -> true;
             case null, default -> data.getContentRootsByLayout().isEmpty();
         };
     }
@@ -86,10 +101,11 @@ final class ContentRootBasedGherkinTagTreeModel extends GherkinTagTreeModel {
         int indexOfChild = 0;
         if (parent != null && child != null) {
             switch (parent) {
-                case ModelDataRoot __ -> indexOfChild = data.getContentRootsByLayout().indexOf(child);
-                case ContentRoot __ -> indexOfChild = asContentRoot(parent).getCategories().indexOf(child);
-                case Category __ -> indexOfChild = asCategory(parent).getTags().indexOf(child);
-                case Tag __ -> indexOfChild = asTag(parent).getFeatureFiles().indexOf(child);
+                case ModelDataRoot __ -> indexOfChild = visibleChildren(parent, data.getContentRootsByLayout()).indexOf(child);
+                case ContentRoot __ -> indexOfChild = visibleChildren(parent, asContentRoot(parent).getCategories()).indexOf(child);
+                case Category __ -> indexOfChild = visibleChildren(parent, asCategory(parent).getTags()).indexOf(child);
+                case Tag __ -> indexOfChild = getIndexOfTagChild(asTag(parent), child);
+                case FeatureFile __ -> indexOfChild = asFeatureFile(parent).getOccurrences().indexOf(child);
                 default -> {
                 }
             }
@@ -3,15 +3,26 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.intellij.util.containers.ContainerUtil.exists;
+import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
 
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.fileTypes.FileTypeManager;
+import com.intellij.openapi.fileTypes.FileTypeRegistry;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectFileIndex;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.newvfs.BulkFileListener;
 import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
-import com.picimako.gherkin.BDDUtil;
-import lombok.RequiredArgsConstructor;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.picimako.gherkin.JBehaveStoryService;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.plugins.cucumber.psi.GherkinFileType;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -24,14 +35,68 @@ import java.util.List;
  * <p>
  * Thus, more frequent tool window updates and model rebuilds are expected mostly during various folder related changes.
  * <p>
+ * <h3>Bulk changes</h3>
+ * Batches with many events, or many BDD file events (e.g. a Git checkout, branch switch or rollback) are handled separately:
+ * the PSI-driven per-file updates in {@link GherkinPsiChangeListener} are suspended from {@link #before(List)}, the affected
+ * BDD files are recorded as dirty in {@link PendingModelChanges}, and they are reconciled in one go after the whole batch
+ * has been processed. If the batch contains changes that may affect the content roots or the file structure (folder moves,
+ * renames and deletions, BDD file moves, copies and renames), a full model rebuild is requested instead.
+ * Batches with many events are classified off the EDT, in a non-blocking read action.
+ * <h3>Event classification</h3>
+ * Large VFS refreshes (e.g. build tool re-imports) produce many events irrelevant to this plugin, thus events are first
+ * filtered by cheap checks: file name for files, and being in the project content (not excluded or ignored) for folders.
+ * The actual file type of a file is resolved only when its name matches a Gherkin or Story file.
+ * Property changes other than renames (e.g. of the writable flag or the encoding) are ignored, since they cannot affect the model.
+ * <p>
  * The event type is validated by name because the implementations of {@code VFileEvent} are internal,
  * so this enables testing this class.
  */
-@RequiredArgsConstructor
 final class FileAndFolderChangeListener implements BulkFileListener {
 
+    /**
+     * The number of events in a batch from which it is considered a bulk change.
+     */
+    static final int BULK_EVENT_COUNT = 100;
+    /**
+     * The number of BDD file events in a batch from which it is considered a bulk change.
+     */
+    static final int BULK_BDD_FILE_EVENT_COUNT = 10;
+
     private final Runnable rebuildModel;
+    private final Runnable applyPendingChanges;
     private final Project project;
+    private final JBehaveStoryService storyService;
+    /**
+     * Whether the batch being processed has been identified as a bulk change in {@link #before(List)}.
+     */
+    private boolean isInBulkChange;
+
+    FileAndFolderChangeListener(Runnable rebuildModel, Project project) {
+        this(rebuildModel, rebuildModel, project);
+    }
+
+    /**
+     * @param rebuildModel        rebuilds the model on folder and BDD file structure changes
+     * @param applyPendingChanges reconciles the files recorded as dirty after a bulk change
+     * @param project             the current project
+     */
+    FileAndFolderChangeListener(Runnable rebuildModel, Runnable applyPendingChanges, Project project) {
+        this.rebuildModel = rebuildModel;
+        this.applyPendingChanges = applyPendingChanges;
+        this.project = project;
+        this.storyService = project.getService(JBehaveStoryService.class);
+    }
+
+    /**
+     * Suspends the per-file model updates for the duration of bulk changes.
+     */
+    @Override
+    public void before(@NotNull List<? extends VFileEvent> events) {
+        if (isBulkChange(events)) {
+            isInBulkChange = true;
+            PendingModelChanges.getInstance(project).startBulkUpdate();
+        }
+    }
 
     /**
      * Updating the UI is necessary because in case of e.g. a file rename, or a Git bulk rollback/revert of files,
@@ -43,32 +108,160 @@ final class FileAndFolderChangeListener implements BulkFileListener {
      */
     @Override
     public void after(@NotNull List<? extends VFileEvent> events) {
-        if (exists(events, this::isChangeOnFolderOrBDDFile)) {
-            if (ApplicationManager.getApplication().isUnitTestMode())
-                rebuildModel.run();
-            else ApplicationManager.getApplication().invokeLater(rebuildModel);
+        var pendingChanges = PendingModelChanges.getInstance(project);
+        if (isInBulkChange) {
+            isInBulkChange = false;
+            if (events.size() >= BULK_EVENT_COUNT && !ApplicationManager.getApplication().isUnitTestMode()) {
+                //Resolving file types and the project content requires read access
+                var eventsCopy = new ArrayList<VFileEvent>(events);
+                ReadAction.nonBlocking(() -> classifyBulkChanges(eventsCopy))
+                    .expireWith(project)
+                    .finishOnUiThread(ModalityState.nonModal(), changes -> recordBulkChanges(changes, pendingChanges))
+                    .submit(AppExecutorUtil.getAppExecutorService());
+            } else {
+                recordBulkChanges(classifyBulkChanges(events), pendingChanges);
+            }
+        } else if (exists(events, this::isChangeOnFolderOrBDDFile)) {
+            runLater(rebuildModel);
         }
     }
 
+    /**
+     * Returns that a full rebuild is needed if the batch contains changes in the file structure, otherwise returns
+     * the created, changed and deleted BDD files, so that only those are updated in the model.
+     */
+    private BulkChanges classifyBulkChanges(List<? extends VFileEvent> events) {
+        if (exists(events, this::isStructuralChange)) {
+            return new BulkChanges(true, List.of());
+        }
+        var dirtyFiles = new ArrayList<VirtualFile>();
+        for (var event : events) {
+            if (event.getFile() != null && !isNonRenamePropertyChange(event) && isBDDFile(event.getFile())) {
+                dirtyFiles.add(event.getFile());
+            }
+        }
+        return new BulkChanges(false, dirtyFiles);
+    }
+
+    private void recordBulkChanges(BulkChanges changes, PendingModelChanges pendingChanges) {
+        if (changes.isRebuildNeeded()) {
+            pendingChanges.requestRebuild();
+        } else {
+            changes.dirtyFiles().forEach(pendingChanges::markDirty);
+        }
+        pendingChanges.finishBulkUpdate();
+        runLater(applyPendingChanges);
+    }
+
+    private static void runLater(Runnable action) {
+        if (ApplicationManager.getApplication().isUnitTestMode())
+            action.run();
+        else ApplicationManager.getApplication().invokeLater(action);
+    }
+
+    /**
+     * Returns whether the argument events are a bulk change. BDD file events are counted only until the threshold is reached.
+     */
+    private boolean isBulkChange(List<? extends VFileEvent> events) {
+        if (events.size() >= BULK_EVENT_COUNT) {
+            return true;
+        }
+        int bddFileEventCount = 0;
+        for (var event : events) {
+            if (event.getFile() != null && isBDDFile(event.getFile()) && ++bddFileEventCount >= BULK_BDD_FILE_EVENT_COUNT) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the argument event is a move, rename or deletion of a folder, or a move, copy or rename of a BDD file.
+     * Unlike BDD file creations, content changes and deletions, these cannot be reconciled by updating individual files.
+     */
+    private boolean isStructuralChange(VFileEvent event) {
+        var file = event.getFile();
+        if (file == null || isNonRenamePropertyChange(event)) {
+            return false;
+        }
+        if (file.isDirectory()) {
+            return isEventOnDirectory(event);
+        }
+        if (isBDDFile(file)) {
+            String className = event.getClass().getSimpleName();
+            return "VFileMoveEvent".equals(className) || "VFileCopyEvent".equals(className) || "VFilePropertyChangeEvent".equals(className);
+        }
+        return false;
+    }
+
     private boolean isChangeOnFolderOrBDDFile(VFileEvent event) {
-        return event.getFile() != null && (isEventOnDirectory(event) || isEventOnBDDFile(event));
+        return event.getFile() != null && !isNonRenamePropertyChange(event) && (isEventOnDirectory(event) || isEventOnBDDFile(event));
+    }
+
+    /**
+     * Returns whether the argument event is a property change other than a rename, e.g. of the writable flag or the encoding,
+     * which cannot affect the model, thus it doesn't require a rebuild.
+     */
+    private static boolean isNonRenamePropertyChange(VFileEvent event) {
+        return event instanceof VFilePropertyChangeEvent propertyChange && !VirtualFile.PROP_NAME.equals(propertyChange.getPropertyName());
     }
 
     /**
      * Folder creation is ignored since there is no BDD file in it yet that makes the model rebuild necessary.
      */
     private boolean isEventOnDirectory(VFileEvent event) {
-        return event.getFile().isDirectory() && !"VFileCreateEvent".equals(event.getClass().getSimpleName());
+        var file = event.getFile();
+        return file.isDirectory() && !"VFileCreateEvent".equals(event.getClass().getSimpleName()) && isInProjectContent(file);
+    }
+
+    /**
+     * Ignored folders, and folders outside the project content (or excluded from it) cannot contain BDD files that are part
+     * of the model. Deleted folders are always considered relevant, since they can no longer be located in the project.
+     */
+    private boolean isInProjectContent(VirtualFile directory) {
+        if (FileTypeManager.getInstance().isFileIgnored(directory.getName())) {
+            return false;
+        }
+        return !directory.isValid() || ProjectFileIndex.getInstance(project).isInContent(directory);
     }
 
     /**
      * BDD file content change and file deletion events are handled by {@link GherkinPsiChangeListener}.
      */
     private boolean isEventOnBDDFile(VFileEvent event) {
-        if (BDDUtil.isABDDFile(event.getFile(), project)) {
+        if (isBDDFile(event.getFile())) {
             String className = event.getClass().getSimpleName();
             return !"VFileContentChangeEvent".equals(className) && !"VFileDeleteEvent".equals(className);
         }
         return false;
     }
+
+    /**
+     * Returns whether the argument file is a Gherkin or Story file. The file type is resolved only for files
+     * whose names match either of them.
+     */
+    private boolean isBDDFile(VirtualFile file) {
+        return isBDDFileCandidate(file) && (isGherkinFile(file) || storyService.isJBehaveStoryFile(file));
+    }
+
+    /**
+     * Checks only the file name, so that it doesn't trigger file type detection e.g. based on file content.
+     */
+    private static boolean isBDDFileCandidate(VirtualFile file) {
+        if (file.isDirectory()) {
+            return false;
+        }
+        String fileName = file.getName();
+        return FileUtilRt.extensionEquals(fileName, "story")
+            || FileTypeRegistry.getInstance().getFileTypeByFileName(fileName) == GherkinFileType.INSTANCE;
+    }
+
+    /**
+     * The changes recorded from a bulk change batch.
+     *
+     * @param isRebuildNeeded whether the batch contains changes in the file structure that require a full model rebuild
+     * @param dirtyFiles      the BDD files to update in the model, if no rebuild is needed
+     */
+    private record BulkChanges(boolean isRebuildNeeded, List<VirtualFile> dirtyFiles) {
+    }
 }
@@ -3,8 +3,11 @@
 package com.picimako.gherkin.toolwindow;
 
 import com.intellij.openapi.fileEditor.FileEditorManager;
+import com.intellij.openapi.fileEditor.OpenFileDescriptor;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
+import com.picimako.gherkin.toolwindow.nodetype.TagOccurrence;
 
 /**
  * Utility class for opening files.
@@ -24,6 +27,38 @@ final class FileOpener {
         fileEditorManager.setSelectedEditor(file, "text-editor");
     }
 
+    /**
+     * Opens the file of the provided tool window node: a {@link FeatureFile} is opened as is, while a {@link TagOccurrence}
+     * is opened at the offset of the occurrence.
+     *
+     * @param node    the tool window node
+     * @param project the current project
+     * @return true if the node is a file or occurrence node, false otherwise
+     * @since 1.13.0
+     */
+    static boolean openNode(Object node, Project project) {
+        switch (node) {
+            case FeatureFile featureFile -> openFile(featureFile.getFile(), project);
+            case TagOccurrence occurrence -> openFile(occurrence.getFile(), occurrence.getOffset(), project);
+            case null, default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Opens the provided file in the default text editor, and moves the caret to the provided offset.
+     *
+     * @param file    the file to open
+     * @param offset  the offset to navigate to
+     * @param project the current project
+     * @since 1.13.0
+     */
+    static void openFile(VirtualFile file, int offset, Project project) {
+        new OpenFileDescriptor(project, file, offset).navigate(true);
+    }
+
     private FileOpener() {
         //Utility class
     }
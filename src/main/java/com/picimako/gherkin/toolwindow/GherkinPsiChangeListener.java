@@ -6,31 +6,52 @@ import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherki
 import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getToolWindowHider;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.psi.PsiDirectory;
 import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileSystemItem;
 import com.intellij.psi.PsiTreeChangeAdapter;
 import com.intellij.psi.PsiTreeChangeEvent;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.picimako.gherkin.BDDUtil;
 import com.picimako.gherkin.JBehaveStoryService;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.plugins.cucumber.psi.GherkinFile;
+import org.jetbrains.plugins.cucumber.psi.GherkinPystring;
+import org.jetbrains.plugins.cucumber.psi.GherkinStep;
+import org.jetbrains.plugins.cucumber.psi.GherkinTableCell;
 
 /**
  * Handles PSI changes in Gherkin files.
  * <p>
  * If a Gherkin/Story file changes, this listener updates the calls updates on the model data and UI of the Gherkin tag tool window
  * according to the changes in the file.
+ * <p>
+ * Changes confined to the text of steps, doc strings and table cells of Gherkin files are dropped without processing
+ * the file, since they cannot contain tags. Only the occurrence offsets of the file are marked outdated in
+ * {@link TagOccurrencesRegistry}, since the tags after the change may have moved.
+ * <p>
+ * Other changes that leave the tags and metas of a file intact are dropped based on {@link TagFingerprints}, since they
+ * cannot affect the model. Changes that only move tags or metas, or change the number of scenarios they apply to, only
+ * refresh the data of the file in {@link TagOccurrencesRegistry}. The tags extracted for the fingerprints are reused
+ * for updating the model.
+ * <p>
+ * While the tool window is hidden, or a bulk change is in progress, changed files are only recorded in
+ * {@link PendingModelChanges}, and the model is reconciled when the tool window is shown again, or the bulk change has finished.
  */
 final class GherkinPsiChangeListener extends PsiTreeChangeAdapter {
 
     private final GherkinTagTree tree;
     private final Project project;
     private final JBehaveStoryService storyService;
+    private final TagFingerprints tagFingerprints;
 
     GherkinPsiChangeListener(GherkinTagTree tree, Project project) {
         this.tree = tree;
         this.project = project;
         storyService = project.getService(JBehaveStoryService.class);
+        tagFingerprints = new TagFingerprints();
     }
 
     @Override
@@ -45,11 +66,17 @@ final class GherkinPsiChangeListener extends PsiTreeChangeAdapter {
 
     @Override
     public void childMoved(@NotNull PsiTreeChangeEvent event) {
+        if (event.getChild() instanceof PsiFileSystemItem fileOrDirectory) {
+            removeFingerprintsUnder(fileOrDirectory);
+        }
         updateGherkinTree(event);
     }
 
     @Override
     public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+        if (event.getChild() instanceof PsiDirectory) {
+            tagFingerprints.removeInvalid();
+        }
         updateGherkinTree(event);
     }
 
@@ -60,35 +87,118 @@ final class GherkinPsiChangeListener extends PsiTreeChangeAdapter {
 
     @Override
     public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+        if ((PsiTreeChangeEvent.PROP_FILE_NAME.equals(event.getPropertyName()) || PsiTreeChangeEvent.PROP_DIRECTORY_NAME.equals(event.getPropertyName()))
+            && event.getElement() instanceof PsiFileSystemItem fileOrDirectory) {
+            removeFingerprintsUnder(fileOrDirectory);
+        }
         updateGherkinTree(event);
     }
 
+    /**
+     * Removes the fingerprints of the argument moved or renamed file, or of the files under the argument directory,
+     * so that they don't remain in {@link TagFingerprints} after the files are no longer Gherkin or Story files in the project.
+     */
+    private void removeFingerprintsUnder(PsiFileSystemItem fileOrDirectory) {
+        var virtualFile = fileOrDirectory.getVirtualFile();
+        if (virtualFile != null) {
+            tagFingerprints.removeUnder(virtualFile);
+        }
+    }
+
     /**
      * When the file still exists, the update call is made for the file itself, while when it is null, meaning
      * it has been deleted, the update call happens to the child of the event, which stores the file that has
      * been deleted.
+     * <p>
+     * Changes in existing files are processed only when the tags/metas in them, or their locations have changed.
+     * <p>
+     * While updates are deferred, the fingerprint of the file is not calculated, but dropped, so that the next change
+     * after reconciling the model is always processed.
      */
     private void updateGherkinTree(PsiTreeChangeEvent event) {
         var file = event.getFile();
         //file is null when the file has just been deleted
         if (file != null && BDDUtil.isABDDFile(file)) {
-            updateModelAndToolWindow(file);
+            if (isOutsideTags(file, event)) {
+                TagOccurrencesRegistry.getInstance(project).invalidateOffsets(file.getViewProvider().getVirtualFile());
+            } else if (isDeferred()) {
+                tagFingerprints.remove(file.getViewProvider().getVirtualFile());
+                updateModelAndToolWindow(file);
+            } else {
+                var fileTags = BDDFileTags.of(file);
+                switch (tagFingerprints.changeOf(file, fileTags)) {
+                    case TAGS -> updateModelAndToolWindow(file, fileTags);
+                    case LOCATIONS -> updateOccurrenceData(file, fileTags);
+                    case NONE -> { }
+                }
+            }
         } else if (file == null) {
             if (event.getChild() instanceof GherkinFile gherkinFile) {
+                tagFingerprints.remove(gherkinFile.getViewProvider().getVirtualFile());
                 updateModelAndToolWindow(gherkinFile);
             } else if (event.getChild() instanceof PsiFile psiFile && storyService.isJBehaveStoryFile(psiFile)) {
+                tagFingerprints.remove(psiFile.getViewProvider().getVirtualFile());
                 updateModelAndToolWindow(storyService.asStoryFile(psiFile));
             }
         }
     }
 
+    /**
+     * Returns whether the change is confined to the text of a step, a doc string or a table cell in a Gherkin file.
+     * Since they can't contain tags, the change can't affect the tags, the Feature name, or the number of scenarios.
+     */
+    private static boolean isOutsideTags(PsiFile file, PsiTreeChangeEvent event) {
+        if (!(file instanceof GherkinFile)) return false;
+
+        var changedElement = event.getParent() != null ? event.getParent() : event.getElement();
+        return changedElement != null && changedElement != file
+            && PsiTreeUtil.getParentOfType(changedElement, false, GherkinStep.class, GherkinPystring.class, GherkinTableCell.class) != null;
+    }
+
+    /**
+     * Returns whether model updates are deferred, because the tool window is hidden, or a bulk change is in progress.
+     */
+    private boolean isDeferred() {
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        return gherkinTagsToolWindow == null
+            || !GherkinTagToolWindowUtil.isToolWindowVisible(gherkinTagsToolWindow)
+            || PendingModelChanges.getInstance(project).isBulkUpdateInProgress();
+    }
+
+    /**
+     * Refreshes the occurrence offsets, scenario counts and scenario tags of the argument file in {@link TagOccurrencesRegistry}
+     * and in the model, without updating the structure of the model, so that occurrence nodes and statistics reflect the change.
+     */
+    private void updateOccurrenceData(PsiFile file, BDDFileTags fileTags) {
+        if (getGherkinTagsToolWindow(project) != null) {
+            ((GherkinTagTreeModel) tree.getModel()).updateOccurrenceDataForFile(file.getViewProvider().getVirtualFile(), fileTags);
+            tree.updateUI();
+        }
+    }
+
     /**
      * Model is updated only if the Gherkin tag tool window is actually available.
+     * If updates are deferred, the file is only marked as dirty to be processed later.
      */
     private void updateModelAndToolWindow(PsiFile file) {
+        updateModelAndToolWindow(file, null);
+    }
+
+    /**
+     * Updates the model with the argument tags already extracted from the file, or with the tags extracted by the model,
+     * if they are null.
+     */
+    private void updateModelAndToolWindow(PsiFile file, @Nullable BDDFileTags fileTags) {
         var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
-        if (gherkinTagsToolWindow != null) {
-            ((GherkinTagTreeModel) tree.getModel()).updateModelForFile(file);
+        if (gherkinTagsToolWindow != null && isDeferred()) {
+            PendingModelChanges.getInstance(project).markDirty(file.getViewProvider().getVirtualFile());
+        } else if (gherkinTagsToolWindow != null) {
+            var model = (GherkinTagTreeModel) tree.getModel();
+            if (fileTags != null) {
+                model.updateModelForFile(file, fileTags);
+            } else {
+                model.updateModelForFile(file);
+            }
 
             var modelRoot = (ModelDataRoot) tree.getModel().getRoot();
             modelRoot.sort();
@@ -0,0 +1,240 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiManager;
+import com.intellij.psi.PsiTreeChangeAdapter;
+import com.intellij.psi.PsiTreeChangeEvent;
+import com.picimako.gherkin.BDDUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Consumer;
+
+/**
+ * Provides the initial model of the Gherkin Tags tool window according to the configured {@link ModelBuildPolicy}.
+ * <p>
+ * With {@link ModelBuildPolicy#WARM_UP_AFTER_INDEXING}, the model may be built in the background before the tool window
+ * is created, in which case the tool window simply attaches to it. Since the tool window's own listeners are registered
+ * only when it is created, the Gherkin and Story files changed from the start of the warm-up are recorded in
+ * {@link PendingModelChanges}, and they are applied to the model when the tool window attaches to it.
+ * If the tool window is created while the warm-up is in progress, it waits for the warm-up, instead of building another model.
+ * <p>
+ * All methods are called on the EDT, thus the state of this service is confined to it.
+ *
+ * @see ModelWarmUpActivity
+ * @since 1.13.0
+ */
+@Service(Service.Level.PROJECT)
+final class GherkinTagModelProvider {
+
+    private final TreeModelFactory treeModelFactory = new TreeModelFactory();
+    private final Project project;
+    private GherkinTagTreeModel warmedUpModel;
+    private boolean isWarmingUp;
+    private boolean isModelProvided;
+    /**
+     * The consumer of the tool window waiting for the warm-up in progress, or null if there is none.
+     */
+    @Nullable
+    private Consumer<GherkinTagTreeModel> modelConsumer;
+    /**
+     * The parent disposable of the listeners recording the changes from the start of the warm-up,
+     * until the tool window attaches to the model.
+     */
+    @Nullable
+    private Disposable changeRecorders;
+
+    GherkinTagModelProvider(Project project) {
+        this.project = project;
+    }
+
+    static GherkinTagModelProvider getInstance(Project project) {
+        return project.getService(GherkinTagModelProvider.class);
+    }
+
+    /**
+     * Builds the model in a non-blocking read action in the background, unless the tool window has already been created,
+     * or a warm-up is already in progress.
+     */
+    void warmUp() {
+        if (isModelProvided || isWarmingUp || warmedUpModel != null) return;
+
+        isWarmingUp = true;
+        recordChanges();
+        NonBlocking.readCoalesced(project, GherkinTagTreeModel.BUILD_COALESCE_KEY, OverviewPanelDisposalService.getInstance(project), this::buildModel, model -> {
+            isWarmingUp = false;
+            var consumer = modelConsumer;
+            modelConsumer = null;
+            if (consumer != null) {
+                //The tool window has been created in the meantime, and is waiting for this model
+                consumer.accept(model);
+            } else if (isModelProvided) {
+                model.dispose();
+            } else {
+                warmedUpModel = model;
+            }
+        }).onError(__ -> ApplicationManager.getApplication().invokeLater(this::onWarmUpCancelled, project.getDisposed()));
+    }
+
+    /**
+     * If the warm-up is cancelled, e.g. by another build coalesced with it, the tool window waiting for it gets its own model.
+     */
+    private void onWarmUpCancelled() {
+        if (!isWarmingUp) return;
+
+        isWarmingUp = false;
+        var consumer = modelConsumer;
+        modelConsumer = null;
+        if (consumer != null) {
+            buildInBackground(consumer);
+        }
+    }
+
+    /**
+     * Passes the model warmed up in the background to the argument consumer, if it is ready, or when the warm-up in progress
+     * finishes. Otherwise, builds one in the background based on the model build policy, coalesced with the other model builds.
+     * <p>
+     * In dumb mode, the warm-up in progress is not waited for, since it waits for smart mode, but it is cancelled by
+     * the provisional build.
+     *
+     * @param consumerOnEdt the consumer to pass the model to on the EDT
+     */
+    void provideModel(@NotNull Consumer<GherkinTagTreeModel> consumerOnEdt) {
+        isModelProvided = true;
+        stopRecordingChanges();
+        var model = warmedUpModel;
+        warmedUpModel = null;
+        if (model != null) {
+            consumerOnEdt.accept(model);
+        } else if (isWarmingUp && !DumbService.isDumb(project)) {
+            modelConsumer = consumerOnEdt;
+        } else {
+            isWarmingUp = false;
+            buildInBackground(consumerOnEdt);
+        }
+    }
+
+    private void buildInBackground(@NotNull Consumer<GherkinTagTreeModel> consumerOnEdt) {
+        NonBlocking.readCoalescedInAnyMode(project, GherkinTagTreeModel.BUILD_COALESCE_KEY, OverviewPanelDisposalService.getInstance(project),
+            this::buildModel, consumerOnEdt::accept);
+    }
+
+    /**
+     * Returns the model warmed up in the background, if it is ready, otherwise builds one on the current thread.
+     * Unlike {@link #provideModel(Consumer)}, it blocks until the model is built, thus the tool window doesn't use it.
+     */
+    @NotNull
+    GherkinTagTreeModel provideModelSynchronously() {
+        isModelProvided = true;
+        stopRecordingChanges();
+        var model = warmedUpModel;
+        warmedUpModel = null;
+        return model != null ? model : buildModel();
+    }
+
+    /**
+     * Records the Gherkin and Story files changed after this call, or the need for a full rebuild, in {@link PendingModelChanges},
+     * so that they are applied to the model when the tool window attaches to it.
+     */
+    private void recordChanges() {
+        var pendingChanges = PendingModelChanges.getInstance(project);
+        changeRecorders = Disposer.newDisposable(OverviewPanelDisposalService.getInstance(project), "Gherkin Tags warm-up change recorders");
+        PsiManager.getInstance(project).addPsiTreeChangeListener(new ChangedFileRecorder(pendingChanges), changeRecorders);
+        project.getMessageBus().connect(changeRecorders)
+            .subscribe(VirtualFileManager.VFS_CHANGES, new FileAndFolderChangeListener(pendingChanges::requestRebuild, () -> { }, project));
+    }
+
+    /**
+     * Stops recording changes, since from now on, the tool window's own listeners maintain the model.
+     */
+    private void stopRecordingChanges() {
+        if (changeRecorders != null) {
+            Disposer.dispose(changeRecorders);
+            changeRecorders = null;
+        }
+    }
+
+    /**
+     * Builds a model from the persisted snapshot when the policy is {@link ModelBuildPolicy#SNAPSHOT_ONLY}
+     * and there is a snapshot available, otherwise from the project's files.
+     * <p>
+     * In dumb mode, a provisional model is built from the raw text of the files, which is replaced once smart mode starts.
+     * <p>
+     * The model is built staged, and its results are published when the tool window displays it.
+     *
+     * @see GherkinTagTreeModel#buildStaged(java.util.function.Consumer)
+     */
+    private GherkinTagTreeModel buildModel() {
+        var model = treeModelFactory.createTreeModel(project);
+        var snapshot = TagOccurrencesSnapshot.getInstance(project);
+        if (GherkinTagsToolWindowSettings.getInstance(project).modelBuildPolicy == ModelBuildPolicy.SNAPSHOT_ONLY && snapshot.hasSnapshot()) {
+            var restoredSnapshot = snapshot.restore();
+            model.buildStaged(m -> m.buildModelFromSnapshot(restoredSnapshot));
+        } else if (DumbService.isDumb(project)) {
+            model.buildStaged(GherkinTagTreeModel::buildProvisionalModel);
+        } else {
+            model.buildStaged(GherkinTagTreeModel::buildModel);
+        }
+        return model;
+    }
+
+    /**
+     * Marks the changed and deleted Gherkin and Story files dirty in {@link PendingModelChanges}.
+     */
+    private static final class ChangedFileRecorder extends PsiTreeChangeAdapter {
+        private final PendingModelChanges pendingChanges;
+
+        private ChangedFileRecorder(PendingModelChanges pendingChanges) {
+            this.pendingChanges = pendingChanges;
+        }
+
+        @Override
+        public void childrenChanged(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void childAdded(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void childMoved(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void childRemoved(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void childReplaced(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        @Override
+        public void propertyChanged(@NotNull PsiTreeChangeEvent event) {
+            record(event);
+        }
+
+        /**
+         * The file of the event is null when the file has just been deleted, in which case the child of the event is the deleted file.
+         */
+        private void record(PsiTreeChangeEvent event) {
+            var file = event.getFile() != null ? event.getFile() : event.getChild() instanceof PsiFile deletedFile ? deletedFile : null;
+            if (file != null && BDDUtil.isABDDFile(file)) {
+                pendingChanges.markDirty(file.getViewProvider().getVirtualFile());
+            }
+        }
+    }
+}
@@ -2,47 +2,146 @@
 
 package com.picimako.gherkin.toolwindow;
 
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getToolWindowHider;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.isGherkinTagsToolWindow;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.isToolWindowVisible;
+
 import com.intellij.openapi.actionSystem.ActionManager;
+import com.intellij.openapi.actionSystem.ActionPopupMenu;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.project.DumbService;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFileManager;
+import com.intellij.openapi.wm.ToolWindow;
+import com.intellij.openapi.wm.ex.ToolWindowManagerListener;
 import com.intellij.psi.PsiManager;
+import com.intellij.ui.DocumentAdapter;
+import com.intellij.ui.SearchTextField;
 import com.intellij.ui.TreeUIHelper;
+import com.intellij.ui.components.JBLabel;
 import com.intellij.ui.components.JBScrollPane;
+import com.intellij.util.Alarm;
+import com.intellij.util.ui.tree.TreeUtil;
+import com.picimako.gherkin.toolwindow.action.CategoryActionsGroup;
 import com.picimako.gherkin.toolwindow.action.TagActionsGroup;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
 import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.concurrency.CancellablePromise;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
 import java.awt.*;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A custom panel to display the Gherkin tags and associated data.
  * <p>
  * The underlying tree component is also extended with action listeners, so that e.g. hitting Enter or double-clicking on
  * Gherkin and Story file nodes open the selected file.
+ * <p>
+ * The filter field above the tree narrows the displayed categories, tags and files to the ones whose names contain the entered text.
+ * The tree can also be filtered by a Cucumber tag expression, in which case the number of matching files is displayed
+ * below the filter field, and is kept up-to-date as files change.
+ *
+ * @see com.picimako.gherkin.toolwindow.action.FilterByTagExpressionAction
  */
 public final class GherkinTagOverviewPanel extends JPanel {
 
     private static final String TAG_ACTIONS_GROUP = "gherkin.overview.tag.TagActionsGroup";
+    private static final String CATEGORY_ACTIONS_GROUP = "gherkin.overview.category.CategoryActionsGroup";
+    /**
+     * The delay after the last change in the filter field, after which the tree is filtered.
+     */
+    private static final int FILTER_DELAY_MS = 200;
     private final TreeModelFactory treeModelFactory = new TreeModelFactory();
     private final Project project;
     @Getter
     private GherkinTagTree tree;
     private GherkinTagTreeModel model;
+    private final SearchTextField filterField = new SearchTextField(false);
+    private final Alarm filterAlarm;
+    private final JBLabel tagExpressionStatus = new JBLabel();
+    @Getter
+    @Nullable
+    private TagExpression tagExpression;
+    /**
+     * Whether a model build is in progress in the background, whose result will replace the current model.
+     */
+    private boolean isBuildInProgress;
+    /**
+     * The names of the tags recategorized while a build was in progress. Since the build may have categorized them
+     * by the previous category mappings, they are recategorized in the built model too, when it replaces the current one.
+     */
+    private final Set<String> tagsRecategorizedDuringBuild = new HashSet<>();
+    /**
+     * Whether a rebuild of the model has been requested, and its result hasn't replaced the current model yet.
+     * It is also set while a layout build, which has cancelled the rebuild, is in progress.
+     */
+    private boolean isRebuildPending;
+    /**
+     * The build of the model data for the current layout in progress, or null if there is none.
+     */
+    @Nullable
+    private CancellablePromise<GherkinTagTreeModel> layoutBuild;
 
     public GherkinTagOverviewPanel(Project project) {
+        this(project, GherkinTagModelProvider.getInstance(project).provideModelSynchronously());
+    }
+
+    /**
+     * Creates the panel with the argument model, which may have been built in the background. Must be called on the EDT.
+     *
+     * @param model the model to display
+     * @since 1.13.0
+     */
+    public GherkinTagOverviewPanel(Project project, GherkinTagTreeModel model) {
         this.project = project;
+        this.model = model;
+        this.filterAlarm = new Alarm(Alarm.ThreadToUse.SWING_THREAD, OverviewPanelDisposalService.getInstance(project));
+        model.publishBuildResults();
         buildGUI();
         //Since Project type objects are not allowed to be used as parent disposable, using a light service instead, which is disposed automatically
         //when implementing the Disposable interface.
         //see: https://plugins.jetbrains.com/docs/intellij/disposers.html#automatically-disposed-objects
         //see: https://plugins.jetbrains.com/docs/intellij/disposers.html#choosing-a-disposable-parent
         PsiManager.getInstance(project).addPsiTreeChangeListener(new GherkinPsiChangeListener(tree, project), OverviewPanelDisposalService.getInstance(project));
-        project.getMessageBus().connect().subscribe(VirtualFileManager.VFS_CHANGES, new FileAndFolderChangeListener(this::rebuildModel, project));
+        project.getMessageBus().connect().subscribe(VirtualFileManager.VFS_CHANGES, new FileAndFolderChangeListener(this::rebuildModelOrDeferIfHidden, this::applyBulkChanges, project));
+        project.getMessageBus().connect(OverviewPanelDisposalService.getInstance(project)).subscribe(ToolWindowManagerListener.TOPIC, new ToolWindowManagerListener() {
+            @Override
+            public void toolWindowShown(@NotNull ToolWindow toolWindow) {
+                if (isGherkinTagsToolWindow(toolWindow)) {
+                    applyPendingChanges(toolWindow);
+                }
+            }
+        });
         TreeUIHelper.getInstance().installTreeSpeedSearch(tree);
+        if (model.isProvisional()) {
+            reconcileProvisionalModelWhenSmart();
+        }
+    }
+
+    /**
+     * Replaces the provisional model built in dumb mode with one built from indexes and the PSI, once smart mode starts.
+     */
+    private void reconcileProvisionalModelWhenSmart() {
+        DumbService.getInstance(project).runWhenSmart(() -> {
+            if (!project.isDisposed() && model.isProvisional()) {
+                rebuildModel(() -> {
+                    var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+                    if (gherkinTagsToolWindow != null) {
+                        getToolWindowHider(gherkinTagsToolWindow).setContentVisibilityBasedOn(modelDataRoot());
+                    }
+                });
+            }
+        });
     }
 
     public ModelDataRoot modelDataRoot() {
@@ -56,21 +155,80 @@ public final class GherkinTagOverviewPanel extends JPanel {
      * <p>
      * If a given layout has already been used before, this update will simply reuse the corresponding model data,
      * instead of scanning the project again.
+     * <p>
+     * Otherwise, the model data of the layout is built into a separate {@link ModelDataRoot} in the background,
+     * since the current one is displayed, and is taken over by the current one on the EDT. If the build has cancelled
+     * a pending rebuild (they are coalesced), the built data replaces the current one entirely instead, since the data
+     * of other layouts is outdated.
      */
     public void updateModel() {
-        model = treeModelFactory.createTreeModel(modelDataRoot(), project);
         LayoutType layout = GherkinTagsToolWindowSettings.getInstance(project).layout;
         if ((layout == LayoutType.NO_GROUPING && !modelDataRoot().isInitializedAsProjectData())
             || (layout != LayoutType.NO_GROUPING && !modelDataRoot().isInitializedAsContentRootData())) {
-            NonBlocking.readNoResult(project, () -> model.buildModel(), () -> tree.setModel(model));
+            isBuildInProgress = true;
+            boolean isReplacingRebuild = isRebuildPending;
+            layoutBuild = NonBlocking.readCoalesced(project, GherkinTagTreeModel.BUILD_COALESCE_KEY, OverviewPanelDisposalService.getInstance(project), () -> {
+                var newModel = treeModelFactory.createTreeModel(layout, project);
+                newModel.buildStaged(GherkinTagTreeModel::buildModel);
+                return newModel;
+            }, builtModel -> {
+                layoutBuild = null;
+                //Switching the layout again cancels this build, but the layout setting may have been changed by other means as well
+                if (GherkinTagsToolWindowSettings.getInstance(project).layout != layout) {
+                    builtModel.dispose();
+                    dropLayoutBuild();
+                    return;
+                }
+                builtModel.publishBuildResults();
+                if (isReplacingRebuild) {
+                    var oldModel = model;
+                    model = builtModel;
+                    oldModel.dispose();
+                    isRebuildPending = false;
+                } else {
+                    modelDataRoot().takeOverDataOf((ModelDataRoot) builtModel.getRoot());
+                    model = treeModelFactory.createTreeModel(modelDataRoot(), project);
+                }
+                finishBuild();
+                showModel();
+            });
+        } else {
+            cancelLayoutBuild();
+            model = treeModelFactory.createTreeModel(modelDataRoot(), project);
+            showModel();
+        }
+    }
+
+    /**
+     * Cancels the build of the model data of the previously selected layout, if it is still in progress, so that its result
+     * doesn't replace the model of the current layout. If it has cancelled a pending rebuild, the rebuild is requested again.
+     */
+    private void cancelLayoutBuild() {
+        if (layoutBuild == null) return;
+
+        layoutBuild.cancel();
+        layoutBuild = null;
+        dropLayoutBuild();
+    }
+
+    private void dropLayoutBuild() {
+        if (isRebuildPending) {
+            rebuildModel();
         } else {
-            tree.setModel(model);
+            isBuildInProgress = false;
+            tagsRecategorizedDuringBuild.clear();
         }
     }
 
     /**
      * Used when either the application or project-level mappings are changed in the Settings,
      * and when the model has to be rebuilt due to file system changes.
+     * <p>
+     * The new model is built in the background, and it replaces the current one only on the EDT, so the tree keeps displaying
+     * the current model until then. The new model collects its tag occurrences into a private registry, which replaces
+     * the project-level one together with the model, so that a cancelled rebuild leaves the displayed model intact.
+     * Rebuild requests are coalesced with each other, and with the other model builds in the background:
+     * a newer request cancels the one in progress, thus at most one build runs at a time.
      *
      * @see com.picimako.gherkin.settings.GherkinOverviewProjectConfigurable
      * @see FileAndFolderChangeListener
@@ -79,20 +237,65 @@ public final class GherkinTagOverviewPanel extends JPanel {
         if (ApplicationManager.getApplication().isUnitTestMode()) {
             model.dispose();
             model.buildModel();
-            tree.setModel(model);
+            showModel();
             tree.updateUI();
         } else {
-            NonBlocking.readNoResult(project, () -> {
-                model.dispose();
-                model.buildModel();
-            }, () -> {
-                tree.setModel(model);
+            isBuildInProgress = true;
+            isRebuildPending = true;
+            //Coalescing cancels the layout build in progress, if any
+            layoutBuild = null;
+            LayoutType layout = GherkinTagsToolWindowSettings.getInstance(project).layout;
+            NonBlocking.readCoalesced(project, GherkinTagTreeModel.BUILD_COALESCE_KEY, OverviewPanelDisposalService.getInstance(project), () -> {
+                var newModel = treeModelFactory.createTreeModel(layout, project);
+                newModel.buildStaged(GherkinTagTreeModel::buildModel);
+                return newModel;
+            }, newModel -> {
+                //The layout has been switched to an already built one during the rebuild
+                if (GherkinTagsToolWindowSettings.getInstance(project).layout != layout) {
+                    newModel.dispose();
+                    rebuildModel(edtActions);
+                    return;
+                }
+                var oldModel = model;
+                model = newModel;
+                model.publishBuildResults();
+                isRebuildPending = false;
+                finishBuild();
+                showModel();
+                oldModel.dispose();
                 tree.updateUI();
                 edtActions.run();
             });
         }
     }
 
+    /**
+     * Moves the tags with the argument names between categories according to the current category mappings,
+     * without rebuilding the model.
+     *
+     * @param tagNames the names of the tags whose categories have changed
+     * @see com.picimako.gherkin.settings.GherkinOverviewProjectConfigurable
+     */
+    public void recategorizeTags(Set<String> tagNames) {
+        model.recategorizeTags(tagNames);
+        if (isBuildInProgress) {
+            tagsRecategorizedDuringBuild.addAll(tagNames);
+        }
+        tree.updateUI();
+    }
+
+    /**
+     * Recategorizes the tags, whose categories have changed while the build was in progress, in the model that has just
+     * replaced the previous one.
+     */
+    private void finishBuild() {
+        isBuildInProgress = false;
+        if (!tagsRecategorizedDuringBuild.isEmpty()) {
+            model.recategorizeTags(tagsRecategorizedDuringBuild);
+            tagsRecategorizedDuringBuild.clear();
+        }
+    }
+
     /**
      * Convenience method for calling {@code rebuildModel(() -> {})}.
      */
@@ -100,14 +303,208 @@ public final class GherkinTagOverviewPanel extends JPanel {
         rebuildModel(() -> {});
     }
 
+    /**
+     * Rebuilds the model if the tool window is visible, otherwise only records that the rebuild has to happen
+     * when the tool window is shown again.
+     * <p>
+     * With {@link ModelBuildPolicy#SNAPSHOT_ONLY}, file system changes don't trigger rebuilds, the model is rebuilt only
+     * when it is refreshed explicitly.
+     */
+    private void rebuildModelOrDeferIfHidden() {
+        if (GherkinTagsToolWindowSettings.getInstance(project).modelBuildPolicy == ModelBuildPolicy.SNAPSHOT_ONLY) {
+            return;
+        }
+
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        if (gherkinTagsToolWindow != null && !isToolWindowVisible(gherkinTagsToolWindow)) {
+            PendingModelChanges.getInstance(project).requestRebuild();
+        } else {
+            rebuildModel();
+        }
+    }
+
+    /**
+     * Suspends the per-file model updates until {@link #finishBulkUpdate()} is called, e.g. while deleting all occurrences
+     * of a tag. The files changed in the meantime are only recorded, so that the model can be updated once at the end.
+     */
+    public void startBulkUpdate() {
+        PendingModelChanges.getInstance(project).startBulkUpdate();
+    }
+
+    /**
+     * Resumes the per-file model updates, and reconciles the model with the files changed since {@link #startBulkUpdate()}.
+     */
+    public void finishBulkUpdate() {
+        PendingModelChanges.getInstance(project).finishBulkUpdate();
+        applyBulkChanges();
+    }
+
+    /**
+     * Reconciles the changes recorded during a bulk change, if the tool window is visible. Otherwise, they are kept
+     * until the tool window is shown again.
+     *
+     * @see FileAndFolderChangeListener
+     */
+    private void applyBulkChanges() {
+        var pendingChanges = PendingModelChanges.getInstance(project);
+        if (pendingChanges.isBulkUpdateInProgress()) {
+            //Another bulk change is still in progress, the changes are applied when that one finishes
+            return;
+        }
+        if (GherkinTagsToolWindowSettings.getInstance(project).modelBuildPolicy == ModelBuildPolicy.SNAPSHOT_ONLY
+            && pendingChanges.isRebuildPending()) {
+            pendingChanges.drain();
+            return;
+        }
+
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        if (gherkinTagsToolWindow != null && isToolWindowVisible(gherkinTagsToolWindow)) {
+            applyPendingChanges(gherkinTagsToolWindow);
+        }
+    }
+
+    /**
+     * Reconciles the changes recorded while the tool window was hidden, or during a bulk change.
+     * <p>
+     * If a full rebuild was requested, the model is rebuilt, otherwise only the files marked as dirty are updated.
+     * The tags of the dirty files are first extracted concurrently in the background, then the model is updated with them
+     * sequentially on the EDT, where the tree reads the model, and the tree is repainted only once.
+     *
+     * This is also called when the panel is attached to the tool window, to apply the changes recorded while the model
+     * was warmed up, before the listeners of this panel were registered.
+     *
+     * @param gherkinTagsToolWindow the Gherkin Tags tool window
+     * @see PendingModelChanges
+     * @see GherkinTagModelProvider
+     */
+    void applyPendingChanges(ToolWindow gherkinTagsToolWindow) {
+        var pendingChanges = PendingModelChanges.getInstance(project);
+        if (!pendingChanges.hasPendingChanges()) {
+            return;
+        }
+
+        var hider = getToolWindowHider(gherkinTagsToolWindow);
+        if (pendingChanges.isRebuildPending()) {
+            pendingChanges.drain();
+            rebuildModel(() -> hider.setContentVisibilityBasedOn(modelDataRoot()));
+        } else {
+            var dirtyFiles = pendingChanges.drain();
+            var application = ApplicationManager.getApplication();
+            application.executeOnPooledThread(() -> {
+                BDDFileTags.extractConcurrently(dirtyFiles, project);
+                //The model displayed by the tree is modified only on the EDT
+                application.invokeLater(() -> {
+                    dirtyFiles.forEach(model::updateModelForFile);
+                    modelDataRoot().sort();
+                    tree.updateUI();
+                    hider.setContentVisibilityBasedOn(modelDataRoot());
+                }, ModalityState.nonModal(), project.getDisposed());
+            });
+        }
+    }
+
+    /**
+     * Displays the current model in the tree, filtered by the current text of the filter field and the current tag expression.
+     */
+    private void showModel() {
+        model.setFilter(filterField.getText());
+        model.setTagExpression(tagExpression);
+        tree.setModel(model);
+        updateTagExpressionStatus();
+    }
+
+    /**
+     * Filters the tree by the argument Cucumber tag expression, or removes the tag expression filter if it is null.
+     *
+     * @since 1.13.0
+     */
+    public void setTagExpression(@Nullable TagExpression expression) {
+        tagExpression = expression;
+        model.setTagExpression(expression);
+        tree.updateUI();
+        if (model.isFiltered()) {
+            TreeUtil.expand(tree, 3);
+        }
+    }
+
+    /**
+     * Displays the current tag expression and the number of files matching it. It is evaluated on the current model,
+     * so it is called whenever the tree is updated after a change in the model.
+     */
+    private void updateTagExpressionStatus() {
+        int matchCount = model.countTagExpressionMatches();
+        tagExpressionStatus.setVisible(matchCount >= 0);
+        if (matchCount >= 0) {
+            tagExpressionStatus.setText(message("g.o.toolwindow.tag.expression.status", tagExpression, matchCount));
+        }
+    }
+
+    /**
+     * Filters the tree by the text of the filter field once the text hasn't changed for {@link #FILTER_DELAY_MS},
+     * so that the tree is not filtered on each keystroke.
+     */
+    private void scheduleFilter() {
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            applyFilter();
+        } else {
+            filterAlarm.cancelAllRequests();
+            filterAlarm.addRequest(this::applyFilter, FILTER_DELAY_MS);
+        }
+    }
+
+    /**
+     * Filters the tree by the text of the filter field.
+     * <p>
+     * When the tree is first filtered, the name indexes used by the filter are built in the background from the tag and file
+     * names collected from the model, and the tree is filtered once they are installed.
+     */
+    private void applyFilter() {
+        if (filterField.getText().isBlank() || model.hasFilterIndexes() || ApplicationManager.getApplication().isUnitTestMode()) {
+            showFilteredModel();
+            return;
+        }
+        var filteredModel = model;
+        var source = filteredModel.snapshotForFilterIndexes();
+        NonBlocking.readInAnyMode(project, source::build, indexes -> {
+            filteredModel.installFilterIndexes(source, indexes);
+            if (filteredModel == model) {
+                showFilteredModel();
+            }
+        });
+    }
+
+    /**
+     * Filters the tree by the text of the filter field, and expands the nodes down to the tags, so that the matching
+     * tags and files are visible right away.
+     */
+    private void showFilteredModel() {
+        model.setFilter(filterField.getText());
+        tree.updateUI();
+        if (model.isFiltered()) {
+            TreeUtil.expand(tree, 3);
+        }
+    }
+
     private void buildGUI() {
         setLayout(new BorderLayout());
-        model = treeModelFactory.createTreeModel(project);
-        model.buildModel();
         tree = new GherkinTagTree(model, project);
         registerContextMenuActions();
         new MouseListeningGherkinFileOpener(project, tree).installOn(tree);
         tree.addKeyListener(new KeyboardListeningGherkinFileOpener(project, tree));
+        filterField.getTextEditor().getEmptyText().setText(message("g.o.toolwindow.filter.placeholder"));
+        filterField.addDocumentListener(new DocumentAdapter() {
+            @Override
+            protected void textChanged(@NotNull DocumentEvent e) {
+                scheduleFilter();
+            }
+        });
+        //Every change in the model is followed by updating the UI of the tree
+        tree.addPropertyChangeListener("UI", __ -> updateTagExpressionStatus());
+        tagExpressionStatus.setVisible(false);
+        var filterPanel = new JPanel(new BorderLayout());
+        filterPanel.add(filterField, BorderLayout.CENTER);
+        filterPanel.add(tagExpressionStatus, BorderLayout.SOUTH);
+        add(filterPanel, BorderLayout.NORTH);
         add(new JBScrollPane(tree));
     }
 
@@ -121,12 +518,20 @@ public final class GherkinTagOverviewPanel extends JPanel {
         if (actionManager.getAction(TAG_ACTIONS_GROUP) == null) {
             actionManager.registerAction(TAG_ACTIONS_GROUP, new TagActionsGroup());
         }
-        //Add action popup menu to the tree component
-        var actionPopupMenu = actionManager
-            .createActionPopupMenu("GherkinTagToolWindow", (DefaultActionGroup) actionManager.getAction(TAG_ACTIONS_GROUP));
-        actionPopupMenu.setTargetComponent(tree);
-        final var actionPopupMenus = Map.of("Tag", actionPopupMenu);
+        if (actionManager.getAction(CATEGORY_ACTIONS_GROUP) == null) {
+            actionManager.registerAction(CATEGORY_ACTIONS_GROUP, new CategoryActionsGroup());
+        }
+        //Add action popup menus to the tree component
+        final var actionPopupMenus = Map.of(
+            "Tag", createActionPopupMenu(actionManager, TAG_ACTIONS_GROUP),
+            "Category", createActionPopupMenu(actionManager, CATEGORY_ACTIONS_GROUP));
 
         tree.addMouseListener(new MouseListeningPopupMenuInvoker(new ToolWindowPopupMenuInvoker(tree, actionPopupMenus)));
     }
+
+    private ActionPopupMenu createActionPopupMenu(ActionManager actionManager, String actionGroupId) {
+        var actionPopupMenu = actionManager.createActionPopupMenu("GherkinTagToolWindow", (DefaultActionGroup) actionManager.getAction(actionGroupId));
+        actionPopupMenu.setTargetComponent(tree);
+        return actionPopupMenu;
+    }
 }
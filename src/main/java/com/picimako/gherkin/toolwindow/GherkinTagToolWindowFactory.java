@@ -8,6 +8,9 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowFactory;
 import com.picimako.gherkin.BDDUtil;
+import com.picimako.gherkin.toolwindow.action.ExportModelAction;
+import com.picimako.gherkin.toolwindow.action.FilterByTagExpressionAction;
+import com.picimako.gherkin.toolwindow.action.RefreshModelAction;
 import com.picimako.gherkin.toolwindow.action.SelectFocusedTagAction;
 import kotlin.coroutines.Continuation;
 import org.jetbrains.annotations.NotNull;
@@ -23,7 +26,11 @@ import java.util.List;
  * </ul>
  * <p>
  * The overview panel is wrapped in a {@link GherkinTagToolWindowHider}, so that when there is no Gherkin tag available
- * in a project, it shows a placeholder text instead.
+ * in a project, it shows a placeholder text instead. While the model is being built, it shows a loading text.
+ * <p>
+ * If the tool window is created in dumb mode, it displays a provisional model until indexing finishes.
+ * <p>
+ * When the model is built depends on the {@link ModelBuildPolicy} configured in the tool window.
  *
  * @see GherkinTagOverviewPanel
  * @since 0.1.0
@@ -32,24 +39,30 @@ public final class GherkinTagToolWindowFactory implements ToolWindowFactory {
 
     @Override
     public void createToolWindowContent(@NotNull Project project, @NotNull ToolWindow toolWindow) {
-        //Registering in StartupManager to make sure that the indices are completely available to collect files from the project
+        //The hider is added right away, so that it can show a loading text while the model is being built or attached to
+        var hider = new GherkinTagToolWindowHider(project, getHiderMessage());
+        var contentManager = toolWindow.getContentManager();
+        var content = contentManager.getFactory().createContent(hider, null, true);
+        contentManager.addContent(content);
 
-        NonBlocking.read(project,
-            () -> new GherkinTagOverviewPanel(project),
-            overviewPanel -> {
+        //The model is built in dumb mode too, as a provisional model, so that the tool window isn't empty during indexing.
+        //The model is built in the background, or taken from the warm-up, while the panel is created on the EDT.
+        GherkinTagModelProvider.getInstance(project).provideModel(
+            model -> {
+                var overviewPanel = new GherkinTagOverviewPanel(project, model);
                 toolWindow.setTitleActions(List.of(
                     new SelectFocusedTagAction(),
+                    new RefreshModelAction(),
+                    new FilterByTagExpressionAction(),
+                    new ExportModelAction(),
                     new ToolWindowAppearanceActionGroupCreator(
                         () -> overviewPanel.getTree().updateUI(),
                         () -> overviewPanel.updateModel()
                     ).create()));
 
-                var hider = new GherkinTagToolWindowHider(overviewPanel, project, getHiderMessage());
-                var contentManager = toolWindow.getContentManager();
-                var content = contentManager.getFactory().createContent(hider, null, true);
-                contentManager.addContent(content);
-
+                hider.setOverview(overviewPanel);
                 hider.setContentVisibilityBasedOn(overviewPanel.modelDataRoot());
+                overviewPanel.applyPendingChanges(toolWindow);
             });
     }
 
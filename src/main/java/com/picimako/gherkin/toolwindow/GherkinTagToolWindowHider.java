@@ -3,6 +3,7 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.intellij.util.containers.ContainerUtil.exists;
+import static com.picimako.gherkin.resources.GherkinBundle.message;
 
 import java.awt.*;
 import java.util.function.BiPredicate;
@@ -25,12 +26,37 @@ public final class GherkinTagToolWindowHider extends JBPanelWithEmptyText {
             ? exists(modelRoot.getCategories(), Category::hasTag)
             : modelRoot.getContentRootsByLayout().stream().flatMap(root -> root.getCategories().stream()).anyMatch(Category::hasTag);
     private final Project project;
+    private final String hiderMessage;
 
     public GherkinTagToolWindowHider(@NotNull JComponent gherkinTagOverview, @NotNull Project project, String hiderMessage) {
+        this(project, hiderMessage);
+        setOverview(gherkinTagOverview);
+    }
+
+    /**
+     * Creates the hider without the overview, showing a loading text until the overview is set via {@link #setOverview(JComponent)}.
+     */
+    public GherkinTagToolWindowHider(@NotNull Project project, String hiderMessage) {
         super(new BorderLayout());
         this.project = project;
-        getEmptyText().setText(hiderMessage);
+        this.hiderMessage = hiderMessage;
+        getEmptyText().setText(message("g.o.toolwindow.loading"));
+    }
+
+    /**
+     * Sets the argument component as the content of this panel, and replaces the loading text with the hider message.
+     */
+    public void setOverview(@NotNull JComponent gherkinTagOverview) {
         add(gherkinTagOverview, BorderLayout.CENTER);
+        getEmptyText().setText(hiderMessage);
+        revalidate();
+    }
+
+    /**
+     * Returns whether the overview panel has already been added to this panel.
+     */
+    public boolean hasOverview() {
+        return getComponentCount() > 0;
     }
 
     /**
@@ -2,6 +2,7 @@
 
 package com.picimako.gherkin.toolwindow;
 
+import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.diagnostic.Logger;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.wm.ToolWindow;
@@ -34,6 +35,22 @@ public final class GherkinTagToolWindowUtil {
         return gherkinTagsToolWindow;
     }
 
+    /**
+     * Returns whether the argument tool window is the Gherkin Tags tool window.
+     */
+    public static boolean isGherkinTagsToolWindow(@NotNull ToolWindow toolWindow) {
+        return TOOL_WINDOW_ID.equals(toolWindow.getId());
+    }
+
+    /**
+     * Returns whether the argument Gherkin Tags tool window is currently visible, thus whether its model has to be kept up-to-date.
+     * <p>
+     * In unit test mode it is always considered visible, so that model updates happen synchronously.
+     */
+    public static boolean isToolWindowVisible(@NotNull ToolWindow gherkinTagsToolWindow) {
+        return gherkinTagsToolWindow.isVisible() || ApplicationManager.getApplication().isUnitTestMode();
+    }
+
     /**
      * Returns the tool window hider component for the provided tool window.
      *
@@ -49,9 +66,16 @@ public final class GherkinTagToolWindowUtil {
             .getComponent();
     }
 
+    /**
+     * Returns the overview panel of the provided tool window, or null if it is still being built.
+     *
+     * @param gherkinTagsToolWindow the tool window
+     * @return the overview panel
+     */
+    @Nullable
     public static GherkinTagOverviewPanel getGherkinTagOverViewPanel(@NotNull ToolWindow gherkinTagsToolWindow) {
         var hider = getToolWindowHider(gherkinTagsToolWindow);
-        return (GherkinTagOverviewPanel) hider.getComponent(0);
+        return hider.hasOverview() ? (GherkinTagOverviewPanel) hider.getComponent(0) : null;
     }
 
     private GherkinTagToolWindowUtil() {
@@ -5,8 +5,12 @@ package com.picimako.gherkin.toolwindow;
 import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asContentRoot;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 import javax.swing.*;
 import javax.swing.tree.TreeModel;
+import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
 
 import com.intellij.icons.AllIcons;
@@ -14,37 +18,159 @@ import com.intellij.ide.util.treeView.NodeRenderer;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.NlsSafe;
 import com.intellij.util.PlatformIcons;
+import com.intellij.util.containers.CollectionFactory;
 import com.picimako.gherkin.JBehaveStoryService;
 import icons.CucumberIcons;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import com.picimako.gherkin.toolwindow.nodetype.AbstractNodeType;
 import com.picimako.gherkin.toolwindow.nodetype.Category;
 import com.picimako.gherkin.toolwindow.nodetype.ContentRoot;
 import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
+import com.picimako.gherkin.toolwindow.nodetype.NodeType;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import com.picimako.gherkin.toolwindow.nodetype.TagOccurrence;
 
 /**
  * A custom JTree implementation for rendering the elements of the Gherkin tag tree.
+ * <p>
+ * The labels of nodes are cached, so that painting and scrolling the tree doesn't re-calculate the statistics
+ * and re-format the labels of the visible nodes on each repaint. Each label is cached along with the modification counts
+ * of the data it is calculated from, so that a change in a file re-calculates only the labels of that file and its tags:
+ * <ul>
+ *     <li>files are versioned by the modification counts of their data in {@link TagOccurrencesRegistry},</li>
+ *     <li>tags by their own modification counts, and the modification counts of their counts in the registry,</li>
+ *     <li>the root, content roots and categories, which aggregate the data of many tags, by the modification count of
+ *     the whole registry, and the structure modification count of the model.</li>
+ * </ul>
+ * Labels are also re-calculated when the statistics type or the display name of the node changes.
  */
 public final class GherkinTagTree extends JTree {
 
+    private final transient GherkinTagsToolWindowSettings settings;
+    private final transient TagOccurrencesRegistry registry;
+    /**
+     * Node -> its cached label. Nodes are mapped by identity, because e.g. tags with the same name in different
+     * content roots are equal but may have different statistics. Nodes are referenced weakly, so that the labels of nodes
+     * removed from the model don't remain in the cache.
+     */
+    private final transient Map<Object, NodeLabel> labels = CollectionFactory.createWeakIdentityMap(100, 0.75f);
+
     public GherkinTagTree(TreeModel model, Project project) {
         super(model);
+        settings = GherkinTagsToolWindowSettings.getInstance(project);
+        registry = TagOccurrencesRegistry.getInstance(project);
         setCellRenderer(new GherkinTagsNodeRenderer(project));
         getSelectionModel().setSelectionMode(TreeSelectionModel.SINGLE_TREE_SELECTION);
         setExpandsSelectedPaths(true);
     }
 
+    /**
+     * Shows more files of a tag if the argument path points to a {@link MoreFiles} node, and selects the first newly shown file.
+     *
+     * @param path the path of the activated node
+     * @return true if the path points to a {@link MoreFiles} node, false otherwise
+     * @since 1.13.0
+     */
+    boolean showMoreFiles(@Nullable TreePath path) {
+        if (path == null || !(path.getLastPathComponent() instanceof MoreFiles moreFiles) || !(getModel() instanceof GherkinTagTreeModel model)) {
+            return false;
+        }
+        var firstShownFile = model.showMoreFiles(moreFiles);
+        updateUI();
+        if (firstShownFile != null) {
+            var filePath = path.getParentPath().pathByAddingChild(firstShownFile);
+            setSelectionPath(filePath);
+            scrollPathToVisible(filePath);
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached label of the argument node, and caches it if it is not cached yet, or its cached label is outdated.
+     *
+     * @since 1.13.0
+     */
+    @Override
+    public String convertValueToText(Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
+        if (!(value instanceof AbstractNodeType node)) {
+            return super.convertValueToText(value, selected, expanded, leaf, row, hasFocus);
+        }
+        var statisticsType = settings.statisticsType;
+        long dataStamp = dataStampOf(node);
+        long structureStamp = structureStampOf(node);
+        var label = labels.get(node);
+        if (label == null || label.statisticsType() != statisticsType || !label.displayName().equals(node.getDisplayName())
+            || label.dataStamp() != dataStamp || label.structureStamp() != structureStamp) {
+            label = new NodeLabel(node.toString(), statisticsType, node.getDisplayName(), dataStamp, structureStamp);
+            labels.put(node, label);
+        }
+        return label.text();
+    }
+
+    /**
+     * Returns the modification count of the occurrence data the label of the argument node is calculated from.
+     */
+    private long dataStampOf(AbstractNodeType node) {
+        return switch (node) {
+            case FeatureFile file -> registry.getFileModificationCount(file.getPath());
+            case Tag tag -> registry.getTagModificationCount(tag.getDisplayName());
+            case TagOccurrence __ -> 0;
+            case MoreFiles __ -> 0;
+            default -> registry.getModificationCount();
+        };
+    }
+
+    /**
+     * Returns the modification count of the nodes the label of the argument node is calculated from.
+     */
+    private long structureStampOf(AbstractNodeType node) {
+        return switch (node) {
+            case Tag tag -> tag.getModificationCount();
+            case FeatureFile __ -> 0;
+            case TagOccurrence __ -> 0;
+            case MoreFiles __ -> 0;
+            default -> getModel() instanceof GherkinTagTreeModel model ? model.getStructureModificationCount() : 0;
+        };
+    }
+
+    /**
+     * Drops the cached labels when another model is displayed, since they belong to the nodes of the previous model.
+     */
+    @Override
+    public void setModel(TreeModel newModel) {
+        super.setModel(newModel);
+        //The cache is not yet initialized when this is called from the JTree constructor
+        if (labels != null) {
+            labels.clear();
+        }
+    }
+
+    /**
+     * The label of a node along with the state it was calculated in.
+     *
+     * @param statisticsType the statistics type the label was calculated with
+     * @param displayName    the display name of the node when the label was calculated
+     * @param dataStamp      the modification count of the occurrence data the label was calculated from
+     * @param structureStamp the modification count of the nodes the label was calculated from
+     */
+    private record NodeLabel(String text, StatisticsType statisticsType, String displayName, long dataStamp, long structureStamp) {
+    }
+
     /**
      * Node renderer for the Gherkin tag tree.
      * <p>
-     * Configures the icons of nodes according to their node types.
+     * Configures the icons of nodes according to their node types. The icons of files are cached,
+     * so that their file types are not resolved on each repaint.
      */
     @RequiredArgsConstructor
     static final class GherkinTagsNodeRenderer extends NodeRenderer {
         private final transient Project project;
+        private final transient Map<FeatureFile, Icon> fileIcons = new IdentityHashMap<>();
 
         @Override
         public void customizeCellRenderer(@NotNull JTree tree, @NlsSafe Object value, boolean selected, boolean expanded, boolean leaf, int row, boolean hasFocus) {
@@ -55,10 +181,27 @@ public final class GherkinTagTree extends JTree {
                 case ContentRoot __ -> setIcon(asContentRoot(value).getIcon());
                 case Category __ -> setIcon(PlatformIcons.LIBRARY_ICON);
                 case Tag __ -> setIcon(AllIcons.Gutter.ExtAnnotation);
-                case FeatureFile __ ->
-                    setIcon(isGherkinFile(((FeatureFile) value).getFile()) ? CucumberIcons.Cucumber : project.getService(JBehaveStoryService.class).getJBehaveIcon());
+                case FeatureFile file -> setIcon(fileIcons.computeIfAbsent(file, this::iconOf));
+                case TagOccurrence __ -> setIcon(AllIcons.General.Locate);
+                case MoreFiles __ -> setIcon(AllIcons.Actions.More);
                 default -> { }
             }
         }
+
+        private Icon iconOf(FeatureFile file) {
+            return isGherkinFile(file.getFile()) ? CucumberIcons.Cucumber : project.getService(JBehaveStoryService.class).getJBehaveIcon();
+        }
+
+        /**
+         * Clears the cached icons, since the tree updates the UI of its renderer in {@link GherkinTagTree#updateUI()}.
+         */
+        @Override
+        public void updateUI() {
+            super.updateUI();
+            //The cache is not yet initialized when this is called from the super constructor
+            if (fileIcons != null) {
+                fileIcons.clear();
+            }
+        }
     }
 }
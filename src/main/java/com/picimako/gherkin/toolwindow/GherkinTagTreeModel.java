@@ -3,30 +3,42 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.intellij.openapi.application.ReadAction.computeBlocking;
-import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
-import static com.picimako.gherkin.toolwindow.TagNameUtil.metaNameFrom;
-import static com.picimako.gherkin.toolwindow.TagNameUtil.tagNameFrom;
 import static java.util.stream.Collectors.toMap;
 
 import com.intellij.openapi.Disposable;
+import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
-import com.intellij.psi.util.PsiTreeUtil;
-import com.intellij.util.SmartList;
+import com.intellij.psi.PsiManager;
+import com.intellij.util.containers.ContainerUtil;
 import com.picimako.gherkin.GherkinUtil;
 import com.picimako.gherkin.JBehaveStoryService;
 import com.picimako.gherkin.toolwindow.nodetype.CategoriesHolder;
 import com.picimako.gherkin.toolwindow.nodetype.Category;
+import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
-import org.jetbrains.plugins.cucumber.psi.GherkinTag;
+import it.unimi.dsi.fastutil.objects.Reference2IntMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import lombok.Getter;
+import org.jetbrains.annotations.Nullable;
 
 import javax.swing.event.TreeModelListener;
 import javax.swing.tree.TreeModel;
 import javax.swing.tree.TreePath;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
@@ -40,6 +52,9 @@ import java.util.function.Function;
  * <p>
  * Content roots, categories, tags and Gherkin/Story files are sorted alphabetically by their names to make it easier to overview them.
  * <p>
+ * The files of tags are shown page by page, {@link #FILE_PAGE_SIZE} files at a time, followed by {@link MoreFiles} nodes
+ * to show the rest of them, so that expanding a tag with thousands of files stays fast.
+ * <p>
  * There is a permanent category called {@code Other} whose purpose is to store all tags that are not explicitly mapped
  * to a custom category. In case of content root based grouping, each content root has its own Other category.
  * <p>
@@ -50,12 +65,97 @@ import java.util.function.Function;
  * @see GherkinTagTree
  * @see GherkinPsiChangeListener
  */
-abstract class GherkinTagTreeModel implements TreeModel, Disposable {
+public abstract class GherkinTagTreeModel implements TreeModel, Disposable {
+
+    /**
+     * The number of files of a tag shown at first, and shown additionally by each "show next page" node.
+     *
+     * @since 1.13.0
+     */
+    public static final int FILE_PAGE_SIZE = 100;
+    /**
+     * The key by which the builds of models in the background are coalesced, so that at most one of them runs at a time.
+     *
+     * @since 1.13.0
+     */
+    static final String BUILD_COALESCE_KEY = "gherkin.overview.build.model";
 
     private final Project project;
     private final TagCategoryRegistry registry;
     private final JBehaveStoryService storyService;
     protected ModelDataRoot data;
+    /**
+     * Whether this model has been built from the raw text of files in dumb mode, and has to be replaced by a model
+     * built from indexes and the PSI once smart mode starts.
+     */
+    @Getter
+    private boolean isProvisional;
+    /**
+     * The lower-cased text the tree is filtered by, or null if the tree is not filtered.
+     */
+    private volatile String filterText;
+    /**
+     * The visible children of nodes while the tree is filtered, computed lazily after each change in the model or in the filter.
+     * Nodes are mapped by their identities, since they are equal by their display names.
+     */
+    private volatile Map<Object, List<?>> filteredChildren;
+    /**
+     * The indexes of the tag and file names in the model, created when the tree is first filtered,
+     * and maintained incrementally as files are added to and removed from tags.
+     */
+    private volatile FilterIndexes filterIndexes;
+    /**
+     * Incremented whenever files are added to or removed from tags, or the model data is rebuilt, so that filter indexes
+     * built in the background from an earlier state of the model are not installed.
+     */
+    private volatile long dataModificationCount;
+    /**
+     * Incremented whenever the visible structure of the tree changes without changing the files of tags, e.g. when tags
+     * are recategorized, or the filters change.
+     */
+    private volatile long viewModificationCount;
+    /**
+     * The tag expression the tree is filtered by, or null if the tree is not filtered by a tag expression.
+     */
+    @Getter
+    private volatile TagExpression tagExpression;
+    /**
+     * The scenarios of each tag for evaluating tag expressions, created when the tree is first filtered by one,
+     * and maintained incrementally as the tags of files change.
+     */
+    private volatile TagScenarioBitSets tagScenarioBitSets;
+    /**
+     * The co-occurrence counts of tags, created when they are first queried, and maintained incrementally as files are
+     * added to and removed from tags.
+     */
+    private volatile TagCoOccurrences tagCoOccurrences;
+    /**
+     * The number of visible files shown of each tag that has been paged beyond its first page.
+     * Tags are mapped by their identities, since they are equal by their display names.
+     */
+    private final Map<Tag, Integer> shownFileCounts = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * The positions of the visible files of large tags, so that finding the index of a file doesn't scan the list of files.
+     */
+    private final Map<Tag, FileIndex> fileIndexes = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * The "show more" nodes of paged tags, reused while the number of hidden files of the tag doesn't change,
+     * so that the tree, which caches the labels of nodes by their identities, gets the same nodes on each query.
+     */
+    private final Map<Tag, MoreFilesNodes> moreFilesNodes = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * Whether this model is being built by {@link #buildStaged(Consumer)}.
+     */
+    private volatile boolean isStaging;
+    /**
+     * The occurrences collected by {@link #buildStaged(Consumer)}, until they are published by {@link #publishBuildResults()}.
+     */
+    private volatile TagOccurrencesRegistry stagedOccurrences;
+    /**
+     * The BDD file types found by the last build, published to {@link ProjectBDDTypeService} by {@link #publishBuildResults()}.
+     */
+    private volatile boolean containsGherkinFile;
+    private volatile boolean containsStoryFile;
 
     protected GherkinTagTreeModel(Project project) {
         registry = TagCategoryRegistry.getInstance(project);
@@ -80,12 +180,16 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
     public void dispose() {
         data.dispose();
         data = null;
+        invalidateIndexes();
     }
 
     /**
      * Builds model data for storing the structure of the tree component in the Gherkin tags tool window.
+     * <p>
+     * When called in a cancellable context, e.g. in a non-blocking read action, the build is cancelled between files.
      */
     public void buildModel() {
+        isProvisional = false;
         if (ProjectUtil.guessProjectDir(project) != null) {
             if (data == null) {
                 data = new ModelDataRoot(project);
@@ -94,45 +198,143 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
                 data.initData();
             }
 
-            final var gherkinFiles = new SmartList<PsiFile>();
-            final var storyFiles = new SmartList<PsiFile>();
             //NOTE: Handling the whole logic in one stream() call chain may not return and process all Gherkin files in the project, hence the separation
             //NOTE2: Reading the Gherkin and Story files in separate read actions is in place to ensure that all files are read consistently.
-            gherkinFiles.addAll(GherkinUtil.collectGherkinFilesFromProject(project));
-            storyFiles.addAll(storyService.collectStoryFilesFromProject());
+            //NOTE3: Only virtual files are collected, and the PSI of each file is resolved only while its tags are extracted,
+            // so that it doesn't remain strongly reachable for the whole build.
+            final var gherkinFiles = GherkinUtil.collectGherkinFilesFromProject(project);
+            final var storyFiles = storyService.collectStoryFilesFromProject();
 
-            var service = project.getService(ProjectBDDTypeService.class);
-            service.isProjectContainGherkinFile = !gherkinFiles.isEmpty();
-            service.isProjectContainJBehaveStoryFile = !storyFiles.isEmpty();
+            containsGherkinFile = !gherkinFiles.isEmpty();
+            containsStoryFile = !storyFiles.isEmpty();
 
-            if (service.isProjectContainGherkinFile || service.isProjectContainJBehaveStoryFile) {
+            if (containsGherkinFile || containsStoryFile) {
                 TagOccurrencesRegistry.getInstance(project).init(gherkinFiles.size() + storyFiles.size());
             }
 
-            persistGherkinTags(gherkinFiles);
-            persistStoryMetas(storyFiles);
+            persistTags(gherkinFiles);
+            persistTags(storyFiles);
 
-            data.updateDisplayName();
             data.sort();
+            publishBuildResultsUnlessStaging();
         }
+        invalidateIndexes();
     }
 
-    private void persistGherkinTags(List<PsiFile> gherkinFiles) {
-        for (var file : gherkinFiles) {
-            var gherkinTags = computeBlocking(() -> PsiTreeUtil.findChildrenOfType(file, GherkinTag.class));
-            for (var gherkinTag : gherkinTags) {
-                addToContentRootAndCategory(tagNameFrom(gherkinTag), file);
+    /**
+     * Builds model data from a previously persisted snapshot of tag occurrences, without accessing the PSI of the files.
+     * <p>
+     * The occurrence counts are also stored in {@link TagOccurrencesRegistry}, so they are not re-calculated either.
+     *
+     * @param snapshot file -> &lt;tag name, count>
+     * @see TagOccurrencesSnapshot
+     */
+    public void buildModelFromSnapshot(Map<VirtualFile, Map<String, Integer>> snapshot) {
+        buildModelFromOccurrences(snapshot, false);
+    }
+
+    private void buildModelFromOccurrences(Map<VirtualFile, Map<String, Integer>> snapshot, boolean isProvisional) {
+        this.isProvisional = isProvisional;
+        if (ProjectUtil.guessProjectDir(project) != null) {
+            if (data == null) {
+                data = new ModelDataRoot(project);
+            } else {
+                data.initData();
             }
+
+            containsGherkinFile = snapshot.keySet().stream().anyMatch(GherkinUtil::isGherkinFile);
+            containsStoryFile = snapshot.keySet().stream().anyMatch(storyService::isJBehaveStoryFile);
+
+            var occurrencesRegistry = TagOccurrencesRegistry.getInstance(project);
+            occurrencesRegistry.init(snapshot.size());
+            snapshot.forEach((file, tagToCount) -> {
+                occurrencesRegistry.importCounts(file, tagToCount);
+                tagToCount.keySet().forEach(tagName -> addToContentRootAndCategory(tagName, file));
+            });
+
+            data.sort();
+            publishBuildResultsUnlessStaging();
+        }
+        invalidateIndexes();
+    }
+
+    /**
+     * Builds a provisional model data while the IDE is in dumb mode, from the tags and metas scanned from the raw text of the
+     * Gherkin and Story files in the project content, since neither the file type index, nor reliable PSI is available.
+     * <p>
+     * The model has to be rebuilt via {@link #buildModel()} once smart mode starts.
+     *
+     * @see BDDFileTextScanner
+     */
+    public void buildProvisionalModel() {
+        buildModelFromOccurrences(BDDFileTextScanner.scanProject(project), true);
+    }
+
+    /**
+     * Builds this model with the argument build method (e.g. {@link #buildModel()}) without modifying the project-level
+     * {@link TagOccurrencesRegistry} and {@link ProjectBDDTypeService}, since they are still used by the displayed model.
+     * This is used when the model is built in the background.
+     * <p>
+     * The collected data is published to them by {@link #publishBuildResults()}, when this model replaces the displayed one.
+     * If the build is cancelled, the project-level services remain intact.
+     *
+     * @param build the build method to call on this model
+     * @since 1.13.0
+     */
+    public void buildStaged(Consumer<? super GherkinTagTreeModel> build) {
+        isStaging = true;
+        try {
+            stagedOccurrences = TagOccurrencesRegistry.stage(project, () -> build.accept(this));
+        } finally {
+            isStaging = false;
+        }
+    }
+
+    /**
+     * Publishes the occurrences and the BDD file types collected by the last build to the project-level services,
+     * and updates the display name of the root accordingly. Must be called on the EDT, when this model replaces the displayed one.
+     *
+     * @see #buildStaged(Consumer)
+     * @since 1.13.0
+     */
+    public void publishBuildResults() {
+        if (data == null) return;
+
+        var occurrences = stagedOccurrences;
+        stagedOccurrences = null;
+        var registry = TagOccurrencesRegistry.getInstance(project);
+        if (occurrences != null) {
+            registry.replaceWith(occurrences);
+        }
+        registry.setProvisional(isProvisional);
+        var service = project.getService(ProjectBDDTypeService.class);
+        service.isProjectContainGherkinFile = containsGherkinFile;
+        service.isProjectContainJBehaveStoryFile = containsStoryFile;
+        data.updateDisplayName();
+    }
+
+    private void publishBuildResultsUnlessStaging() {
+        if (!isStaging) {
+            publishBuildResults();
         }
     }
 
-    private void persistStoryMetas(List<PsiFile> storyFiles) {
-        for (var file : storyFiles) {
-            for (var meta : storyService.collectMetasFromFile(file).entrySet()) {
-                if (meta.getValue().isEmpty()) {
-                    addToContentRootAndCategory(metaNameFrom(meta.getKey(), null), file);
-                } else {
-                    meta.getValue().forEach(metaText -> addToContentRootAndCategory(metaNameFrom(meta.getKey(), meta.getValue()), file));
+    /**
+     * Adds the tags/metas of the argument Gherkin or Story files to the model. Each file is processed in a single pass,
+     * and the occurrence counts are stored in {@link TagOccurrencesRegistry} from the same extraction result.
+     */
+    private void persistTags(Collection<VirtualFile> bddFiles) {
+        var occurrencesRegistry = TagOccurrencesRegistry.getInstance(project);
+        for (var file : bddFiles) {
+            ProgressManager.checkCanceled();
+            var fileTags = computeBlocking(() -> {
+                var psiFile = PsiManager.getInstance(project).findFile(file);
+                return psiFile != null ? BDDFileTags.of(psiFile) : null;
+            });
+            if (fileTags != null) {
+                occurrencesRegistry.storeCounts(file, fileTags);
+                for (var tagName : fileTags.tagNames()) {
+                    addToContentRootAndCategory(tagName, file);
                 }
             }
         }
@@ -159,34 +361,65 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
      * @param bddFile the Gherkin or Story file whose content has changed
      */
     public void updateModelForFile(PsiFile bddFile) {
-        CategoriesHolder contentRoot = getContentRoot(bddFile);
+        updateModelForFile(bddFile.getVirtualFile(), bddFile, null);
+    }
+
+    /**
+     * Updates this model based on the argument tags and metas already extracted from the argument Gherkin or Story file,
+     * so that they are not extracted again.
+     *
+     * @param bddFile  the Gherkin or Story file whose content has changed
+     * @param fileTags the tags extracted from the file
+     * @see #updateModelForFile(PsiFile)
+     * @since 1.13.0
+     */
+    public void updateModelForFile(PsiFile bddFile, BDDFileTags fileTags) {
+        updateModelForFile(bddFile.getVirtualFile(), bddFile, fileTags);
+    }
+
+    /**
+     * Updates this model based on the tags and metas available in the argument Gherkin or Story file.
+     * <p>
+     * This is used when only the file itself is known, e.g. when changes recorded while the tool window was hidden are
+     * reconciled. If the file is no longer valid, it is removed from the model.
+     *
+     * @param bddFile the Gherkin or Story file whose content has changed
+     * @see #updateModelForFile(PsiFile)
+     */
+    public void updateModelForFile(VirtualFile bddFile) {
+        var psiFile = bddFile.isValid() ? computeBlocking(() -> PsiManager.getInstance(project).findFile(bddFile)) : null;
+        updateModelForFile(bddFile, psiFile, null);
+    }
+
+    private void updateModelForFile(VirtualFile virtualFile, @Nullable PsiFile bddFile, @Nullable BDDFileTags extractedFileTags) {
+        CategoriesHolder contentRoot = getContentRoot(virtualFile);
 
         //Collect all tags that this file is bound to
         //Used Map instead of List, so that querying it in various ways is easier than with a List
         Map<String, Tag> tagsBddFileIsBoundTo = contentRoot.getCategories().stream()
             .flatMap(category -> category.getTags().stream())
-            .filter(tag -> tag.contains(bddFile.getVirtualFile()))
+            .filter(tag -> tag.contains(virtualFile))
             .collect(toMap(Tag::getDisplayName, Function.identity()));
 
         var service = TagOccurrencesRegistry.getInstance(project);
 
         //If the change is that the Gherkin or Story file has been removed
-        if (!bddFile.getVirtualFile().isValid()) {
+        if (!virtualFile.isValid() || bddFile == null) {
             tagsBddFileIsBoundTo.values().forEach(tag -> {
-                tag.remove(bddFile.getVirtualFile());
+                removeFileFromTag(virtualFile, tag);
                 removeEmptyTagsAndCategories(tag, contentRoot);
             });
-            service.remove(bddFile.getVirtualFile().getPath());
+            service.remove(virtualFile.getPath());
+            updateScenarioBitSets(virtualFile, false);
         } else {
-            //Collect all Gherkin tag and/or Story meta names from the provided file
-            List<String> tagNamesFromBDDFile = isGherkinFile(bddFile)
-                ? GherkinUtil.collectGherkinTagsFromFile(bddFile)
-                : storyService.collectMetasFromFileAsList(bddFile);
+            //Collect all distinct Gherkin tag and/or Story meta names from the provided file
+            var fileTags = extractedFileTags != null ? extractedFileTags : BDDFileTags.of(bddFile);
+            Set<String> tagNamesFromBDDFile = fileTags.tagNames();
 
             //If a tag is present in the file but not in the tree, then add mapping
             for (String tagName : tagNamesFromBDDFile) {
                 if (!tagsBddFileIsBoundTo.containsKey(tagName)) {
-                    addToContentRootAndCategory(tagName, bddFile);
+                    addToContentRootAndCategory(tagName, virtualFile);
                 }
             }
 
@@ -195,17 +428,17 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
             for (String tagName : tagsBddFileIsBoundTo.keySet()) {
                 if (!tagNamesFromBDDFile.contains(tagName)) {
                     Tag tag = tagsBddFileIsBoundTo.get(tagName);
-                    tag.remove(bddFile.getVirtualFile());
+                    removeFileFromTag(virtualFile, tag);
                     removeEmptyTagsAndCategories(tag, contentRoot);
                 }
             }
 
-            //If a tag is already mapped, then re-calculate the tags' occurrence count in the currently changed Gherkin file for each contained tag
-            tagNamesFromBDDFile.forEach(tagName -> 
-                contentRoot.findTag(tagName).ifPresent(tag -> tag.getFeatureFiles().forEach(file -> service.updateOccurrenceCounts(file.getFile()))));
+            //Re-calculate the tags' occurrence counts only in the currently changed file, since the counts in other files cannot change
+            service.storeCounts(virtualFile, fileTags);
+            updateScenarioBitSets(virtualFile, !tagNamesFromBDDFile.isEmpty());
 
             //Update the display names of file with the same name as the changed file
-            tagsBddFileIsBoundTo.values().forEach(tag -> tag.updateDisplayNames(bddFile.getVirtualFile()));
+            tagsBddFileIsBoundTo.values().forEach(tag -> tag.updateDisplayNames(virtualFile));
         }
 
         //In case there is any incorrect node left behind in the model, clean it up
@@ -217,6 +450,86 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
         if (data.isInitializedAsContentRootData()) {
             data.getContentRoots().removeIf(projectModule -> projectModule.getCategories().size() == 1 && !projectModule.getOther().hasTag());
         }
+        filteredChildren = null;
+    }
+
+    /**
+     * Updates the occurrence data of the argument file, when only the locations of its tags, or the scenarios they apply to
+     * have changed, but the set of its tags hasn't, thus the structure of the model doesn't change.
+     *
+     * @param file     the Gherkin or Story file whose content has changed
+     * @param fileTags the tags extracted from the file
+     * @since 1.13.0
+     */
+    public void updateOccurrenceDataForFile(VirtualFile file, BDDFileTags fileTags) {
+        TagOccurrencesRegistry.getInstance(project).storeCounts(file, fileTags);
+        updateScenarioBitSets(file, !fileTags.tagNames().isEmpty());
+        //The files matching the tag expression may have changed
+        filteredChildren = null;
+    }
+
+    private void removeFileFromTag(VirtualFile file, Tag tag) {
+        tag.remove(file);
+        dataModificationCount++;
+        var indexes = filterIndexes;
+        if (indexes != null) {
+            indexes.remove(tag.getDisplayName(), file.getName());
+        }
+        var coOccurrences = tagCoOccurrences;
+        if (coOccurrences != null) {
+            coOccurrences.remove(tag.getDisplayName(), file);
+        }
+    }
+
+    /**
+     * Moves the tags with the argument names to the categories they are currently mapped to in {@link TagCategoryRegistry},
+     * in all layouts the model data has been initialized for.
+     * <p>
+     * Since category mappings don't affect which files contain which tags, the tags keep their files and occurrence counts,
+     * thus the files don't have to be processed again.
+     *
+     * @param tagNames the names of the tags whose categories have changed
+     */
+    public void recategorizeTags(Set<String> tagNames) {
+        if (data == null || tagNames.isEmpty()) return;
+
+        if (data.isInitializedAsProjectData()) {
+            recategorizeTags(tagNames, data);
+        }
+        if (data.isInitializedAsContentRootData()) {
+            data.getContentRoots().forEach(contentRoot -> recategorizeTags(tagNames, contentRoot));
+        }
+        data.sort();
+        filteredChildren = null;
+        viewModificationCount++;
+    }
+
+    private void recategorizeTags(Set<String> tagNames, CategoriesHolder contentRoot) {
+        //Iterating over a copy, since new categories may be added during the iteration
+        for (var category : List.copyOf(contentRoot.getCategories())) {
+            for (var iterator = category.getTags().iterator(); iterator.hasNext(); ) {
+                Tag tag = iterator.next();
+                if (tagNames.contains(tag.getDisplayName())) {
+                    Category targetCategory = findOrAddCategory(registry.categoryOf(tag.getDisplayName()), contentRoot);
+                    if (targetCategory != category) {
+                        iterator.remove();
+                        targetCategory.add(tag);
+                    }
+                }
+            }
+        }
+        contentRoot.getCategories().removeIf(Category::isNotOtherAndDoesntHaveAnyTag);
+    }
+
+    private Category findOrAddCategory(@Nullable String categoryName, CategoriesHolder contentRoot) {
+        if (categoryName == null) {
+            return contentRoot.getOther();
+        }
+        return contentRoot.findCategory(categoryName).orElseGet(() -> {
+            var category = new Category(categoryName, project);
+            contentRoot.addCategory(category);
+            return category;
+        });
     }
 
     private void removeEmptyTagsAndCategories(Tag tag, CategoriesHolder contentRoot) {
@@ -245,21 +558,518 @@ abstract class GherkinTagTreeModel implements TreeModel, Disposable {
      * @param tagName the tag name to add to a category
      * @param file    the Gherkin file that will be added to the provided tag
      */
-    private void addToContentRootAndCategory(String tagName, PsiFile file) {
+    private void addToContentRootAndCategory(String tagName, VirtualFile file) {
         String categoryName = registry.categoryOf(tagName);
         CategoriesHolder contentRoot = getContentRoot(file);
+        dataModificationCount++;
+        var indexes = filterIndexes;
+        if (indexes != null) {
+            indexes.add(tagName, file.getName());
+        }
+        var coOccurrences = tagCoOccurrences;
+        if (coOccurrences != null) {
+            coOccurrences.add(tagName, file);
+        }
 
         if (categoryName != null) {
             contentRoot.findCategory(categoryName)
                 .ifPresentOrElse(
-                    category -> category.addTagOrFileToTag(tagName, file.getVirtualFile()),
-                    () -> contentRoot.addCategory(new Category(categoryName, project).add(new Tag(tagName, file.getVirtualFile(), project))));
+                    category -> category.addTagOrFileToTag(tagName, file),
+                    () -> contentRoot.addCategory(new Category(categoryName, project).add(new Tag(tagName, file, project))));
         } else {
-            contentRoot.getOther().addTagOrFileToTag(tagName, file.getVirtualFile());
+            contentRoot.getOther().addTagOrFileToTag(tagName, file);
         }
     }
 
-    protected abstract CategoriesHolder getContentRoot(PsiFile file);
+    protected abstract CategoriesHolder getContentRoot(VirtualFile file);
+
+    /**
+     * Returns the nodes holding the categories in the current layout.
+     */
+    protected abstract List<? extends CategoriesHolder> getCategoriesHolders();
+
+    /**
+     * Returns whether a tag with the argument name exists in the current layout.
+     *
+     * @since 1.13.0
+     */
+    public boolean hasTag(String tagName) {
+        return data != null && ContainerUtil.exists(getCategoriesHolders(), holder -> holder.findTag(tagName).isPresent());
+    }
+
+    //Filtering
+
+    /**
+     * Filters the tree to the categories, tags and files whose names contain the argument text, ignoring case.
+     * <p>
+     * If a category matches, all its tags are displayed, if a tag matches, all its files are displayed, otherwise only
+     * the matching files and the tags and categories containing them are displayed.
+     *
+     * @param text the text to filter by, or null or blank to remove the filter
+     * @since 1.13.0
+     */
+    public void setFilter(@Nullable String text) {
+        filterText = text == null || text.isBlank() ? null : text.trim().toLowerCase(Locale.ROOT);
+        filteredChildren = null;
+        viewModificationCount++;
+    }
+
+    /**
+     * Filters the tree to the files matching the argument Cucumber tag expression, and to the tags and categories containing them.
+     * <p>
+     * The expression is evaluated per scenario, on the tags the scenarios have along with the ones inherited from their
+     * enclosing elements, and a file matches if any of its scenarios matches.
+     * <p>
+     * It can be combined with the text filter set via {@link #setFilter(String)}, in which case both have to match.
+     *
+     * @param expression the tag expression to filter by, or null to remove the filter
+     * @since 1.13.0
+     */
+    public void setTagExpression(@Nullable TagExpression expression) {
+        tagExpression = expression;
+        filteredChildren = null;
+        viewModificationCount++;
+    }
+
+    /**
+     * Returns a stamp that changes whenever the visible nodes of the tree may change, apart from showing more files of tags,
+     * e.g. to detect that the model has changed while it is traversed in multiple steps.
+     *
+     * @since 1.13.0
+     */
+    public long getStructureModificationCount() {
+        return dataModificationCount + viewModificationCount;
+    }
+
+    public boolean isFiltered() {
+        return filterText != null || tagExpression != null;
+    }
+
+    //Paging
+
+    /**
+     * Returns the files of the argument tag that are visible with the current filter, regardless of paging.
+     *
+     * @since 1.13.0
+     */
+    public List<FeatureFile> visibleFilesOf(Tag tag) {
+        return visibleChildren(tag, tag.getFeatureFiles());
+    }
+
+    /**
+     * Returns the number of child nodes of the argument tag: the shown files, and the {@link MoreFiles} nodes, if there are
+     * files not shown yet.
+     */
+    protected int getTagChildCount(Tag tag) {
+        int fileCount = visibleFilesOf(tag).size();
+        int shownFileCount = shownFileCountOf(tag, fileCount);
+        return shownFileCount + moreFilesNodeCount(fileCount - shownFileCount);
+    }
+
+    /**
+     * Returns the child node of the argument tag at the argument index. The shown files are followed by
+     * a "show next page" node, if more than a page of files are not shown, and a "show all" node.
+     */
+    protected Object getTagChild(Tag tag, int index) {
+        var files = visibleFilesOf(tag);
+        int shownFileCount = shownFileCountOf(tag, files.size());
+        if (index < shownFileCount) {
+            return files.get(index);
+        }
+        var nodes = moreFilesNodesOf(tag, files.size() - shownFileCount);
+        return index == shownFileCount && nodes.nextPage() != null ? nodes.nextPage() : nodes.showAll();
+    }
+
+    private MoreFilesNodes moreFilesNodesOf(Tag tag, int hiddenFileCount) {
+        var nodes = moreFilesNodes.get(tag);
+        if (nodes == null || nodes.hiddenFileCount() != hiddenFileCount) {
+            nodes = new MoreFilesNodes(
+                hiddenFileCount,
+                hiddenFileCount > FILE_PAGE_SIZE ? new MoreFiles(tag, false, FILE_PAGE_SIZE, project) : null,
+                new MoreFiles(tag, true, hiddenFileCount, project));
+            moreFilesNodes.put(tag, nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * The "show more" nodes of a tag.
+     *
+     * @param hiddenFileCount the number of visible files of the tag not shown yet, when the nodes were created
+     * @param nextPage        the "show next page" node, or null if no more than a page of files are hidden
+     * @param showAll         the "show all" node
+     */
+    private record MoreFilesNodes(int hiddenFileCount, @Nullable MoreFiles nextPage, MoreFiles showAll) {
+    }
+
+    /**
+     * Returns the index of the argument child node in the argument tag, or -1 if it is not a child of the tag,
+     * or it is a file not shown yet.
+     */
+    protected int getIndexOfTagChild(Tag tag, Object child) {
+        var files = visibleFilesOf(tag);
+        int shownFileCount = shownFileCountOf(tag, files.size());
+        if (child instanceof MoreFiles moreFiles) {
+            int moreFilesNodeCount = moreFilesNodeCount(files.size() - shownFileCount);
+            if (moreFiles.getTag() != tag || moreFilesNodeCount == 0) {
+                return -1;
+            }
+            return moreFiles.isShowAll() ? shownFileCount + moreFilesNodeCount - 1 : (moreFilesNodeCount == 2 ? shownFileCount : -1);
+        }
+        int index = indexOfFile(tag, files, child);
+        return index < shownFileCount ? index : -1;
+    }
+
+    /**
+     * Shows the next page, or all remaining files of the tag of the argument node.
+     *
+     * @return the first newly shown file, or null if there was no file to show
+     * @since 1.13.0
+     */
+    @Nullable
+    public FeatureFile showMoreFiles(MoreFiles moreFiles) {
+        var tag = moreFiles.getTag();
+        var files = visibleFilesOf(tag);
+        int shownFileCount = shownFileCountOf(tag, files.size());
+        if (shownFileCount >= files.size()) {
+            return null;
+        }
+        shownFileCounts.put(tag, moreFiles.isShowAll() ? Integer.MAX_VALUE : shownFileCount + FILE_PAGE_SIZE);
+        return files.get(shownFileCount);
+    }
+
+    private int shownFileCountOf(Tag tag, int fileCount) {
+        return Math.min(fileCount, shownFileCounts.getOrDefault(tag, FILE_PAGE_SIZE));
+    }
+
+    /**
+     * Both a "show next page" and a "show all" node is displayed if more than a page of files are not shown,
+     * otherwise only a "show all" one.
+     */
+    private static int moreFilesNodeCount(int hiddenFileCount) {
+        return hiddenFileCount > FILE_PAGE_SIZE ? 2 : (hiddenFileCount > 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the index of the argument file in the argument visible files of the tag. Small lists are scanned,
+     * while for large ones an index is built once, and reused until the tag's files or the filter change.
+     * <p>
+     * Files are looked up by identity, like the other nodes, since a file node of another tag with the same path is equal to the one in the list.
+     */
+    private int indexOfFile(Tag tag, List<FeatureFile> files, Object file) {
+        if (files.size() <= FILE_PAGE_SIZE) {
+            return ContainerUtil.indexOfIdentity(files, file);
+        }
+        var fileIndex = fileIndexes.get(tag);
+        if (fileIndex == null || fileIndex.files() != files || fileIndex.modificationCount() != tag.getModificationCount()) {
+            fileIndex = FileIndex.of(files, tag.getModificationCount());
+            fileIndexes.put(tag, fileIndex);
+        }
+        return fileIndex.indexes().getInt(file);
+    }
+
+    /**
+     * The positions of the visible files of a tag.
+     *
+     * @param files             the visible files the index was built from
+     * @param modificationCount the modification count of the tag the index was built at
+     * @param indexes           file -> its index in {@code files}, or -1 for files not in the list, mapped by identity
+     */
+    private record FileIndex(List<FeatureFile> files, int modificationCount, Reference2IntMap<Object> indexes) {
+        static FileIndex of(List<FeatureFile> files, int modificationCount) {
+            var indexes = new Reference2IntOpenHashMap<Object>(files.size());
+            indexes.defaultReturnValue(-1);
+            for (int i = 0; i < files.size(); i++) {
+                indexes.putIfAbsent(files.get(i), i);
+            }
+            return new FileIndex(files, modificationCount, indexes);
+        }
+    }
+
+    /**
+     * Returns the number of files having at least one scenario matching the current tag expression, evaluated on the current model data,
+     * or -1 if the tree is not filtered by a tag expression.
+     *
+     * @since 1.13.0
+     */
+    public int countTagExpressionMatches() {
+        var expression = tagExpression;
+        if (expression == null || data == null) {
+            return -1;
+        }
+        return getTagScenarioBitSets().filesMatching(expression).size();
+    }
+
+    /**
+     * Returns the children of the argument node that are visible with the current filter.
+     *
+     * @param parent   the parent node
+     * @param children all children of the parent node
+     */
+    @SuppressWarnings("unchecked")
+    protected <T> List<T> visibleChildren(Object parent, List<T> children) {
+        String text = filterText;
+        var expression = tagExpression;
+        if (text == null && expression == null) {
+            return children;
+        }
+        var visibleChildren = filteredChildren;
+        if (visibleChildren == null) {
+            visibleChildren = computeFilteredChildren(text, expression);
+            filteredChildren = visibleChildren;
+        }
+        return (List<T>) visibleChildren.getOrDefault(parent, children);
+    }
+
+    /**
+     * Collects the visible children of each content root, category and tag. The matching tag and file names, and the tags
+     * having files with the matching names are looked up from the name indexes, and the files matching the tag expression are evaluated on the tag scenario bit sets,
+     * thus neither names, nor the tags of files are checked one by one.
+     * <p>
+     * Tags whose all files are visible are not mapped, so that they fall back to their full lists of files.
+     *
+     * @param text       the lower-cased filter text, or null
+     * @param expression the tag expression, or null
+     */
+    private Map<Object, List<?>> computeFilteredChildren(@Nullable String text, @Nullable TagExpression expression) {
+        if (data == null) {
+            return Map.of();
+        }
+        Set<String> matchingTagNames = null;
+        Set<String> matchingFileNames = null;
+        Set<String> tagsWithMatchingFiles = null;
+        if (text != null) {
+            var indexes = filterIndexes;
+            if (indexes == null) {
+                //The indexes are usually built in the background by the tool window before filtering
+                indexes = snapshotForFilterIndexes().build();
+                filterIndexes = indexes;
+            }
+            matchingTagNames = indexes.tagNames().findContaining(text);
+            matchingFileNames = indexes.fileNames().findContaining(text);
+            tagsWithMatchingFiles = indexes.tagsByFileName().tagsWithFilesNamed(matchingFileNames);
+        }
+        Set<VirtualFile> matchingFiles = expression != null ? getTagScenarioBitSets().filesMatching(expression) : null;
+
+        var visibleChildren = new IdentityHashMap<Object, List<?>>();
+        var visibleHolders = new ArrayList<CategoriesHolder>();
+        for (var holder : getCategoriesHolders()) {
+            var visibleCategories = new ArrayList<Category>();
+            for (var category : holder.getCategories()) {
+                boolean isCategoryMatching = text == null || category.getDisplayName().toLowerCase(Locale.ROOT).contains(text);
+                var visibleTags = new ArrayList<Tag>();
+                for (var tag : category.getTags()) {
+                    List<FeatureFile> visibleFiles;
+                    if (isCategoryMatching || matchingTagNames.contains(tag.getDisplayName())) {
+                        visibleFiles = tag.getFeatureFiles();
+                    } else if (tagsWithMatchingFiles.contains(tag.getDisplayName())) {
+                        Set<String> fileNames = matchingFileNames;
+                        visibleFiles = ContainerUtil.filter(tag.getFeatureFiles(), file -> fileNames.contains(file.getName()));
+                    } else {
+                        continue;
+                    }
+                    if (matchingFiles != null) {
+                        visibleFiles = ContainerUtil.filter(visibleFiles, file -> matchingFiles.contains(file.getFile()));
+                    }
+                    if (!visibleFiles.isEmpty()) {
+                        visibleTags.add(tag);
+                        if (visibleFiles.size() != tag.getFeatureFiles().size()) {
+                            visibleChildren.put(tag, visibleFiles);
+                        }
+                    }
+                }
+                if (!visibleTags.isEmpty()) {
+                    visibleCategories.add(category);
+                    visibleChildren.put(category, visibleTags);
+                }
+            }
+            visibleChildren.put(holder, visibleCategories);
+            if (!visibleCategories.isEmpty()) {
+                visibleHolders.add(holder);
+            }
+        }
+        //In case of content root based layouts, the root holds the content roots
+        visibleChildren.putIfAbsent(data, visibleHolders);
+        return Collections.unmodifiableMap(visibleChildren);
+    }
+
+    /**
+     * Returns whether the indexes used by the text filter have been built.
+     *
+     * @see #snapshotForFilterIndexes()
+     */
+    boolean hasFilterIndexes() {
+        return filterIndexes != null;
+    }
+
+    /**
+     * Collects the tag and file name pairs of the model, from which the indexes used by the text filter can be built in the background
+     * via {@link FilterIndexSource#build()}, so that they don't have to be built on the EDT when the tree is first filtered.
+     * <p>
+     * Must be called on the EDT, where the displayed model is modified.
+     *
+     * @see #installFilterIndexes(FilterIndexSource, FilterIndexes)
+     */
+    FilterIndexSource snapshotForFilterIndexes() {
+        var tagNames = new ArrayList<String>();
+        var fileNames = new ArrayList<String>();
+        if (data != null) {
+            for (var holder : getCategoriesHolders()) {
+                for (var category : holder.getCategories()) {
+                    for (var tag : category.getTags()) {
+                        for (var file : tag.getFeatureFiles()) {
+                            tagNames.add(tag.getDisplayName());
+                            fileNames.add(file.getName());
+                        }
+                    }
+                }
+            }
+        }
+        return new FilterIndexSource(tagNames, fileNames, dataModificationCount);
+    }
+
+    /**
+     * Installs the argument filter indexes, unless the model data has changed since they were collected,
+     * in which case they are built again when the tree is filtered.
+     * <p>
+     * Must be called on the EDT.
+     */
+    void installFilterIndexes(FilterIndexSource source, FilterIndexes indexes) {
+        if (filterIndexes == null && source.dataModificationCount() == dataModificationCount) {
+            filterIndexes = indexes;
+        }
+    }
+
+    /**
+     * The tag and file name pairs of the model, from which the filter indexes are built.
+     *
+     * @param dataModificationCount the modification count of the model data the pairs were collected at
+     */
+    record FilterIndexSource(List<String> tagNames, List<String> fileNames, long dataModificationCount) {
+
+        FilterIndexes build() {
+            var indexes = new FilterIndexes(new NameIndex(), new NameIndex(), new TagsByFileName());
+            for (int i = 0; i < tagNames.size(); i++) {
+                ProgressManager.checkCanceled();
+                indexes.add(tagNames.get(i), fileNames.get(i));
+            }
+            return indexes;
+        }
+    }
+
+    /**
+     * The indexes used by the text filter.
+     */
+    record FilterIndexes(NameIndex tagNames, NameIndex fileNames, TagsByFileName tagsByFileName) {
+
+        void add(String tagName, String fileName) {
+            tagNames.add(tagName);
+            fileNames.add(fileName);
+            tagsByFileName.add(fileName, tagName);
+        }
+
+        void remove(String tagName, String fileName) {
+            tagNames.remove(tagName);
+            fileNames.remove(fileName);
+            tagsByFileName.remove(fileName, tagName);
+        }
+    }
+
+    /**
+     * Returns the scenario bit sets of the files in the model, created from the scenario tags stored in {@link TagOccurrencesRegistry}.
+     */
+    private TagScenarioBitSets getTagScenarioBitSets() {
+        var bitSets = tagScenarioBitSets;
+        if (bitSets == null) {
+            var occurrences = TagOccurrencesRegistry.getInstance(project);
+            bitSets = new TagScenarioBitSets();
+            var files = new HashSet<VirtualFile>();
+            for (var holder : getCategoriesHolders()) {
+                for (var category : holder.getCategories()) {
+                    for (var tag : category.getTags()) {
+                        for (var file : tag.getFeatureFiles()) {
+                            if (files.add(file.getFile())) {
+                                bitSets.add(file.getFile(), occurrences.getScenarioTagsFor(file.getFile().getPath()));
+                            }
+                        }
+                    }
+                }
+            }
+            tagScenarioBitSets = bitSets;
+        }
+        return bitSets;
+    }
+
+    /**
+     * Updates the scenarios of only the argument file in the scenario bit sets, if they have been created.
+     * Files without tags are not part of the bit sets, same as when the bit sets are created.
+     */
+    private void updateScenarioBitSets(VirtualFile file, boolean hasTags) {
+        var bitSets = tagScenarioBitSets;
+        if (bitSets != null) {
+            if (hasTags) {
+                bitSets.add(file, TagOccurrencesRegistry.getInstance(project).getScenarioTagsFor(file.getPath()));
+            } else {
+                bitSets.remove(file);
+            }
+        }
+    }
+
+    //Co-occurrences
+
+    /**
+     * Returns the tags used in the same files as the argument tag, the most often used ones first, along with their
+     * Jaccard similarities to the argument tag.
+     *
+     * @param tagName the tag name
+     * @param limit   the maximum number of tags to return
+     * @since 1.13.0
+     */
+    public List<TagCoOccurrences.RelatedTag> relatedTagsOf(String tagName, int limit) {
+        return data != null ? getTagCoOccurrences().relatedTagsOf(tagName, limit) : List.of();
+    }
+
+    /**
+     * Returns the project-wide co-occurrence counts of each pair of the argument tags.
+     *
+     * @since 1.13.0
+     */
+    public TagCoOccurrences.CoOccurrenceMatrix coOccurrencesOf(List<String> tagNames) {
+        return data != null ? getTagCoOccurrences().matrixOf(tagNames) : new TagCoOccurrences().matrixOf(tagNames);
+    }
+
+    private TagCoOccurrences getTagCoOccurrences() {
+        var coOccurrences = tagCoOccurrences;
+        if (coOccurrences == null) {
+            coOccurrences = new TagCoOccurrences();
+            for (var holder : getCategoriesHolders()) {
+                for (var category : holder.getCategories()) {
+                    for (var tag : category.getTags()) {
+                        for (var file : tag.getFeatureFiles()) {
+                            coOccurrences.add(tag.getDisplayName(), file.getFile());
+                        }
+                    }
+                }
+            }
+            tagCoOccurrences = coOccurrences;
+        }
+        return coOccurrences;
+    }
+
+    /**
+     * Drops the name indexes, the tag scenario bit sets and the co-occurrence counts after the model has been (re)built,
+     * so that they are built again from the new model data when needed.
+     */
+    private void invalidateIndexes() {
+        filterIndexes = null;
+        dataModificationCount++;
+        tagScenarioBitSets = null;
+        tagCoOccurrences = null;
+        filteredChildren = null;
+        shownFileCounts.clear();
+        fileIndexes.clear();
+        moreFilesNodes.clear();
+    }
 
     @Override
     public void valueForPathChanged(TreePath path, Object newValue) {
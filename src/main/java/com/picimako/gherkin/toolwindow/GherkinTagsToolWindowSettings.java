@@ -36,6 +36,13 @@ public final class GherkinTagsToolWindowSettings implements PersistentStateCompo
      */
     public LayoutType layout = LayoutType.NO_GROUPING;
 
+    /**
+     * When to build the model of the tool window.
+     *
+     * @since 1.13.0
+     */
+    public ModelBuildPolicy modelBuildPolicy = ModelBuildPolicy.BUILD_ON_FIRST_SHOW;
+
     public static GherkinTagsToolWindowSettings getInstance(@NotNull Project project) {
         return project.getService(GherkinTagsToolWindowSettings.class);
     }
@@ -6,13 +6,13 @@ import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 
 import com.intellij.openapi.project.Project;
-import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Listens to keyboard key events, so that in case of the proper key hit, the Gherkin file selected in the tool window
- * would open.
+ * would open. When a tag occurrence is selected, the file is opened at the occurrence, and when a "show more files" node
+ * is selected, more files of the tag are shown.
  * <p>
  * Currently the open action is bound to the Enter key.
  */
@@ -26,8 +26,10 @@ final class KeyboardListeningGherkinFileOpener extends KeyAdapter {
 
     @Override
     public void keyReleased(KeyEvent e) {
-        if (e.getKeyCode() == KeyEvent.VK_ENTER && tree.getLastSelectedPathComponent() instanceof FeatureFile) {
-            FileOpener.openFile(((FeatureFile) tree.getLastSelectedPathComponent()).getFile(), project);
+        if (e.getKeyCode() == KeyEvent.VK_ENTER) {
+            if (!FileOpener.openNode(tree.getLastSelectedPathComponent(), project)) {
+                tree.showMoreFiles(tree.getSelectionPath());
+            }
         }
     }
 }
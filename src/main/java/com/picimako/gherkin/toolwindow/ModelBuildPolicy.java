@@ -0,0 +1,22 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+/**
+ * Determines when the model of the Gherkin Tags tool window is built.
+ */
+public enum ModelBuildPolicy {
+    /**
+     * The model is built in the background after the project is opened and indexing has finished.
+     */
+    WARM_UP_AFTER_INDEXING,
+    /**
+     * The model is built when the tool window is shown for the first time.
+     */
+    BUILD_ON_FIRST_SHOW,
+    /**
+     * The model is restored from the snapshot persisted in the previous session, and it is built from the project files
+     * only when it is refreshed explicitly, or when there is no snapshot available.
+     */
+    SNAPSHOT_ONLY
+}
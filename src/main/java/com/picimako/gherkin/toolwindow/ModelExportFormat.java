@@ -0,0 +1,328 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import com.google.gson.stream.JsonWriter;
+import com.intellij.openapi.util.text.StringUtil;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The formats the Gherkin Tags tool window's model can be exported in.
+ * <p>
+ * Each format provides a {@link ModelWriter} that writes the nodes to the output as they are visited by {@link ModelExporter},
+ * so no copy of the model is built in memory.
+ *
+ * @since 1.13.0
+ */
+@RequiredArgsConstructor
+public enum ModelExportFormat {
+    /**
+     * The nodes as nested JSON objects.
+     */
+    JSON("json") {
+        @Override
+        public ModelWriter createWriter(@NotNull Writer writer) {
+            return new JsonModelWriter(writer);
+        }
+    },
+    /**
+     * One row per file, with its content root (if any), category and tag, and a header row.
+     */
+    CSV("csv") {
+        @Override
+        public ModelWriter createWriter(@NotNull Writer writer) {
+            return new CsvModelWriter(writer);
+        }
+    },
+    /**
+     * Headings for content roots and categories, and nested lists for tags and files.
+     */
+    MARKDOWN("md") {
+        @Override
+        public ModelWriter createWriter(@NotNull Writer writer) {
+            return new MarkdownModelWriter(writer);
+        }
+    };
+
+    /**
+     * The extension of the files exported in this format.
+     */
+    @Getter
+    private final String extension;
+
+    /**
+     * Creates a writer for this format writing to the argument writer. The argument writer is not closed.
+     */
+    public abstract ModelWriter createWriter(@NotNull Writer writer);
+
+    /**
+     * Returns the format with the argument file extension.
+     *
+     * @return the format, or null if there is no format with that extension
+     */
+    @Nullable
+    public static ModelExportFormat fromExtension(@Nullable String extension) {
+        for (var format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Receives the nodes of the model in depth-first order.
+     */
+    public interface ModelWriter {
+        void startRoot(String name) throws IOException;
+
+        void startContentRoot(String name) throws IOException;
+
+        void endContentRoot() throws IOException;
+
+        void startCategory(String name) throws IOException;
+
+        void endCategory() throws IOException;
+
+        void startTag(String name, int occurrenceCount) throws IOException;
+
+        void endTag() throws IOException;
+
+        void file(String name, String path, int occurrenceCount) throws IOException;
+
+        /**
+         * Finishes the output, and flushes the underlying writer.
+         */
+        void endRoot() throws IOException;
+    }
+
+    private static final class JsonModelWriter implements ModelWriter {
+        private final JsonWriter json;
+        /**
+         * Whether the array of children has been started, for each open object.
+         */
+        private final Deque<Boolean> hasChildren = new ArrayDeque<>();
+
+        JsonModelWriter(Writer writer) {
+            json = new JsonWriter(writer);
+            json.setIndent("  ");
+        }
+
+        @Override
+        public void startRoot(String name) throws IOException {
+            startObject(null, name);
+        }
+
+        @Override
+        public void startContentRoot(String name) throws IOException {
+            startObject("contentRoots", name);
+        }
+
+        @Override
+        public void endContentRoot() throws IOException {
+            endObject();
+        }
+
+        @Override
+        public void startCategory(String name) throws IOException {
+            startObject("categories", name);
+        }
+
+        @Override
+        public void endCategory() throws IOException {
+            endObject();
+        }
+
+        @Override
+        public void startTag(String name, int occurrenceCount) throws IOException {
+            startObject("tags", name);
+            json.name("occurrences").value(occurrenceCount);
+        }
+
+        @Override
+        public void endTag() throws IOException {
+            endObject();
+        }
+
+        @Override
+        public void file(String name, String path, int occurrenceCount) throws IOException {
+            startChildren("files");
+            json.beginObject();
+            json.name("name").value(name);
+            json.name("path").value(path);
+            json.name("occurrences").value(occurrenceCount);
+            json.endObject();
+        }
+
+        @Override
+        public void endRoot() throws IOException {
+            endObject();
+            json.flush();
+        }
+
+        private void startObject(@Nullable String arrayName, String name) throws IOException {
+            if (arrayName != null) {
+                startChildren(arrayName);
+            }
+            json.beginObject();
+            json.name("name").value(name);
+            hasChildren.push(false);
+        }
+
+        /**
+         * Starts the array of children in the current object, if not yet started.
+         */
+        private void startChildren(String arrayName) throws IOException {
+            if (!hasChildren.peek()) {
+                json.name(arrayName).beginArray();
+                hasChildren.pop();
+                hasChildren.push(true);
+            }
+        }
+
+        private void endObject() throws IOException {
+            if (hasChildren.pop()) {
+                json.endArray();
+            }
+            json.endObject();
+        }
+    }
+
+    private static final class CsvModelWriter implements ModelWriter {
+        private final Writer writer;
+        private String contentRoot = "";
+        private String category;
+        private String tag;
+
+        CsvModelWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void startRoot(String name) throws IOException {
+            writer.write("content root,category,tag,file,path,occurrences\n");
+        }
+
+        @Override
+        public void startContentRoot(String name) {
+            contentRoot = name;
+        }
+
+        @Override
+        public void endContentRoot() {
+            contentRoot = "";
+        }
+
+        @Override
+        public void startCategory(String name) {
+            category = name;
+        }
+
+        @Override
+        public void endCategory() {
+        }
+
+        @Override
+        public void startTag(String name, int occurrenceCount) {
+            tag = name;
+        }
+
+        @Override
+        public void endTag() {
+        }
+
+        @Override
+        public void file(String name, String path, int occurrenceCount) throws IOException {
+            writer.write(csvValue(contentRoot) + "," + csvValue(category) + "," + csvValue(tag) + ","
+                + csvValue(name) + "," + csvValue(path) + "," + occurrenceCount + "\n");
+        }
+
+        @Override
+        public void endRoot() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Quotes the argument value if it contains a separator, quote or line break, as per RFC 4180.
+         */
+        private static String csvValue(String value) {
+            return StringUtil.containsAnyChar(value, ",\"\r\n") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+        }
+    }
+
+    private static final class MarkdownModelWriter implements ModelWriter {
+        private final Writer writer;
+        private boolean isInContentRoot;
+
+        MarkdownModelWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void startRoot(String name) throws IOException {
+            writer.write("# " + markdownText(name) + "\n");
+        }
+
+        @Override
+        public void startContentRoot(String name) throws IOException {
+            writer.write("\n## " + markdownText(name) + "\n");
+            isInContentRoot = true;
+        }
+
+        @Override
+        public void endContentRoot() {
+            isInContentRoot = false;
+        }
+
+        @Override
+        public void startCategory(String name) throws IOException {
+            writer.write((isInContentRoot ? "\n### " : "\n## ") + markdownText(name) + "\n\n");
+        }
+
+        @Override
+        public void endCategory() {
+        }
+
+        @Override
+        public void startTag(String name, int occurrenceCount) throws IOException {
+            writer.write("- " + markdownText(name) + " (" + occurrenceCount + ")\n");
+        }
+
+        @Override
+        public void endTag() {
+        }
+
+        @Override
+        public void file(String name, String path, int occurrenceCount) throws IOException {
+            writer.write("  - " + markdownText(name) + " (" + occurrenceCount + ") `" + path + "`\n");
+        }
+
+        @Override
+        public void endRoot() throws IOException {
+            writer.flush();
+        }
+
+        /**
+         * Escapes the characters that would otherwise be interpreted as Markdown formatting.
+         */
+        private static String markdownText(String text) {
+            var escaped = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if ("\\`*_[]<>#|".indexOf(c) >= 0) {
+                    escaped.append('\\');
+                }
+                escaped.append(c);
+            }
+            return escaped.toString();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import com.picimako.gherkin.toolwindow.nodetype.Category;
+import com.picimako.gherkin.toolwindow.nodetype.ContentRoot;
+import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
+import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.Tag;
+
+/**
+ * Exports the Gherkin Tags tool window's model in the current layout: content roots (in case of a grouped layout),
+ * categories, tags and files, with the occurrence counts of tags.
+ * <p>
+ * The nodes are traversed through the tree model, thus the export reflects the current filters as well, and each node
+ * is passed to the format's writer as it is visited, without building an intermediate copy of the model.
+ * All files of tags are exported, not only the pages shown in the tool window.
+ * <p>
+ * Since the model is modified on the EDT, large models are exported in steps on the EDT (see {@link Traversal}),
+ * each of them visiting a limited number of nodes, and the export is aborted if the model changes between two steps.
+ *
+ * @since 1.13.0
+ */
+public final class ModelExporter {
+
+    /**
+     * Exports the argument model in a single step. Must be called on the EDT.
+     *
+     * @param model     the model to export
+     * @param format    the format to export in
+     * @param writer    the writer to write to, it is not closed
+     * @param indicator the progress indicator through which the export can be cancelled
+     */
+    public static void export(@NotNull GherkinTagTreeModel model, @NotNull ModelExportFormat format, @NotNull Writer writer,
+                              @NotNull ProgressIndicator indicator) throws IOException {
+        var traversal = new Traversal(model, format, writer);
+        while (traversal.exportNext(Integer.MAX_VALUE, indicator)) {
+            //Exported in a single step
+        }
+    }
+
+    /**
+     * Traverses a model in steps, keeping the path of the node it stopped at between the steps, so that the EDT is not
+     * blocked for the whole duration of exporting a large model.
+     * <p>
+     * Since the position of the traversal is kept as child indexes, {@link ModelChangedException} is thrown
+     * if the structure of the model changes between two steps.
+     */
+    public static final class Traversal {
+        private final GherkinTagTreeModel model;
+        private final ModelExportFormat.ModelWriter writer;
+        private final long modificationCount;
+        /**
+         * The nodes on the path to the next node to visit, the innermost one first.
+         */
+        private final Deque<Frame> path = new ArrayDeque<>();
+        private boolean isStarted;
+
+        /**
+         * @param model  the model to export
+         * @param format the format to export in
+         * @param writer the writer to write to, it is not closed
+         */
+        public Traversal(@NotNull GherkinTagTreeModel model, @NotNull ModelExportFormat format, @NotNull Writer writer) {
+            this.model = model;
+            this.writer = format.createWriter(writer);
+            this.modificationCount = model.getStructureModificationCount();
+        }
+
+        /**
+         * Exports the next nodes of the model. Must be called on the EDT.
+         *
+         * @param nodeCount the maximum number of nodes to export in this step
+         * @param indicator the progress indicator through which the export can be cancelled
+         * @return true if there are nodes left to export, false if the export is finished
+         * @throws ModelChangedException if the structure of the model has changed since the traversal has started
+         */
+        public boolean exportNext(int nodeCount, @NotNull ProgressIndicator indicator) throws IOException {
+            if (model.getStructureModificationCount() != modificationCount) {
+                throw new ModelChangedException();
+            }
+            if (!isStarted) {
+                isStarted = true;
+                if (!(model.getRoot() instanceof ModelDataRoot root)) return false;
+
+                writer.startRoot(root.getDisplayName());
+                path.push(new Frame(root, model.getChildCount(root), null));
+            }
+            for (int i = 0; i < nodeCount && !path.isEmpty(); i++) {
+                indicator.checkCanceled();
+                exportNextNode(path.peek());
+            }
+            return !path.isEmpty();
+        }
+
+        private void exportNextNode(Frame frame) throws IOException {
+            if (frame.index == frame.childCount) {
+                path.pop();
+                switch (frame.node) {
+                    case ContentRoot __ -> writer.endContentRoot();
+                    case Category __ -> writer.endCategory();
+                    case Tag __ -> writer.endTag();
+                    default -> writer.endRoot();
+                }
+            } else if (frame.files != null) {
+                //Occurrences under files are not exported
+                var file = frame.files.get(frame.index++);
+                writer.file(file.getName(), file.getPath(), file.occurrenceCount());
+            } else {
+                switch (model.getChild(frame.node, frame.index++)) {
+                    case ContentRoot contentRoot -> {
+                        writer.startContentRoot(contentRoot.getDisplayName());
+                        path.push(new Frame(contentRoot, model.getChildCount(contentRoot), null));
+                    }
+                    case Category category -> {
+                        writer.startCategory(category.getDisplayName());
+                        path.push(new Frame(category, model.getChildCount(category), null));
+                    }
+                    case Tag tag -> {
+                        writer.startTag(tag.getDisplayName(), tag.occurrenceCount());
+                        //All visible files of the tag, regardless of how many of them are shown in the tool window
+                        var files = model.visibleFilesOf(tag);
+                        path.push(new Frame(tag, files.size(), files));
+                    }
+                    case null, default -> {
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * A node on the path of a {@link Traversal}.
+     */
+    private static final class Frame {
+        private final Object node;
+        private final int childCount;
+        /**
+         * The visible files of the node, if it is a tag, since files are not queried from the model one by one.
+         */
+        @Nullable
+        private final List<FeatureFile> files;
+        /**
+         * The index of the next child to visit.
+         */
+        private int index;
+
+        Frame(Object node, int childCount, @Nullable List<FeatureFile> files) {
+            this.node = node;
+            this.childCount = childCount;
+            this.files = files;
+        }
+    }
+
+    /**
+     * Thrown when the structure of the model changes while it is exported in steps.
+     */
+    public static final class ModelChangedException extends RuntimeException {
+        @Serial
+        private static final long serialVersionUID = 1L;
+    }
+
+    private ModelExporter() {
+        //Utility class
+    }
+}
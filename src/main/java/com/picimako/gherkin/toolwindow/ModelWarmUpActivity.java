@@ -0,0 +1,29 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import com.intellij.openapi.project.DumbService;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.startup.ProjectActivity;
+import kotlin.Unit;
+import kotlin.coroutines.Continuation;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Builds the Gherkin Tags tool window model in the background after the project is opened and indexing has finished,
+ * if the model build policy is set to {@link ModelBuildPolicy#WARM_UP_AFTER_INDEXING}.
+ *
+ * @see GherkinTagModelProvider
+ * @since 1.13.0
+ */
+final class ModelWarmUpActivity implements ProjectActivity {
+
+    @Override
+    public @Nullable Object execute(@NotNull Project project, @NotNull Continuation<? super Unit> continuation) {
+        if (GherkinTagsToolWindowSettings.getInstance(project).modelBuildPolicy == ModelBuildPolicy.WARM_UP_AFTER_INDEXING) {
+            DumbService.getInstance(project).runWhenSmart(() -> GherkinTagModelProvider.getInstance(project).warmUp());
+        }
+        return Unit.INSTANCE;
+    }
+}
@@ -8,12 +8,15 @@ import javax.swing.tree.TreePath;
 import com.intellij.openapi.project.Project;
 import com.intellij.ui.DoubleClickListener;
 import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
+import com.picimako.gherkin.toolwindow.nodetype.TagOccurrence;
 import lombok.RequiredArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 
 /**
  * Listens to mouse events, so that in case of the proper button combinations, the Gherkin file selected in the tool
- * window would open.
+ * window would open. When a tag occurrence is selected, the file is opened at the occurrence, and when a "show more files"
+ * node is selected, more files of the tag are shown.
  * <p>
  * Currently, the open action is bound to the double-click event.
  */
@@ -25,19 +28,17 @@ final class MouseListeningGherkinFileOpener extends DoubleClickListener {
 
     @Override
     protected boolean onDoubleClick(@NotNull MouseEvent event) {
-        if (isGherkinFileAtClickLocation(event.getX(), event.getY())) {
-            FileOpener.openFile(((FeatureFile) tree.getLastSelectedPathComponent()).getFile(), project);
-            return true;
-        }
-        return false;
+        return isGherkinFileAtClickLocation(event.getX(), event.getY())
+            && (FileOpener.openNode(tree.getLastSelectedPathComponent(), project) || tree.showMoreFiles(tree.getSelectionPath()));
     }
 
     /**
-     * Gets whether the currently selected node (after selecting the node) in the tool window is a FeatureFile.
+     * Gets whether the currently selected node (after selecting the node) in the tool window is a FeatureFile, a TagOccurrence
+     * or a MoreFiles node.
      *
      * @param x    the x coordinate where the click happened in the tree
      * @param y    the y coordinate where the click happened in the tree
-     * @return true if the selected item is a FeatureFile, false otherwise
+     * @return true if the selected item is a FeatureFile, a TagOccurrence or a MoreFiles node, false otherwise
      */
     private boolean isGherkinFileAtClickLocation(int x, int y) {
         TreePath path = tree.getPathForLocation(x, y);
@@ -47,7 +48,8 @@ final class MouseListeningGherkinFileOpener extends DoubleClickListener {
             if (selectionRow > -1) {
                 tree.setSelectionRow(selectionRow);
             }
-            return path.getLastPathComponent() instanceof FeatureFile;
+            var node = path.getLastPathComponent();
+            return node instanceof FeatureFile || node instanceof TagOccurrence || node instanceof MoreFiles;
         }
         return false;
     }
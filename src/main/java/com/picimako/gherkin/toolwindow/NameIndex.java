@@ -0,0 +1,119 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A trigram index of names (e.g. tag names or file names) for finding the names that contain a given text case-insensitively,
+ * without checking each name.
+ * <p>
+ * Each name is added as many times as it is used in the model (e.g. once for each file a tag is in), and it is kept in
+ * the index until all its usages are removed, so that the index can be maintained incrementally as the model changes.
+ * <p>
+ * Queries shorter than a trigram are answered by checking the names one by one.
+ * <p>
+ * The index may be updated in background threads while the tool window queries it on the EDT, so access to it is synchronized.
+ *
+ * @since 1.13.0
+ */
+final class NameIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    /**
+     * Name -> the number of times it is added.
+     */
+    private final Object2IntOpenHashMap<String> names = new Object2IntOpenHashMap<>();
+    /**
+     * Lower-cased trigram -> the names containing it.
+     */
+    private final Map<String, Set<String>> namesByTrigram = new HashMap<>();
+
+    /**
+     * Adds a usage of the argument name.
+     */
+    synchronized void add(@NotNull String name) {
+        if (names.addTo(name, 1) == 0) {
+            for (String trigram : trigramsOf(name)) {
+                namesByTrigram.computeIfAbsent(trigram, __ -> new HashSet<>()).add(name);
+            }
+        }
+    }
+
+    /**
+     * Removes a usage of the argument name. The name is removed from the index when it has no usage left.
+     */
+    synchronized void remove(@NotNull String name) {
+        int count = names.getInt(name);
+        if (count > 1) {
+            names.put(name, count - 1);
+        } else if (count == 1) {
+            names.removeInt(name);
+            for (String trigram : trigramsOf(name)) {
+                var namesWithTrigram = namesByTrigram.get(trigram);
+                if (namesWithTrigram != null && namesWithTrigram.remove(name) && namesWithTrigram.isEmpty()) {
+                    namesByTrigram.remove(trigram);
+                }
+            }
+        }
+    }
+
+    synchronized boolean contains(@NotNull String name) {
+        return names.containsKey(name);
+    }
+
+    /**
+     * Returns the names that contain the argument text, ignoring case. Since prefixes are contained as well,
+     * this also finds the names starting with the text.
+     */
+    @NotNull
+    synchronized Set<String> findContaining(@NotNull String text) {
+        String lowerCaseText = text.toLowerCase(Locale.ROOT);
+        if (lowerCaseText.length() < GRAM_LENGTH) {
+            var matchingNames = new HashSet<String>();
+            for (String name : names.keySet()) {
+                if (name.toLowerCase(Locale.ROOT).contains(lowerCaseText)) {
+                    matchingNames.add(name);
+                }
+            }
+            return matchingNames;
+        }
+
+        //Starting from the trigram with the fewest names, so that the least number of candidates have to be checked
+        Set<String> candidates = null;
+        for (String trigram : trigramsOf(lowerCaseText)) {
+            var namesWithTrigram = namesByTrigram.get(trigram);
+            if (namesWithTrigram == null) {
+                return Set.of();
+            }
+            if (candidates == null || namesWithTrigram.size() < candidates.size()) {
+                candidates = namesWithTrigram;
+            }
+        }
+
+        var matchingNames = new HashSet<String>();
+        for (String candidate : candidates) {
+            if (candidate.toLowerCase(Locale.ROOT).contains(lowerCaseText)) {
+                matchingNames.add(candidate);
+            }
+        }
+        return matchingNames;
+    }
+
+    private static Set<String> trigramsOf(String name) {
+        String lowerCaseName = name.toLowerCase(Locale.ROOT);
+        var trigrams = new HashSet<String>();
+        for (int i = 0; i + GRAM_LENGTH <= lowerCaseName.length(); i++) {
+            trigrams.add(lowerCaseName.substring(i, i + GRAM_LENGTH));
+        }
+        return trigrams;
+    }
+}
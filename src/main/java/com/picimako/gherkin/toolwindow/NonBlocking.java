@@ -2,12 +2,14 @@
 
 package com.picimako.gherkin.toolwindow;
 
+import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ModalityState;
 import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.project.Project;
 import com.intellij.util.Consumer;
 import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.concurrency.CancellablePromise;
 
 import java.util.concurrent.Callable;
 
@@ -31,6 +33,69 @@ public final class NonBlocking {
             .submit(AppExecutorUtil.getAppExecutorService());
     }
 
+    /**
+     * Performs a non-block read action without waiting for smart mode, thus {@code backgroundTask} must be able to handle dumb mode.
+     * The task is cancelled when the project is disposed.
+     *
+     * @param project            the project with which the task expires
+     * @param backgroundTask     the task to execute in the background
+     * @param consumerOnUiThread the consumer to run on the result of {@code backgroundTask} on the UI thread
+     * @param <T>                the type of the result object {@code backgroundTask} returns
+     */
+    public static <T> void readInAnyMode(Project project, @NotNull Callable<? extends T> backgroundTask, Consumer<? super T> consumerOnUiThread) {
+        ReadAction.nonBlocking(backgroundTask)
+            .expireWith(project)
+            .finishOnUiThread(ModalityState.nonModal(), consumerOnUiThread)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Performs a non-block read action in smart mode, with cancel-and-restart semantics.
+     * <p>
+     * Submitting a task with the same {@code coalesceKey} (in the same project) while a previous one is still running
+     * cancels the previous one, so its result is never passed to {@code consumerOnUiThread}, thus at most one such task
+     * runs at a time. The task is also cancelled when {@code parentDisposable} is disposed.
+     *
+     * @param project            the project to pass in for smart mode
+     * @param coalesceKey        the key based on which tasks are coalesced
+     * @param parentDisposable   the disposable with which the task expires
+     * @param backgroundTask     the task to execute in the background
+     * @param consumerOnUiThread the consumer to run on the result of {@code backgroundTask} on the UI thread
+     * @param <T>                the type of the result object {@code backgroundTask} returns
+     * @return the promise through which the task can be cancelled
+     */
+    public static <T> CancellablePromise<T> readCoalesced(Project project, @NotNull Object coalesceKey, @NotNull Disposable parentDisposable,
+                                                          @NotNull Callable<? extends T> backgroundTask, Consumer<? super T> consumerOnUiThread) {
+        return ReadAction.<T>nonBlocking(backgroundTask)
+            .inSmartMode(project)
+            .coalesceBy(project, coalesceKey)
+            .expireWith(parentDisposable)
+            .finishOnUiThread(ModalityState.nonModal(), consumerOnUiThread)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
+    /**
+     * Performs a non-block read action without waiting for smart mode, with the same cancel-and-restart semantics as
+     * {@link #readCoalesced(Project, Object, Disposable, Callable, Consumer)}, thus {@code backgroundTask} must be able to handle dumb mode.
+     *
+     * @param project            the project in which tasks are coalesced
+     * @param coalesceKey        the key based on which tasks are coalesced
+     * @param parentDisposable   the disposable with which the task expires
+     * @param backgroundTask     the task to execute in the background
+     * @param consumerOnUiThread the consumer to run on the result of {@code backgroundTask} on the UI thread
+     * @param <T>                the type of the result object {@code backgroundTask} returns
+     * @return the promise through which the task can be cancelled
+     * @since 1.13.0
+     */
+    public static <T> CancellablePromise<T> readCoalescedInAnyMode(Project project, @NotNull Object coalesceKey, @NotNull Disposable parentDisposable,
+                                                                   @NotNull Callable<? extends T> backgroundTask, Consumer<? super T> consumerOnUiThread) {
+        return ReadAction.<T>nonBlocking(backgroundTask)
+            .coalesceBy(project, coalesceKey)
+            .expireWith(parentDisposable)
+            .finishOnUiThread(ModalityState.nonModal(), consumerOnUiThread)
+            .submit(AppExecutorUtil.getAppExecutorService());
+    }
+
     /**
      * Performs a non-block read action in smart mode, and ignoring the computation result (by returning null).
      *
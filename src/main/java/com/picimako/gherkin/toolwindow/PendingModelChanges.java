@@ -0,0 +1,98 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Project service to record the changes that affect the Gherkin Tags tool window's model while the tool window is hidden.
+ * <p>
+ * Instead of updating, re-sorting and repainting the model on each PSI and VFS change, only the changed files
+ * (or the need for a full rebuild) are recorded here, and the model is reconciled once the tool window is shown again.
+ * <p>
+ * The same is applied during bulk changes (e.g. Git checkout, rollback, or deleting all occurrences of a tag), when the PSI-driven per-file updates
+ * are suspended until the whole batch has been processed, and the model is reconciled in one go afterwards.
+ *
+ * @see FileAndFolderChangeListener
+ * @see GherkinPsiChangeListener
+ * @see GherkinTagOverviewPanel
+ */
+@Service(Service.Level.PROJECT)
+final class PendingModelChanges {
+
+    private final Set<VirtualFile> dirtyFiles = new LinkedHashSet<>();
+    private boolean isRebuildPending;
+    /**
+     * The number of bulk updates in progress, since e.g. a file system batch may arrive during a bulk tag deletion.
+     */
+    private int bulkUpdateCount;
+
+    @SuppressWarnings("unused")
+    PendingModelChanges(Project project) {
+    }
+
+    /**
+     * Records that the argument Gherkin or Story file has changed, or has been deleted.
+     */
+    synchronized void markDirty(@NotNull VirtualFile file) {
+        if (!isRebuildPending) {
+            dirtyFiles.add(file);
+        }
+    }
+
+    /**
+     * Records that the whole model has to be rebuilt. Since a rebuild processes all files, individual dirty files are dropped.
+     */
+    synchronized void requestRebuild() {
+        isRebuildPending = true;
+        dirtyFiles.clear();
+    }
+
+    /**
+     * Marks the start of a bulk change, during which changed files are only recorded as dirty.
+     * Each call must be paired with a call to {@link #finishBulkUpdate()}.
+     */
+    synchronized void startBulkUpdate() {
+        bulkUpdateCount++;
+    }
+
+    synchronized void finishBulkUpdate() {
+        if (bulkUpdateCount > 0) {
+            bulkUpdateCount--;
+        }
+    }
+
+    synchronized boolean isBulkUpdateInProgress() {
+        return bulkUpdateCount > 0;
+    }
+
+    synchronized boolean isRebuildPending() {
+        return isRebuildPending;
+    }
+
+    synchronized boolean hasPendingChanges() {
+        return isRebuildPending || !dirtyFiles.isEmpty();
+    }
+
+    /**
+     * Returns the files recorded as dirty, in the order they were first recorded, and clears all pending changes.
+     */
+    synchronized List<VirtualFile> drain() {
+        var files = new ArrayList<>(dirtyFiles);
+        dirtyFiles.clear();
+        isRebuildPending = false;
+        return files;
+    }
+
+    public static PendingModelChanges getInstance(Project project) {
+        return project.getService(PendingModelChanges.class);
+    }
+}
@@ -3,26 +3,32 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asCategory;
+import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asFeatureFile;
 import static com.picimako.gherkin.toolwindow.nodetype.NodeType.asTag;
 
 import com.intellij.openapi.project.Project;
-import com.intellij.psi.PsiFile;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.picimako.gherkin.toolwindow.nodetype.CategoriesHolder;
 import com.picimako.gherkin.toolwindow.nodetype.Category;
 import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import com.picimako.gherkin.toolwindow.nodetype.TagOccurrence;
+
+import java.util.List;
 
 /**
  * Model object for displaying the structure of the underlying model data without grouping them by any type of
  * content root.
  * <p>
- * This is a four-level model consisting of the following levels:
+ * This is a five-level model consisting of the following levels:
  * <pre>{@code
  * - Gherkin Tags               <-- This is the root node. Permanent, can't be removed.
  *      - Category              <-- The category a Gherkin tag is associated to for grouping.
  *          - Tag               <-- The Gherkin tag.
- *              - Gherkin file  <-- One or more 'FeatureFile's.
+ *              - Gherkin file  <-- One or more 'FeatureFile's, shown page by page, followed by 'MoreFiles' nodes when not all of them are shown.
+ *                  - Occurrence  <-- One or more 'TagOccurrence's of the tag in the file, loaded when the file is expanded.
  * }</pre>
  */
 public final class ProjectSpecificGherkinTagTreeModel extends GherkinTagTreeModel {
@@ -36,19 +42,25 @@ public final class ProjectSpecificGherkinTagTreeModel extends GherkinTagTreeMode
     }
 
     @Override
-    protected CategoriesHolder getContentRoot(PsiFile file) {
+    protected CategoriesHolder getContentRoot(VirtualFile file) {
         return data;
     }
 
+    @Override
+    protected List<? extends CategoriesHolder> getCategoriesHolders() {
+        return List.of(data);
+    }
+
     // The methods below are responsible for building the actual tree model from the backing model data.
 
     @Override
     public Object getChild(Object parent, int index) {
         Object child = null;
         switch (parent) {
-            case ModelDataRoot __ -> child = data.getCategories().get(index);
-            case Category __ -> child = asCategory(parent).getTags().get(index);
-            case Tag __ -> child = asTag(parent).getFeatureFiles().get(index);
+            case ModelDataRoot __ -> child = visibleChildren(parent, data.getCategories()).get(index);
+            case Category __ -> child = visibleChildren(parent, asCategory(parent).getTags()).get(index);
+            case Tag __ -> child = getTagChild(asTag(parent), index);
+            case FeatureFile __ -> child = asFeatureFile(parent).getOccurrences().get(index);
             case null, default -> {
             }
         }
@@ -59,9 +71,10 @@ public final class ProjectSpecificGherkinTagTreeModel extends GherkinTagTreeMode
     public int getChildCount(Object parent) {
         int count = 0;
         switch (parent) {
-            case ModelDataRoot __ -> count = data.getCategories().size();
-            case Category __ -> count = asCategory(parent).getTags().size();
-            case Tag __ -> count = asTag(parent).getFeatureFiles().size();
+            case ModelDataRoot __ -> count = visibleChildren(parent, data.getCategories()).size();
+            case Category __ -> count = visibleChildren(parent, asCategory(parent).getTags()).size();
+            case Tag __ -> count = getTagChildCount(asTag(parent));
+            case FeatureFile __ -> count = asFeatureFile(parent).getOccurrences().size();
             case null, default -> {
             }
         }
@@ -74,7 +87,9 @@ public final class ProjectSpecificGherkinTagTreeModel extends GherkinTagTreeMode
         switch (node) {
             case Category __ -> isLeaf = !asCategory(node).hasTag();
             case Tag __ -> isLeaf = !asTag(node).hasFeatureFile();
-            case FeatureFile __ -> isLeaf = true;
+            case FeatureFile __ -> isLeaf = !asFeatureFile(node).hasOccurrences();
+            case TagOccurrence __ -> isLeaf = true;
+            case MoreFiles __ -> isLeaf = true;
             case null, default -> {
             }
         }
@@ -86,9 +101,10 @@ public final class ProjectSpecificGherkinTagTreeModel extends GherkinTagTreeMode
         int indexOfChild = 0;
         if (parent != null && child != null) {
             switch (parent) {
-                case ModelDataRoot __ -> indexOfChild = data.getCategories().indexOf(child);
-                case Category __ -> indexOfChild = asCategory(parent).getTags().indexOf(child);
-                case Tag __ -> indexOfChild = asTag(parent).getFeatureFiles().indexOf(child);
+                case ModelDataRoot __ -> indexOfChild = visibleChildren(parent, data.getCategories()).indexOf(child);
+                case Category __ -> indexOfChild = visibleChildren(parent, asCategory(parent).getTags()).indexOf(child);
+                case Tag __ -> indexOfChild = getIndexOfTagChild(asTag(parent), child);
+                case FeatureFile __ -> indexOfChild = asFeatureFile(parent).getOccurrences().indexOf(child);
                 default -> {
                 }
             }
@@ -7,5 +7,12 @@ package com.picimako.gherkin.toolwindow;
  * tool window.
  */
 public enum StatisticsType {
-    DISABLED, SIMPLIFIED, DETAILED
+    DISABLED, SIMPLIFIED, DETAILED,
+    /**
+     * Displays the number of scenarios and examples rows tags effectively apply to, including the tags inherited from
+     * Features and Rules, instead of the number of their occurrences.
+     *
+     * @since 1.13.0
+     */
+    SCENARIOS
 }
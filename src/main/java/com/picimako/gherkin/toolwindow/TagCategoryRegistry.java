@@ -2,10 +2,11 @@
 
 package com.picimako.gherkin.toolwindow;
 
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
 
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.Service;
@@ -13,6 +14,7 @@ import com.intellij.openapi.project.Project;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import com.picimako.gherkin.core.CategoryMappings;
 import com.picimako.gherkin.settings.CategoryAndTags;
 import com.picimako.gherkin.settings.GherkinOverviewApplicationState;
 import com.picimako.gherkin.settings.GherkinOverviewProjectState;
@@ -39,7 +41,8 @@ import com.picimako.gherkin.settings.GherkinOverviewProjectState;
  * During initialization, tag names are trimmed to allow storing them in the app and project level
  * settings, with a leading whitespace, e.g. {@code smoke, regression, e2e} instead of {@code smoke,regression,e2e}.
  * <p>
- * Tag names are stored in a case-sensitive way (may change in the future) and without the leading @ character.
+ * Tag names are stored without the leading @ character, and in a case-sensitive way, unless the mapping is marked
+ * to ignore case, in which case they are stored lower-cased, and regex patterns are matched case-insensitively.
  *
  * <h2>Regex based tags</h2>
  * It is not just exact tag names that can be assigned to categories but regex patterns as well. They must be defined
@@ -53,21 +56,23 @@ import com.picimako.gherkin.settings.GherkinOverviewProjectState;
  * So, any tag name that matches this pattern will be added to the Jira category. If there is more than one category
  * this same pattern, or one yielding the same matches is added to the registry, upon querying the one added earliest
  * is returned and used as the tag's category.
+ * <p>
+ * The patterns are compiled only once, when the mappings are loaded, see {@link CategoryAndTags#getParsedTags()}.
+ * The resolution itself is done by the IDE independent {@link CategoryMappings}.
+ *
+ * <h2>Thread-safety</h2>
+ * The mappings are never modified in place, but they are replaced as a whole, so that model builds running in the background
+ * always see either the old or the new mappings, and never a partially updated state.
+ * <p>
+ * Each snapshot of the mappings records the content hash of the settings it was built from, so reloading the same
+ * settings again is a no-op.
  *
  * @since 0.1.0
  */
 @Service(Service.Level.PROJECT)
 public final class TagCategoryRegistry implements Disposable {
 
-    private static final String TAG_DELIMITER = ",";
-    private static final String REGEX_PREFIX = "#";
-    /**
-     * Tag name -> category name.
-     * <p>
-     * Initial capacity is adjusted slightly above the default mapping count coming from the {@code default_app_level_mappings.properties}
-     * default mappings.
-     */
-    private final Map<String, String> tagToCategory = new HashMap<>(64);
+    private volatile Mappings mappings = Mappings.EMPTY;
 
     /**
      * Here the registry gets initialized with the values from the application and project level mappings. By doing this
@@ -78,11 +83,10 @@ public final class TagCategoryRegistry implements Disposable {
      * it can be done properly.
      */
     public TagCategoryRegistry(Project project) {
-        putMappingsFrom(GherkinOverviewApplicationState.getInstance().mappings);
         var projectSettings = GherkinOverviewProjectState.getInstance(project);
-        if (projectSettings.useProjectLevelMappings) {
-            putMappingsFrom(projectSettings.mappings);
-        }
+        replaceMappings(GherkinOverviewApplicationState.getInstance().mappings,
+            projectSettings.useProjectLevelMappings ? projectSettings.mappings : List.of(),
+            List.of());
     }
 
     /**
@@ -91,11 +95,45 @@ public final class TagCategoryRegistry implements Disposable {
      * @param categoryAndTags the mappings to store
      */
     public void putMappingsFrom(@NotNull List<CategoryAndTags> categoryAndTags) {
-        for (var cat : categoryAndTags) {
-            for (String tag : cat.getTags().split(TAG_DELIMITER)) {
-                tagToCategory.put(tag.trim(), cat.getCategory());
+        var current = mappings;
+        var categories = putAll(current.categories().toBuilder(), categoryAndTags).build();
+        mappings = new Mappings(categories, 31 * current.contentHash() + CategoryAndTags.contentHashOf(categoryAndTags));
+    }
+
+    /**
+     * Replaces all mappings in this registry with the argument ones in a single step.
+     * <p>
+     * Application-level mappings are added first, so that project-level ones can override them.
+     * <p>
+     * If the content hash of the argument mappings is the same as of the current ones, nothing is replaced.
+     *
+     * @param appLevelMappings     the application-level mappings
+     * @param projectLevelMappings the project-level mappings, or an empty list if they are not used
+     * @param tagNames             the tag names to check whether their categories are changed by the new mappings
+     * @return the subset of {@code tagNames} whose categories are different with the new mappings
+     * @since 1.13.0
+     */
+    public Set<String> replaceMappings(@NotNull List<CategoryAndTags> appLevelMappings, @NotNull List<CategoryAndTags> projectLevelMappings,
+                                       @NotNull Collection<String> tagNames) {
+        long contentHash = 31 * CategoryAndTags.contentHashOf(appLevelMappings) + CategoryAndTags.contentHashOf(projectLevelMappings);
+        var oldMappings = mappings;
+        if (oldMappings != Mappings.EMPTY && oldMappings.contentHash() == contentHash) {
+            return Set.of();
+        }
+
+        var builder = CategoryMappings.builder();
+        putAll(builder, appLevelMappings);
+        putAll(builder, projectLevelMappings);
+        var newMappings = new Mappings(builder.build(), contentHash);
+        mappings = newMappings;
+
+        var recategorizedTagNames = new HashSet<String>();
+        for (String tagName : tagNames) {
+            if (!Objects.equals(oldMappings.categoryOf(tagName), newMappings.categoryOf(tagName))) {
+                recategorizedTagNames.add(tagName);
             }
         }
+        return recategorizedTagNames;
     }
 
     /**
@@ -108,16 +146,7 @@ public final class TagCategoryRegistry implements Disposable {
      */
     @Nullable
     public String categoryOf(String tagName) {
-        return Optional.ofNullable(tagToCategory.get(tagName)).orElseGet(() -> regexBasedCategoryOf(tagName));
-    }
-
-    @Nullable
-    private String regexBasedCategoryOf(String tagName) {
-        return tagToCategory.keySet().stream()
-            .filter(key -> key.startsWith(REGEX_PREFIX) && tagName.matches(key.substring(1)))
-            .map(tagToCategory::get)
-            .findFirst()
-            .orElse(null);
+        return mappings.categoryOf(tagName);
     }
 
     public static TagCategoryRegistry getInstance(Project project) {
@@ -129,6 +158,28 @@ public final class TagCategoryRegistry implements Disposable {
      */
     @Override
     public void dispose() {
-        tagToCategory.clear();
+        mappings = Mappings.EMPTY;
+    }
+
+    /**
+     * An immutable snapshot of the mappings.
+     *
+     * @param categories  the tag name to category name mappings
+     * @param contentHash the content hash of the settings the snapshot was built from
+     */
+    private record Mappings(CategoryMappings categories, long contentHash) {
+        static final Mappings EMPTY = new Mappings(CategoryMappings.EMPTY, 0L);
+
+        @Nullable
+        String categoryOf(String tagName) {
+            return categories.categoryOf(tagName);
+        }
+    }
+
+    private static CategoryMappings.Builder putAll(CategoryMappings.Builder builder, List<CategoryAndTags> categoryAndTags) {
+        for (var cat : categoryAndTags) {
+            builder.put(cat.getCategory(), cat.getParsedTags());
+        }
+        return builder;
     }
 }
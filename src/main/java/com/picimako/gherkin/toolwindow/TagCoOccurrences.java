@@ -0,0 +1,169 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Counts for each pair of tags the number of files both tags are used in, so that tags often used together can be found.
+ * <p>
+ * The counts are maintained incrementally from the tag sets of files: when a tag is added to a file, the counts of its pairs
+ * with the other tags of that file are incremented, and when it is removed, they are decremented. Thus, they are kept
+ * up-to-date while files are edited, without recounting them for the whole project.
+ * <p>
+ * The counts may be updated in background threads while the tool window queries them on the EDT, so access to them is synchronized.
+ *
+ * @since 1.13.0
+ */
+public final class TagCoOccurrences {
+
+    private final Map<VirtualFile, Set<String>> tagsByFile = new HashMap<>();
+    /**
+     * Tag name -> the number of files it is used in.
+     */
+    private final Object2IntOpenHashMap<String> fileCounts = new Object2IntOpenHashMap<>();
+    /**
+     * Tag name -> other tag name -> the number of files both are used in. The counts are stored for both tags of a pair.
+     */
+    private final Map<String, Object2IntOpenHashMap<String>> sharedFileCounts = new HashMap<>();
+
+    /**
+     * Records that the argument tag is used in the argument file.
+     */
+    synchronized void add(@NotNull String tagName, @NotNull VirtualFile file) {
+        var tagsOfFile = tagsByFile.computeIfAbsent(file, __ -> new HashSet<>());
+        if (!tagsOfFile.add(tagName)) {
+            return;
+        }
+        fileCounts.addTo(tagName, 1);
+        for (String otherTagName : tagsOfFile) {
+            if (!otherTagName.equals(tagName)) {
+                addToSharedFileCount(tagName, otherTagName, 1);
+                addToSharedFileCount(otherTagName, tagName, 1);
+            }
+        }
+    }
+
+    /**
+     * Records that the argument tag is no longer used in the argument file.
+     */
+    synchronized void remove(@NotNull String tagName, @NotNull VirtualFile file) {
+        var tagsOfFile = tagsByFile.get(file);
+        if (tagsOfFile == null || !tagsOfFile.remove(tagName)) {
+            return;
+        }
+        if (tagsOfFile.isEmpty()) {
+            tagsByFile.remove(file);
+        }
+        if (fileCounts.addTo(tagName, -1) == 1) {
+            fileCounts.removeInt(tagName);
+        }
+        for (String otherTagName : tagsOfFile) {
+            addToSharedFileCount(tagName, otherTagName, -1);
+            addToSharedFileCount(otherTagName, tagName, -1);
+        }
+    }
+
+    private void addToSharedFileCount(String tagName, String otherTagName, int delta) {
+        var counts = sharedFileCounts.computeIfAbsent(tagName, __ -> new Object2IntOpenHashMap<>());
+        if (counts.addTo(otherTagName, delta) + delta == 0) {
+            counts.removeInt(otherTagName);
+            if (counts.isEmpty()) {
+                sharedFileCounts.remove(tagName);
+            }
+        }
+    }
+
+    /**
+     * Returns the tags used together with the argument tag in at least one file, the most often used ones first.
+     *
+     * @param tagName the tag name
+     * @param limit   the maximum number of tags to return
+     */
+    @NotNull
+    synchronized List<RelatedTag> relatedTagsOf(@NotNull String tagName, int limit) {
+        var counts = sharedFileCounts.get(tagName);
+        if (counts == null) {
+            return List.of();
+        }
+        int fileCount = fileCounts.getInt(tagName);
+        var relatedTags = new ArrayList<RelatedTag>(counts.size());
+        for (var entry : counts.object2IntEntrySet()) {
+            int sharedFileCount = entry.getIntValue();
+            relatedTags.add(new RelatedTag(entry.getKey(), sharedFileCount, jaccard(sharedFileCount, fileCount, fileCounts.getInt(entry.getKey()))));
+        }
+        relatedTags.sort(Comparator.comparingInt(RelatedTag::sharedFileCount).reversed()
+            .thenComparing(Comparator.comparingDouble(RelatedTag::jaccard).reversed())
+            .thenComparing(RelatedTag::name));
+        return relatedTags.size() > limit ? List.copyOf(relatedTags.subList(0, limit)) : relatedTags;
+    }
+
+    /**
+     * Returns the co-occurrence counts of each pair of the argument tags.
+     */
+    @NotNull
+    synchronized CoOccurrenceMatrix matrixOf(@NotNull List<String> tagNames) {
+        int size = tagNames.size();
+        var fileCountsOfTags = new int[size];
+        var sharedFileCountsOfTags = new int[size][size];
+        for (int i = 0; i < size; i++) {
+            fileCountsOfTags[i] = fileCounts.getInt(tagNames.get(i));
+            var counts = sharedFileCounts.get(tagNames.get(i));
+            for (int j = 0; j < size; j++) {
+                sharedFileCountsOfTags[i][j] = i == j ? fileCountsOfTags[i] : counts != null ? counts.getInt(tagNames.get(j)) : 0;
+            }
+        }
+        return new CoOccurrenceMatrix(List.copyOf(tagNames), fileCountsOfTags, sharedFileCountsOfTags);
+    }
+
+    /**
+     * The Jaccard similarity of two tags: the number of files both are used in, divided by the number of files any of them is used in.
+     */
+    private static double jaccard(int sharedFileCount, int fileCount, int otherFileCount) {
+        int unionCount = fileCount + otherFileCount - sharedFileCount;
+        return unionCount > 0 ? (double) sharedFileCount / unionCount : 0;
+    }
+
+    /**
+     * A tag used together with another one.
+     *
+     * @param name            the name of the related tag
+     * @param sharedFileCount the number of files both tags are used in
+     * @param jaccard         the Jaccard similarity of the two tags, between 0 and 1
+     */
+    public record RelatedTag(@NotNull String name, int sharedFileCount, double jaccard) {
+    }
+
+    /**
+     * The co-occurrence counts of a list of tags.
+     *
+     * @param tagNames         the tag names
+     * @param fileCounts       the number of files each tag is used in
+     * @param sharedFileCounts the number of files each pair of tags is used in, indexed the same way as the tag names.
+     *                         The diagonal holds the file counts of the tags.
+     */
+    public record CoOccurrenceMatrix(@NotNull List<String> tagNames, int[] fileCounts, int[][] sharedFileCounts) {
+
+        public int size() {
+            return tagNames.size();
+        }
+
+        public int sharedFileCount(int row, int column) {
+            return sharedFileCounts[row][column];
+        }
+
+        public double jaccard(int row, int column) {
+            return TagCoOccurrences.jaccard(sharedFileCounts[row][column], fileCounts[row], fileCounts[column]);
+        }
+    }
+}
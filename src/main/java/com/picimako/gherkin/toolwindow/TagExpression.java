@@ -0,0 +1,244 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Function;
+
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A parsed Cucumber tag expression, e.g. {@code @smoke and not (@wip or @flaky)}.
+ * <p>
+ * The supported operators are {@code not}, {@code and} and {@code or} in this order of precedence, and parentheses for grouping.
+ * Whitespaces and parentheses in tag names can be escaped with a backslash. The leading @ symbol of tags is optional,
+ * so that Story metas in the {@code key:text} format can be referenced as well.
+ * <p>
+ * Expressions are evaluated as set algebra over the scenarios each tag applies to, see {@link #evaluate(Function, BitSet)}.
+ *
+ * @see <a href="https://cucumber.io/docs/cucumber/api/#tag-expressions">Tag expressions</a>
+ * @since 1.13.0
+ */
+public final class TagExpression {
+
+    private final String text;
+    private final Node root;
+
+    private TagExpression(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    /**
+     * Parses the argument text into a tag expression.
+     *
+     * @param text the expression text
+     * @return the parsed expression
+     * @throws IllegalArgumentException if the text is not a valid tag expression
+     */
+    @NotNull
+    public static TagExpression parse(@NotNull String text) {
+        var parser = new Parser(tokenize(text));
+        Node root = parser.parseOr();
+        if (parser.hasNext()) {
+            throw new IllegalArgumentException("Unexpected '" + parser.peek() + "' in tag expression: " + text);
+        }
+        return new TagExpression(text.trim(), root);
+    }
+
+    /**
+     * Returns the argument tag name (without a leading @) as a tag in an expression, escaping the characters that would
+     * otherwise be parsed as delimiters, e.g. whitespaces in Story meta texts.
+     */
+    @NotNull
+    public static String asTag(@NotNull String tagName) {
+        var tag = new StringBuilder(tagName.length() + 1).append('@');
+        for (int i = 0; i < tagName.length(); i++) {
+            char c = tagName.charAt(i);
+            if (c == '\\' || c == '(' || c == ')' || Character.isWhitespace(c)) {
+                tag.append('\\');
+            }
+            tag.append(c);
+        }
+        return tag.toString();
+    }
+
+    /**
+     * Evaluates this expression as set operations on the ids of the scenarios the tags apply to.
+     *
+     * @param scenariosOfTag returns the ids of the scenarios the argument tag name (without a leading @) applies to.
+     *                       The returned sets are not modified.
+     * @param allScenarios   the ids of all scenarios, the complement of {@code not} operations is taken against this set
+     * @return the ids of the scenarios matching this expression, as a new set
+     */
+    @NotNull
+    public BitSet evaluate(@NotNull Function<String, BitSet> scenariosOfTag, @NotNull BitSet allScenarios) {
+        return root.evaluate(scenariosOfTag, allScenarios);
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    //Tokenizing
+
+    private static List<String> tokenize(String text) {
+        var tokens = new ArrayList<String>();
+        var token = new StringBuilder();
+        boolean isEscaped = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isEscaped) {
+                token.append(c);
+                isEscaped = false;
+            } else if (c == '\\') {
+                isEscaped = true;
+            } else if (Character.isWhitespace(c) || c == '(' || c == ')') {
+                if (!token.isEmpty()) {
+                    tokens.add(token.toString());
+                    token.setLength(0);
+                }
+                if (!Character.isWhitespace(c)) {
+                    tokens.add(String.valueOf(c));
+                }
+            } else {
+                token.append(c);
+            }
+        }
+        if (isEscaped) {
+            throw new IllegalArgumentException("Tag expression ends with an unfinished escape: " + text);
+        }
+        if (!token.isEmpty()) {
+            tokens.add(token.toString());
+        }
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("Tag expression is empty.");
+        }
+        return tokens;
+    }
+
+    //Parsing
+
+    /**
+     * A recursive descent parser for the grammar:
+     * <pre>
+     * or      := and ("or" and)*
+     * and     := not ("and" not)*
+     * not     := "not" not | primary
+     * primary := "(" or ")" | tag
+     * </pre>
+     */
+    private static final class Parser {
+        private final List<String> tokens;
+        private int position;
+
+        Parser(List<String> tokens) {
+            this.tokens = tokens;
+        }
+
+        boolean hasNext() {
+            return position < tokens.size();
+        }
+
+        String peek() {
+            return tokens.get(position);
+        }
+
+        private boolean consumeIf(String operator) {
+            if (hasNext() && operator.equals(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        Node parseOr() {
+            Node node = parseAnd();
+            while (consumeIf("or")) {
+                node = new Or(node, parseAnd());
+            }
+            return node;
+        }
+
+        private Node parseAnd() {
+            Node node = parseNot();
+            while (consumeIf("and")) {
+                node = new And(node, parseNot());
+            }
+            return node;
+        }
+
+        private Node parseNot() {
+            return consumeIf("not") ? new Not(parseNot()) : parsePrimary();
+        }
+
+        private Node parsePrimary() {
+            if (!hasNext()) {
+                throw new IllegalArgumentException("Tag expression ends unexpectedly, a tag or '(' is missing.");
+            }
+            if (consumeIf("(")) {
+                Node node = parseOr();
+                if (!consumeIf(")")) {
+                    throw new IllegalArgumentException("Closing ')' is missing in tag expression.");
+                }
+                return node;
+            }
+            String token = tokens.get(position++);
+            if (")".equals(token) || "and".equals(token) || "or".equals(token)) {
+                throw new IllegalArgumentException("Expected a tag or '(' instead of '" + token + "' in tag expression.");
+            }
+            String tagName = StringUtil.trimStart(token, "@");
+            if (tagName.isEmpty()) {
+                throw new IllegalArgumentException("Tag name is missing after '@' in tag expression.");
+            }
+            return new TagLiteral(tagName);
+        }
+    }
+
+    //Nodes
+
+    private sealed interface Node permits TagLiteral, Not, And, Or {
+        BitSet evaluate(Function<String, BitSet> scenariosOfTag, BitSet allScenarios);
+    }
+
+    private record TagLiteral(String tagName) implements Node {
+        @Override
+        public BitSet evaluate(Function<String, BitSet> scenariosOfTag, BitSet allScenarios) {
+            return (BitSet) scenariosOfTag.apply(tagName).clone();
+        }
+    }
+
+    private record Not(Node operand) implements Node {
+        @Override
+        public BitSet evaluate(Function<String, BitSet> scenariosOfTag, BitSet allScenarios) {
+            var result = (BitSet) allScenarios.clone();
+            result.andNot(operand.evaluate(scenariosOfTag, allScenarios));
+            return result;
+        }
+    }
+
+    private record And(Node left, Node right) implements Node {
+        @Override
+        public BitSet evaluate(Function<String, BitSet> scenariosOfTag, BitSet allScenarios) {
+            var result = left.evaluate(scenariosOfTag, allScenarios);
+            //The right side cannot add anything to an empty result
+            if (!result.isEmpty()) {
+                result.and(right.evaluate(scenariosOfTag, allScenarios));
+            }
+            return result;
+        }
+    }
+
+    private record Or(Node left, Node right) implements Node {
+        @Override
+        public BitSet evaluate(Function<String, BitSet> scenariosOfTag, BitSet allScenarios) {
+            var result = left.evaluate(scenariosOfTag, allScenarios);
+            result.or(right.evaluate(scenariosOfTag, allScenarios));
+            return result;
+        }
+    }
+}
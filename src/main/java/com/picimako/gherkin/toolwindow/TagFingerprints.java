@@ -0,0 +1,111 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.intellij.openapi.vfs.VfsUtilCore;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.plugins.cucumber.psi.GherkinFile;
+
+/**
+ * Stores a cheap fingerprint of the tags and metas of Gherkin and Story files, so that PSI changes that don't touch
+ * tags or metas (e.g. editing step texts, doc strings or example tables) can be told apart from ones that do.
+ * <p>
+ * Each file has two fingerprints:
+ * <ul>
+ *     <li>the hash of the sequence of tag/meta names in the file (see {@link BDDFileTags}), thus it also changes
+ *     when only the number of occurrences of a tag changes. For Gherkin files, the name of the first Feature is also part of it,
+ *     since it is used in the display names of files with the same name. A change in it requires updating the model.</li>
+ *     <li>the hash of the occurrence offsets and the scenario counts of the tags/metas. It changes e.g. when lines are added
+ *     above a tag, or Scenarios and Examples rows are added or removed, which only requires refreshing the data of the file
+ *     in {@link TagOccurrencesRegistry}, but not the structure of the model.</li>
+ * </ul>
+ *
+ * @see GherkinPsiChangeListener
+ */
+final class TagFingerprints {
+
+    /**
+     * BDD file -> fingerprints of its tags/metas
+     */
+    private final Map<VirtualFile, Fingerprint> fingerprints = new HashMap<>();
+
+    /**
+     * Records the current fingerprints of the argument file, and returns what has changed compared to the previously recorded ones.
+     * <p>
+     * A file without previously recorded fingerprints is always considered to have changed tags.
+     *
+     * @param file     the Gherkin or Story file to check
+     * @param fileTags the tags extracted from the file, so that the model can be updated with them without extracting them again
+     */
+    Change changeOf(@NotNull PsiFile file, @NotNull BDDFileTags fileTags) {
+        var current = new Fingerprint(tagsFingerprintOf(file, fileTags), fileTags.locationFingerprint());
+        var previous = fingerprints.put(file.getViewProvider().getVirtualFile(), current);
+        if (previous == null || previous.tags() != current.tags()) {
+            return Change.TAGS;
+        }
+        return previous.locations() != current.locations() ? Change.LOCATIONS : Change.NONE;
+    }
+
+    /**
+     * Removes the fingerprint of the argument file, e.g. when it has been deleted.
+     */
+    void remove(@NotNull VirtualFile file) {
+        fingerprints.remove(file);
+    }
+
+    /**
+     * Removes the fingerprints of the argument file, or of the files under the argument directory, e.g. when it has been
+     * moved or renamed, and it may no longer be a Gherkin or Story file, or may no longer be in the project.
+     */
+    void removeUnder(@NotNull VirtualFile fileOrDirectory) {
+        fingerprints.keySet().removeIf(file -> VfsUtilCore.isAncestor(fileOrDirectory, file, false));
+    }
+
+    /**
+     * Removes the fingerprints of the files that are no longer valid, e.g. when the directory containing them has been deleted.
+     */
+    void removeInvalid() {
+        fingerprints.keySet().removeIf(file -> !file.isValid());
+    }
+
+    private static int tagsFingerprintOf(PsiFile file, BDDFileTags fileTags) {
+        int fingerprint = fileTags.fingerprint();
+        if (isGherkinFile(file)) {
+            return computeBlocking(() -> {
+                var features = ((GherkinFile) file).getFeatures();
+                return features.length > 0 ? 31 * fingerprint + Objects.hashCode(features[0].getFeatureName()) : fingerprint;
+            });
+        }
+        return fingerprint;
+    }
+
+    /**
+     * The kind of change in the tags/metas of a file.
+     */
+    enum Change {
+        /**
+         * The tags/metas, their occurrence counts, and their locations are all the same.
+         */
+        NONE,
+        /**
+         * The tags/metas and their occurrence counts are the same, but their offsets or scenario counts have changed.
+         */
+        LOCATIONS,
+        /**
+         * The tags/metas, or their occurrence counts have changed.
+         */
+        TAGS
+    }
+
+    private record Fingerprint(int tags, int locations) {
+    }
+}
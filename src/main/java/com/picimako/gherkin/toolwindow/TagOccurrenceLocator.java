@@ -0,0 +1,132 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static com.picimako.gherkin.toolwindow.BDDFileTextScanner.GHERKIN_EXTENSION;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Resolves the line numbers and the names of the enclosing scenarios of tag occurrences from the raw text of a file,
+ * based on the start offsets stored in {@link TagOccurrencesRegistry}, without accessing the PSI.
+ * <p>
+ * In Gherkin files, tags precede the element they are applied to, thus the name of an occurrence is the first line
+ * after the tag that is not a tag or comment line, e.g. {@code Scenario: Log in}. In Story files, metas follow
+ * the scenario title, thus the name is the closest preceding {@code Scenario:} line, if there is one.
+ *
+ * @since 1.13.0
+ */
+public final class TagOccurrenceLocator {
+
+    private static final String STORY_SCENARIO_KEYWORD = "Scenario:";
+
+    /**
+     * Locates the occurrences at the argument offsets in the argument file.
+     * <p>
+     * Unsaved changes are taken into account, and the text is loaded only once for all offsets.
+     *
+     * @param file    a Gherkin or Story file
+     * @param offsets the start offsets of the tag occurrences
+     * @return the locations in the order of the offsets, or an empty list if the file's text cannot be loaded
+     */
+    @NotNull
+    public static List<Location> locate(@NotNull VirtualFile file, int @NotNull [] offsets) {
+        var text = offsets.length > 0 ? BDDFileTextScanner.loadText(file) : null;
+        if (text == null) return List.of();
+
+        return locate(text, offsets, GHERKIN_EXTENSION.equals(file.getExtension()));
+    }
+
+    static List<Location> locate(@NotNull CharSequence text, int @NotNull [] offsets, boolean isGherkin) {
+        int[] sortedOffsets = Arrays.copyOf(offsets, offsets.length);
+        Arrays.sort(sortedOffsets);
+        var locations = new ArrayList<Location>(sortedOffsets.length);
+        //Line numbers are counted in a single pass over the text, instead of from the start for each offset
+        int position = 0;
+        int lineNumber = 1;
+        int lineStart = 0;
+        for (int offset : sortedOffsets) {
+            int clampedOffset = Math.min(offset, text.length());
+            for (; position < clampedOffset; position++) {
+                if (text.charAt(position) == '\n') {
+                    lineNumber++;
+                    lineStart = position + 1;
+                }
+            }
+            String scenarioName = isGherkin ? nextElementLine(text, lineStart) : previousStoryScenarioLine(text, lineStart);
+            locations.add(new Location(offset, lineNumber, scenarioName));
+        }
+        return locations;
+    }
+
+    /**
+     * Returns the first line after the one starting at the argument offset that is not blank, and not a tag or comment line.
+     */
+    private static String nextElementLine(CharSequence text, int lineStart) {
+        int start = lineEnd(text, lineStart) + 1;
+        while (start < text.length()) {
+            int end = lineEnd(text, start);
+            String line = text.subSequence(start, end).toString().trim();
+            if (!line.isEmpty() && !line.startsWith("@") && !line.startsWith("#")) {
+                return line;
+            }
+            start = end + 1;
+        }
+        return "";
+    }
+
+    /**
+     * Returns the closest {@code Scenario:} line before, or at the line starting at the argument offset.
+     */
+    private static String previousStoryScenarioLine(CharSequence text, int lineStart) {
+        int start = lineStart;
+        while (start >= 0) {
+            String line = text.subSequence(start, lineEnd(text, start)).toString().trim();
+            if (line.startsWith(STORY_SCENARIO_KEYWORD)) {
+                return line;
+            }
+            if (start == 0) {
+                break;
+            }
+            //Moves to the start of the previous line
+            start = lastIndexOfNewLine(text, start - 2) + 1;
+        }
+        return "";
+    }
+
+    private static int lineEnd(CharSequence text, int lineStart) {
+        int end = lineStart;
+        while (end < text.length() && text.charAt(end) != '\n') {
+            end++;
+        }
+        return end;
+    }
+
+    private static int lastIndexOfNewLine(CharSequence text, int from) {
+        int index = from;
+        while (index >= 0 && text.charAt(index) != '\n') {
+            index--;
+        }
+        return index;
+    }
+
+    /**
+     * The location of a tag occurrence.
+     *
+     * @param offset       the start offset of the occurrence
+     * @param lineNumber   the 1-based number of the line the occurrence is in
+     * @param scenarioName the text of the scenario (or other element) line the occurrence applies to, or an empty string
+     *                     if there is no such line
+     */
+    public record Location(int offset, int lineNumber, @NotNull String scenarioName) {
+    }
+
+    private TagOccurrenceLocator() {
+        //Utility class
+    }
+}
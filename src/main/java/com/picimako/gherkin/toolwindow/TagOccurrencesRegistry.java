@@ -3,23 +3,27 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.intellij.openapi.application.ReadAction.computeBlocking;
-import static com.intellij.openapi.application.ReadAction.runBlocking;
-import static com.picimako.gherkin.toolwindow.TagNameUtil.determineTagOrMetaName;
 
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.components.Service;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.ModificationTracker;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiManager;
-import com.intellij.psi.util.PsiTreeUtil;
+import it.unimi.dsi.fastutil.objects.Object2LongMap;
+import it.unimi.dsi.fastutil.objects.Object2LongOpenHashMap;
 import lombok.RequiredArgsConstructor;
 import org.apache.commons.lang3.mutable.MutableInt;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.TestOnly;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Stores the tag occurrence counts mapped to Gherkin and Story files' paths and tag names stored in those files.
@@ -27,16 +31,73 @@ import java.util.Optional;
  * The aim of this project service is to provide a central place and potentially easier logic to query the tag
  * occurrences in contrast to storing this information in the {@link com.picimako.gherkin.toolwindow.nodetype.FeatureFile}s.
  * This way it may be easier to oversee this information.
+ * <p>
+ * Besides the raw occurrence counts, it also stores the number of scenarios each tag effectively applies to in each file
+ * (see {@link BDDFileTags}). Since each change is counted as a modification of this registry, nodes can cache the sums
+ * of these counts until the next modification.
+ * <p>
+ * The start offsets of the tag occurrences are stored as well, so that the occurrences of a tag in a file can be listed
+ * in the tool window without extracting them from the file's PSI again. So are the tag sets of the scenarios,
+ * so that tag expressions can be evaluated per scenario.
+ * <p>
+ * Models built in the background are built into a private, staged registry (see {@link #stage(Project, Runnable)}),
+ * since the displayed model still reads this one. The staged registry replaces the contents of this one only when
+ * the new model replaces the displayed one on the EDT.
  */
 @RequiredArgsConstructor
 @Service(Service.Level.PROJECT)
-public final class TagOccurrencesRegistry implements Disposable {
+public final class TagOccurrencesRegistry implements Disposable, ModificationTracker {
+
+    /**
+     * The staged registry that {@link #getInstance(Project)} returns on the current thread, while a model is built into it.
+     */
+    private static final ThreadLocal<TagOccurrencesRegistry> STAGED_REGISTRY = new ThreadLocal<>();
+    /**
+     * The count returned when it is not known, e.g. the scenario counts of files whose occurrence counts are restored from a snapshot.
+     *
+     * @since 1.13.0
+     */
+    public static final int UNKNOWN_COUNT = -1;
 
     private final Project project;
     /**
      * FeatureFile path -> &lt;tag name, count>
      */
     private Map<String, Map<String, MutableInt>> tagOccurrences = new HashMap<>();
+    /**
+     * FeatureFile path -> &lt;tag name, effective scenario count>
+     */
+    private Map<String, Map<String, Integer>> scenarioCounts = new HashMap<>();
+    /**
+     * FeatureFile path -> &lt;tag name, start offsets of the occurrences>
+     */
+    private Map<String, Map<String, int[]>> tagOffsets = new HashMap<>();
+    /**
+     * FeatureFile path -> the distinct tag sets of the scenarios
+     */
+    private Map<String, List<Set<String>>> scenarioTags = new HashMap<>();
+    /**
+     * FeatureFile path -> the file, whose occurrence offsets are outdated, and are extracted again when they are next queried
+     */
+    private final Map<String, VirtualFile> filesWithOutdatedOffsets = new HashMap<>();
+    private long modificationCount;
+    /**
+     * FeatureFile path -> the modification count at which the data of the file last changed
+     */
+    private final Object2LongMap<String> fileModificationCounts = new Object2LongOpenHashMap<>();
+    /**
+     * Tag name -> the modification count at which the counts of the tag last changed in any file
+     */
+    private final Object2LongMap<String> tagModificationCounts = new Object2LongOpenHashMap<>();
+    /**
+     * The modification count at which all data was last replaced, thus the modification count of the files and tags
+     * that haven't changed since then.
+     */
+    private long baseModificationCount;
+    /**
+     * Whether the counts have been scanned from the raw text of the files in dumb mode, for a provisional model.
+     */
+    private volatile boolean isProvisional;
 
     @TestOnly
     public Map<String, Map<String, MutableInt>> getTagOccurrences() {
@@ -48,6 +109,11 @@ public final class TagOccurrencesRegistry implements Disposable {
      */
     public void init(int bddFileCount) {
         tagOccurrences = new HashMap<>(bddFileCount);
+        scenarioCounts = new HashMap<>(bddFileCount);
+        tagOffsets = new HashMap<>(bddFileCount);
+        scenarioTags = new HashMap<>(bddFileCount);
+        modificationCount++;
+        resetModificationCounts();
     }
 
     /**
@@ -65,7 +131,11 @@ public final class TagOccurrencesRegistry implements Disposable {
      */
     public void updateOccurrenceCounts(@NotNull VirtualFile file) {
         var occurrences = tagOccurrences.get(file.getPath());
+        markChanged(file.getPath(), occurrences, null);
         if (occurrences != null) occurrences.clear();
+        scenarioCounts.remove(file.getPath());
+        tagOffsets.remove(file.getPath());
+        scenarioTags.remove(file.getPath());
         calculateCounts(file);
     }
 
@@ -78,19 +148,30 @@ public final class TagOccurrencesRegistry implements Disposable {
         var psiFile = computeBlocking(() -> PsiManager.getInstance(project).findFile(file));
         if (psiFile == null) return;
 
-        runBlocking(() -> PsiTreeUtil.processElements(psiFile, element -> {
-            if (!element.equals(psiFile)) { //the file itself is definitely not a tag/meta, so can be skipped
-                String tagOrMetaName = determineTagOrMetaName(element);
-                if (tagOrMetaName != null) {
-                    if (counts.containsKey(tagOrMetaName)) {
-                        counts.get(tagOrMetaName).increment();
-                    } else {
-                        counts.put(tagOrMetaName, new MutableInt(1));
-                    }
-                }
-            }
-            return true; //continue execution, so that all tags/metas are counted
-        }));
+        var fileTags = BDDFileTags.of(psiFile);
+        putCounts(counts, fileTags);
+        scenarioCounts.put(file.getPath(), fileTags.scenarioCountByTag());
+        tagOffsets.put(file.getPath(), fileTags.offsetsByTag());
+        scenarioTags.put(file.getPath(), fileTags.scenarioTags());
+        markChanged(file.getPath(), counts, null);
+    }
+
+    /**
+     * Stores the occurrence counts of the argument file from an already available extraction result,
+     * replacing the previous counts of the file, if any.
+     */
+    public void storeCounts(@NotNull VirtualFile file, @NotNull BDDFileTags fileTags) {
+        var counts = new HashMap<String, MutableInt>(fileTags.offsetsByTag().size());
+        putCounts(counts, fileTags);
+        var previousCounts = tagOccurrences.put(file.getPath(), counts);
+        scenarioCounts.put(file.getPath(), fileTags.scenarioCountByTag());
+        tagOffsets.put(file.getPath(), fileTags.offsetsByTag());
+        scenarioTags.put(file.getPath(), fileTags.scenarioTags());
+        markChanged(file.getPath(), previousCounts, counts);
+    }
+
+    private static void putCounts(Map<String, MutableInt> counts, BDDFileTags fileTags) {
+        fileTags.offsetsByTag().forEach((tagName, offsets) -> counts.put(tagName, new MutableInt(offsets.length)));
     }
 
     /**
@@ -105,20 +186,256 @@ public final class TagOccurrencesRegistry implements Disposable {
             .orElse(0);
     }
 
+    /**
+     * Gets the number of scenarios and examples rows the provided tag effectively applies to in the provided file.
+     * <p>
+     * When only the occurrence counts are known for the file, e.g. when they are restored from a snapshot,
+     * or scanned from the raw text of the file, the scenario count is not known, until the file is changed.
+     *
+     * @return the effective scenario count, 0 if the tag is not present in the provided file,
+     * or {@link #UNKNOWN_COUNT} if the scenario counts of the file are not known
+     * @since 1.13.0
+     */
+    public int getScenarioCountFor(String path, String tag) {
+        var tagToCount = scenarioCounts.get(path);
+        return tagToCount != null ? tagToCount.getOrDefault(tag, 0) : UNKNOWN_COUNT;
+    }
+
+    /**
+     * Gets the start offsets of the occurrences of the provided tag in the provided file.
+     * <p>
+     * The offsets are known only for files whose tags have been extracted, thus not e.g. for files whose counts are
+     * restored from a snapshot, until they are changed.
+     *
+     * @return the offsets, or null if they are not known for the provided file
+     * @since 1.13.0
+     */
+    public int @Nullable [] getOffsetsFor(String path, String tag) {
+        var fileWithOutdatedOffsets = filesWithOutdatedOffsets.remove(path);
+        if (fileWithOutdatedOffsets != null) {
+            extractOffsets(fileWithOutdatedOffsets);
+        }
+        var tagToOffsets = tagOffsets.get(path);
+        return tagToOffsets != null ? tagToOffsets.getOrDefault(tag, new int[0]) : null;
+    }
+
+    /**
+     * Marks the occurrence offsets of the provided file outdated, when only the text before some of its tags has changed,
+     * e.g. when a step is edited, so that the file is not processed on each such change. The offsets are extracted again
+     * when they are next queried.
+     *
+     * @since 1.13.0
+     */
+    public void invalidateOffsets(@NotNull VirtualFile file) {
+        if (tagOffsets.containsKey(file.getPath())) {
+            filesWithOutdatedOffsets.put(file.getPath(), file);
+            modificationCount++;
+            fileModificationCounts.put(file.getPath(), modificationCount);
+        }
+    }
+
+    private void extractOffsets(@NotNull VirtualFile file) {
+        if (!file.isValid()) return;
+
+        var psiFile = computeBlocking(() -> PsiManager.getInstance(project).findFile(file));
+        if (psiFile != null) {
+            tagOffsets.put(file.getPath(), BDDFileTags.of(psiFile).offsetsByTag());
+        }
+    }
+
+    /**
+     * Gets the distinct tag sets of the scenarios in the provided file, including the tags inherited by the scenarios.
+     * <p>
+     * When only the occurrence counts are known for the file, e.g. when they are restored from a snapshot,
+     * or scanned from the raw text of the file, the file's tags are returned as a single set.
+     *
+     * @return the tag sets, or an empty list if nothing is known about the provided file, or this registry has already been disposed
+     * @since 1.13.0
+     */
+    public List<Set<String>> getScenarioTagsFor(String path) {
+        var tagSets = scenarioTags.get(path);
+        if (tagSets != null) return tagSets;
+
+        var tagToCount = tagOccurrences.get(path);
+        return tagToCount != null && !tagToCount.isEmpty() ? List.of(Set.copyOf(tagToCount.keySet())) : List.of();
+    }
+
+    @Override
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    /**
+     * Returns the modification count of this registry at which the data of the provided file last changed,
+     * so that data derived from only that file can be cached until then.
+     *
+     * @since 1.13.0
+     */
+    public long getFileModificationCount(String path) {
+        return fileModificationCounts.getOrDefault(path, baseModificationCount);
+    }
+
+    /**
+     * Returns the modification count of this registry at which the occurrence or scenario counts of the provided tag
+     * last changed in any file, so that data derived from only that tag can be cached until then.
+     *
+     * @since 1.13.0
+     */
+    public long getTagModificationCount(String tagName) {
+        return tagModificationCounts.getOrDefault(tagName, baseModificationCount);
+    }
+
+    /**
+     * Returns whether the counts belong to a provisional model, thus they are approximate, and are not to be persisted.
+     *
+     * @see GherkinTagTreeModel#buildProvisionalModel()
+     * @since 1.13.0
+     */
+    public boolean isProvisional() {
+        return isProvisional;
+    }
+
+    void setProvisional(boolean isProvisional) {
+        this.isProvisional = isProvisional;
+    }
+
+    /**
+     * Returns a copy of the occurrence counts of all files, e.g. to persist them as a snapshot.
+     *
+     * @return file path -> &lt;tag name, count>, or an empty map if this registry has already been disposed
+     * @see TagOccurrencesSnapshot
+     */
+    public Map<String, Map<String, Integer>> exportCounts() {
+        var counts = new HashMap<String, Map<String, Integer>>(tagOccurrences.size());
+        tagOccurrences.forEach((path, tagToCount) -> {
+            var copy = new HashMap<String, Integer>(tagToCount.size());
+            tagToCount.forEach((tag, count) -> copy.put(tag, count.intValue()));
+            counts.put(path, copy);
+        });
+        return counts;
+    }
+
+    /**
+     * Returns the distinct names of all tags and metas in all files, e.g. to reuse the data of the live tool window model.
+     *
+     * @return the tag and meta names, or an empty set if this registry is empty or has already been disposed
+     */
+    public Set<String> collectTagNames() {
+        var tagNames = new HashSet<String>();
+        for (var tagToCount : tagOccurrences.values()) {
+            tagNames.addAll(tagToCount.keySet());
+        }
+        return tagNames;
+    }
+
+    /**
+     * Stores the argument, previously calculated occurrence counts for the provided file, so that they are not
+     * calculated again from the file's PSI.
+     *
+     * @see TagOccurrencesSnapshot
+     */
+    public void importCounts(@NotNull VirtualFile file, @NotNull Map<String, Integer> tagToCount) {
+        var counts = new HashMap<String, MutableInt>(tagToCount.size());
+        tagToCount.forEach((tag, count) -> counts.put(tag, new MutableInt(count)));
+        var previousCounts = tagOccurrences.put(file.getPath(), counts);
+        scenarioCounts.remove(file.getPath());
+        tagOffsets.remove(file.getPath());
+        scenarioTags.remove(file.getPath());
+        markChanged(file.getPath(), previousCounts, counts);
+    }
+
     /**
      * Removes the occurrences mapping for the argument file path.
      */
     public void remove(String path) {
-        tagOccurrences.remove(path);
+        var previousCounts = tagOccurrences.remove(path);
+        scenarioCounts.remove(path);
+        tagOffsets.remove(path);
+        scenarioTags.remove(path);
+        markChanged(path, previousCounts, null);
+    }
+
+    /**
+     * Increments the modification count of this registry, and records it as the modification count of the argument file,
+     * and of the tags in its previous and current counts.
+     */
+    private void markChanged(String path, @Nullable Map<String, ?> previousCounts, @Nullable Map<String, ?> counts) {
+        filesWithOutdatedOffsets.remove(path);
+        modificationCount++;
+        fileModificationCounts.put(path, modificationCount);
+        if (previousCounts != null) {
+            previousCounts.keySet().forEach(tagName -> tagModificationCounts.put(tagName, modificationCount));
+        }
+        if (counts != null) {
+            counts.keySet().forEach(tagName -> tagModificationCounts.put(tagName, modificationCount));
+        }
+    }
+
+    /**
+     * Makes the current modification count the modification count of all files and tags, when all data is replaced.
+     */
+    private void resetModificationCounts() {
+        filesWithOutdatedOffsets.clear();
+        fileModificationCounts.clear();
+        tagModificationCounts.clear();
+        baseModificationCount = modificationCount;
     }
 
+    /**
+     * Replaces the contents of this registry with the ones of the argument staged registry, when the model built into it
+     * replaces the displayed model. Must be called on the EDT.
+     *
+     * @since 1.13.0
+     */
+    void replaceWith(@NotNull TagOccurrencesRegistry staged) {
+        tagOccurrences = staged.tagOccurrences;
+        scenarioCounts = staged.scenarioCounts;
+        tagOffsets = staged.tagOffsets;
+        scenarioTags = staged.scenarioTags;
+        //Greater than any modification count of either registry, so that the counts cached by the nodes are recalculated
+        modificationCount = Math.max(modificationCount, staged.modificationCount) + 1;
+        resetModificationCounts();
+    }
+
+    /**
+     * Runs the argument model build with {@link #getInstance(Project)} returning a new, private registry on the current thread,
+     * so that the build doesn't modify the registry of the displayed model.
+     *
+     * @return the registry the build has stored the occurrences in
+     * @see #replaceWith(TagOccurrencesRegistry)
+     * @since 1.13.0
+     */
+    static TagOccurrencesRegistry stage(@NotNull Project project, @NotNull Runnable build) {
+        var staged = new TagOccurrencesRegistry(project);
+        STAGED_REGISTRY.set(staged);
+        try {
+            build.run();
+        } finally {
+            STAGED_REGISTRY.remove();
+        }
+        return staged;
+    }
+
+    /**
+     * Returns the project-level registry, or the staged one, if a model is being built into it on the current thread.
+     */
     public static TagOccurrencesRegistry getInstance(Project project) {
-        return project.getService(TagOccurrencesRegistry.class);
+        var staged = STAGED_REGISTRY.get();
+        return staged != null && staged.project == project ? staged : project.getService(TagOccurrencesRegistry.class);
     }
 
+    /**
+     * Clears the maps instead of dropping them, so that this registry can still be queried safely, e.g. by nodes rendered
+     * while the project is closing, as an empty registry.
+     */
     @Override
     public void dispose() {
         tagOccurrences.clear();
-        tagOccurrences = null;
+        scenarioCounts.clear();
+        tagOffsets.clear();
+        scenarioTags.clear();
+        filesWithOutdatedOffsets.clear();
+        fileModificationCounts.clear();
+        tagModificationCounts.clear();
     }
 }
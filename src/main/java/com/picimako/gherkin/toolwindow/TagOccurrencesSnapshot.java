@@ -0,0 +1,160 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.project.ProjectCloseListener;
+import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.xmlb.XmlSerializerUtil;
+import com.intellij.util.xmlb.annotations.Attribute;
+import com.intellij.util.xmlb.annotations.Tag;
+import com.intellij.util.xmlb.annotations.XCollection;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Persists the tag occurrence counts of Gherkin and Story files in the workspace cache between IDE sessions,
+ * so that the Gherkin Tags tool window model can be restored without scanning the project's files.
+ * <p>
+ * The snapshot is taken from {@link TagOccurrencesRegistry} on the EDT, where the registry is modified, when the project
+ * is closing, before its state is saved. Since the registry holds all tags and metas of each file, it is enough to
+ * reconstruct the whole model. The snapshot is persisted only when the model is restored from it,
+ * i.e. with {@link ModelBuildPolicy#SNAPSHOT_ONLY}.
+ *
+ * @see ModelBuildPolicy#SNAPSHOT_ONLY
+ * @since 1.13.0
+ */
+@Service(Service.Level.PROJECT)
+@State(
+    name = "Gherkin Overview Tag Occurrences Snapshot",
+    storages = {@Storage(StoragePathMacros.CACHE_FILE)}
+)
+public final class TagOccurrencesSnapshot implements PersistentStateComponent<TagOccurrencesSnapshot.SnapshotState> {
+
+    private final Project project;
+    private SnapshotState state = new SnapshotState();
+
+    public TagOccurrencesSnapshot(Project project) {
+        this.project = project;
+    }
+
+    public static TagOccurrencesSnapshot getInstance(Project project) {
+        return project.getService(TagOccurrencesSnapshot.class);
+    }
+
+    /**
+     * Returns whether there is a snapshot available from a previous session.
+     */
+    public boolean hasSnapshot() {
+        return !state.files.isEmpty();
+    }
+
+    /**
+     * Returns the occurrence counts mapped to the files that still exist in the file system.
+     *
+     * @return file -> &lt;tag name, count>
+     */
+    public Map<VirtualFile, Map<String, Integer>> restore() {
+        var fileSystem = LocalFileSystem.getInstance();
+        var occurrences = new LinkedHashMap<VirtualFile, Map<String, Integer>>(state.files.size());
+        for (var fileOccurrences : state.files) {
+            var file = fileSystem.findFileByPath(fileOccurrences.path);
+            if (file != null && file.isValid()) {
+                occurrences.put(file, fileOccurrences.tags);
+            }
+        }
+        return occurrences;
+    }
+
+    /**
+     * Replaces the current snapshot with the argument occurrence counts.
+     *
+     * @param counts file path -> &lt;tag name, count>
+     */
+    void capture(Map<String, Map<String, Integer>> counts) {
+        var files = new ArrayList<FileOccurrences>(counts.size());
+        counts.forEach((path, tagToCount) -> files.add(new FileOccurrences(path, new HashMap<>(tagToCount))));
+        state.files = files;
+    }
+
+    /**
+     * Takes a new snapshot when there is data in the registry, otherwise keeps the one loaded from the previous session,
+     * e.g. when the tool window hasn't been opened in the current session. Must be called on the EDT.
+     * <p>
+     * The approximate counts of a provisional model, built in dumb mode, are not persisted either.
+     */
+    void captureRegistry() {
+        var registry = project.getServiceIfCreated(TagOccurrencesRegistry.class);
+        if (registry != null && !registry.isProvisional()) {
+            var counts = registry.exportCounts();
+            if (!counts.isEmpty()) {
+                capture(counts);
+            }
+        }
+    }
+
+    /**
+     * Returns the last captured snapshot, without accessing the registry, since this may be called on any thread.
+     * If the model is not restored from the snapshot, an empty state is returned, so that no snapshot is persisted.
+     */
+    @Override
+    public SnapshotState getState() {
+        return usesSnapshot(project) ? state : new SnapshotState();
+    }
+
+    private static boolean usesSnapshot(Project project) {
+        return GherkinTagsToolWindowSettings.getInstance(project).modelBuildPolicy == ModelBuildPolicy.SNAPSHOT_ONLY;
+    }
+
+    @Override
+    public void loadState(@NotNull SnapshotState state) {
+        XmlSerializerUtil.copyBean(state, this.state);
+    }
+
+    /**
+     * Captures the snapshot before the state of the closing project is saved.
+     */
+    static final class CaptureOnProjectClose implements ProjectCloseListener {
+        @Override
+        public void projectClosingBeforeSave(@NotNull Project project) {
+            if (usesSnapshot(project)) {
+                getInstance(project).captureRegistry();
+            }
+        }
+    }
+
+    public static final class SnapshotState {
+        @XCollection
+        public List<FileOccurrences> files = new ArrayList<>();
+    }
+
+    /**
+     * The tag/meta occurrence counts in a single Gherkin or Story file.
+     */
+    @Tag("file")
+    public static final class FileOccurrences {
+        @Attribute
+        public String path;
+        public Map<String, Integer> tags = new HashMap<>();
+
+        @SuppressWarnings("unused")
+        public FileOccurrences() {
+        }
+
+        FileOccurrences(String path, Map<String, Integer> tags) {
+            this.path = path;
+            this.tags = tags;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Maps each tag name to the set of scenarios it effectively applies to, as bit sets of scenario ids, so that tag expressions
+ * can be evaluated per scenario with set operations, instead of checking the tags of each scenario.
+ * <p>
+ * A file matches an expression if any of its scenarios matches it. Since only whether a file matches is of interest,
+ * scenarios of the same file with the same tags are added only once (see {@link BDDFileTags#scenarioTags()}).
+ * <p>
+ * The bit sets are maintained incrementally: when the scenarios of a file change, only the ids of that file's scenarios
+ * are released and reassigned. Released ids are reused, so that the bit sets don't grow with each change.
+ * They are modified and queried on the EDT, along with the model data.
+ *
+ * @see TagExpression
+ * @since 1.13.0
+ */
+final class TagScenarioBitSets {
+
+    private static final BitSet NO_SCENARIOS = new BitSet();
+
+    /**
+     * Scenario id -> the file of the scenario, or null if the id is released.
+     */
+    private final List<VirtualFile> filesOfScenarios = new ArrayList<>();
+    private final BitSet releasedIds = new BitSet();
+    private final BitSet allScenarios = new BitSet();
+    private final Map<String, BitSet> scenariosByTag = new HashMap<>();
+    private final Map<VirtualFile, FileScenarios> scenariosOfFiles = new HashMap<>();
+
+    /**
+     * Adds the scenarios of the argument file, each represented by the names of the tags it effectively has.
+     * The previously added scenarios of the file are replaced.
+     */
+    void add(@NotNull VirtualFile file, @NotNull Collection<Set<String>> scenarioTags) {
+        remove(file);
+        if (scenarioTags.isEmpty()) return;
+
+        var tagSets = List.copyOf(scenarioTags);
+        int[] ids = new int[tagSets.size()];
+        for (int i = 0; i < ids.length; i++) {
+            int id = nextId(file);
+            ids[i] = id;
+            allScenarios.set(id);
+            for (String tagName : tagSets.get(i)) {
+                scenariosByTag.computeIfAbsent(tagName, __ -> new BitSet()).set(id);
+            }
+        }
+        scenariosOfFiles.put(file, new FileScenarios(ids, tagSets));
+    }
+
+    /**
+     * Removes the scenarios of the argument file, and releases their ids.
+     */
+    void remove(@NotNull VirtualFile file) {
+        var scenarios = scenariosOfFiles.remove(file);
+        if (scenarios == null) return;
+
+        for (int i = 0; i < scenarios.ids().length; i++) {
+            int id = scenarios.ids()[i];
+            allScenarios.clear(id);
+            for (String tagName : scenarios.tagSets().get(i)) {
+                var scenariosOfTag = scenariosByTag.get(tagName);
+                if (scenariosOfTag != null) {
+                    scenariosOfTag.clear(id);
+                    if (scenariosOfTag.isEmpty()) scenariosByTag.remove(tagName);
+                }
+            }
+            filesOfScenarios.set(id, null);
+            releasedIds.set(id);
+        }
+    }
+
+    private int nextId(VirtualFile file) {
+        int id = releasedIds.nextSetBit(0);
+        if (id >= 0) {
+            releasedIds.clear(id);
+            filesOfScenarios.set(id, file);
+        } else {
+            id = filesOfScenarios.size();
+            filesOfScenarios.add(file);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the files having at least one scenario matching the argument expression. The complement of {@code not} operations
+     * is taken against all added scenarios.
+     */
+    @NotNull
+    Set<VirtualFile> filesMatching(@NotNull TagExpression expression) {
+        var matchingIds = expression.evaluate(tagName -> scenariosByTag.getOrDefault(tagName, NO_SCENARIOS), allScenarios);
+        var matchingFiles = new HashSet<VirtualFile>();
+        for (int id = matchingIds.nextSetBit(0); id >= 0; id = matchingIds.nextSetBit(id + 1)) {
+            matchingFiles.add(filesOfScenarios.get(id));
+        }
+        return matchingFiles;
+    }
+
+    int scenarioCount() {
+        return allScenarios.cardinality();
+    }
+
+    /**
+     * The ids of the scenarios of a file, and the tag sets of the scenarios at the same indexes.
+     */
+    private record FileScenarios(int[] ids, List<Set<String>> tagSets) {
+    }
+}
@@ -0,0 +1,73 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An index of file names to the names of the tags that have files with those names, for finding the tags whose files
+ * match the filter text, without checking the files of each tag.
+ * <p>
+ * Each file name and tag name pair is added as many times as it is used in the model (e.g. once for each content root),
+ * and it is kept in the index until all its usages are removed, so that the index can be maintained incrementally as the model changes.
+ * <p>
+ * The index may be updated in background threads while the tool window queries it on the EDT, so access to it is synchronized.
+ *
+ * @see NameIndex
+ * @since 1.13.0
+ */
+final class TagsByFileName {
+
+    /**
+     * File name -> &lt;tag name, the number of times the pair is added>
+     */
+    private final Map<String, Object2IntOpenHashMap<String>> tagsByFileName = new HashMap<>();
+
+    /**
+     * Adds a usage of the argument file name in the argument tag.
+     */
+    synchronized void add(@NotNull String fileName, @NotNull String tagName) {
+        tagsByFileName.computeIfAbsent(fileName, __ -> new Object2IntOpenHashMap<>()).addTo(tagName, 1);
+    }
+
+    /**
+     * Removes a usage of the argument file name in the argument tag. The pair is removed from the index when it has no usage left.
+     */
+    synchronized void remove(@NotNull String fileName, @NotNull String tagName) {
+        var tagNames = tagsByFileName.get(fileName);
+        if (tagNames == null) {
+            return;
+        }
+        int count = tagNames.getInt(tagName);
+        if (count > 1) {
+            tagNames.put(tagName, count - 1);
+        } else if (count == 1) {
+            tagNames.removeInt(tagName);
+            if (tagNames.isEmpty()) {
+                tagsByFileName.remove(fileName);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of the tags that have files with any of the argument names.
+     */
+    @NotNull
+    synchronized Set<String> tagsWithFilesNamed(@NotNull Collection<String> fileNames) {
+        var tagNames = new HashSet<String>();
+        for (String fileName : fileNames) {
+            var tagNamesOfFile = tagsByFileName.get(fileName);
+            if (tagNamesOfFile != null) {
+                tagNames.addAll(tagNamesOfFile.keySet());
+            }
+        }
+        return tagNames;
+    }
+}
@@ -24,6 +24,10 @@ import org.jetbrains.annotations.NotNull;
  *      Detailed
  * Layout
  *      Group by Modules
+ * Model Building
+ *      Build After Indexing
+ *      Build on First Show
+ *      Use Snapshot Until Refreshed
  * }</pre>
  * <p>
  * After toggling actions the model data and/or the tool window UI is updated to reflect the changes.
@@ -44,10 +48,16 @@ final class ToolWindowAppearanceActionGroupCreator {
         group.add(createStatAction(message("g.o.toolwindow.stats.type.disabled"), StatisticsType.DISABLED));
         group.add(createStatAction(message("g.o.toolwindow.stats.type.simplified"), StatisticsType.SIMPLIFIED));
         group.add(createStatAction(message("g.o.toolwindow.stats.type.detailed"), StatisticsType.DETAILED));
+        group.add(createStatAction(message("g.o.toolwindow.stats.type.scenarios"), StatisticsType.SCENARIOS));
 
         group.add(new Separator(message("g.o.toolwindow.layout.separator")));
         group.add(createLayoutAction(message("g.o.toolwindow.layout.group.by.modules")));
 
+        group.add(new Separator(message("g.o.toolwindow.build.policy.separator")));
+        group.add(createBuildPolicyAction(message("g.o.toolwindow.build.policy.warm.up"), ModelBuildPolicy.WARM_UP_AFTER_INDEXING));
+        group.add(createBuildPolicyAction(message("g.o.toolwindow.build.policy.first.show"), ModelBuildPolicy.BUILD_ON_FIRST_SHOW));
+        group.add(createBuildPolicyAction(message("g.o.toolwindow.build.policy.snapshot"), ModelBuildPolicy.SNAPSHOT_ONLY));
+
         group.setPopup(true);
         return group;
     }
@@ -95,4 +105,28 @@ final class ToolWindowAppearanceActionGroupCreator {
             }
         };
     }
+
+    /**
+     * The build policy takes effect the next time the project is opened, or the tool window is created.
+     */
+    private ToggleAction createBuildPolicyAction(String text, ModelBuildPolicy modelBuildPolicy) {
+        return new ToggleAction(text, null, null) {
+            @Override
+            public boolean isSelected(@NotNull AnActionEvent e) {
+                return e.getProject() != null && GherkinTagsToolWindowSettings.getInstance(e.getProject()).modelBuildPolicy == modelBuildPolicy;
+            }
+
+            @Override
+            public void setSelected(@NotNull AnActionEvent e, boolean state) {
+                if (state) {
+                    GherkinTagsToolWindowSettings.getInstance(e.getProject()).modelBuildPolicy = modelBuildPolicy;
+                }
+            }
+
+            @Override
+            public @NotNull ActionUpdateThread getActionUpdateThread() {
+                return ActionUpdateThread.BGT;
+            }
+        };
+    }
 }
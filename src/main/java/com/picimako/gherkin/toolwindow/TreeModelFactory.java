@@ -36,6 +36,16 @@ final class TreeModelFactory {
         return MODELS.get(GherkinTagsToolWindowSettings.getInstance(project).layout).apply(project);
     }
 
+    /**
+     * Creates a model for the argument layout type, without a predefined {@link ModelDataRoot}.
+     * This method is used for building the model data of a layout in the background, when the layout is changed.
+     *
+     * @since 1.13.0
+     */
+    GherkinTagTreeModel createTreeModel(LayoutType layout, Project project) {
+        return MODELS.get(layout).apply(project);
+    }
+
     /**
      * Creates a model, based on the layout type set in the tool window, with an already existing {@link ModelDataRoot}.
      * This method is used for updating the tree when the layout (display mode) is changed.
@@ -2,6 +2,7 @@
 
 package com.picimako.gherkin.toolwindow;
 
+import com.picimako.gherkin.toolwindow.nodetype.Category;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
 
 import javax.swing.tree.TreePath;
@@ -17,7 +18,7 @@ final class TreeNodeTypeIdentifier {
      * @param tree the Gherkin Tg tree
      * @param x    the x coordinate where the click happened in the tree
      * @param y    the y coordinate where the click happened in the tree
-     * @return "Tag" for tag nodes
+     * @return "Tag" for tag nodes, "Category" for category nodes
      */
     static String identifyTreeNodeTypeForClickLocation(GherkinTagTree tree, int x, int y) {
         String itemToSelect = null;
@@ -31,6 +32,8 @@ final class TreeNodeTypeIdentifier {
             //Indicates that this particular action popup should be displayed only for a Tag node in the tree
             if (path.getLastPathComponent() instanceof Tag) {
                 itemToSelect = "Tag";
+            } else if (path.getLastPathComponent() instanceof Category) {
+                itemToSelect = "Category";
             }
         }
         return itemToSelect;
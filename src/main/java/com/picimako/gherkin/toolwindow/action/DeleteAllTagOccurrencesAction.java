@@ -2,10 +2,16 @@
 
 package com.picimako.gherkin.toolwindow.action;
 
-import static com.intellij.openapi.command.WriteCommandAction.runWriteCommandAction;
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
 import static com.intellij.openapi.ui.Messages.YES;
 import static com.intellij.util.containers.ContainerUtil.map;
+import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
 import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
@@ -13,19 +19,30 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.PlatformDataKeys;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiElement;
+import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
+import com.intellij.psi.SmartPointerManager;
+import com.intellij.psi.SmartPsiElementPointer;
 import com.intellij.psi.util.PsiTreeUtil;
-import com.picimako.gherkin.BDDUtil;
 import com.picimako.gherkin.JBehaveStoryService;
+import com.picimako.gherkin.toolwindow.BDDFileTags;
+import com.picimako.gherkin.toolwindow.GherkinTagOverviewPanel;
 import com.picimako.gherkin.toolwindow.GherkinTagTree;
-import com.picimako.gherkin.toolwindow.TagNameUtil;
 import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
 import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.NodeType;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.plugins.cucumber.psi.GherkinTag;
 
 /**
  * This action deletes all occurrences of a tag/meta selected in the Gherkin Tag tool window, after users
@@ -33,10 +50,22 @@ import org.jetbrains.annotations.NotNull;
  * <p>
  * In case of Gherkin tags, the deletion matches whole tag names against the selected one, while in case of Story metas,
  * the meta key and all meta texts are matched.
+ * <p>
+ * The deletion happens in two phases:
+ * <ul>
+ *     <li>the occurrences are located in a cancellable background task, based on the tag/meta offsets cached in {@link BDDFileTags},</li>
+ *     <li>then they are deleted in chunks of files, each chunk in its own write action, so that the IDE doesn't freeze
+ *     when the tag is used in many files. The chunks are grouped into a single command, thus they can be undone in one step.</li>
+ * </ul>
+ * The per-file updates of the tool window are suspended during the deletion, and the model is updated once at the end.
  *
  * @since 1.2.0
  */
 public final class DeleteAllTagOccurrencesAction extends AnAction {
+    /**
+     * The number of files whose tags/metas are deleted in a single write action.
+     */
+    private static final int FILES_PER_CHUNK = 50;
     private final Project project;
 
     public DeleteAllTagOccurrencesAction(Project project) {
@@ -50,36 +79,31 @@ public final class DeleteAllTagOccurrencesAction extends AnAction {
 
         if (tree != null && isGherkinTag(tree.getLastSelectedPathComponent()) && isUserSureToDeleteAllOccurrencesOfTag(project)) {
             Tag selectedTagNode = NodeType.asTag(tree.getLastSelectedPathComponent());
+            //Copying the files, because there are listeners in the background updating the tree model based on PSI modification,
+            // which would result in concurrent modification exception
+            var bddFiles = map(selectedTagNode.getFeatureFiles(), FeatureFile::getFile);
+            if (bddFiles.isEmpty()) {
+                return;
+            }
+
+            String tagName = selectedTagNode.getDisplayName();
+            if (ApplicationManager.getApplication().isUnitTestMode()) {
+                deleteOccurrences(locateOccurrences(bddFiles, tagName, new EmptyProgressIndicator()), tree);
+            } else {
+                new Task.Backgroundable(project, message("g.o.toolwindow.tags.locating", tagName), true) {
+                    private List<OccurrencesInFile> occurrences;
 
-            //Doing 'for (var featureFile : selectedTagNode.getFeatureFiles()) {}' results in concurrent modification exception
-            // because there are listeners in the background updating the tree model based on PSI modification
-            runWriteCommandAction(project, () -> {
-                var bddFiles = map(selectedTagNode.getFeatureFiles(), FeatureFile::getFile);
-
-                if (!bddFiles.isEmpty()) {
-                    boolean isStoryLanguageSupported = BDDUtil.isStoryLanguageSupported();
-                    var storyService = project.getService(JBehaveStoryService.class);
-                    var tagOccurrencesRegistry = TagOccurrencesRegistry.getInstance(project);
-
-                    for (var bddFile : bddFiles) {
-                        var tagsToDelete = PsiTreeUtil.collectElements(PsiManager.getInstance(project).findFile(bddFile), element -> {
-                            String tagName = TagNameUtil.determineTagOrMetaName(element);
-                            if (tagName != null) { //either a Gherkin tag or a Meta Key
-                                return tagName.equals(selectedTagNode.getDisplayName());
-                            } else if (isStoryLanguageSupported) {
-                                return storyService.isMetaTextForMetaKeyWithName(element, selectedTagNode.getDisplayName());
-                            }
-                            return false;
-                        });
-                        //Delete the tags/metas in a single command action, so that it is easier to redo them
-                        for (var tag : tagsToDelete) tag.delete();
-
-                        //Update the occurrence counts once processing the file has finished
-                        tagOccurrencesRegistry.updateOccurrenceCounts(bddFile);
+                    @Override
+                    public void run(@NotNull ProgressIndicator indicator) {
+                        occurrences = locateOccurrences(bddFiles, tagName, indicator);
                     }
-                }
-            });
-            tree.updateUI();
+
+                    @Override
+                    public void onSuccess() {
+                        deleteOccurrences(occurrences, tree);
+                    }
+                }.queue();
+            }
         }
     }
 
@@ -94,6 +118,144 @@ public final class DeleteAllTagOccurrencesAction extends AnAction {
         return ActionUpdateThread.BGT;
     }
 
+    //Locating occurrences
+
+    /**
+     * Locates the elements to delete in each file, each file in its own read action.
+     */
+    private List<OccurrencesInFile> locateOccurrences(List<VirtualFile> bddFiles, String tagName, ProgressIndicator indicator) {
+        var occurrences = new ArrayList<OccurrencesInFile>(bddFiles.size());
+        for (int i = 0; i < bddFiles.size(); i++) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) i / bddFiles.size());
+            var bddFile = bddFiles.get(i);
+            var elementsToDelete = computeBlocking(() -> locateOccurrencesInFile(bddFile, tagName));
+            if (!elementsToDelete.isEmpty()) {
+                occurrences.add(new OccurrencesInFile(bddFile, elementsToDelete));
+            }
+        }
+        return occurrences;
+    }
+
+    private List<SmartPsiElementPointer<PsiElement>> locateOccurrencesInFile(VirtualFile bddFile, String tagName) {
+        PsiFile psiFile = bddFile.isValid() ? PsiManager.getInstance(project).findFile(bddFile) : null;
+        if (psiFile == null) {
+            return List.of();
+        }
+
+        var pointerManager = SmartPointerManager.getInstance(project);
+        var storyService = project.getService(JBehaveStoryService.class);
+        boolean isGherkinFile = isGherkinFile(psiFile);
+        var elementsToDelete = new ArrayList<SmartPsiElementPointer<PsiElement>>();
+        for (int offset : BDDFileTags.of(psiFile).offsetsOf(tagName)) {
+            PsiElement element = psiFile.findElementAt(offset);
+            if (isGherkinFile) {
+                GherkinTag tag = PsiTreeUtil.getParentOfType(element, GherkinTag.class, false);
+                if (tag != null) {
+                    elementsToDelete.add(pointerManager.createSmartPsiElementPointer(tag));
+                }
+            } else if (element != null && storyService.isMetaKey(element)) {
+                //Deleting the meta key along with its meta texts
+                elementsToDelete.add(pointerManager.createSmartPsiElementPointer(element));
+                for (var metaText : storyService.collectMetaTextsForMetaKeyAsList(element)) {
+                    elementsToDelete.add(pointerManager.createSmartPsiElementPointer(metaText));
+                }
+            }
+        }
+        return elementsToDelete;
+    }
+
+    //Deleting occurrences
+
+    private void deleteOccurrences(List<OccurrencesInFile> occurrences, GherkinTagTree tree) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+
+        var overviewPanel = findOverviewPanel();
+        if (overviewPanel != null) {
+            overviewPanel.startBulkUpdate();
+        }
+
+        //Using the same group id for all chunks merges them into a single undoable command
+        var commandGroupId = new Object();
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            try {
+                deleteChunk(occurrences, 0, occurrences.size(), commandGroupId);
+            } finally {
+                finishDeletion(occurrences, overviewPanel, tree);
+            }
+        } else {
+            deleteChunksFrom(0, occurrences, commandGroupId, overviewPanel, tree);
+        }
+    }
+
+    /**
+     * Deletes the chunk of files starting at {@code from}, and schedules the deletion of the next chunk, so that the EDT
+     * can process other events in between.
+     * <p>
+     * The deletion is finished when the last chunk has been processed, when a chunk fails, or when the project is closed
+     * in the meantime, so that the bulk update is never left in progress.
+     */
+    private void deleteChunksFrom(int from, List<OccurrencesInFile> occurrences, Object commandGroupId,
+                                  @Nullable GherkinTagOverviewPanel overviewPanel, GherkinTagTree tree) {
+        boolean isNextChunkScheduled = false;
+        try {
+            if (project.isDisposed()) {
+                return;
+            }
+            int to = Math.min(from + FILES_PER_CHUNK, occurrences.size());
+            deleteChunk(occurrences, from, to, commandGroupId);
+            if (to < occurrences.size()) {
+                ApplicationManager.getApplication().invokeLater(() -> deleteChunksFrom(to, occurrences, commandGroupId, overviewPanel, tree));
+                isNextChunkScheduled = true;
+            }
+        } finally {
+            if (!isNextChunkScheduled) {
+                finishDeletion(occurrences, overviewPanel, tree);
+            }
+        }
+    }
+
+    private void deleteChunk(List<OccurrencesInFile> occurrences, int from, int to, Object commandGroupId) {
+        WriteCommandAction.writeCommandAction(project)
+            .withName(message("g.o.toolwindow.delete.tags"))
+            .withGroupId(commandGroupId)
+            .run(() -> {
+                for (var occurrencesInFile : occurrences.subList(from, to)) {
+                    occurrencesInFile.delete();
+                }
+            });
+    }
+
+    /**
+     * Updates the model once all chunks have been processed. If there is no tool window content (yet) to reconcile the model,
+     * only the occurrence counts are updated.
+     */
+    private void finishDeletion(List<OccurrencesInFile> occurrences, @Nullable GherkinTagOverviewPanel overviewPanel, GherkinTagTree tree) {
+        if (project.isDisposed()) {
+            //The pending model changes and the tool window, along with its tree, are disposed with the project
+            return;
+        }
+        if (overviewPanel != null) {
+            overviewPanel.finishBulkUpdate();
+        } else {
+            var tagOccurrencesRegistry = TagOccurrencesRegistry.getInstance(project);
+            for (var occurrencesInFile : occurrences) {
+                tagOccurrencesRegistry.updateOccurrenceCounts(occurrencesInFile.file());
+            }
+        }
+        tree.updateUI();
+    }
+
+    @Nullable
+    private GherkinTagOverviewPanel findOverviewPanel() {
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        return gherkinTagsToolWindow != null ? getGherkinTagOverViewPanel(gherkinTagsToolWindow) : null;
+    }
+
+    //Helpers
+
     private boolean isUserSureToDeleteAllOccurrencesOfTag(Project project) {
         return ApplicationManager.getApplication().isUnitTestMode()
             || Messages.showYesNoDialog(project,
@@ -104,4 +266,22 @@ public final class DeleteAllTagOccurrencesAction extends AnAction {
     private static boolean isGherkinTag(Object node) {
         return node instanceof Tag;
     }
+
+    /**
+     * The tags/metas (and meta texts) to delete in a single file.
+     */
+    private record OccurrencesInFile(VirtualFile file, List<SmartPsiElementPointer<PsiElement>> elements) {
+
+        /**
+         * Deletes the elements that still exist. The file may have been modified since locating them.
+         */
+        void delete() {
+            for (var pointer : elements) {
+                var element = pointer.getElement();
+                if (element != null && element.isValid()) {
+                    element.delete();
+                }
+            }
+        }
+    }
 }
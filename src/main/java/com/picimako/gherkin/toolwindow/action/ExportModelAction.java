@@ -0,0 +1,172 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Objects;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.fileChooser.FileChooserFactory;
+import com.intellij.openapi.fileChooser.FileSaverDescriptor;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.Ref;
+import com.intellij.openapi.util.ThrowableComputable;
+import com.intellij.openapi.util.io.FileUtilRt;
+import com.intellij.ui.AnActionButton;
+import com.picimako.gherkin.toolwindow.GherkinTagTreeModel;
+import com.picimako.gherkin.toolwindow.ModelExportFormat;
+import com.picimako.gherkin.toolwindow.ModelExporter;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exports the Gherkin Tags tool window's model in its current layout to a JSON, CSV or Markdown file,
+ * the format being selected by the extension of the chosen file.
+ * <p>
+ * The export runs as a cancellable background task. Since the model is modified on the EDT, its nodes are visited
+ * in small steps on the EDT, while the output file is written in the background. The export is aborted if the model
+ * changes between two steps. The partially written file is deleted when the export is cancelled or fails for any reason.
+ *
+ * @see ModelExporter
+ * @since 1.13.0
+ */
+public final class ExportModelAction extends AnActionButton {
+
+    /**
+     * The maximum number of nodes exported in a single step on the EDT.
+     */
+    private static final int NODES_PER_STEP = 500;
+
+    public ExportModelAction() {
+        super(
+            message("g.o.toolwindow.export.tooltip"),
+            message("g.o.toolwindow.export.description"),
+            AllIcons.ToolbarDecorator.Export);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        if (gherkinTagsToolWindow == null) return;
+
+        var overviewPanel = getGherkinTagOverViewPanel(gherkinTagsToolWindow);
+        if (overviewPanel == null || !(overviewPanel.getTree().getModel() instanceof GherkinTagTreeModel model)) return;
+
+        var extensions = Arrays.stream(ModelExportFormat.values()).map(ModelExportFormat::getExtension).toArray(String[]::new);
+        var descriptor = new FileSaverDescriptor(message("g.o.toolwindow.export.tooltip"), message("g.o.toolwindow.export.description"), extensions);
+        var fileWrapper = FileChooserFactory.getInstance().createSaveFileDialog(descriptor, project).save(project.getName() + "-gherkin-tags.json");
+        if (fileWrapper == null) return;
+
+        var output = fileWrapper.getFile().toPath();
+        var format = Objects.requireNonNullElse(ModelExportFormat.fromExtension(FileUtilRt.getExtension(output.toString())), ModelExportFormat.JSON);
+        var buffer = new StringWriter();
+        var traversal = new ModelExporter.Traversal(model, format, buffer);
+        var tree = overviewPanel.getTree();
+        new Task.Backgroundable(project, message("g.o.toolwindow.export.progress", output.getFileName()), true) {
+            private String failure;
+
+            @Override
+            public void run(@NotNull ProgressIndicator indicator) {
+                try {
+                    export(() -> {
+                        //The model may have been replaced, e.g. by switching the layout, while its data is still being modified
+                        if (tree.getModel() != model) {
+                            throw new ModelExporter.ModelChangedException();
+                        }
+                        return traversal.exportNext(NODES_PER_STEP, indicator);
+                    }, buffer, output);
+                } catch (IOException e) {
+                    failure = e.getMessage();
+                } catch (ModelExporter.ModelChangedException e) {
+                    failure = message("g.o.toolwindow.export.model.changed");
+                }
+            }
+
+            @Override
+            public void onSuccess() {
+                if (failure != null) {
+                    Messages.showErrorDialog(project, message("g.o.toolwindow.export.failed", output, failure), message("g.o.toolwindow.export.tooltip"));
+                }
+            }
+        }.queue();
+    }
+
+    /**
+     * Exports the model step by step on the EDT, and writes what each step has written to the buffer to the output file
+     * in the current, background thread, so that the file is not written on the EDT.
+     */
+    private static void export(ThrowableComputable<Boolean, IOException> exportStep, StringWriter buffer, Path output) throws IOException {
+        boolean isExported = false;
+        try {
+            try (var writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                boolean hasNextStep;
+                do {
+                    hasNextStep = computeOnEdt(exportStep);
+                    var exported = buffer.getBuffer();
+                    writer.append(exported);
+                    exported.setLength(0);
+                } while (hasNextStep);
+            }
+            isExported = true;
+        } finally {
+            if (!isExported) {
+                deleteQuietly(output);
+            }
+        }
+    }
+
+    /**
+     * Runs the argument computation on the EDT, in any modality state, since it only reads the model, and rethrows its failure, if any.
+     */
+    private static boolean computeOnEdt(ThrowableComputable<Boolean, IOException> computation) throws IOException {
+        var result = new Ref<Boolean>();
+        var failure = new Ref<Throwable>();
+        ApplicationManager.getApplication().invokeAndWait(() -> {
+            try {
+                result.set(computation.compute());
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, ModalityState.any());
+        switch (failure.get()) {
+            case null -> {
+                return result.get();
+            }
+            case IOException e -> throw e;
+            case RuntimeException e -> throw e;
+            case Error e -> throw e;
+            default -> throw new IllegalStateException(failure.get());
+        }
+    }
+
+    private static void deleteQuietly(Path output) {
+        try {
+            Files.deleteIfExists(output);
+        } catch (IOException e) {
+            //The partial file is left as is
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
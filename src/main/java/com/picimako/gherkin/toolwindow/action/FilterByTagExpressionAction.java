@@ -0,0 +1,88 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+
+import java.util.Objects;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.ui.InputValidatorEx;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.ui.AnActionButton;
+import com.picimako.gherkin.toolwindow.TagExpression;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Asks for a Cucumber tag expression, e.g. {@code @smoke and not (@wip or @flaky)}, and filters the Gherkin Tags tool window
+ * to the files matching it. Entering an empty expression removes the filter.
+ *
+ * @see TagExpression
+ * @since 1.13.0
+ */
+public final class FilterByTagExpressionAction extends AnActionButton {
+
+    public FilterByTagExpressionAction() {
+        super(
+            message("g.o.toolwindow.tag.expression.tooltip"),
+            message("g.o.toolwindow.tag.expression.description"),
+            AllIcons.General.Filter);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        if (gherkinTagsToolWindow == null) return;
+
+        var overviewPanel = getGherkinTagOverViewPanel(gherkinTagsToolWindow);
+        if (overviewPanel == null) return;
+
+        var currentExpression = overviewPanel.getTagExpression();
+        String expressionText = Messages.showInputDialog(project,
+            message("g.o.toolwindow.tag.expression.prompt"), message("g.o.toolwindow.tag.expression.tooltip"), Messages.getQuestionIcon(),
+            currentExpression != null ? currentExpression.toString() : "", new TagExpressionValidator());
+        if (expressionText != null) {
+            overviewPanel.setTagExpression(expressionText.isBlank() ? null : TagExpression.parse(expressionText));
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    /**
+     * Accepts valid tag expressions, and empty text for removing the filter.
+     */
+    static final class TagExpressionValidator implements InputValidatorEx {
+        @Override
+        public @Nullable String getErrorText(@Nullable String inputString) {
+            if (inputString == null || inputString.isBlank()) return null;
+            try {
+                TagExpression.parse(inputString);
+                return null;
+            } catch (IllegalArgumentException e) {
+                return Objects.requireNonNullElse(e.getMessage(), message("g.o.toolwindow.tag.expression.invalid"));
+            }
+        }
+
+        @Override
+        public boolean checkInput(@Nullable String inputString) {
+            return inputString != null && getErrorText(inputString) == null;
+        }
+
+        @Override
+        public boolean canClose(@Nullable String inputString) {
+            return checkInput(inputString);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getToolWindowHider;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.ui.AnActionButton;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Rebuilds the Gherkin Tags tool window's model from the Gherkin and Story files in the project.
+ * <p>
+ * This is the way to bring the tool window up-to-date when its model has been restored from a snapshot.
+ *
+ * @see com.picimako.gherkin.toolwindow.ModelBuildPolicy#SNAPSHOT_ONLY
+ * @since 1.13.0
+ */
+public final class RefreshModelAction extends AnActionButton {
+
+    public RefreshModelAction() {
+        super(
+            message("g.o.toolwindow.refresh.tooltip"),
+            message("g.o.toolwindow.refresh.description"),
+            AllIcons.Actions.Refresh);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var project = e.getData(CommonDataKeys.PROJECT);
+        if (project == null) return;
+
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        if (gherkinTagsToolWindow == null) return;
+
+        var overviewPanel = getGherkinTagOverViewPanel(gherkinTagsToolWindow);
+        if (overviewPanel != null) {
+            overviewPanel.rebuildModel(() -> getToolWindowHider(gherkinTagsToolWindow).setContentVisibilityBasedOn(overviewPanel.modelDataRoot()));
+        }
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
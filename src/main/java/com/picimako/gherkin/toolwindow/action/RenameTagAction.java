@@ -0,0 +1,351 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+import static com.intellij.openapi.ui.Messages.YES;
+import static com.intellij.util.containers.ContainerUtil.exists;
+import static com.intellij.util.containers.ContainerUtil.filter;
+import static com.intellij.util.containers.ContainerUtil.map;
+import static com.picimako.gherkin.GherkinUtil.isGherkinFile;
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.progress.Task;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.InputValidator;
+import com.intellij.openapi.ui.Messages;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.psi.PsiManager;
+import com.picimako.gherkin.toolwindow.BDDFileTags;
+import com.picimako.gherkin.toolwindow.GherkinTagOverviewPanel;
+import com.picimako.gherkin.toolwindow.GherkinTagTree;
+import com.picimako.gherkin.toolwindow.GherkinTagTreeModel;
+import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
+import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.NodeType;
+import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * This action renames all occurrences of a Gherkin tag selected in the Gherkin Tag tool window, in all Gherkin files
+ * of the project. If a tag with the new name already exists, the two tags are merged.
+ * <p>
+ * Story metas are not renamed, since their names are composed of the meta keys and texts.
+ * <p>
+ * Similar to {@link DeleteAllTagOccurrencesAction}, renaming happens in two phases:
+ * <ul>
+ *     <li>the occurrences are located in a cancellable background task, based on the tag offsets cached in {@link BDDFileTags},
+ *     and the number of occurrences is shown for confirmation,</li>
+ *     <li>then the tags are rewritten in the documents in chunks of files, each chunk in its own write action.
+ *     The chunks are grouped into a single command, thus they can be undone in one step.</li>
+ * </ul>
+ * The per-file updates of the tool window are suspended during the rewrite, and the model and occurrence counts are
+ * updated once at the end.
+ *
+ * @since 1.13.0
+ */
+public final class RenameTagAction extends AnAction {
+    /**
+     * The number of files whose tags are rewritten in a single write action.
+     */
+    private static final int FILES_PER_CHUNK = 50;
+    private final Project project;
+
+    public RenameTagAction(Project project) {
+        super(message("g.o.toolwindow.rename.tag"), message("g.o.toolwindow.rename.tag.description"), AllIcons.Actions.Edit);
+        this.project = project;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        if (tree == null || !isTagInGherkinFile(tree.getLastSelectedPathComponent())) {
+            return;
+        }
+
+        Tag selectedTagNode = NodeType.asTag(tree.getLastSelectedPathComponent());
+        String oldName = selectedTagNode.getDisplayName();
+        String newName = askForNewName(oldName);
+        if (newName == null || newName.equals(oldName)) {
+            return;
+        }
+
+        //Copying the files, because the model is updated based on the changes
+        var gherkinFiles = filter(map(selectedTagNode.getFeatureFiles(), FeatureFile::getFile), file -> isGherkinFile(file));
+        boolean isMerge = isExistingTag(tree, newName);
+
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            renameOccurrences(locateOccurrences(gherkinFiles, oldName, new EmptyProgressIndicator()), oldName, newName, tree);
+        } else {
+            new Task.Backgroundable(project, message("g.o.toolwindow.tags.locating", oldName), true) {
+                private List<OccurrencesInFile> occurrences;
+
+                @Override
+                public void run(@NotNull ProgressIndicator indicator) {
+                    occurrences = locateOccurrences(gherkinFiles, oldName, indicator);
+                }
+
+                @Override
+                public void onSuccess() {
+                    if (!occurrences.isEmpty() && isUserSureToRename(occurrences, oldName, newName, isMerge)) {
+                        renameOccurrences(occurrences, oldName, newName, tree);
+                    }
+                }
+            }.queue();
+        }
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        e.getPresentation().setEnabled(tree != null && isTagInGherkinFile(tree.getLastSelectedPathComponent()));
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+
+    //Locating occurrences
+
+    /**
+     * Collects the offsets of the tag from the cached per-file tag data, which is computed from the PSI of each file,
+     * and is shared with the model and the tag occurrences.
+     */
+    private List<OccurrencesInFile> locateOccurrences(List<VirtualFile> gherkinFiles, String tagName, ProgressIndicator indicator) {
+        var occurrences = new ArrayList<OccurrencesInFile>(gherkinFiles.size());
+        for (int i = 0; i < gherkinFiles.size(); i++) {
+            indicator.checkCanceled();
+            indicator.setFraction((double) i / gherkinFiles.size());
+            var gherkinFile = gherkinFiles.get(i);
+            int[] offsets = computeBlocking(() -> {
+                var psiFile = gherkinFile.isValid() ? PsiManager.getInstance(project).findFile(gherkinFile) : null;
+                return psiFile != null ? BDDFileTags.of(psiFile).offsetsOf(tagName) : new int[0];
+            });
+            if (offsets.length > 0) {
+                occurrences.add(new OccurrencesInFile(gherkinFile, offsets));
+            }
+        }
+        return occurrences;
+    }
+
+    //Renaming occurrences
+
+    private void renameOccurrences(List<OccurrencesInFile> occurrences, String oldName, String newName, GherkinTagTree tree) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+
+        var overviewPanel = findOverviewPanel();
+        if (overviewPanel != null) {
+            overviewPanel.startBulkUpdate();
+        }
+
+        //Using the same group id for all chunks merges them into a single undoable command
+        var commandGroupId = new Object();
+        if (ApplicationManager.getApplication().isUnitTestMode()) {
+            try {
+                renameChunk(occurrences, 0, occurrences.size(), "@" + oldName, "@" + newName, commandGroupId);
+            } finally {
+                finishRename(occurrences, overviewPanel, tree);
+            }
+        } else {
+            renameChunksFrom(0, occurrences, "@" + oldName, "@" + newName, commandGroupId, overviewPanel, tree);
+        }
+    }
+
+    /**
+     * Rewrites the chunk of files starting at {@code from}, and schedules the rewrite of the next chunk, so that the EDT
+     * can process other events in between.
+     * <p>
+     * The rename is finished when the last chunk has been processed, when a chunk fails, or when the project is closed
+     * in the meantime, so that the bulk update is never left in progress.
+     */
+    private void renameChunksFrom(int from, List<OccurrencesInFile> occurrences, String oldTag, String newTag, Object commandGroupId,
+                                  @Nullable GherkinTagOverviewPanel overviewPanel, GherkinTagTree tree) {
+        boolean isNextChunkScheduled = false;
+        try {
+            if (project.isDisposed()) {
+                return;
+            }
+            int to = Math.min(from + FILES_PER_CHUNK, occurrences.size());
+            renameChunk(occurrences, from, to, oldTag, newTag, commandGroupId);
+            if (to < occurrences.size()) {
+                ApplicationManager.getApplication().invokeLater(
+                    () -> renameChunksFrom(to, occurrences, oldTag, newTag, commandGroupId, overviewPanel, tree));
+                isNextChunkScheduled = true;
+            }
+        } finally {
+            if (!isNextChunkScheduled) {
+                finishRename(occurrences, overviewPanel, tree);
+            }
+        }
+    }
+
+    private void renameChunk(List<OccurrencesInFile> occurrences, int from, int to, String oldTag, String newTag, Object commandGroupId) {
+        WriteCommandAction.writeCommandAction(project)
+            .withName(message("g.o.toolwindow.rename.tag"))
+            .withGroupId(commandGroupId)
+            .run(() -> {
+                var documentManager = PsiDocumentManager.getInstance(project);
+                for (var occurrencesInFile : occurrences.subList(from, to)) {
+                    var document = occurrencesInFile.file().isValid() ? FileDocumentManager.getInstance().getDocument(occurrencesInFile.file()) : null;
+                    if (document != null) {
+                        occurrencesInFile.rename(document, oldTag, newTag);
+                        documentManager.commitDocument(document);
+                    }
+                }
+            });
+    }
+
+    /**
+     * Updates the model once all chunks have been processed. If there is no tool window content (yet) to reconcile the model,
+     * the model of the argument tree is updated directly.
+     */
+    private void finishRename(List<OccurrencesInFile> occurrences, @Nullable GherkinTagOverviewPanel overviewPanel, GherkinTagTree tree) {
+        if (project.isDisposed()) {
+            //The pending model changes and the tool window, along with its tree, are disposed with the project
+            return;
+        }
+        if (overviewPanel != null) {
+            overviewPanel.finishBulkUpdate();
+        } else if (tree.getModel() instanceof GherkinTagTreeModel model) {
+            for (var occurrencesInFile : occurrences) {
+                model.updateModelForFile(occurrencesInFile.file());
+            }
+            ((ModelDataRoot) model.getRoot()).sort();
+        }
+        tree.updateUI();
+    }
+
+    @Nullable
+    private GherkinTagOverviewPanel findOverviewPanel() {
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        return gherkinTagsToolWindow != null ? getGherkinTagOverViewPanel(gherkinTagsToolWindow) : null;
+    }
+
+    //Dialogs
+
+    /**
+     * Asks for the new name of the tag. The leading @ symbol is optional.
+     *
+     * @return the new tag name without the leading @ symbol, or null if the dialog was cancelled
+     */
+    @Nullable
+    private String askForNewName(String oldName) {
+        String newName = Messages.showInputDialog(project,
+            message("g.o.toolwindow.rename.tag.new.name", oldName), message("g.o.toolwindow.rename.tag"), Messages.getQuestionIcon(),
+            oldName, new TagNameValidator());
+        return newName != null ? StringUtil.trimStart(newName.trim(), "@") : null;
+    }
+
+    private boolean isUserSureToRename(List<OccurrencesInFile> occurrences, String oldName, String newName, boolean isMerge) {
+        int occurrenceCount = occurrences.stream().mapToInt(occurrencesInFile -> occurrencesInFile.offsets().length).sum();
+        String question = isMerge
+            ? message("g.o.toolwindow.rename.tag.merge.are.you.sure", occurrenceCount, oldName, occurrences.size(), newName)
+            : message("g.o.toolwindow.rename.tag.are.you.sure", occurrenceCount, oldName, occurrences.size(), newName);
+        return Messages.showYesNoDialog(project, question, message("g.o.toolwindow.rename.tag"), Messages.getQuestionIcon()) == YES;
+    }
+
+    //Helpers
+
+    private static boolean isTagInGherkinFile(Object node) {
+        return node instanceof Tag tag && exists(tag.getFeatureFiles(), featureFile -> isGherkinFile(featureFile.getFile()));
+    }
+
+    private static boolean isExistingTag(GherkinTagTree tree, String tagName) {
+        return tree.getModel() instanceof GherkinTagTreeModel model && model.hasTag(tagName);
+    }
+
+    /**
+     * Accepts tag names with or without the leading @ symbol, but without whitespaces.
+     */
+    private static final class TagNameValidator implements InputValidator {
+        @Override
+        public boolean checkInput(@Nullable String inputString) {
+            if (inputString == null) return false;
+            String tagName = StringUtil.trimStart(inputString.trim(), "@");
+            return !tagName.isEmpty() && !StringUtil.containsWhitespaces(tagName) && !tagName.contains("@");
+        }
+
+        @Override
+        public boolean canClose(@Nullable String inputString) {
+            return checkInput(inputString);
+        }
+    }
+
+    /**
+     * The start offsets of the occurrences of the renamed tag in a single file.
+     */
+    private record OccurrencesInFile(VirtualFile file, int[] offsets) {
+
+        /**
+         * Rewrites the tags backwards, so that the offsets of the preceding tags are not affected.
+         * Tags that have changed since locating them are skipped.
+         * <p>
+         * When merging into a tag that is already present on the same line, the renamed tag is removed instead,
+         * so that the line doesn't end up with the same tag twice.
+         */
+        void rename(Document document, String oldTag, String newTag) {
+            for (int i = offsets.length - 1; i >= 0; i--) {
+                var text = document.getImmutableCharSequence();
+                int start = offsets[i];
+                int end = start + oldTag.length();
+                if (end <= text.length()
+                    && StringUtil.equals(text.subSequence(start, end), oldTag)
+                    && (end == text.length() || Character.isWhitespace(text.charAt(end)))) {
+                    int line = document.getLineNumber(start);
+                    int lineStart = document.getLineStartOffset(line);
+                    int lineEnd = document.getLineEndOffset(line);
+                    if (containsTag(text.subSequence(lineStart, lineEnd), newTag)) {
+                        removeTag(document, text, start, end, lineStart, lineEnd);
+                    } else {
+                        document.replaceString(start, end, newTag);
+                    }
+                }
+            }
+        }
+
+        private static boolean containsTag(CharSequence line, String tag) {
+            return exists(StringUtil.tokenize(line.toString(), " \t"), tag::equals);
+        }
+
+        /**
+         * Removes the tag between {@code start} and {@code end} along with the whitespace following it,
+         * or preceding it, if it is the last tag on the line.
+         */
+        private static void removeTag(Document document, CharSequence text, int start, int end, int lineStart, int lineEnd) {
+            int removalEnd = end;
+            while (removalEnd < lineEnd && StringUtil.isWhiteSpace(text.charAt(removalEnd))) {
+                removalEnd++;
+            }
+            int removalStart = start;
+            if (removalEnd == lineEnd) {
+                removalEnd = end;
+                while (removalStart > lineStart && StringUtil.isWhiteSpace(text.charAt(removalStart - 1))) {
+                    removalStart--;
+                }
+            }
+            document.deleteString(removalStart, removalEnd);
+        }
+    }
+}
@@ -72,7 +72,7 @@ public final class SelectFocusedTagAction extends AnActionButton {
     private static void locateAndSelectGherkinTag(Project project, PsiFile psiFile, PsiElement elementAtCaret) {
         //Fetch the Gherkin tag tool window UI component, so that we can work the underlying JTree and its model
         var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
-        if (gherkinTagsToolWindow == null) return;
+        if (gherkinTagsToolWindow == null || getGherkinTagOverViewPanel(gherkinTagsToolWindow) == null) return;
 
         var tagLocator = new TagLocator(gherkinTagsToolWindow, elementAtCaret, project);
         var layout = GherkinTagsToolWindowSettings.getInstance(project).layout;
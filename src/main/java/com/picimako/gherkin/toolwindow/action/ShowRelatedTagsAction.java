@@ -0,0 +1,84 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagOverViewPanel;
+import static com.picimako.gherkin.toolwindow.GherkinTagToolWindowUtil.getGherkinTagsToolWindow;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.popup.JBPopupFactory;
+import com.intellij.ui.SimpleListCellRenderer;
+import com.picimako.gherkin.toolwindow.GherkinTagTree;
+import com.picimako.gherkin.toolwindow.GherkinTagTreeModel;
+import com.picimako.gherkin.toolwindow.TagCoOccurrences.RelatedTag;
+import com.picimako.gherkin.toolwindow.TagExpression;
+import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Lists the tags most often used in the same files as the tag selected in the Gherkin Tags tool window, along with the number
+ * of shared files and the Jaccard similarity of the two tags. This helps finding redundant or always-paired tags.
+ * <p>
+ * Choosing a related tag filters the tool window to the files both tags are used in.
+ *
+ * @see com.picimako.gherkin.toolwindow.TagCoOccurrences
+ * @since 1.13.0
+ */
+public final class ShowRelatedTagsAction extends AnAction {
+    private static final int MAX_RELATED_TAGS = 20;
+    private final Project project;
+
+    public ShowRelatedTagsAction(Project project) {
+        super(message("g.o.toolwindow.related.tags"), message("g.o.toolwindow.related.tags.description"), AllIcons.Actions.Find);
+        this.project = project;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        if (tree == null || !(tree.getLastSelectedPathComponent() instanceof Tag tag) || !(tree.getModel() instanceof GherkinTagTreeModel model)) {
+            return;
+        }
+
+        String tagName = tag.getDisplayName();
+        var relatedTags = model.relatedTagsOf(tagName, MAX_RELATED_TAGS);
+        if (relatedTags.isEmpty()) {
+            JBPopupFactory.getInstance().createMessage(message("g.o.toolwindow.related.tags.none", tagName)).showInBestPositionFor(e.getDataContext());
+            return;
+        }
+
+        JBPopupFactory.getInstance()
+            .createPopupChooserBuilder(relatedTags)
+            .setTitle(message("g.o.toolwindow.related.tags.title", tagName))
+            .setRenderer(SimpleListCellRenderer.<RelatedTag>create("",
+                relatedTag -> message("g.o.toolwindow.related.tags.item", relatedTag.name(), relatedTag.sharedFileCount(), relatedTag.jaccard())))
+            .setItemChosenCallback(relatedTag -> showFilesOfBoth(tagName, relatedTag.name()))
+            .createPopup()
+            .showInBestPositionFor(e.getDataContext());
+    }
+
+    private void showFilesOfBoth(String tagName, String relatedTagName) {
+        var gherkinTagsToolWindow = getGherkinTagsToolWindow(project);
+        var overviewPanel = gherkinTagsToolWindow != null ? getGherkinTagOverViewPanel(gherkinTagsToolWindow) : null;
+        if (overviewPanel != null) {
+            overviewPanel.setTagExpression(TagExpression.parse(TagExpression.asTag(tagName) + " and " + TagExpression.asTag(relatedTagName)));
+        }
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        e.getPresentation().setEnabled(tree != null && tree.getLastSelectedPathComponent() instanceof Tag);
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
@@ -0,0 +1,54 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.intellij.util.containers.ContainerUtil.map;
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.ActionUpdateThread;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.project.Project;
+import com.picimako.gherkin.toolwindow.GherkinTagTree;
+import com.picimako.gherkin.toolwindow.GherkinTagTreeModel;
+import com.picimako.gherkin.toolwindow.nodetype.Category;
+import com.picimako.gherkin.toolwindow.nodetype.Tag;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Shows a heat map of how often the tags of the category selected in the Gherkin Tags tool window are used in the same files,
+ * counted in the whole project.
+ *
+ * @see TagCoOccurrenceDialog
+ * @since 1.13.0
+ */
+public final class ShowTagCoOccurrencesAction extends AnAction {
+    private final Project project;
+
+    public ShowTagCoOccurrencesAction(Project project) {
+        super(message("g.o.toolwindow.co.occurrences"), message("g.o.toolwindow.co.occurrences.description"), AllIcons.Actions.ShowAsTree);
+        this.project = project;
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        if (tree != null && tree.getLastSelectedPathComponent() instanceof Category category && tree.getModel() instanceof GherkinTagTreeModel model) {
+            var matrix = model.coOccurrencesOf(map(category.getTags(), Tag::getDisplayName));
+            new TagCoOccurrenceDialog(project, category.getDisplayName(), matrix).show();
+        }
+    }
+
+    @Override
+    public void update(@NotNull AnActionEvent e) {
+        var tree = (GherkinTagTree) e.getData(PlatformDataKeys.CONTEXT_COMPONENT);
+        e.getPresentation().setEnabled(tree != null && tree.getLastSelectedPathComponent() instanceof Category category && category.hasTag());
+    }
+
+    @Override
+    public @NotNull ActionUpdateThread getActionUpdateThread() {
+        return ActionUpdateThread.BGT;
+    }
+}
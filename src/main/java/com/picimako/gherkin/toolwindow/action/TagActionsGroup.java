@@ -16,6 +16,6 @@ public final class TagActionsGroup extends DefaultActionGroup {
     @Override
     public AnAction @NotNull [] getChildren(@Nullable AnActionEvent e) {
         var project = e.getData(CommonDataKeys.PROJECT);
-        return project != null ? new AnAction[]{new DeleteAllTagOccurrencesAction(project)} : AnAction.EMPTY_ARRAY;
+        return project != null ? new AnAction[]{new RenameTagAction(project), new DeleteAllTagOccurrencesAction(project), new ShowRelatedTagsAction(project)} : AnAction.EMPTY_ARRAY;
     }
 }
@@ -0,0 +1,115 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static com.picimako.gherkin.resources.GherkinBundle.message;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.ColorUtil;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.table.JBTable;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+import com.picimako.gherkin.toolwindow.TagCoOccurrences.CoOccurrenceMatrix;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Displays the co-occurrence counts of the tags of a category as a heat map: each cell holds the number of files both
+ * the row and the column tag are used in, and is colored by the Jaccard similarity of the two tags.
+ *
+ * @since 1.13.0
+ */
+final class TagCoOccurrenceDialog extends DialogWrapper {
+    private static final Color HEAT_COLOR = JBColor.namedColor("GherkinOverview.heatMap.hot", new JBColor(0xE06C4C, 0xB5533A));
+    private final CoOccurrenceMatrix matrix;
+
+    TagCoOccurrenceDialog(Project project, String categoryName, CoOccurrenceMatrix matrix) {
+        super(project);
+        this.matrix = matrix;
+        setTitle(message("g.o.toolwindow.co.occurrences.title", categoryName));
+        setModal(false);
+        init();
+    }
+
+    @Override
+    protected @Nullable JComponent createCenterPanel() {
+        var table = new JBTable(new MatrixTableModel(matrix));
+        table.setDefaultRenderer(Integer.class, new HeatMapCellRenderer(matrix));
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.getTableHeader().setReorderingAllowed(false);
+        var scrollPane = new JBScrollPane(table);
+        scrollPane.setPreferredSize(JBUI.size(600, 400));
+        return scrollPane;
+    }
+
+    @Override
+    protected Action @Nullable [] createActions() {
+        return new Action[]{getOKAction()};
+    }
+
+    /**
+     * The first column holds the tag names, the rest of the columns hold the shared file counts.
+     */
+    private static final class MatrixTableModel extends AbstractTableModel {
+        private final CoOccurrenceMatrix matrix;
+
+        MatrixTableModel(CoOccurrenceMatrix matrix) {
+            this.matrix = matrix;
+        }
+
+        @Override
+        public int getRowCount() {
+            return matrix.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return matrix.size() + 1;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "" : matrix.tagNames().get(column - 1);
+        }
+
+        @Override
+        public Class<?> getColumnClass(int column) {
+            return column == 0 ? String.class : Integer.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            return column == 0 ? matrix.tagNames().get(row) : matrix.sharedFileCount(row, column - 1);
+        }
+    }
+
+    private static final class HeatMapCellRenderer extends DefaultTableCellRenderer {
+        private final CoOccurrenceMatrix matrix;
+
+        HeatMapCellRenderer(CoOccurrenceMatrix matrix) {
+            this.matrix = matrix;
+            setHorizontalAlignment(SwingConstants.CENTER);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected, boolean hasFocus, int row, int column) {
+            super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            int tagIndex = table.convertColumnIndexToModel(column) - 1;
+            double jaccard = row == tagIndex ? 0 : matrix.jaccard(row, tagIndex);
+            if (!isSelected) {
+                setBackground(ColorUtil.mix(UIUtil.getTableBackground(), HEAT_COLOR, jaccard));
+            }
+            //The diagonal holds the file counts of the tags themselves
+            setToolTipText(row == tagIndex ? null : message("g.o.toolwindow.co.occurrences.cell.tooltip",
+                matrix.tagNames().get(row), matrix.tagNames().get(tagIndex), value, jaccard));
+            return this;
+        }
+    }
+}
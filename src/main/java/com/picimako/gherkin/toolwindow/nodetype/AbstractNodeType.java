@@ -9,7 +9,9 @@ import java.util.function.Supplier;
 
 import com.intellij.openapi.project.Project;
 
+import com.picimako.gherkin.resources.GherkinBundle;
 import com.picimako.gherkin.toolwindow.GherkinTagsToolWindowSettings;
+import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
 
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
@@ -29,18 +31,45 @@ public abstract class AbstractNodeType implements NodeType {
 
     /**
      * Return a toString value based on what type of statistics should be displayed in the Gherkin Tags tool window.
+     * <p>
+     * With the effective scenario count statistics, only the display name is returned, since summing up the scenario counts
+     * of tags would count scenarios having multiple tags multiple times.
      *
      * @param simplified the toString supplier for the Simplified statistics
      * @param detailed   the toString supplier for the Detailed statistics
      */
     public String getToString(Supplier<String> simplified, Supplier<String> detailed) {
+        return getToString(simplified, detailed, () -> displayName);
+    }
+
+    /**
+     * Return a toString value based on what type of statistics should be displayed in the Gherkin Tags tool window.
+     *
+     * @param simplified the toString supplier for the Simplified statistics
+     * @param detailed   the toString supplier for the Detailed statistics
+     * @param scenarios  the toString supplier for the effective scenario count statistics
+     * @since 1.13.0
+     */
+    public String getToString(Supplier<String> simplified, Supplier<String> detailed, Supplier<String> scenarios) {
         return switch (GherkinTagsToolWindowSettings.getInstance(project).statisticsType) {
             case SIMPLIFIED -> simplified.get();
             case DETAILED -> detailed.get();
+            case SCENARIOS -> scenarios.get();
             default -> displayName;
         };
     }
 
+    /**
+     * Returns the display name with the argument effective scenario count, or only the display name if the count is not known.
+     *
+     * @since 1.13.0
+     */
+    protected String scenariosToString(int scenarioCount) {
+        return scenarioCount != TagOccurrencesRegistry.UNKNOWN_COUNT
+            ? GherkinBundle.message("g.o.toolwindow.stats.scenarios", displayName, scenarioCount)
+            : displayName;
+    }
+
     /**
      * Returns true if this node has the given name, false otherwise.
      */
@@ -25,7 +25,7 @@ import org.jetbrains.annotations.NotNull;
  */
 public final class Category extends AbstractNodeType {
 
-    static final String OTHER_CATEGORY_NAME = "Other";
+    public static final String OTHER_CATEGORY_NAME = "Other";
     @Getter
     private final List<Tag> tags = new SmartList<>();
 
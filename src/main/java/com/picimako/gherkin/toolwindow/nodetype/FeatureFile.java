@@ -2,16 +2,19 @@
 
 package com.picimako.gherkin.toolwindow.nodetype;
 
+import java.util.List;
 import java.util.Objects;
 
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectUtil;
 import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.containers.ContainerUtil;
 import lombok.Getter;
 import org.jetbrains.annotations.NotNull;
 
 import com.picimako.gherkin.resources.GherkinBundle;
+import com.picimako.gherkin.toolwindow.TagOccurrenceLocator;
 import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
 
 /**
@@ -20,12 +23,20 @@ import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
  * This is a wrapper for a {@link VirtualFile}, so that statistics information from them can be queried
  * and stored. For this reason, it also stores the tag's name this file is assigned to, so that it knows the occurrence
  * count of which tag it should display.
+ * <p>
+ * The individual occurrences of the tag in the file are available as {@link TagOccurrence} child nodes. They are created
+ * only when this node is expanded, from the occurrence offsets stored in {@link TagOccurrencesRegistry}.
  */
 public final class FeatureFile extends AbstractNodeType {
 
     @Getter
     private final VirtualFile file;
     private final String parentTag;
+    /**
+     * The occurrences of the parent tag in this file, and the modification count of {@link TagOccurrencesRegistry} they were located at.
+     */
+    private List<TagOccurrence> occurrences;
+    private long occurrencesStamp = -1;
 
     public FeatureFile(@NotNull VirtualFile file, String parentTag, Project project) {
         super(file.getName(), project);
@@ -84,14 +95,61 @@ public final class FeatureFile extends AbstractNodeType {
     @Override
     public String toString() {
         return getToString(
-            () -> displayName + " (" + count() + ")",
-            () -> GherkinBundle.message("g.o.toolwindow.stats.feature.file.detailed", displayName, count()));
+            () -> displayName + " (" + occurrenceCount() + ")",
+            () -> GherkinBundle.message("g.o.toolwindow.stats.feature.file.detailed", displayName, occurrenceCount()),
+            () -> scenariosToString(scenarioCount()));
     }
 
-    private int count() {
+    /**
+     * Returns the number of occurrences of the parent tag in this file.
+     *
+     * @since 1.13.0
+     */
+    public int occurrenceCount() {
         return TagOccurrencesRegistry.getInstance(project).getCountFor(file.getPath(), parentTag);
     }
 
+    /**
+     * Returns the number of scenarios and examples rows the parent tag effectively applies to in this file,
+     * or {@link TagOccurrencesRegistry#UNKNOWN_COUNT} if it is not known.
+     *
+     * @since 1.13.0
+     */
+    public int scenarioCount() {
+        return TagOccurrencesRegistry.getInstance(project).getScenarioCountFor(file.getPath(), parentTag);
+    }
+
+    /**
+     * Returns whether the parent tag's occurrence offsets are known in this file, so that this node can be expanded.
+     *
+     * @since 1.13.0
+     */
+    public boolean hasOccurrences() {
+        var offsets = TagOccurrencesRegistry.getInstance(project).getOffsetsFor(file.getPath(), parentTag);
+        return offsets != null && offsets.length > 0;
+    }
+
+    /**
+     * Returns the occurrences of the parent tag in this file, located from the file's text, without accessing the PSI.
+     * <p>
+     * They are cached until the tag occurrences change in any file.
+     *
+     * @since 1.13.0
+     */
+    @NotNull
+    public List<TagOccurrence> getOccurrences() {
+        var registry = TagOccurrencesRegistry.getInstance(project);
+        long modificationCount = registry.getModificationCount();
+        if (occurrencesStamp != modificationCount) {
+            var offsets = registry.getOffsetsFor(file.getPath(), parentTag);
+            occurrences = offsets != null
+                ? ContainerUtil.map(TagOccurrenceLocator.locate(file, offsets), location -> new TagOccurrence(file, location, project))
+                : List.of();
+            occurrencesStamp = modificationCount;
+        }
+        return occurrences;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -12,6 +12,7 @@ import static com.picimako.gherkin.toolwindow.nodetype.ContentRoot.Type.MODULE;
 import com.google.common.annotations.VisibleForTesting;
 import com.intellij.openapi.module.ModuleUtilCore;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.intellij.util.SmartList;
 import com.picimako.gherkin.toolwindow.GherkinTagsToolWindowSettings;
@@ -82,6 +83,28 @@ public final class ModelDataRoot extends AbstractNodeType implements CategoriesH
         }
     }
 
+    /**
+     * Takes over the model data the argument root has been initialized with, e.g. when it has been built in the background
+     * for a layout this root hasn't been initialized for yet. The data this root has been initialized with for other layouts is kept.
+     *
+     * @param other the root to take the data of, it must not be used afterward
+     * @since 1.13.0
+     */
+    public void takeOverDataOf(ModelDataRoot other) {
+        if (other.isInitializedAsProjectData()) {
+            if (categories != null) {
+                categories.forEach(Category::dispose);
+            }
+            categories = other.categories;
+        }
+        if (other.isInitializedAsContentRootData()) {
+            if (contentRoots != null) {
+                contentRoots.forEach(ContentRoot::dispose);
+            }
+            contentRoots = other.contentRoots;
+        }
+    }
+
     public boolean isInitializedAsProjectData() {
         return categories != null;
     }
@@ -125,8 +148,20 @@ public final class ModelDataRoot extends AbstractNodeType implements CategoriesH
      */
     @Nullable
     public ContentRoot findContentRootOrRootless(PsiFile bddFile) {
-        var contentRootForFile = ModuleUtilCore.findModuleForFile(bddFile);
-        if (bddFile.getVirtualFile().isValid()) {
+        return findContentRootOrRootless(bddFile.getVirtualFile());
+    }
+
+    /**
+     * Finds the {@link ContentRoot} the argument file is contained by.
+     *
+     * @param bddFile the file to find the content root of
+     * @return the content root the file is/was linked to, or the catch-all content root
+     * @see #findContentRootOrRootless(PsiFile)
+     */
+    @Nullable
+    public ContentRoot findContentRootOrRootless(VirtualFile bddFile) {
+        if (bddFile.isValid()) {
+            var contentRootForFile = ModuleUtilCore.findModuleForFile(bddFile, project);
             return contentRootForFile == null
                 ? getContentRoot(getRootless(), ROOTLESS_CONTENT_ROOT_NAME)  //if file doesn't belong to any content root
                 : getContentRoot(getContentRoot(contentRootForFile.getName()), contentRootForFile.getName()); //if has content root added with name
@@ -134,7 +169,7 @@ public final class ModelDataRoot extends AbstractNodeType implements CategoriesH
 
         //If Gherkin or Story file is not valid, thus has just been deleted
         for (var contentRoot : contentRoots) {
-            if (contentRoot.hasFileMapped(bddFile.getVirtualFile())) {
+            if (contentRoot.hasFileMapped(bddFile)) {
                 return contentRoot;
             }
         }
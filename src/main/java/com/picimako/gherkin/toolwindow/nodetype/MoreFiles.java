@@ -0,0 +1,64 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.nodetype;
+
+import com.intellij.openapi.project.Project;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import com.picimako.gherkin.resources.GherkinBundle;
+import com.picimako.gherkin.toolwindow.GherkinTagTreeModel;
+
+/**
+ * Represents the files of a {@link Tag} that are not yet shown in the tool window, displayed after the shown ones,
+ * e.g. {@code Show next 100 files} and {@code Show all 2345 remaining files}.
+ * <p>
+ * Tags with a large number of files show them page by page, so that expanding them doesn't lay out and render
+ * thousands of rows at once. Activating this node shows the next page, or all remaining files of the tag.
+ *
+ * @see GherkinTagTreeModel#FILE_PAGE_SIZE
+ * @since 1.13.0
+ */
+public final class MoreFiles extends AbstractNodeType {
+
+    @Getter
+    private final Tag tag;
+    /**
+     * Whether activating this node shows all remaining files, or only the next page of them.
+     */
+    @Getter
+    private final boolean isShowAll;
+
+    /**
+     * @param tag       the tag whose files are shown
+     * @param isShowAll whether this node shows all remaining files, or only the next page of them
+     * @param fileCount the number of files this node shows
+     */
+    public MoreFiles(@NotNull Tag tag, boolean isShowAll, int fileCount, Project project) {
+        super(GherkinBundle.message(isShowAll ? "g.o.toolwindow.more.files.all" : "g.o.toolwindow.more.files.next", fileCount), project);
+        this.tag = tag;
+        this.isShowAll = isShowAll;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    /**
+     * The nodes are equal by their tags and kinds, regardless of the number of files, so that they are
+     * found in the tree after showing more files.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        MoreFiles that = (MoreFiles) o;
+        return tag == that.tag && isShowAll == that.isShowAll;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * System.identityHashCode(tag) + Boolean.hashCode(isShowAll);
+    }
+}
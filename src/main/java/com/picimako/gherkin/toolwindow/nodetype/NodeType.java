@@ -30,6 +30,15 @@ public interface NodeType extends Sortable, Disposable {
         return (Tag) node;
     }
 
+    /**
+     * Returns the argument object as a {@link FeatureFile}.
+     *
+     * @since 1.13.0
+     */
+    static FeatureFile asFeatureFile(Object node) {
+        return (FeatureFile) node;
+    }
+
     @Override
     default void dispose() {
     }
@@ -33,6 +33,19 @@ public final class Tag extends AbstractNodeType {
 
     @Getter
     private final List<FeatureFile> featureFiles = new SmartList<>();
+    /**
+     * The effective scenario count of this tag, and the modification count of {@link TagOccurrencesRegistry} it was calculated at.
+     */
+    private int scenarioCount;
+    private long scenarioCountStamp = -1;
+    /**
+     * Incremented whenever files are added to, removed from or reordered in this tag, so that data derived from
+     * the positions of the files can be invalidated.
+     *
+     * @since 1.13.0
+     */
+    @Getter
+    private int modificationCount;
 
     /**
      * The reason a VirtualFile is required is that a tag is displayed only when it has at least one Gherkin file
@@ -68,6 +81,8 @@ public final class Tag extends AbstractNodeType {
     public Tag add(@NotNull VirtualFile file) {
         if (!this.contains(file)) {
             featureFiles.add(new FeatureFile(file, displayName, project));
+            scenarioCountStamp = -1;
+            modificationCount++;
             updateDisplayNames(file);
         }
         return this;
@@ -98,6 +113,8 @@ public final class Tag extends AbstractNodeType {
      */
     public void remove(@NotNull VirtualFile file) {
         featureFiles.removeIf(featureFile -> featureFile.getPath().equals(file.getPath()));
+        scenarioCountStamp = -1;
+        modificationCount++;
 
         if (featureFiles.size() == 1) {
             featureFiles.getFirst().resetDisplayName();
@@ -158,6 +175,7 @@ public final class Tag extends AbstractNodeType {
     public void sort() {
         if (featureFiles.size() > 1) {
             featureFiles.sort(comparing(featureFile -> featureFile.getName().toLowerCase()));
+            modificationCount++;
         }
     }
 
@@ -165,7 +183,37 @@ public final class Tag extends AbstractNodeType {
     public String toString() {
         return getToString(
             () -> displayName + " (" + occurrenceCount() + ")",
-            () -> GherkinBundle.message("g.o.toolwindow.stats.tag.detailed", displayName, occurrenceCount(), featureFiles.size()));
+            () -> GherkinBundle.message("g.o.toolwindow.stats.tag.detailed", displayName, occurrenceCount(), featureFiles.size()),
+            () -> scenariosToString(scenarioCount()));
+    }
+
+    /**
+     * Gets the number of scenarios and examples rows this tag effectively applies to in its files, including the ones
+     * it is inherited by from Features and Rules.
+     * <p>
+     * The count is cached until the tag occurrences change in any file, or files are added to or removed from this tag,
+     * so rendering this node doesn't sum up the counts of its files each time.
+     *
+     * @return the scenario count, or {@link TagOccurrencesRegistry#UNKNOWN_COUNT} if it is not known in any of the files
+     * @since 1.13.0
+     */
+    public int scenarioCount() {
+        var registry = TagOccurrencesRegistry.getInstance(project);
+        long modificationCount = registry.getModificationCount();
+        if (scenarioCountStamp != modificationCount) {
+            int count = 0;
+            for (var file : featureFiles) {
+                int countInFile = registry.getScenarioCountFor(file.getPath(), displayName);
+                if (countInFile == TagOccurrencesRegistry.UNKNOWN_COUNT) {
+                    count = TagOccurrencesRegistry.UNKNOWN_COUNT;
+                    break;
+                }
+                count += countInFile;
+            }
+            scenarioCount = count;
+            scenarioCountStamp = modificationCount;
+        }
+        return scenarioCount;
     }
 
     /**
@@ -173,7 +221,7 @@ public final class Tag extends AbstractNodeType {
      * <p>
      * It goes through only those files that this is actually in.
      */
-    int occurrenceCount() {
+    public int occurrenceCount() {
         var registry = TagOccurrencesRegistry.getInstance(project);
         return featureFiles.stream()
             .mapToInt(file -> registry.getCountFor(file.getPath(), displayName))
@@ -188,5 +236,6 @@ public final class Tag extends AbstractNodeType {
     @Override
     public void dispose() {
         featureFiles.clear();
+        modificationCount++;
     }
 }
@@ -0,0 +1,54 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.nodetype;
+
+import java.util.Objects;
+
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.VirtualFile;
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+
+import com.picimako.gherkin.resources.GherkinBundle;
+import com.picimako.gherkin.toolwindow.TagOccurrenceLocator;
+
+/**
+ * Represents a single occurrence of a tag in a Gherkin or Story file, displayed under its {@link FeatureFile}
+ * with the number of the line it is in, and the scenario it applies to, e.g. {@code Line 12: Scenario: Log in}.
+ *
+ * @since 1.13.0
+ */
+public final class TagOccurrence extends AbstractNodeType {
+
+    @Getter
+    private final VirtualFile file;
+    @Getter
+    private final int offset;
+
+    public TagOccurrence(@NotNull VirtualFile file, @NotNull TagOccurrenceLocator.Location location, Project project) {
+        super(location.scenarioName().isEmpty()
+                ? GherkinBundle.message("g.o.toolwindow.tag.occurrence.line", location.lineNumber())
+                : GherkinBundle.message("g.o.toolwindow.tag.occurrence", location.lineNumber(), location.scenarioName()),
+            project);
+        this.file = file;
+        this.offset = location.offset();
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        TagOccurrence that = (TagOccurrence) o;
+        return offset == that.offset && Objects.equals(file.getPath(), that.file.getPath());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(file.getPath(), offset);
+    }
+}
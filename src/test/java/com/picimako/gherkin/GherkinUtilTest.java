@@ -14,6 +14,17 @@ import org.junit.jupiter.api.Test;
  */
 final class GherkinUtilTest extends GherkinOverviewTestBase {
 
+    //collectGherkinFilesFromProject
+
+    @Test
+    void collectGherkinFilesFromProject() {
+        var gherkinFile = copyFileToProject("the_gherkin.feature");
+        var otherGherkinFile = copyFileToProject("A_gherkin.feature");
+        copyFileToProject("Story.story");
+
+        assertThat(GherkinUtil.collectGherkinFilesFromProject(getProject())).containsExactlyInAnyOrder(gherkinFile, otherGherkinFile);
+    }
+
     //collectGherkinTagsFromFile
 
     @Test
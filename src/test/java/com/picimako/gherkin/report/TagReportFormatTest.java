@@ -0,0 +1,89 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagReportFormat}.
+ */
+final class TagReportFormatTest extends GherkinOverviewTestBase {
+
+    private static final TagReport REPORT = new TagReport("project", 3, List.of(
+        new TagReport.CategoryStatistics("Browser", List.of(new TagReport.TagStatistics("chrome", 3, 2, 5))),
+        new TagReport.CategoryStatistics("Other", List.of(new TagReport.TagStatistics("Suite:smoke, \"fast\" <ui>", 1, 1, 1)))));
+
+    @Test
+    void writesJson() throws IOException {
+        assertThat(write(TagReportFormat.JSON)).isEqualTo("""
+            {
+              "project": "project",
+              "files": 3,
+              "categories": [
+                {
+                  "name": "Browser",
+                  "tags": [
+                    {
+                      "name": "chrome",
+                      "occurrences": 3,
+                      "files": 2,
+                      "scenarios": 5
+                    }
+                  ]
+                },
+                {
+                  "name": "Other",
+                  "tags": [
+                    {
+                      "name": "Suite:smoke, \\"fast\\" <ui>",
+                      "occurrences": 1,
+                      "files": 1,
+                      "scenarios": 1
+                    }
+                  ]
+                }
+              ]
+            }
+            """);
+    }
+
+    @Test
+    void writesCsv() throws IOException {
+        assertThat(write(TagReportFormat.CSV)).isEqualTo("""
+            category,tag,occurrences,files,scenarios
+            Browser,chrome,3,2,5
+            Other,"Suite:smoke, ""fast"" <ui>",1,1,1
+            """);
+    }
+
+    @Test
+    void writesHtml() throws IOException {
+        assertThat(write(TagReportFormat.HTML))
+            .contains("<h1>Gherkin Tags - project</h1>")
+            .contains("<p>3 files with tags</p>")
+            .contains("<h2>Browser</h2>")
+            .contains("<tr><td>chrome</td><td>3</td><td>2</td><td>5</td></tr>")
+            .contains("<tr><td>Suite:smoke, &quot;fast&quot; &lt;ui&gt;</td><td>1</td><td>1</td><td>1</td></tr>");
+    }
+
+    @Test
+    void returnsFormatForName() {
+        assertThat(TagReportFormat.fromName("csv")).isEqualTo(TagReportFormat.CSV);
+        assertThatIllegalArgumentException().isThrownBy(() -> TagReportFormat.fromName("xml"))
+            .withMessage("Unknown report format: xml");
+    }
+
+    private static String write(TagReportFormat format) throws IOException {
+        var writer = new StringWriter();
+        format.write(REPORT, writer);
+        return writer.toString();
+    }
+}
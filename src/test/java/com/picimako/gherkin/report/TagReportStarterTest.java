@@ -0,0 +1,46 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import com.picimako.gherkin.report.TagReportStarter.ReportArguments;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagReportStarter}.
+ */
+final class TagReportStarterTest extends GherkinOverviewTestBase {
+
+    //ReportArguments.parse
+
+    @Test
+    void parsesProjectPathWithDefaults() {
+        var arguments = ReportArguments.parse(List.of("gherkinOverview", "/work/project"));
+
+        assertThat(arguments).isEqualTo(new ReportArguments(Path.of("/work/project").toAbsolutePath(), TagReportFormat.JSON, null));
+    }
+
+    @Test
+    void parsesFormatAndOutput() {
+        var arguments = ReportArguments.parse(List.of("gherkinOverview", "--format", "html", "/work/project", "--output", "/work/report.html"));
+
+        assertThat(arguments).isEqualTo(
+            new ReportArguments(Path.of("/work/project").toAbsolutePath(), TagReportFormat.HTML, Path.of("/work/report.html")));
+    }
+
+    @Test
+    void rejectsInvalidArguments() {
+        assertThatIllegalArgumentException().isThrownBy(() -> ReportArguments.parse(List.of("gherkinOverview")))
+            .withMessage("The project path is missing.");
+        assertThatIllegalArgumentException().isThrownBy(() -> ReportArguments.parse(List.of("gherkinOverview", "/work/project", "--format")))
+            .withMessage("The value of --format is missing.");
+        assertThatIllegalArgumentException().isThrownBy(() -> ReportArguments.parse(List.of("gherkinOverview", "/work/project", "--verbose")))
+            .withMessage("Unexpected argument: --verbose");
+    }
+}
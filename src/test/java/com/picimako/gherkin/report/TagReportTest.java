@@ -0,0 +1,51 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagReport}.
+ */
+final class TagReportTest extends GherkinOverviewTestBase {
+
+    @Test
+    void collectsReport() {
+        copyFileToProject("A_gherkin.feature");
+
+        var report = TagReport.collect(getProject());
+
+        assertThat(report.projectName()).isEqualTo(getProject().getName());
+        assertThat(report.fileCount()).isOne();
+        assertThat(report.categories()).extracting(TagReport.CategoryStatistics::name)
+            .containsExactly("Browser", "Device", "Excluded", "Other", "Test Suite");
+        assertThat(report.categories().getFirst().tags()).containsExactly(
+            new TagReport.TagStatistics("chrome", 1, 1, 0),
+            new TagReport.TagStatistics("edge", 1, 1, 2),
+            new TagReport.TagStatistics("ff", 1, 1, 1));
+    }
+
+    @Test
+    void aggregatesTagStatisticsOfFiles() {
+        copyFileToProject("A_gherkin.feature");
+        copyFileToProject("the_gherkin.feature");
+
+        var report = TagReport.collect(getProject());
+
+        assertThat(report.fileCount()).isEqualTo(2);
+        assertThat(report.categories().getFirst().tags()).contains(
+            new TagReport.TagStatistics("chrome", 2, 2, 1),
+            new TagReport.TagStatistics("edge", 2, 2, 2));
+    }
+
+    @Test
+    void collectsEmptyReportForProjectWithoutTags() {
+        var report = TagReport.collect(getProject());
+
+        assertThat(report.fileCount()).isZero();
+        assertThat(report.categories()).isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.settings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link CategoryAndTags}.
+ */
+final class CategoryAndTagsTest extends GherkinOverviewTestBase {
+
+    @Test
+    void parsesExactTagNamesAndPatterns() {
+        var parsedTags = new CategoryAndTags("Jira", " JIRA-1, ,#^[A-Z]+-[0-9]+$,#[invalid, smoke ").getParsedTags();
+
+        assertThat(parsedTags.exactNames()).containsExactly("JIRA-1", "smoke");
+        assertThat(parsedTags.patterns()).map(Pattern::pattern).containsExactly("^[A-Z]+-[0-9]+$");
+        assertThat(parsedTags.ignoreCase()).isFalse();
+    }
+
+    @Test
+    void parsesCaseInsensitiveTags() {
+        var parsedTags = new CategoryAndTags("Browser", "Chrome,#^edge.*$", true).getParsedTags();
+
+        assertThat(parsedTags.exactNames()).containsExactly("chrome");
+        assertThat(parsedTags.patterns().getFirst().matcher("EDGE-11").matches()).isTrue();
+    }
+
+    @Test
+    void reparsesTagsAfterModification() {
+        var categoryAndTags = new CategoryAndTags("Browser", "chrome");
+        var parsedTags = categoryAndTags.getParsedTags();
+
+        assertThat(categoryAndTags.getParsedTags()).isSameAs(parsedTags);
+
+        categoryAndTags.setTags("chrome,edge");
+
+        assertThat(categoryAndTags.getParsedTags().exactNames()).containsExactly("chrome", "edge");
+    }
+
+    @Test
+    void changesContentHashOnModification() {
+        var categoryAndTags = new CategoryAndTags("Browser", "chrome");
+        long hash = categoryAndTags.contentHash();
+
+        assertThat(new CategoryAndTags("Browser", "chrome").contentHash()).isEqualTo(hash);
+        assertThat(categoryAndTags.clone().contentHash()).isEqualTo(hash);
+
+        categoryAndTags.setIgnoreCase(true);
+        assertThat(categoryAndTags.contentHash()).isNotEqualTo(hash);
+
+        categoryAndTags.setIgnoreCase(false);
+        categoryAndTags.setCategory("Browsers");
+        assertThat(categoryAndTags.contentHash()).isNotEqualTo(hash);
+    }
+
+    @Test
+    void takesOrderOfMappingsIntoAccountInContentHash() {
+        var browser = new CategoryAndTags("Browser", "chrome");
+        var device = new CategoryAndTags("Device", "mobile");
+
+        assertThat(CategoryAndTags.contentHashOf(List.of(browser, device)))
+            .isEqualTo(CategoryAndTags.contentHashOf(List.of(browser.clone(), device.clone())))
+            .isNotEqualTo(CategoryAndTags.contentHashOf(List.of(device, browser)));
+        assertThat(CategoryAndTags.contentHashOf(List.of(new CategoryAndTags("ab", "c"))))
+            .isNotEqualTo(CategoryAndTags.contentHashOf(List.of(new CategoryAndTags("a", "bc"))));
+    }
+}
@@ -0,0 +1,42 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.settings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import java.util.List;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import com.picimako.gherkin.toolwindow.TagCategoryRegistry;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link CollectGherkinTagsPanelBuilder}.
+ */
+final class CollectGherkinTagsPanelBuilderTest extends GherkinOverviewTestBase {
+
+    @Test
+    void collectsTagNamesFromProject() {
+        copyFileToProject("the_gherkin.feature");
+        copyFileToProject("A_gherkin.feature");
+
+        var tagNames = new CollectGherkinTagsPanelBuilder(getProject()).collectTagNamesFromProject(new EmptyProgressIndicator());
+
+        assertThat(tagNames).contains("youtube", "chrome", "smoke").doesNotHaveDuplicates();
+    }
+
+    @Test
+    void mapsTagsToCategories() {
+        var mappings = CollectGherkinTagsPanelBuilder.mapToCategories(
+            List.of("tablet", "desktop", "JIRA-1234", "non-mapped"), new TagCategoryRegistry(getProject()));
+
+        assertThat(mappings)
+            .extracting(CategoryAndTags::getCategory, CategoryAndTags::getTags)
+            .containsExactlyInAnyOrder(
+                tuple("Device", "desktop,tablet"),
+                tuple("Jira", "JIRA-1234"),
+                tuple(null, "non-mapped"));
+    }
+}
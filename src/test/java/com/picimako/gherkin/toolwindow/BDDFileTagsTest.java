@@ -0,0 +1,149 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.SoftAssertions.assertSoftly;
+
+import java.util.Set;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link BDDFileTags}.
+ */
+final class BDDFileTagsTest extends GherkinOverviewTestBase {
+
+    @Test
+    void extractsGherkinTags() {
+        var gherkinFile = configureByText("gherkin.feature",
+            """
+                @smoke
+                Feature: A feature
+
+                  @regression
+                  Scenario:
+
+                  @jira @smoke @regression
+                  Scenario:""");
+
+        var fileTags = BDDFileTags.of(gherkinFile);
+
+        assertSoftly(s -> {
+            s.assertThat(fileTags.tagNames()).containsExactly("smoke", "regression", "jira");
+            s.assertThat(fileTags.countOf("smoke")).isEqualTo(2);
+            s.assertThat(fileTags.countOf("jira")).isOne();
+            s.assertThat(fileTags.countOf("e2e")).isZero();
+            s.assertThat(fileTags.offsetsOf("smoke")).containsExactly(0, 62);
+        });
+    }
+
+    @Test
+    void countsEffectiveScenariosWithInheritedTags() {
+        var gherkinFile = configureByText("gherkin.feature",
+            """
+                @smoke
+                Feature: A feature
+
+                  Background:
+                    Given a step
+
+                  @regression
+                  Scenario: First
+                    Given a step
+
+                  Rule: A rule
+
+                    @wip @smoke
+                    Scenario: Second
+                      Given a step
+
+                    @outline
+                    Scenario Outline: Third
+                      Given <value>
+
+                      Examples:
+                        | value |
+                        | 1     |
+                        | 2     |
+
+                      Examples:
+                        | value |
+                        | 3     |
+                """);
+
+        var fileTags = BDDFileTags.of(gherkinFile);
+
+        assertSoftly(s -> {
+            s.assertThat(fileTags.scenarioCountOf("smoke")).isEqualTo(5);
+            s.assertThat(fileTags.scenarioCountOf("regression")).isOne();
+            s.assertThat(fileTags.scenarioCountOf("wip")).isOne();
+            s.assertThat(fileTags.scenarioCountOf("outline")).isEqualTo(3);
+            s.assertThat(fileTags.scenarioCountOf("e2e")).isZero();
+        });
+    }
+
+    @Test
+    void collectsTagSetsOfScenariosWithInheritedTags() {
+        var gherkinFile = configureByText("gherkin.feature",
+            """
+                @smoke
+                Feature: A feature
+
+                  @regression
+                  Scenario: First
+                    Given a step
+
+                  Scenario: Second
+                    Given a step
+
+                  @outline
+                  Scenario Outline: Third
+                    Given <value>
+
+                    @e2e
+                    Examples:
+                      | value |
+                      | 1     |
+
+                    Examples:
+                      | value |
+
+                  @wip
+                  Scenario Outline: Fourth
+                    Given <value>
+                """);
+
+        var fileTags = BDDFileTags.of(gherkinFile);
+
+        assertThat(fileTags.scenarioTags()).containsExactly(
+            Set.of("smoke", "regression"),
+            Set.of("smoke"),
+            Set.of("smoke", "outline", "e2e"),
+            Set.of("smoke", "wip"));
+    }
+
+    @Test
+    void extractsStoryMetas() {
+        var storyFile = configureByFile("Story.story");
+
+        var fileTags = BDDFileTags.of(storyFile);
+
+        assertThat(fileTags.countOf("Disabled")).isEqualTo(2);
+    }
+
+    @Test
+    void extractsNothingFromFileWithoutTags() {
+        var gherkinFile = configureByText("gherkin.feature", "Feature: A feature");
+
+        assertThat(BDDFileTags.of(gherkinFile).tagNames()).isEmpty();
+    }
+
+    @Test
+    void reusesExtractionResultOfUnchangedFile() {
+        var gherkinFile = configureByText("gherkin.feature", "@smoke\nFeature: A feature");
+
+        assertThat(BDDFileTags.of(gherkinFile)).isSameAs(BDDFileTags.of(gherkinFile));
+    }
+}
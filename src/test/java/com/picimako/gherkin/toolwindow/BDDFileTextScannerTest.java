@@ -0,0 +1,30 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static com.intellij.openapi.application.ReadAction.computeBlocking;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link BDDFileTextScanner}.
+ */
+final class BDDFileTextScannerTest extends GherkinOverviewTestBase {
+
+    //scanProject
+
+    @Test
+    void scansGherkinFilesInProject() {
+        var theGherkin = copyFileToProject("the_gherkin.feature");
+        copyFileToProject("some_js_file.js");
+
+        var tagsByFile = computeBlocking(() -> BDDFileTextScanner.scanProject(getProject()));
+
+        assertThat(tagsByFile).containsOnlyKeys(theGherkin);
+        var psiTags = BDDFileTags.of(findPsiFile(theGherkin));
+        assertThat(tagsByFile.get(theGherkin)).containsOnlyKeys(psiTags.tagNames());
+        psiTags.tagNames().forEach(tagName -> assertThat(tagsByFile.get(theGherkin).get(tagName)).isEqualTo(psiTags.countOf(tagName)));
+    }
+}
@@ -4,13 +4,19 @@ package com.picimako.gherkin.toolwindow;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import com.github.kumaraman21.intellijbehave.language.StoryFileType;
 import com.intellij.openapi.util.Ref;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileSystem;
 import com.intellij.openapi.vfs.newvfs.events.VFileEvent;
+import com.intellij.openapi.vfs.newvfs.events.VFilePropertyChangeEvent;
 import com.picimako.gherkin.GherkinOverviewTestBase;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -27,6 +33,7 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
     void updatesGherkinFile() {
         VirtualFile gherkinFile = Mockito.mock();
         when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
 
         var isCalled = new Ref<>(false);
         var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
@@ -39,6 +46,7 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
     void updatesStoryFile() {
         VirtualFile storyFile = Mockito.mock();
         when(storyFile.getFileType()).thenReturn(StoryFileType.STORY_FILE_TYPE);
+        when(storyFile.getName()).thenReturn("Story.story");
 
         var isCalled = new Ref<>(false);
         var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
@@ -51,6 +59,7 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
     void doesntUpdateGherkinFileForDeleteEvent() {
         VirtualFile gherkinFile = Mockito.mock();
         when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
 
         var isCalled = new Ref<>(false);
         var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
@@ -63,6 +72,7 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
     void doesntUpdateGherkinFileForContentChangeEvent() {
         VirtualFile gherkinFile = Mockito.mock();
         when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
 
         var isCalled = new Ref<>(false);
         var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
@@ -71,6 +81,182 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
         assertThat(isCalled.get()).isFalse();
     }
 
+    @Test
+    void updatesRenamedGherkinFile() {
+        VirtualFile gherkinFile = Mockito.mock();
+        when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+
+        var isCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
+        listener.after(singletonList(new VFilePropertyChangeEvent(null, gherkinFile, VirtualFile.PROP_NAME, "old.feature", "the_gherkin.feature")));
+
+        assertThat(isCalled.get()).isTrue();
+    }
+
+    @Test
+    void doesntUpdateGherkinFileForNonRenamePropertyChange() {
+        VirtualFile gherkinFile = Mockito.mock();
+        when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+
+        var isCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
+        listener.after(singletonList(new VFilePropertyChangeEvent(null, gherkinFile, VirtualFile.PROP_WRITABLE, true, false)));
+
+        assertThat(isCalled.get()).isFalse();
+    }
+
+    @Test
+    void doesntResolveFileTypeOfNonBDDFile() {
+        VirtualFile javaFile = Mockito.mock();
+        when(javaFile.getName()).thenReturn("SomeClass.java");
+
+        var isCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
+        listener.after(singletonList(new VFileMoveEvent(javaFile)));
+
+        assertThat(isCalled.get()).isFalse();
+        verify(javaFile, never()).getFileType();
+    }
+
+    @Test
+    void doesntUpdateForIgnoredDirectory() {
+        VirtualFile directory = Mockito.mock();
+        when(directory.isDirectory()).thenReturn(true);
+        when(directory.isValid()).thenReturn(true);
+        when(directory.getName()).thenReturn(".git");
+
+        var isCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
+        listener.after(singletonList(new VFileMoveEvent(directory)));
+
+        assertThat(isCalled.get()).isFalse();
+    }
+
+    @Test
+    void updatesForDeletedDirectory() {
+        VirtualFile directory = Mockito.mock();
+        when(directory.isDirectory()).thenReturn(true);
+        when(directory.getName()).thenReturn("features");
+
+        var isCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isCalled.set(true), getProject());
+        listener.after(singletonList(new VFileDeleteEvent(directory)));
+
+        assertThat(isCalled.get()).isTrue();
+    }
+
+    //Bulk changes
+
+    @Test
+    void recordsDirtyFilesForBulkContentChanges() {
+        var events = new ArrayList<VFileEvent>();
+        for (int i = 0; i < FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT; i++) {
+            VirtualFile gherkinFile = Mockito.mock();
+            when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+            when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+            events.add(new VFileContentChangeEvent(gherkinFile));
+        }
+
+        var pendingChanges = PendingModelChanges.getInstance(getProject());
+        var isRebuildCalled = new Ref<>(false);
+        var isApplyCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isRebuildCalled.set(true), () -> isApplyCalled.set(true), getProject());
+
+        listener.before(events);
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isTrue();
+
+        listener.after(events);
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isFalse();
+        assertThat(pendingChanges.isRebuildPending()).isFalse();
+        assertThat(isRebuildCalled.get()).isFalse();
+        assertThat(isApplyCalled.get()).isTrue();
+        assertThat(pendingChanges.drain()).hasSize(FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT);
+    }
+
+    @Test
+    void requestsRebuildForBulkChangesWithMove() {
+        var events = new ArrayList<VFileEvent>();
+        for (int i = 0; i < FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT; i++) {
+            VirtualFile gherkinFile = Mockito.mock();
+            when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+            when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+            events.add(i == 0 ? new VFileMoveEvent(gherkinFile) : new VFileDeleteEvent(gherkinFile));
+        }
+
+        var pendingChanges = PendingModelChanges.getInstance(getProject());
+        var isApplyCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> {}, () -> isApplyCalled.set(true), getProject());
+
+        listener.before(events);
+        listener.after(events);
+
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isFalse();
+        assertThat(pendingChanges.isRebuildPending()).isTrue();
+        assertThat(isApplyCalled.get()).isTrue();
+        assertThat(pendingChanges.drain()).isEmpty();
+    }
+
+    @Test
+    void recordsDirtyFilesForBulkFileCreations() {
+        var events = new ArrayList<VFileEvent>();
+        for (int i = 0; i < FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT; i++) {
+            VirtualFile gherkinFile = Mockito.mock();
+            when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+            when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+            events.add(i == 0 ? new VFileDeleteEvent(gherkinFile) : new VFileCreateEvent(gherkinFile));
+        }
+
+        var pendingChanges = PendingModelChanges.getInstance(getProject());
+        var isRebuildCalled = new Ref<>(false);
+        var listener = new FileAndFolderChangeListener(() -> isRebuildCalled.set(true), () -> {}, getProject());
+
+        listener.before(events);
+        listener.after(events);
+
+        assertThat(pendingChanges.isRebuildPending()).isFalse();
+        assertThat(isRebuildCalled.get()).isFalse();
+        assertThat(pendingChanges.drain()).hasSize(FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT);
+    }
+
+    @Test
+    void requestsRebuildForBulkChangesWithDeletedDirectory() {
+        var events = new ArrayList<VFileEvent>();
+        VirtualFile directory = Mockito.mock();
+        when(directory.isDirectory()).thenReturn(true);
+        when(directory.getName()).thenReturn("features");
+        events.add(new VFileDeleteEvent(directory));
+        for (int i = 0; i < FileAndFolderChangeListener.BULK_BDD_FILE_EVENT_COUNT; i++) {
+            VirtualFile gherkinFile = Mockito.mock();
+            when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+            when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+            events.add(new VFileDeleteEvent(gherkinFile));
+        }
+
+        var pendingChanges = PendingModelChanges.getInstance(getProject());
+        var listener = new FileAndFolderChangeListener(() -> {}, () -> {}, getProject());
+
+        listener.before(events);
+        listener.after(events);
+
+        assertThat(pendingChanges.isRebuildPending()).isTrue();
+        assertThat(pendingChanges.drain()).isEmpty();
+    }
+
+    @Test
+    void doesntStartBulkUpdateForFewChanges() {
+        VirtualFile gherkinFile = Mockito.mock();
+        when(gherkinFile.getFileType()).thenReturn(GherkinFileType.INSTANCE);
+        when(gherkinFile.getName()).thenReturn("the_gherkin.feature");
+        List<VFileEvent> events = singletonList(new VFileContentChangeEvent(gherkinFile));
+
+        var listener = new FileAndFolderChangeListener(() -> {}, getProject());
+        listener.before(events);
+
+        assertThat(PendingModelChanges.getInstance(getProject()).isBulkUpdateInProgress()).isFalse();
+    }
+
     //Dummy events
 
     private static final class VFileMoveEvent extends DummyVFileEvent {
@@ -85,6 +271,12 @@ final class FileAndFolderChangeListenerTest extends GherkinOverviewTestBase {
         }
     }
 
+    private static final class VFileCreateEvent extends DummyVFileEvent {
+        VFileCreateEvent(@NotNull VirtualFile file) {
+            super(file);
+        }
+    }
+
     private static final class VFileContentChangeEvent extends DummyVFileEvent {
         VFileContentChangeEvent(@NotNull VirtualFile file) {
             super(file);
@@ -3,17 +3,24 @@
 package com.picimako.gherkin.toolwindow;
 
 import static com.picimako.gherkin.ToolWindowTestSupport.registerToolWindow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.PsiManager;
 import com.intellij.psi.impl.PsiTreeChangeEventImpl;
+import com.intellij.psi.util.PsiTreeUtil;
 import com.picimako.gherkin.GherkinOverviewTestBase;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.plugins.cucumber.psi.GherkinStep;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -33,7 +40,7 @@ final class GherkinPsiChangeListenerTest extends GherkinOverviewTestBase {
 
         firePsiEvent(gherkinFile, tree);
 
-        verify(model).updateModelForFile(gherkinFile);
+        verify(model).updateModelForFile(eq(gherkinFile), any(BDDFileTags.class));
         verify(modelRoot).sort();
         verify(tree).updateUI();
     }
@@ -50,7 +57,7 @@ final class GherkinPsiChangeListenerTest extends GherkinOverviewTestBase {
 
         firePsiEvent(storyFile, tree);
 
-        verify(model).updateModelForFile(storyFile);
+        verify(model).updateModelForFile(eq(storyFile), any(BDDFileTags.class));
         verify(modelRoot).sort();
         verify(tree).updateUI();
     }
@@ -82,6 +89,85 @@ final class GherkinPsiChangeListenerTest extends GherkinOverviewTestBase {
         verify(tree, never()).getModel();
     }
 
+    @Test
+    void doesntUpdateModelWhenTagsHaveNotChanged() {
+        registerToolWindow(getProject());
+        PsiFile gherkinFile = configureByFile("the_gherkin.feature");
+        GherkinTagTree tree = mock();
+        GherkinTagTreeModel model = mock();
+        ModelDataRoot modelRoot = mock();
+        when(tree.getModel()).thenReturn(model);
+        when(model.getRoot()).thenReturn(modelRoot);
+
+        var listener = new GherkinPsiChangeListener(tree, getProject());
+        firePsiEvent(gherkinFile, listener);
+        firePsiEvent(gherkinFile, listener);
+
+        verify(model, times(1)).updateModelForFile(eq(gherkinFile), any(BDDFileTags.class));
+    }
+
+    @Test
+    void updatesModelWhenTagsHaveChanged() {
+        registerToolWindow(getProject());
+        PsiFile gherkinFile = configureByFile("the_gherkin.feature");
+        GherkinTagTree tree = mock();
+        GherkinTagTreeModel model = mock();
+        ModelDataRoot modelRoot = mock();
+        when(tree.getModel()).thenReturn(model);
+        when(model.getRoot()).thenReturn(modelRoot);
+
+        var listener = new GherkinPsiChangeListener(tree, getProject());
+        firePsiEvent(gherkinFile, listener);
+        var tag = BDDTestSupport.getFirstGherkinTagForName(gherkinFile, "@vimeo");
+        executeCommandProcessorCommand(tag::delete, "Delete", "group.id");
+        firePsiEvent(gherkinFile, listener);
+
+        verify(model, times(2)).updateModelForFile(eq(gherkinFile), any(BDDFileTags.class));
+    }
+
+    @Test
+    void refreshesOccurrenceDataWhenTagsHaveOnlyMoved() {
+        registerToolWindow(getProject());
+        PsiFile gherkinFile = configureByFile("the_gherkin.feature");
+        GherkinTagTree tree = mock();
+        GherkinTagTreeModel model = mock();
+        ModelDataRoot modelRoot = mock();
+        when(tree.getModel()).thenReturn(model);
+        when(model.getRoot()).thenReturn(modelRoot);
+
+        var listener = new GherkinPsiChangeListener(tree, getProject());
+        firePsiEvent(gherkinFile, listener);
+        executeCommandProcessorCommand(() -> {
+            var documentManager = PsiDocumentManager.getInstance(getProject());
+            documentManager.getDocument(gherkinFile).insertString(0, "# A comment\n");
+            documentManager.commitAllDocuments();
+        }, "Insert", "group.id");
+        firePsiEvent(gherkinFile, listener);
+
+        verify(model, times(1)).updateModelForFile(eq(gherkinFile), any(BDDFileTags.class));
+        verify(model).updateOccurrenceDataForFile(eq(gherkinFile.getVirtualFile()), any(BDDFileTags.class));
+        verify(tree, atLeast(2)).updateUI();
+    }
+
+    @Test
+    void doesntProcessChangesInSteps() {
+        registerToolWindow(getProject());
+        PsiFile gherkinFile = configureByFile("the_gherkin.feature");
+        GherkinTagTree tree = mock();
+        GherkinTagTreeModel model = mock();
+        when(tree.getModel()).thenReturn(model);
+        var step = PsiTreeUtil.findChildOfType(gherkinFile, GherkinStep.class);
+
+        var event = new PsiTreeChangeEventImpl(PsiManager.getInstance(getProject()));
+        event.setFile(gherkinFile);
+        event.setParent(step);
+        new GherkinPsiChangeListener(tree, getProject()).childrenChanged(event);
+
+        verify(model, never()).updateModelForFile(any(PsiFile.class), any(BDDFileTags.class));
+        verify(model, never()).updateOccurrenceDataForFile(any(), any());
+        verify(tree, never()).updateUI();
+    }
+
     @Test
     void updatesModelForDeletedFile() {
         registerToolWindow(getProject());
@@ -107,7 +193,10 @@ final class GherkinPsiChangeListenerTest extends GherkinOverviewTestBase {
     }
 
     private void firePsiEvent(@Nullable PsiFile gherkinFile, GherkinTagTree tree) {
-        var listener = new GherkinPsiChangeListener(tree, getProject());
+        firePsiEvent(gherkinFile, new GherkinPsiChangeListener(tree, getProject()));
+    }
+
+    private void firePsiEvent(@Nullable PsiFile gherkinFile, GherkinPsiChangeListener listener) {
         var event = new PsiTreeChangeEventImpl(PsiManager.getInstance(getProject()));
         if (gherkinFile != null) event.setFile(gherkinFile);
 
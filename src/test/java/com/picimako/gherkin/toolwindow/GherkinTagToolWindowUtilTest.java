@@ -37,4 +37,22 @@ final class GherkinTagToolWindowUtilTest extends GherkinOverviewTestBase {
 
         assertThat(GherkinTagToolWindowUtil.getToolWindowHider(gherkinTagsToolWindow).getComponent(0)).isInstanceOf(GherkinTagOverviewPanel.class);
     }
-}
\ No newline at end of file
+
+    //isGherkinTagsToolWindow
+
+    @Test
+    void identifiesGherkinTagsToolWindow() {
+        ToolWindowTestSupport.registerToolWindow(getProject());
+
+        assertThat(GherkinTagToolWindowUtil.isGherkinTagsToolWindow(GherkinTagToolWindowUtil.getGherkinTagsToolWindow(getProject()))).isTrue();
+    }
+
+    //isToolWindowVisible
+
+    @Test
+    void considersToolWindowVisibleInUnitTestMode() {
+        ToolWindowTestSupport.registerToolWindow(getProject());
+
+        assertThat(GherkinTagToolWindowUtil.isToolWindowVisible(GherkinTagToolWindowUtil.getGherkinTagsToolWindow(getProject()))).isTrue();
+    }
+}
@@ -4,6 +4,7 @@ package com.picimako.gherkin.toolwindow;
 
 import static com.intellij.openapi.application.ReadAction.computeBlocking;
 import static com.picimako.gherkin.toolwindow.BDDTestSupport.getFirstGherkinTagForName;
+import static com.picimako.gherkin.toolwindow.GherkinTagTreeModel.FILE_PAGE_SIZE;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.SoftAssertions.assertSoftly;
@@ -12,14 +13,18 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
 
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.psi.PsiFile;
 import com.picimako.gherkin.settings.CategoryAndTags;
 import com.picimako.gherkin.toolwindow.nodetype.AbstractNodeType;
 import com.picimako.gherkin.toolwindow.nodetype.ContentRoot;
+import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import com.picimako.gherkin.toolwindow.nodetype.MoreFiles;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
 import lombok.Getter;
 import org.jetbrains.plugins.cucumber.psi.GherkinElementFactory;
@@ -95,6 +100,91 @@ final class GherkinTagTreeModelTest extends GherkinTagTreeModelTestBase {
         validateTagToFileMappings(expectedTagGherkinFileMappings, root);
     }
 
+    //buildModelFromSnapshot
+
+    @Test
+    void buildsModelFromSnapshot() {
+        var snapshot = new HashMap<VirtualFile, Map<String, Integer>>();
+        var counts = TagOccurrencesRegistry.getInstance(getProject()).exportCounts();
+        snapshot.put(theGherkin, counts.get(theGherkin.getPath()));
+        snapshot.put(aGherkin, counts.get(aGherkin.getPath()));
+
+        model.dispose();
+        model = new ContentRootBasedGherkinTagTreeModel(getProject());
+        model.buildModelFromSnapshot(snapshot);
+        root = (ModelDataRoot) model.getRoot();
+
+        generateTagsIntoTreeModel();
+        generateGherkinFilesIntoTreeModel();
+    }
+
+    //buildProvisionalModel
+
+    @Test
+    void buildsProvisionalModelFromRawText() {
+        model.dispose();
+        model = new ContentRootBasedGherkinTagTreeModel(getProject());
+        computeBlocking(() -> {
+            model.buildProvisionalModel();
+            return null;
+        });
+        root = (ModelDataRoot) model.getRoot();
+
+        assertThat(model.isProvisional()).isTrue();
+        generateTagsIntoTreeModel();
+        generateGherkinFilesIntoTreeModel();
+        assertThat(TagOccurrencesRegistry.getInstance(getProject()).getCountFor(theGherkin.getPath(), "youtube")).isEqualTo(2);
+
+        model.buildModel();
+
+        assertThat(model.isProvisional()).isFalse();
+    }
+
+    @Test
+    void doesntPersistOccurrencesOfProvisionalModel() {
+        var registry = TagOccurrencesRegistry.getInstance(getProject());
+        var snapshot = TagOccurrencesSnapshot.getInstance(getProject());
+        var settings = GherkinTagsToolWindowSettings.getInstance(getProject());
+        settings.modelBuildPolicy = ModelBuildPolicy.SNAPSHOT_ONLY;
+        try {
+            snapshot.capture(Map.of());
+            model.dispose();
+            model = new ContentRootBasedGherkinTagTreeModel(getProject());
+            computeBlocking(() -> {
+                model.buildProvisionalModel();
+                return null;
+            });
+
+            assertThat(registry.isProvisional()).isTrue();
+            snapshot.captureRegistry();
+            assertThat(snapshot.getState().files).isEmpty();
+
+            model.buildModel();
+
+            assertThat(registry.isProvisional()).isFalse();
+            snapshot.captureRegistry();
+            assertThat(snapshot.getState().files).isNotEmpty();
+        } finally {
+            settings.modelBuildPolicy = ModelBuildPolicy.BUILD_ON_FIRST_SHOW;
+        }
+    }
+
+    @Test
+    void persistsSnapshotOnlyWhenModelIsRestoredFromIt() {
+        var snapshot = TagOccurrencesSnapshot.getInstance(getProject());
+        var settings = GherkinTagsToolWindowSettings.getInstance(getProject());
+        snapshot.captureRegistry();
+
+        assertThat(snapshot.getState().files).isEmpty();
+
+        settings.modelBuildPolicy = ModelBuildPolicy.SNAPSHOT_ONLY;
+        try {
+            assertThat(snapshot.getState().files).isNotEmpty();
+        } finally {
+            settings.modelBuildPolicy = ModelBuildPolicy.BUILD_ON_FIRST_SHOW;
+        }
+    }
+
     //updateTreeForFile
 
     @Test
@@ -122,6 +212,19 @@ final class GherkinTagTreeModelTest extends GherkinTagTreeModelTestBase {
         validateTagToFileMappings(expectedTagGherkinFileMappingsAfter, root);
     }
 
+    @Test
+    void updateTreeModelAndStatisticsWhenFeatureFileIsDeletedBasedOnVirtualFile() {
+        var registry = TagOccurrencesRegistry.getInstance(getProject());
+
+        invokeInWriteActionOnEDTAndWait(() -> theGherkin.delete(this));
+        model.updateModelForFile(theGherkin);
+
+        assertThat(registry.getTagOccurrences()).doesNotContainKey("/src/the_gherkin.feature");
+        validateCategories(List.of("Other", "Test Suite", "Device", "Excluded", "Browser"));
+        validateTagToFileMappings(buildTagToFileMapping(List.of(),
+            List.of("chrome", "disabled", "e2e", "edge", "ff", "image", "mobile", "smoke"), List.of()), root);
+    }
+
     @Test
     void removesUnusedModuleInUpdatedTree() {
         PsiFile psiAGherkin = findPsiFile(aGherkin);
@@ -207,6 +310,18 @@ final class GherkinTagTreeModelTest extends GherkinTagTreeModelTestBase {
         assertThat(countGetter.get()).isOne();
     }
 
+    @Test
+    void tagOccurrenceIsNotRecalculatedInOtherFiles() {
+        var registry = TagOccurrencesRegistry.getInstance(getProject());
+        //Both files contain the 'chrome' tag, so the count in A_gherkin.feature would be reset if counts were re-calculated per tag
+        registry.getTagOccurrences().get(aGherkin.getPath()).get("chrome").setValue(42);
+
+        executeCommandProcessorCommand(getFirstGherkinTagForName(psiTheGherkin, "@youtube")::delete, "Delete", "group.id");
+        model.updateModelForFile(psiTheGherkin);
+
+        assertThat(registry.getCountFor(aGherkin.getPath(), "chrome")).isEqualTo(42);
+    }
+
     /**
      * - Have a regex based tag value, e.g. Jira -> #^[A-Z]+-[0-9]+$
      * - Add a Jira tag to a feature file.
@@ -233,6 +348,209 @@ final class GherkinTagTreeModelTest extends GherkinTagTreeModelTestBase {
         });
     }
 
+    @Test
+    void movesRecategorizedTagsBetweenCategories() {
+        var registry = TagCategoryRegistry.getInstance(getProject());
+        registry.putMappingsFrom(singletonList(new CategoryAndTags("Web Browser", "chrome")));
+        try {
+            model.recategorizeTags(Set.of("chrome"));
+
+            var module = root.getModules().getFirst();
+            assertSoftly(s -> {
+                s.assertThat(module.findCategory("Web Browser")).isPresent();
+                s.assertThat(module.findCategory("Web Browser").get().get("chrome")).isPresent();
+                s.assertThat(module.findCategory("Web Browser").get().get("chrome").get().getFeatureFiles()).hasSize(2);
+                s.assertThat(module.findCategory("Browser").get().get("chrome")).isEmpty();
+                s.assertThat(module.findCategory("Browser").get().get("edge")).isPresent();
+            });
+        } finally {
+            registry.putMappingsFrom(singletonList(new CategoryAndTags("Browser", "chrome")));
+        }
+    }
+
+    //setFilter
+
+    @Test
+    void filtersTagsByNameSubstring() {
+        model.setFilter("OUTU");
+
+        var module = model.getChild(root, 0);
+        assertSoftly(s -> {
+            s.assertThat(visibleChildNames(root)).containsExactly("light_idea_test_case");
+            s.assertThat(visibleChildNames(module)).containsExactly("Other");
+            var other = model.getChild(module, 0);
+            s.assertThat(visibleChildNames(other)).containsExactly("youtube");
+            s.assertThat(visibleChildNames(model.getChild(other, 0))).containsExactly("the_gherkin.feature");
+        });
+    }
+
+    @Test
+    void filtersByCategoryName() {
+        model.setFilter("browser");
+
+        var module = model.getChild(root, 0);
+        assertThat(visibleChildNames(module)).containsExactly("Browser");
+        assertThat(model.getChildCount(model.getChild(module, 0)))
+            .isEqualTo(root.getModules().getFirst().findCategory("Browser").get().getTags().size());
+    }
+
+    @Test
+    void filtersByFileName() {
+        model.setFilter("a_gherkin");
+
+        var module = model.getChild(root, 0);
+        var browser = model.getChild(module, model.getIndexOfChild(module, root.getModules().getFirst().findCategory("Browser").get()));
+        var chrome = model.getChild(browser, visibleChildNames(browser).indexOf("chrome"));
+        assertThat(visibleChildNames(chrome)).containsExactly("A_gherkin.feature");
+        assertThat(visibleChildNames(browser)).doesNotContain("youtube");
+    }
+
+    @Test
+    void updatesFilteredTagsAfterFileChange() {
+        model.setFilter("trello");
+        assertThat(model.getChildCount(root)).isZero();
+
+        GherkinTag tag = getFirstGherkinTagForName(psiTheGherkin, "@JIRA-1234");
+        var topLevelElements = computeBlocking(() -> GherkinElementFactory.getTopLevelElements(getProject(), "@TRELLO-9999\nFeature: Wip feature\n"));
+        executeCommandProcessorCommand(() -> tag.replace(topLevelElements[0]), "Replace", "group.id");
+        model.updateModelForFile(psiTheGherkin);
+
+        var module = model.getChild(root, 0);
+        assertThat(visibleChildNames(model.getChild(module, 0))).containsExactly("TRELLO-9999");
+
+        model.setFilter("jira-1234");
+        assertThat(model.getChildCount(root)).isZero();
+
+        model.setFilter(" ");
+        assertThat(model.isFiltered()).isFalse();
+        assertThat(model.getChildCount(root)).isEqualTo(root.getContentRootsByLayout().size());
+    }
+
+    @Test
+    void filtersByIndexesBuiltFromSnapshot() {
+        var source = model.snapshotForFilterIndexes();
+        model.installFilterIndexes(source, source.build());
+        assertThat(model.hasFilterIndexes()).isTrue();
+
+        model.setFilter("a_gherkin");
+
+        var module = model.getChild(root, 0);
+        var browser = model.getChild(module, model.getIndexOfChild(module, root.getModules().getFirst().findCategory("Browser").get()));
+        var chrome = model.getChild(browser, visibleChildNames(browser).indexOf("chrome"));
+        assertThat(visibleChildNames(chrome)).containsExactly("A_gherkin.feature");
+    }
+
+    @Test
+    void doesntInstallFilterIndexesBuiltBeforeFileChange() {
+        var source = model.snapshotForFilterIndexes();
+
+        GherkinTag tag = getFirstGherkinTagForName(psiTheGherkin, "@JIRA-1234");
+        var topLevelElements = computeBlocking(() -> GherkinElementFactory.getTopLevelElements(getProject(), "@TRELLO-9999\nFeature: Wip feature\n"));
+        executeCommandProcessorCommand(() -> tag.replace(topLevelElements[0]), "Replace", "group.id");
+        model.updateModelForFile(psiTheGherkin);
+        model.installFilterIndexes(source, source.build());
+
+        assertThat(model.hasFilterIndexes()).isFalse();
+        model.setFilter("trello");
+        var module = model.getChild(root, 0);
+        assertThat(visibleChildNames(model.getChild(module, 0))).containsExactly("TRELLO-9999");
+    }
+
+    //setTagExpression
+
+    @Test
+    void filtersByTagExpression() {
+        model.setTagExpression(TagExpression.parse("@edge and not @smoke"));
+
+        var module = model.getChild(root, 0);
+        var browser = model.getChild(module, visibleChildNames(module).indexOf("Browser"));
+        var edge = model.getChild(browser, visibleChildNames(browser).indexOf("edge"));
+        assertSoftly(s -> {
+            s.assertThat(model.countTagExpressionMatches()).isOne();
+            s.assertThat(visibleChildNames(edge)).containsExactly("the_gherkin.feature");
+            s.assertThat(visibleTagNames(module)).contains("youtube", "JIRA-1234").doesNotContain("smoke", "mobile");
+        });
+    }
+
+    @Test
+    void combinesTagExpressionWithTextFilter() {
+        model.setTagExpression(TagExpression.parse("@chrome or @image"));
+        model.setFilter("a_gherkin");
+
+        var module = model.getChild(root, 0);
+        var browser = model.getChild(module, visibleChildNames(module).indexOf("Browser"));
+        var chrome = model.getChild(browser, visibleChildNames(browser).indexOf("chrome"));
+        assertThat(model.countTagExpressionMatches()).isEqualTo(2);
+        assertThat(visibleChildNames(chrome)).containsExactly("A_gherkin.feature");
+        assertThat(visibleTagNames(module)).doesNotContain("youtube");
+    }
+
+    @Test
+    void evaluatesTagExpressionPerScenario() {
+        model.setTagExpression(TagExpression.parse("@vimeo and @skip"));
+        assertThat(model.countTagExpressionMatches()).isZero();
+
+        model.setTagExpression(TagExpression.parse("@youtube and @vimeo and not @skip"));
+        assertThat(model.countTagExpressionMatches()).isOne();
+
+        model.setTagExpression(TagExpression.parse("@smoke and not @image"));
+        var module = model.getChild(root, 0);
+        var browser = model.getChild(module, visibleChildNames(module).indexOf("Browser"));
+        var edge = model.getChild(browser, visibleChildNames(browser).indexOf("edge"));
+        assertThat(visibleChildNames(edge)).containsExactly("A_gherkin.feature");
+    }
+
+    @Test
+    void updatesTagExpressionMatchesAfterFileChange() {
+        model.setTagExpression(TagExpression.parse("@JIRA-1234"));
+        assertThat(model.countTagExpressionMatches()).isOne();
+
+        GherkinTag tag = getFirstGherkinTagForName(psiTheGherkin, "@JIRA-1234");
+        var topLevelElements = computeBlocking(() -> GherkinElementFactory.getTopLevelElements(getProject(), "@TRELLO-9999\nFeature: Wip feature\n"));
+        executeCommandProcessorCommand(() -> tag.replace(topLevelElements[0]), "Replace", "group.id");
+        model.updateModelForFile(psiTheGherkin);
+
+        assertThat(model.countTagExpressionMatches()).isZero();
+        assertThat(model.getChildCount(root)).isZero();
+
+        model.setTagExpression(TagExpression.parse("@TRELLO-9999 and @youtube"));
+        assertThat(model.countTagExpressionMatches()).isOne();
+
+        model.setTagExpression(null);
+        assertThat(model.isFiltered()).isFalse();
+        assertThat(model.countTagExpressionMatches()).isEqualTo(-1);
+    }
+
+    //relatedTagsOf
+
+    @Test
+    void returnsRelatedTags() {
+        assertThat(model.relatedTagsOf("edge", 3)).containsExactly(
+            new TagCoOccurrences.RelatedTag("chrome", 2, 1.0),
+            new TagCoOccurrences.RelatedTag("e2e", 2, 1.0),
+            new TagCoOccurrences.RelatedTag("image", 2, 1.0));
+        assertThat(model.relatedTagsOf("smoke", 100))
+            .contains(new TagCoOccurrences.RelatedTag("mobile", 1, 1.0), new TagCoOccurrences.RelatedTag("edge", 1, 0.5))
+            .extracting(TagCoOccurrences.RelatedTag::name)
+            .doesNotContain("youtube");
+    }
+
+    @Test
+    void updatesRelatedTagsAfterFileChange() {
+        assertThat(model.relatedTagsOf("youtube", 100)).extracting(TagCoOccurrences.RelatedTag::name).contains("JIRA-1234");
+
+        GherkinTag tag = getFirstGherkinTagForName(psiTheGherkin, "@JIRA-1234");
+        var topLevelElements = computeBlocking(() -> GherkinElementFactory.getTopLevelElements(getProject(), "@TRELLO-9999\nFeature: Wip feature\n"));
+        executeCommandProcessorCommand(() -> tag.replace(topLevelElements[0]), "Replace", "group.id");
+        model.updateModelForFile(psiTheGherkin);
+
+        assertThat(model.relatedTagsOf("youtube", 100)).extracting(TagCoOccurrences.RelatedTag::name)
+            .contains("TRELLO-9999")
+            .doesNotContain("JIRA-1234");
+        assertThat(model.relatedTagsOf("JIRA-1234", 100)).isEmpty();
+        assertThat(model.coOccurrencesOf(List.of("youtube", "TRELLO-9999")).sharedFileCount(0, 1)).isOne();
+    }
+
     @Test
     void updatesDisplayNamesOfFeatureFilesForFilesWithSameNameUnderATag() {
         configureByFile("nested/gherkin_with_same_name.feature");
@@ -255,8 +573,113 @@ final class GherkinTagTreeModelTest extends GherkinTagTreeModelTestBase {
             .containsExactlyInAnyOrder("gherkin_with_same_name.feature [nested/evenmore/evenmoremore]", "gherkin_with_same_name.feature [nested]");
     }
 
+    //paging
+
+    @Test
+    void pagesFilesOfLargeTags() {
+        var tag = buildModelWithTagInFiles("paged", 250);
+
+        assertThat(model.getChildCount(tag)).isEqualTo(FILE_PAGE_SIZE + 2);
+        assertThat(model.getChild(tag, FILE_PAGE_SIZE - 1)).isSameAs(tag.getFeatureFiles().get(FILE_PAGE_SIZE - 1));
+        assertThat(visibleChildNames(tag).subList(FILE_PAGE_SIZE, FILE_PAGE_SIZE + 2))
+            .containsExactly("Show next 100 files", "Show all 150 remaining files");
+        assertThat(model.isLeaf(model.getChild(tag, FILE_PAGE_SIZE))).isTrue();
+    }
+
+    @Test
+    void reusesMoreFilesNodesUntilMoreFilesAreShown() {
+        var tag = buildModelWithTagInFiles("paged", 250);
+        var showAll = model.getChild(tag, FILE_PAGE_SIZE + 1);
+
+        assertThat(model.getChild(tag, FILE_PAGE_SIZE)).isSameAs(model.getChild(tag, FILE_PAGE_SIZE));
+        assertThat(model.getChild(tag, FILE_PAGE_SIZE + 1)).isSameAs(showAll);
+
+        model.showMoreFiles((MoreFiles) model.getChild(tag, FILE_PAGE_SIZE));
+
+        assertThat(model.getChild(tag, 2 * FILE_PAGE_SIZE)).isNotSameAs(showAll).hasToString("Show all 50 remaining files");
+    }
+
+    @Test
+    void showsNextPageAndAllFiles() {
+        var tag = buildModelWithTagInFiles("paged", 250);
+
+        var firstShownFile = model.showMoreFiles((MoreFiles) model.getChild(tag, FILE_PAGE_SIZE));
+
+        assertThat(firstShownFile).isSameAs(tag.getFeatureFiles().get(FILE_PAGE_SIZE));
+        assertThat(model.getChildCount(tag)).isEqualTo(2 * FILE_PAGE_SIZE + 1);
+        assertThat(visibleChildNames(tag).getLast()).isEqualTo("Show all 50 remaining files");
+
+        model.showMoreFiles((MoreFiles) model.getChild(tag, 2 * FILE_PAGE_SIZE));
+
+        assertThat(model.getChildCount(tag)).isEqualTo(250);
+        assertThat(model.getChild(tag, 249)).isSameAs(tag.getFeatureFiles().get(249));
+    }
+
+    @Test
+    void returnsIndexesOfPagedChildren() {
+        var tag = buildModelWithTagInFiles("paged", 250);
+        var files = tag.getFeatureFiles();
+
+        assertThat(model.getIndexOfChild(tag, files.get(42))).isEqualTo(42);
+        assertThat(model.getIndexOfChild(tag, files.get(FILE_PAGE_SIZE + 1))).isEqualTo(-1);
+        assertThat(model.getIndexOfChild(tag, model.getChild(tag, FILE_PAGE_SIZE))).isEqualTo(FILE_PAGE_SIZE);
+        assertThat(model.getIndexOfChild(tag, model.getChild(tag, FILE_PAGE_SIZE + 1))).isEqualTo(FILE_PAGE_SIZE + 1);
+
+        model.showMoreFiles((MoreFiles) model.getChild(tag, FILE_PAGE_SIZE + 1));
+
+        assertThat(model.getIndexOfChild(tag, files.get(200))).isEqualTo(200);
+        assertThat(model.getIndexOfChild(tag, new MoreFiles(tag, true, 0, getProject()))).isEqualTo(-1);
+    }
+
+    @Test
+    void updatesIndexesOfPagedChildrenAfterFileChange() {
+        var tag = buildModelWithTagInFiles("paged", 150);
+        var lastFile = tag.getFeatureFiles().getLast();
+        model.showMoreFiles((MoreFiles) model.getChild(tag, FILE_PAGE_SIZE));
+        assertThat(model.getIndexOfChild(tag, lastFile)).isEqualTo(149);
+
+        var firstFile = tag.getFeatureFiles().getFirst();
+        tag.remove(firstFile.getFile());
+
+        assertThat(model.getIndexOfChild(tag, lastFile)).isEqualTo(148);
+        assertThat(model.getIndexOfChild(tag, firstFile)).isEqualTo(-1);
+    }
+
+    @Test
+    void findsIndexesOfPagedChildrenByIdentity() {
+        var tag = buildModelWithTagInFiles("paged", 150);
+        var lastFile = tag.getFeatureFiles().getLast();
+        model.showMoreFiles((MoreFiles) model.getChild(tag, FILE_PAGE_SIZE));
+
+        assertThat(model.getIndexOfChild(tag, lastFile)).isEqualTo(149);
+        assertThat(model.getIndexOfChild(tag, new FeatureFile(lastFile.getFile(), "paged", getProject()))).isEqualTo(-1);
+    }
+
     //Helper methods
 
+    private Tag buildModelWithTagInFiles(String tagName, int fileCount) {
+        for (int i = 0; i < fileCount; i++) {
+            getFixture().addFileToProject("paged/" + tagName + "_" + i + ".feature", "@" + tagName + "\nFeature: Paged " + i);
+        }
+        model = new ContentRootBasedGherkinTagTreeModel(getProject());
+        model.buildModel();
+        root = (ModelDataRoot) model.getRoot();
+        return root.getModules().getFirst().getOther().get(tagName).orElseThrow();
+    }
+
+    private List<String> visibleTagNames(Object contentRoot) {
+        return IntStream.range(0, model.getChildCount(contentRoot))
+            .mapToObj(i -> model.getChild(contentRoot, i))
+            .flatMap(category -> visibleChildNames(category).stream())
+            .toList();
+    }
+
+    private List<String> visibleChildNames(Object parent) {
+        return IntStream.range(0, model.getChildCount(parent))
+            .mapToObj(i -> ((AbstractNodeType) model.getChild(parent, i)).getDisplayName())
+            .toList();
+    }
+
     private HashMap<String, List<VirtualFile>> buildTagToFileMapping(List<String> theGherkinCategories, List<String> aGherkinCategories,
                                                                      List<String> mixedCategories) {
         final var expectedTagGherkinFileMappings = new HashMap<String, List<VirtualFile>>();
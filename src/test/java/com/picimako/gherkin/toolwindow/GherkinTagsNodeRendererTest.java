@@ -14,6 +14,7 @@ import com.picimako.gherkin.toolwindow.nodetype.FeatureFile;
 import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
 import com.picimako.gherkin.toolwindow.nodetype.Tag;
 import icons.CucumberIcons;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -30,6 +31,11 @@ final class GherkinTagsNodeRendererTest extends GherkinOverviewTestBase {
         renderer = new GherkinTagTree.GherkinTagsNodeRenderer(getProject());
     }
 
+    @AfterEach
+    void tearDown() {
+        GherkinTagsToolWindowSettings.getInstance(getProject()).statisticsType = StatisticsType.DISABLED;
+    }
+
     @Test
     void renderCellForModelDataRoot() {
         renderer.customizeCellRenderer(tree, new ModelDataRoot(getProject()), true, true, false, 0, false);
@@ -75,4 +81,39 @@ final class GherkinTagsNodeRendererTest extends GherkinOverviewTestBase {
         assertThat(renderer.getIcon()).isEqualTo(CucumberIcons.Cucumber);
         assertThat(renderer.getCharSequence(true)).isEqualTo("the_gherkin.feature");
     }
+
+    //Label caching
+
+    @Test
+    void reusesCachedLabelUntilTreeIsUpdated() {
+        GherkinTagsToolWindowSettings.getInstance(getProject()).statisticsType = StatisticsType.SIMPLIFIED;
+        TagOccurrencesRegistry.getInstance(getProject()).init(1);
+        VirtualFile theGherkin = configureVirtualFile("the_gherkin.feature");
+        var tag = new Tag("regression", theGherkin, getProject());
+        var category = new Category("Test Suite", getProject());
+
+        assertThat(render(category)).isEqualTo("Test Suite (0)");
+
+        category.add(tag);
+        assertThat(render(category)).isEqualTo("Test Suite (0)");
+
+        tree.updateUI();
+        assertThat(render(category)).isEqualTo("Test Suite (1)");
+    }
+
+    @Test
+    void refreshesCachedLabelWhenStatisticsTypeChanges() {
+        var category = new Category("Test Suite", getProject());
+
+        assertThat(render(category)).isEqualTo("Test Suite");
+
+        GherkinTagsToolWindowSettings.getInstance(getProject()).statisticsType = StatisticsType.SIMPLIFIED;
+        assertThat(render(category)).isEqualTo("Test Suite (0)");
+    }
+
+    private CharSequence render(Object node) {
+        renderer.clear();
+        renderer.customizeCellRenderer(tree, node, true, true, false, 0, false);
+        return renderer.getCharSequence(true);
+    }
 }
@@ -0,0 +1,142 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.io.IOException;
+import java.io.StringWriter;
+
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link ModelExporter}.
+ */
+final class ModelExporterTest extends GherkinOverviewTestBase {
+
+    private GherkinTagTreeModel model;
+
+    @BeforeEach
+    void setUp() {
+        GherkinTagsToolWindowSettings.getInstance(getProject()).layout = LayoutType.NO_GROUPING;
+        configureVirtualFile("A_gherkin.feature");
+        model = new ProjectSpecificGherkinTagTreeModel(getProject());
+        model.buildModel();
+    }
+
+    @Test
+    void exportsCsv() throws IOException {
+        assertThat(export(ModelExportFormat.CSV)).isEqualTo("""
+            content root,category,tag,file,path,occurrences
+            ,Browser,chrome,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Browser,edge,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Browser,ff,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Device,mobile,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Excluded,disabled,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Other,image,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Test Suite,e2e,A_gherkin.feature,/src/A_gherkin.feature,1
+            ,Test Suite,smoke,A_gherkin.feature,/src/A_gherkin.feature,1
+            """);
+    }
+
+    @Test
+    void exportsJson() throws IOException {
+        assertThat(export(ModelExportFormat.JSON))
+            .contains("""
+                  "categories": [
+                    {
+                      "name": "Browser",
+                      "tags": [
+                        {
+                          "name": "chrome",
+                          "occurrences": 1,
+                          "files": [
+                            {
+                              "name": "A_gherkin.feature",
+                              "path": "/src/A_gherkin.feature",
+                              "occurrences": 1
+                            }
+                          ]
+                        },
+                """)
+            .endsWith("""
+                        }
+                      ]
+                    }
+                  ]
+                }""");
+    }
+
+    @Test
+    void exportsMarkdown() throws IOException {
+        assertThat(export(ModelExportFormat.MARKDOWN))
+            .contains("""
+
+                ## Browser
+
+                - chrome (1)
+                  - A\\_gherkin.feature (1) `/src/A_gherkin.feature`
+                - edge (1)
+                """)
+            .contains("""
+
+                ## Test Suite
+
+                - e2e (1)
+                """);
+    }
+
+    @Test
+    void exportsFilteredModel() throws IOException {
+        model.setFilter("mobile");
+
+        assertThat(export(ModelExportFormat.CSV)).isEqualTo("""
+            content root,category,tag,file,path,occurrences
+            ,Device,mobile,A_gherkin.feature,/src/A_gherkin.feature,1
+            """);
+    }
+
+    @Test
+    void cancelsExport() {
+        var indicator = new EmptyProgressIndicator();
+        indicator.cancel();
+
+        assertThatExceptionOfType(ProcessCanceledException.class)
+            .isThrownBy(() -> ModelExporter.export(model, ModelExportFormat.CSV, new StringWriter(), indicator));
+    }
+
+    @Test
+    void exportsModelInSteps() throws IOException {
+        var writer = new StringWriter();
+        var traversal = new ModelExporter.Traversal(model, ModelExportFormat.CSV, writer);
+        int stepCount = 0;
+        while (traversal.exportNext(3, new EmptyProgressIndicator())) {
+            stepCount++;
+        }
+
+        assertThat(stepCount).isGreaterThan(1);
+        assertThat(writer.toString()).isEqualTo(export(ModelExportFormat.CSV));
+    }
+
+    @Test
+    void abortsExportWhenModelChangesBetweenSteps() throws IOException {
+        var traversal = new ModelExporter.Traversal(model, ModelExportFormat.CSV, new StringWriter());
+        assertThat(traversal.exportNext(3, new EmptyProgressIndicator())).isTrue();
+
+        model.setFilter("mobile");
+
+        assertThatExceptionOfType(ModelExporter.ModelChangedException.class)
+            .isThrownBy(() -> traversal.exportNext(3, new EmptyProgressIndicator()));
+    }
+
+    private String export(ModelExportFormat format) throws IOException {
+        var writer = new StringWriter();
+        ModelExporter.export(model, format, writer, new EmptyProgressIndicator());
+        return writer.toString();
+    }
+}
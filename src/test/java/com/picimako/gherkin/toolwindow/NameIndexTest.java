@@ -0,0 +1,53 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link NameIndex}.
+ */
+final class NameIndexTest extends GherkinOverviewTestBase {
+
+    @Test
+    void findsNamesContainingText() {
+        var index = indexOf("smoke", "regression", "JIRA-1234", "smoke-ios");
+
+        assertThat(index.findContaining("smo")).containsExactlyInAnyOrder("smoke", "smoke-ios");
+        assertThat(index.findContaining("jira-12")).containsExactly("JIRA-1234");
+        assertThat(index.findContaining("ke-i")).containsExactly("smoke-ios");
+        assertThat(index.findContaining("missing")).isEmpty();
+    }
+
+    @Test
+    void findsNamesContainingTextShorterThanTrigram() {
+        var index = indexOf("smoke", "regression", "e2e");
+
+        assertThat(index.findContaining("E")).containsExactlyInAnyOrder("smoke", "regression", "e2e");
+        assertThat(index.findContaining("2e")).containsExactly("e2e");
+    }
+
+    @Test
+    void keepsNameUntilAllUsagesAreRemoved() {
+        var index = indexOf("smoke", "smoke");
+
+        index.remove("smoke");
+        assertThat(index.contains("smoke")).isTrue();
+        assertThat(index.findContaining("smok")).containsExactly("smoke");
+
+        index.remove("smoke");
+        assertThat(index.contains("smoke")).isFalse();
+        assertThat(index.findContaining("smok")).isEmpty();
+    }
+
+    private static NameIndex indexOf(String... names) {
+        var index = new NameIndex();
+        for (String name : names) {
+            index.add(name);
+        }
+        return index;
+    }
+}
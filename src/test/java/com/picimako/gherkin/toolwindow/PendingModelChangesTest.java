@@ -0,0 +1,58 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link PendingModelChanges}.
+ */
+final class PendingModelChangesTest extends GherkinOverviewTestBase {
+
+    @Test
+    void recordsDirtyFilesOnce() {
+        var pendingChanges = new PendingModelChanges(getProject());
+        var theGherkin = configureVirtualFile("the_gherkin.feature");
+        var aGherkin = configureVirtualFile("A_gherkin.feature");
+
+        pendingChanges.markDirty(theGherkin);
+        pendingChanges.markDirty(aGherkin);
+        pendingChanges.markDirty(theGherkin);
+
+        assertThat(pendingChanges.hasPendingChanges()).isTrue();
+        assertThat(pendingChanges.drain()).containsExactly(theGherkin, aGherkin);
+        assertThat(pendingChanges.hasPendingChanges()).isFalse();
+    }
+
+    @Test
+    void dropsDirtyFilesWhenRebuildIsRequested() {
+        var pendingChanges = new PendingModelChanges(getProject());
+        pendingChanges.markDirty(configureVirtualFile("the_gherkin.feature"));
+
+        pendingChanges.requestRebuild();
+        pendingChanges.markDirty(configureVirtualFile("A_gherkin.feature"));
+
+        assertThat(pendingChanges.isRebuildPending()).isTrue();
+        assertThat(pendingChanges.drain()).isEmpty();
+        assertThat(pendingChanges.isRebuildPending()).isFalse();
+    }
+
+    @Test
+    void keepsBulkUpdateInProgressUntilAllBulkUpdatesFinish() {
+        var pendingChanges = new PendingModelChanges(getProject());
+
+        pendingChanges.startBulkUpdate();
+        pendingChanges.startBulkUpdate();
+        pendingChanges.finishBulkUpdate();
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isTrue();
+
+        pendingChanges.finishBulkUpdate();
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isFalse();
+
+        pendingChanges.finishBulkUpdate();
+        assertThat(pendingChanges.isBulkUpdateInProgress()).isFalse();
+    }
+}
@@ -83,6 +83,57 @@ final class TagCategoryRegistryTest extends GherkinOverviewTestBase {
         ));
     }
 
+    //replaceMappings
+
+    @Test
+    void replacesMappingsAndReturnsRecategorizedTags() {
+        TagCategoryRegistry registry = new TagCategoryRegistry(getProject());
+        registry.replaceMappings(
+            List.of(new CategoryAndTags("Device", "desktop,tablet"), new CategoryAndTags("Browser", "chrome")), List.of(), List.of());
+
+        var recategorizedTags = registry.replaceMappings(
+            List.of(new CategoryAndTags("Browser", "chrome"), new CategoryAndTags("Device", "mobile")),
+            List.of(new CategoryAndTags("Tablet", "tablet")),
+            List.of("desktop", "tablet", "chrome", "unknown"));
+
+        assertThat(recategorizedTags).containsExactlyInAnyOrder("desktop", "tablet");
+        assertCategoriesOfTags(registry, Map.of(
+            "tablet", "Tablet",
+            "chrome", "Browser",
+            "mobile", "Device"
+        ));
+        assertThat(registry.categoryOf("desktop")).isNull();
+    }
+
+    @Test
+    void doesntReplaceMappingsWithSameContent() {
+        TagCategoryRegistry registry = new TagCategoryRegistry(getProject());
+        registry.replaceMappings(List.of(new CategoryAndTags("Device", "desktop,tablet")), List.of(), List.of());
+
+        var recategorizedTags = registry.replaceMappings(
+            List.of(new CategoryAndTags("Device", "desktop,tablet")), List.of(), List.of("desktop", "tablet"));
+
+        assertThat(recategorizedTags).isEmpty();
+        assertThat(registry.categoryOf("desktop")).isEqualTo("Device");
+    }
+
+    @Test
+    void replacesMappingsWithCaseInsensitiveOnes() {
+        TagCategoryRegistry registry = new TagCategoryRegistry(getProject());
+        registry.replaceMappings(List.of(new CategoryAndTags("Browser", "Chrome,#^edge[0-9]*$")), List.of(), List.of());
+
+        var recategorizedTags = registry.replaceMappings(
+            List.of(new CategoryAndTags("Browser", "Chrome,#^edge[0-9]*$", true)), List.of(), List.of("Chrome", "chrome", "EDGE11"));
+
+        assertThat(recategorizedTags).containsExactlyInAnyOrder("chrome", "EDGE11");
+        assertCategoriesOfTags(registry, Map.of(
+            "Chrome", "Browser",
+            "CHROME", "Browser",
+            "edge", "Browser",
+            "Edge11", "Browser"
+        ));
+    }
+
     //putMappingsFrom
 
     @Test
@@ -0,0 +1,70 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import com.picimako.gherkin.toolwindow.TagCoOccurrences.RelatedTag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagCoOccurrences}.
+ */
+final class TagCoOccurrencesTest extends GherkinOverviewTestBase {
+
+    private final VirtualFile first = new LightVirtualFile("first.feature");
+    private final VirtualFile second = new LightVirtualFile("second.feature");
+    private final VirtualFile third = new LightVirtualFile("third.feature");
+
+    @Test
+    void returnsRelatedTagsMostOftenUsedTogetherFirst() {
+        var coOccurrences = coOccurrences();
+
+        assertThat(coOccurrences.relatedTagsOf("smoke", 10)).containsExactly(
+            new RelatedTag("ios", 2, 2.0 / 3),
+            new RelatedTag("wip", 1, 1.0 / 3));
+        assertThat(coOccurrences.relatedTagsOf("wip", 1)).containsExactly(new RelatedTag("smoke", 1, 1.0 / 3));
+        assertThat(coOccurrences.relatedTagsOf("android", 10)).isEmpty();
+    }
+
+    @Test
+    void updatesCountsWhenTagsAreRemoved() {
+        var coOccurrences = coOccurrences();
+
+        coOccurrences.remove("ios", second);
+        coOccurrences.remove("wip", first);
+
+        assertThat(coOccurrences.relatedTagsOf("smoke", 10)).containsExactly(new RelatedTag("ios", 1, 1.0 / 3));
+        assertThat(coOccurrences.relatedTagsOf("wip", 10)).isEmpty();
+    }
+
+    @Test
+    void returnsCoOccurrenceMatrix() {
+        var matrix = coOccurrences().matrixOf(List.of("smoke", "ios", "android"));
+
+        assertThat(matrix.size()).isEqualTo(3);
+        assertThat(matrix.sharedFileCount(0, 0)).isEqualTo(3);
+        assertThat(matrix.sharedFileCount(0, 1)).isEqualTo(2);
+        assertThat(matrix.sharedFileCount(1, 0)).isEqualTo(2);
+        assertThat(matrix.sharedFileCount(2, 0)).isZero();
+        assertThat(matrix.jaccard(0, 1)).isEqualTo(2.0 / 3);
+        assertThat(matrix.jaccard(0, 2)).isZero();
+    }
+
+    private TagCoOccurrences coOccurrences() {
+        var coOccurrences = new TagCoOccurrences();
+        coOccurrences.add("smoke", first);
+        coOccurrences.add("ios", first);
+        coOccurrences.add("wip", first);
+        coOccurrences.add("smoke", second);
+        coOccurrences.add("ios", second);
+        coOccurrences.add("smoke", third);
+        coOccurrences.add("android", new LightVirtualFile("fourth.feature"));
+        return coOccurrences;
+    }
+}
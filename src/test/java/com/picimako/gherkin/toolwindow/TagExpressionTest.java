@@ -0,0 +1,78 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.BitSet;
+import java.util.Map;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagExpression}.
+ */
+final class TagExpressionTest extends GherkinOverviewTestBase {
+
+    private static final Map<String, BitSet> FILES_BY_TAG = Map.of(
+        "smoke", bitsOf(0, 1, 2),
+        "wip", bitsOf(1),
+        "flaky", bitsOf(2, 3),
+        "Suite:regression", bitsOf(3, 4));
+    private static final BitSet ALL_FILES = bitsOf(0, 1, 2, 3, 4);
+
+    @Test
+    void evaluatesSingleTag() {
+        assertThat(evaluate("@smoke")).isEqualTo(bitsOf(0, 1, 2));
+        assertThat(evaluate("smoke")).isEqualTo(bitsOf(0, 1, 2));
+        assertThat(evaluate("@missing")).isEmpty();
+    }
+
+    @Test
+    void evaluatesOperatorsWithPrecedence() {
+        assertThat(evaluate("@smoke and not @wip or @flaky")).isEqualTo(bitsOf(0, 2, 3));
+        assertThat(evaluate("@smoke and not (@wip or @flaky)")).isEqualTo(bitsOf(0));
+        assertThat(evaluate("not not @wip")).isEqualTo(bitsOf(1));
+        assertThat(evaluate("not @smoke")).isEqualTo(bitsOf(3, 4));
+        assertThat(evaluate("@Suite:regression and @flaky")).isEqualTo(bitsOf(3));
+    }
+
+    @Test
+    void doesntModifyTagFileSets() {
+        evaluate("@smoke and not @wip");
+
+        assertThat(FILES_BY_TAG.get("smoke")).isEqualTo(bitsOf(0, 1, 2));
+        assertThat(ALL_FILES).isEqualTo(bitsOf(0, 1, 2, 3, 4));
+    }
+
+    @Test
+    void parsesEscapedCharactersInTagNames() {
+        assertThat(TagExpression.parse("@a\\(b\\) or @c\\ d").evaluate(tagName -> tagName.equals("a(b)") ? bitsOf(0) : bitsOf(1), ALL_FILES))
+            .isEqualTo(bitsOf(0, 1));
+    }
+
+    @Test
+    void rejectsInvalidExpressions() {
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse(" "));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("@smoke and"));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("(@smoke or @wip"));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("@smoke @wip"));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("or @wip"));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("@ and @wip"));
+        assertThatIllegalArgumentException().isThrownBy(() -> TagExpression.parse("@smoke\\"));
+    }
+
+    private static BitSet evaluate(String expression) {
+        return TagExpression.parse(expression).evaluate(tagName -> FILES_BY_TAG.getOrDefault(tagName, new BitSet()), ALL_FILES);
+    }
+
+    private static BitSet bitsOf(int... ids) {
+        var bits = new BitSet();
+        for (int id : ids) {
+            bits.set(id);
+        }
+        return bits;
+    }
+}
@@ -0,0 +1,57 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import com.picimako.gherkin.toolwindow.TagOccurrenceLocator.Location;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagOccurrenceLocator}.
+ */
+final class TagOccurrenceLocatorTest extends GherkinOverviewTestBase {
+
+    @Test
+    void locatesGherkinTagOccurrences() {
+        String text = """
+            @smoke
+            Feature: A feature
+
+              @regression
+              # a comment
+              @smoke
+              Scenario: Log in
+            """;
+
+        var locations = TagOccurrenceLocator.locate(text, new int[]{text.lastIndexOf("@smoke"), 0}, true);
+
+        assertThat(locations).containsExactly(
+            new Location(0, 1, "Feature: A feature"),
+            new Location(text.lastIndexOf("@smoke"), 6, "Scenario: Log in"));
+    }
+
+    @Test
+    void locatesStoryMetaOccurrences() {
+        String text = """
+            Meta: @E2E
+
+            Scenario: scenario 1
+            Meta: @Suite smoke
+            """;
+
+        var locations = TagOccurrenceLocator.locate(text, new int[]{text.indexOf("@E2E"), text.indexOf("@Suite")}, false);
+
+        assertThat(locations).containsExactly(
+            new Location(text.indexOf("@E2E"), 1, ""),
+            new Location(text.indexOf("@Suite"), 4, "Scenario: scenario 1"));
+    }
+
+    @Test
+    void locatesOccurrenceWithoutFollowingElement() {
+        var locations = TagOccurrenceLocator.locate("Feature: A feature\n  @orphan", new int[]{21}, true);
+
+        assertThat(locations).containsExactly(new Location(21, 2, ""));
+    }
+}
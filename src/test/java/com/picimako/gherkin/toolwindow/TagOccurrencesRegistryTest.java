@@ -16,6 +16,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.plugins.cucumber.psi.GherkinTag;
 import org.junit.jupiter.api.Test;
 
+import java.util.Map;
+
 /**
  * Unit test for {@link TagOccurrencesRegistry}.
  */
@@ -51,6 +53,56 @@ final class TagOccurrencesRegistryTest extends GherkinOverviewTestBase {
         });
     }
 
+    @Test
+    void calculatesScenarioCounts() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getScenarioCountFor(virtualFile.getPath(), "youtube")).isEqualTo(2);
+            s.assertThat(registry.getScenarioCountFor(virtualFile.getPath(), "tablet")).isEqualTo(2);
+            s.assertThat(registry.getScenarioCountFor(virtualFile.getPath(), "vimeo")).isOne();
+            s.assertThat(registry.getScenarioCountFor(virtualFile.getPath(), "edge")).isZero();
+        });
+    }
+
+    @Test
+    void returnsUnknownScenarioCountsForImportedCounts() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+        long modificationCount = registry.getModificationCount();
+
+        registry.importCounts(virtualFile, Map.of("youtube", 3));
+
+        assertThat(registry.getCountFor(virtualFile.getPath(), "youtube")).isEqualTo(3);
+        assertThat(registry.getScenarioCountFor(virtualFile.getPath(), "youtube")).isEqualTo(TagOccurrencesRegistry.UNKNOWN_COUNT);
+        assertThat(registry.getModificationCount()).isGreaterThan(modificationCount);
+    }
+
+    @Test
+    void storesOccurrenceOffsets() {
+        VirtualFile virtualFile = configureVirtualFile("the_gherkin.feature");
+
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getOffsetsFor(virtualFile.getPath(), "youtube")).containsExactly(17, 35);
+            s.assertThat(registry.getOffsetsFor(virtualFile.getPath(), "nonexistent")).isEmpty();
+            s.assertThat(registry.getOffsetsFor("/src/not_calculated.feature", "youtube")).isNull();
+        });
+    }
+
+    @Test
+    void doesntKeepOccurrenceOffsetsForImportedCounts() {
+        VirtualFile virtualFile = configureVirtualFile("the_gherkin.feature");
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+
+        registry.importCounts(virtualFile, Map.of("youtube", 2));
+
+        assertThat(registry.getOffsetsFor(virtualFile.getPath(), "youtube")).isNull();
+    }
+
     @Test
     void doesntCalculateCountsForNonExistentFile() {
         var nonExistentFile = new InvalidatableMockVirtualFile("some_non_existent_gherkin.feature", false, false);
@@ -211,6 +263,141 @@ final class TagOccurrencesRegistryTest extends GherkinOverviewTestBase {
         assertThat(registry.getTagOccurrences()).hasSize(1);
     }
 
+    //exportCounts
+
+    @Test
+    void exportsCounts() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+
+        var counts = initRegistryAndCalculateCounts(1, virtualFile).exportCounts();
+
+        assertSoftly(s -> {
+            s.assertThat(counts).containsOnlyKeys(virtualFile.getPath());
+            s.assertThat(counts.get(virtualFile.getPath())).containsEntry("tablet", 2).containsEntry("youtube", 3);
+        });
+    }
+
+    //collectTagNames
+
+    @Test
+    void collectsTagNames() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+
+        var tagNames = initRegistryAndCalculateCounts(1, virtualFile).collectTagNames();
+
+        assertThat(tagNames).containsExactlyInAnyOrder("e2e", "regression", "youtube", "desktop", "sitemap", "JIRA-1234",
+            "vimeo", "tablet", "skip", "chrome", "image", "edge");
+    }
+
+    //importCounts
+
+    @Test
+    void importsCountsWithoutRecalculation() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+        var registry = new TagOccurrencesRegistry(getProject());
+        registry.init(1);
+
+        registry.importCounts(virtualFile, Map.of("tablet", 5));
+        registry.calculateOccurrenceCounts(virtualFile);
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getCountFor(virtualFile.getPath(), "tablet")).isEqualTo(5);
+            s.assertThat(registry.getCountFor(virtualFile.getPath(), "youtube")).isZero();
+        });
+    }
+
+    //invalidateOffsets
+
+    @Test
+    void extractsOutdatedOffsetsWhenQueried() {
+        VirtualFile virtualFile = configureVirtualFile("the_gherkin.feature");
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+        long fileModificationCount = registry.getFileModificationCount(virtualFile.getPath());
+
+        registry.invalidateOffsets(virtualFile);
+
+        assertThat(registry.getFileModificationCount(virtualFile.getPath())).isGreaterThan(fileModificationCount);
+        assertThat(registry.getOffsetsFor(virtualFile.getPath(), "youtube")).containsExactly(17, 35);
+    }
+
+    //getFileModificationCount, getTagModificationCount
+
+    @Test
+    void tracksModificationCountsOfChangedFilesAndTags() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+        VirtualFile virtualFile2 = configureVirtualFile("A_gherkin.feature");
+        var registry = initRegistryAndCalculateCounts(2, virtualFile, virtualFile2);
+        long fileModificationCount = registry.getFileModificationCount(virtualFile.getPath());
+        long otherFileModificationCount = registry.getFileModificationCount(virtualFile2.getPath());
+        long tagModificationCount = registry.getTagModificationCount("tablet");
+
+        registry.importCounts(virtualFile, Map.of("youtube", 1));
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getFileModificationCount(virtualFile.getPath())).isGreaterThan(fileModificationCount);
+            s.assertThat(registry.getFileModificationCount(virtualFile2.getPath())).isEqualTo(otherFileModificationCount);
+            s.assertThat(registry.getTagModificationCount("tablet")).isGreaterThan(tagModificationCount);
+            s.assertThat(registry.getTagModificationCount("youtube")).isEqualTo(registry.getModificationCount());
+            s.assertThat(registry.getTagModificationCount("nonexistent")).isLessThan(registry.getModificationCount());
+        });
+    }
+
+    //stage
+
+    @Test
+    void stagesOccurrencesWithoutModifyingProjectLevelRegistry() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+        var projectRegistry = TagOccurrencesRegistry.getInstance(getProject());
+        projectRegistry.init(1);
+
+        var staged = TagOccurrencesRegistry.stage(getProject(), () -> {
+            TagOccurrencesRegistry.getInstance(getProject()).init(1);
+            TagOccurrencesRegistry.getInstance(getProject()).calculateOccurrenceCounts(virtualFile);
+        });
+
+        assertSoftly(s -> {
+            s.assertThat(TagOccurrencesRegistry.getInstance(getProject())).isSameAs(projectRegistry);
+            s.assertThat(staged).isNotSameAs(projectRegistry);
+            s.assertThat(staged.getCountFor(virtualFile.getPath(), "youtube")).isEqualTo(3);
+            s.assertThat(projectRegistry.getCountFor(virtualFile.getPath(), "youtube")).isZero();
+        });
+    }
+
+    @Test
+    void replacesContentsWithStagedRegistry() {
+        VirtualFile virtualFile = configureVirtualFile("for_statistics.feature");
+        var registry = new TagOccurrencesRegistry(getProject());
+        registry.init(1);
+        long modificationCount = registry.getModificationCount();
+        var staged = initRegistryAndCalculateCounts(1, virtualFile);
+
+        registry.replaceWith(staged);
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getCountFor(virtualFile.getPath(), "youtube")).isEqualTo(3);
+            s.assertThat(registry.getModificationCount()).isGreaterThan(modificationCount).isGreaterThan(staged.getModificationCount());
+        });
+    }
+
+    //dispose
+
+    @Test
+    void remainsQueryableAfterDisposal() {
+        var psiFile = configureByFile("for_statistics.feature");
+        VirtualFile virtualFile = psiFile.getVirtualFile();
+        var registry = initRegistryAndCalculateCounts(1, virtualFile);
+
+        registry.dispose();
+
+        assertSoftly(s -> {
+            s.assertThat(registry.getCountFor(virtualFile.getPath(), "youtube")).isZero();
+            s.assertThat(registry.exportCounts()).isEmpty();
+            s.assertThat(registry.getScenarioTagsFor(virtualFile.getPath())).isEmpty();
+        });
+        registry.storeCounts(virtualFile, BDDFileTags.of(psiFile));
+        assertThat(registry.getCountFor(virtualFile.getPath(), "youtube")).isEqualTo(3);
+    }
+
     //Helpers
 
     private TagOccurrencesRegistry initRegistryAndCalculateCounts(int bddFileCount, VirtualFile... virtualFiles) {
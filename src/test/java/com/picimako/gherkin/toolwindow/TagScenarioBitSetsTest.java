@@ -0,0 +1,68 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.LightVirtualFile;
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagScenarioBitSets}.
+ */
+final class TagScenarioBitSetsTest extends GherkinOverviewTestBase {
+
+    private final VirtualFile first = new LightVirtualFile("first.feature");
+    private final VirtualFile second = new LightVirtualFile("second.feature");
+    private final VirtualFile third = new LightVirtualFile("third.feature");
+
+    @Test
+    void findsFilesMatchingExpression() {
+        var bitSets = new TagScenarioBitSets();
+        bitSets.add(first, List.of(Set.of("smoke")));
+        bitSets.add(second, List.of(Set.of("smoke", "wip")));
+        bitSets.add(third, List.of(Set.of("regression")));
+
+        assertThat(bitSets.scenarioCount()).isEqualTo(3);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@smoke and not @wip"))).containsExactly(first);
+        assertThat(bitSets.filesMatching(TagExpression.parse("not @smoke"))).containsExactly(third);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@smoke or @regression"))).containsExactlyInAnyOrder(first, second, third);
+    }
+
+    @Test
+    void matchesFilesByTheirScenarios() {
+        var bitSets = new TagScenarioBitSets();
+        bitSets.add(first, List.of(Set.of("feature", "smoke"), Set.of("feature", "wip")));
+        bitSets.add(second, List.of(Set.of("smoke"), Set.of()));
+
+        assertThat(bitSets.scenarioCount()).isEqualTo(4);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@smoke and @wip"))).isEmpty();
+        assertThat(bitSets.filesMatching(TagExpression.parse("@feature and not @wip"))).containsExactly(first);
+        assertThat(bitSets.filesMatching(TagExpression.parse("not @smoke"))).containsExactlyInAnyOrder(first, second);
+        assertThat(bitSets.filesMatching(TagExpression.parse("not @smoke and not @feature"))).containsExactly(second);
+    }
+
+    @Test
+    void replacesAndRemovesScenariosOfFile() {
+        var bitSets = new TagScenarioBitSets();
+        bitSets.add(first, List.of(Set.of("smoke"), Set.of("wip")));
+        bitSets.add(second, List.of(Set.of("smoke")));
+
+        bitSets.add(first, List.of(Set.of("regression")));
+        assertThat(bitSets.scenarioCount()).isEqualTo(2);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@smoke"))).containsExactly(second);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@wip"))).isEmpty();
+        assertThat(bitSets.filesMatching(TagExpression.parse("@regression"))).containsExactly(first);
+
+        bitSets.remove(second);
+        bitSets.add(third, List.of(Set.of("smoke"), Set.of("wip")));
+        assertThat(bitSets.scenarioCount()).isEqualTo(3);
+        assertThat(bitSets.filesMatching(TagExpression.parse("@smoke or @wip"))).containsExactly(third);
+        assertThat(bitSets.filesMatching(TagExpression.parse("not @smoke"))).containsExactlyInAnyOrder(first, third);
+    }
+}
@@ -0,0 +1,41 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit test for {@link TagsByFileName}.
+ */
+final class TagsByFileNameTest extends GherkinOverviewTestBase {
+
+    @Test
+    void findsTagsWithFilesOfNames() {
+        var index = new TagsByFileName();
+        index.add("the_gherkin.feature", "smoke");
+        index.add("the_gherkin.feature", "regression");
+        index.add("a_gherkin.feature", "e2e");
+        index.add("other.feature", "mobile");
+
+        assertThat(index.tagsWithFilesNamed(List.of("the_gherkin.feature", "a_gherkin.feature"))).containsExactlyInAnyOrder("smoke", "regression", "e2e");
+        assertThat(index.tagsWithFilesNamed(List.of("missing.feature"))).isEmpty();
+    }
+
+    @Test
+    void keepsPairUntilAllUsagesAreRemoved() {
+        var index = new TagsByFileName();
+        index.add("the_gherkin.feature", "smoke");
+        index.add("the_gherkin.feature", "smoke");
+
+        index.remove("the_gherkin.feature", "smoke");
+        assertThat(index.tagsWithFilesNamed(List.of("the_gherkin.feature"))).containsExactly("smoke");
+
+        index.remove("the_gherkin.feature", "smoke");
+        assertThat(index.tagsWithFilesNamed(List.of("the_gherkin.feature"))).isEmpty();
+    }
+}
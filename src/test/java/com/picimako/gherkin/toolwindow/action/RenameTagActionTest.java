@@ -0,0 +1,174 @@
+//Copyright 2026 Tamás Balog. Use of this source code is governed by the Apache 2.0 license that can be found in the LICENSE file.
+
+package com.picimako.gherkin.toolwindow.action;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.swing.tree.TreePath;
+
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.actionSystem.CommonDataKeys;
+import com.intellij.openapi.actionSystem.PlatformDataKeys;
+import com.intellij.openapi.ui.TestDialogManager;
+import com.intellij.openapi.ui.TestInputDialog;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.testFramework.TestActionEvent;
+import com.picimako.gherkin.GherkinOverviewTestBase;
+import com.picimako.gherkin.toolwindow.GherkinTagTree;
+import com.picimako.gherkin.toolwindow.GherkinTagsToolWindowSettings;
+import com.picimako.gherkin.toolwindow.LayoutType;
+import com.picimako.gherkin.toolwindow.ProjectSpecificGherkinTagTreeModel;
+import com.picimako.gherkin.toolwindow.TagOccurrencesRegistry;
+import com.picimako.gherkin.toolwindow.nodetype.ModelDataRoot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for {@link RenameTagAction}.
+ */
+final class RenameTagActionTest extends GherkinOverviewTestBase {
+
+    private GherkinTagTree tree;
+
+    @BeforeEach
+    void setUp() {
+        GherkinTagsToolWindowSettings.getInstance(getProject()).layout = LayoutType.NO_GROUPING;
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDialogManager.setTestInputDialog(TestInputDialog.DEFAULT);
+        tree = null;
+    }
+
+    @Test
+    void renamesTagInSingleFile() {
+        initBDDFileAndTreeWithSelectedNodeToRename("delete_tag.feature", "youtube");
+        TestDialogManager.setTestInputDialog(message -> "video");
+
+        new RenameTagAction(getProject()).actionPerformed(doTestActionEvent());
+
+        getFixture().checkResult(
+            """
+                @e2e @regression @video @desktop @sitemap @JIRA-1234
+                Feature: Videos
+
+                  @vimeo @tablet @video
+                  Scenario: Video components
+                """);
+        var other = modelDataRoot().getOther();
+        assertThat(other.get("youtube")).isEmpty();
+        assertThat(other.get("video")).isNotEmpty();
+    }
+
+    @Test
+    void renamesTagWithLeadingAtSymbolInMultipleFiles() {
+        VirtualFile file = copyFileToProject("delete_tag_more.feature");
+        var delete_tag_more = findPsiFile(file);
+        initBDDFileAndTreeWithSelectedNodeToRename("delete_tag.feature", "vimeo");
+        TestDialogManager.setTestInputDialog(message -> "@vimeo-player");
+
+        new RenameTagAction(getProject()).actionPerformed(doTestActionEvent());
+
+        getFixture().checkResult(
+            """
+                @e2e @regression @youtube @desktop @sitemap @JIRA-1234
+                Feature: Videos
+
+                  @vimeo-player @tablet @youtube
+                  Scenario: Video components
+                """);
+        assertThat(delete_tag_more.getText()).isEqualTo(
+            """
+                @e2e @regression @youtube @desktop @sitemap @JIRA-1234
+                Feature: Videos
+
+                  @vimeo-player @tablet @youtube
+                  Scenario: Video components
+                """);
+    }
+
+    @Test
+    void mergesTagIntoExistingTag() {
+        var theFile = configureVirtualFile("delete_tag.feature");
+        initGherkinTagTreeAndSetSelectionTo("vimeo");
+        TestDialogManager.setTestInputDialog(message -> "youtube");
+
+        new RenameTagAction(getProject()).actionPerformed(doTestActionEvent());
+
+        getFixture().checkResult(
+            """
+                @e2e @regression @youtube @desktop @sitemap @JIRA-1234
+                Feature: Videos
+
+                  @tablet @youtube
+                  Scenario: Video components
+                """);
+        var other = modelDataRoot().getOther();
+        assertThat(other.get("vimeo")).isEmpty();
+        assertThat(other.get("youtube")).isNotEmpty();
+        assertThat(TagOccurrencesRegistry.getInstance(getProject()).getCountFor(theFile.getPath(), "youtube")).isEqualTo(2);
+    }
+
+    @Test
+    void mergesLastTagOnLineIntoExistingTag() {
+        configureVirtualFile("delete_tag.feature");
+        initGherkinTagTreeAndSetSelectionTo("JIRA-1234");
+        TestDialogManager.setTestInputDialog(message -> "e2e");
+
+        new RenameTagAction(getProject()).actionPerformed(doTestActionEvent());
+
+        getFixture().checkResult(
+            """
+                @e2e @regression @youtube @desktop @sitemap
+                Feature: Videos
+
+                  @vimeo @tablet @youtube
+                  Scenario: Video components
+                """);
+    }
+
+    @Test
+    void doesntRenameWhenDialogIsCancelled() {
+        initBDDFileAndTreeWithSelectedNodeToRename("delete_tag.feature", "youtube");
+        TestDialogManager.setTestInputDialog(message -> null);
+
+        new RenameTagAction(getProject()).actionPerformed(doTestActionEvent());
+
+        getFixture().checkResult(
+            """
+                @e2e @regression @youtube @desktop @sitemap @JIRA-1234
+                Feature: Videos
+
+                  @vimeo @tablet @youtube
+                  Scenario: Video components
+                """);
+    }
+
+    //Helpers
+
+    private void initBDDFileAndTreeWithSelectedNodeToRename(String file, String tagName) {
+        configureByFile(file);
+        initGherkinTagTreeAndSetSelectionTo(tagName);
+    }
+
+    private void initGherkinTagTreeAndSetSelectionTo(String tagName) {
+        var model = new ProjectSpecificGherkinTagTreeModel(getProject());
+        model.buildModel();
+        tree = new GherkinTagTree(model, getProject());
+        invokeAndWait(() -> tree.setSelectionPath(new TreePath(modelDataRoot().getOther().get(tagName).get())));
+    }
+
+    private ModelDataRoot modelDataRoot() {
+        return (ModelDataRoot) tree.getModel().getRoot();
+    }
+
+    private AnActionEvent doTestActionEvent() {
+        return TestActionEvent.createTestEvent(dataId -> {
+            if (CommonDataKeys.PROJECT.is(dataId)) return getProject();
+            if (PlatformDataKeys.CONTEXT_COMPONENT.is(dataId)) return tree;
+            return null;
+        });
+    }
+}
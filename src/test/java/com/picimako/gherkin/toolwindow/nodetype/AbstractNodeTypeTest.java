@@ -33,7 +33,8 @@ final class AbstractNodeTypeTest extends GherkinOverviewTestBase {
         return Stream.of(
             argumentSet("returns disabled toString()", StatisticsType.DISABLED, "Node name"),
             argumentSet("builds simplified toString()", StatisticsType.SIMPLIFIED, "simplified"),
-            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "detailed")
+            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "detailed"),
+            argumentSet("returns display name for effective scenario count", StatisticsType.SCENARIOS, "Node name")
         );
     }
 
@@ -3,8 +3,10 @@
 package com.picimako.gherkin.toolwindow.nodetype;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.params.provider.Arguments.argumentSet;
 
+import java.util.Map;
 import java.util.stream.Stream;
 
 import com.intellij.openapi.vfs.VirtualFile;
@@ -88,6 +90,35 @@ final class FeatureFileTest extends GherkinOverviewTestBase {
         assertThat(nestedFeature.displayName).isEqualTo("gherkin_with_same_name.feature [nested/evenmore]");
     }
 
+    //getOccurrences
+
+    @Test
+    void returnsOccurrencesOfParentTag() {
+        TagOccurrencesRegistry.getInstance(getProject()).init(1);
+        VirtualFile theGherkin = configureVirtualFile("the_gherkin.feature");
+        var chrome = new FeatureFile(theGherkin, "chrome", getProject());
+        var youtube = new FeatureFile(theGherkin, "youtube", getProject());
+
+        assertThat(chrome.hasOccurrences()).isTrue();
+        assertThat(chrome.getOccurrences()).extracting(TagOccurrence::toString, TagOccurrence::getOffset)
+            .containsExactly(tuple("Line 7: Scenario: Skipped", 136));
+        assertThat(youtube.getOccurrences()).extracting(TagOccurrence::toString)
+            .containsExactly("Line 1: Feature: Videos", "Line 1: Feature: Videos");
+    }
+
+    @Test
+    void hasNoOccurrencesForImportedCounts() {
+        var registry = TagOccurrencesRegistry.getInstance(getProject());
+        registry.init(1);
+        VirtualFile theGherkin = configureVirtualFile("the_gherkin.feature");
+        var youtube = new FeatureFile(theGherkin, "youtube", getProject());
+
+        registry.importCounts(theGherkin, Map.of("youtube", 2));
+
+        assertThat(youtube.hasOccurrences()).isFalse();
+        assertThat(youtube.getOccurrences()).isEmpty();
+    }
+
     //toString
 
     @ParameterizedTest
@@ -103,7 +134,8 @@ final class FeatureFileTest extends GherkinOverviewTestBase {
         return Stream.of(
             argumentSet("returns disabled toString()", StatisticsType.DISABLED, "the_gherkin.feature"),
             argumentSet("builds simplified toString()", StatisticsType.SIMPLIFIED, "the_gherkin.feature (2)"),
-            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "the_gherkin.feature - 2 occurrences")
+            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "the_gherkin.feature - 2 occurrences"),
+            argumentSet("builds effective scenario count toString()", StatisticsType.SCENARIOS, "the_gherkin.feature (2 scenarios)")
         );
     }
 
@@ -91,6 +91,25 @@ final class ModelDataRootTest extends GherkinOverviewTestBase {
         assertThat(modelDataRoot.getContentRoots()).hasSize(1);
     }
 
+    //takeOverDataOf
+
+    @Test
+    void takesOverDataOfOtherLayout() {
+        configureToolWindowLayout(LayoutType.NO_GROUPING);
+        var modelDataRoot = new ModelDataRoot(getProject());
+        var categories = modelDataRoot.getCategories();
+
+        configureToolWindowLayout(LayoutType.GROUP_BY_MODULES);
+        var builtRoot = new ModelDataRoot(getProject());
+        builtRoot.add(ContentRoot.createModule("module", getProject()));
+        modelDataRoot.takeOverDataOf(builtRoot);
+
+        assertSoftly(s -> {
+            s.assertThat(modelDataRoot.getCategories()).isSameAs(categories);
+            s.assertThat(modelDataRoot.getContentRoots()).isSameAs(builtRoot.getContentRoots()).hasSize(1);
+        });
+    }
+
     //updateDisplayName
 
     @Test
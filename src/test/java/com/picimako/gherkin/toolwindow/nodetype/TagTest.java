@@ -281,7 +281,8 @@ final class TagTest extends GherkinOverviewTestBase {
         return Stream.of(
             argumentSet("returns disabled toString()", StatisticsType.DISABLED, "youtube"),
             argumentSet("builds simplified toString()", StatisticsType.SIMPLIFIED, "youtube (5)"),
-            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "youtube - 5 in 3 files")
+            argumentSet("builds detailed toString()", StatisticsType.DETAILED, "youtube - 5 in 3 files"),
+            argumentSet("builds effective scenario count toString()", StatisticsType.SCENARIOS, "youtube (4 scenarios)")
         );
     }
 